@@ -1,17 +1,59 @@
 package com.example.ecommerce;
 
+import com.example.ecommerce.analytics.config.SalesAnalyticsProperties;
 import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.PasswordHashingProperties;
+import com.example.ecommerce.auth.config.RefreshTokenProperties;
+import com.example.ecommerce.auth.config.TokenBlacklistProperties;
+import com.example.ecommerce.auth.config.TokenGenerationProperties;
+import com.example.ecommerce.auth.config.UserCacheProperties;
+import com.example.ecommerce.cart.config.CartCompactionProperties;
+import com.example.ecommerce.cart.config.CartConsistencyCheckProperties;
+import com.example.ecommerce.cart.config.GuestCartProperties;
+import com.example.ecommerce.order.config.AsyncCheckoutProperties;
+import com.example.ecommerce.order.config.OrderArchiveProperties;
+import com.example.ecommerce.order.config.OrderSummaryBackfillProperties;
+import com.example.ecommerce.outbox.config.OutboxProperties;
+import com.example.ecommerce.payment.config.PaymentGatewayProperties;
+import com.example.ecommerce.payment.config.PaymentSimulatorProperties;
+import com.example.ecommerce.payment.config.ReconciliationProperties;
+import com.example.ecommerce.shared.config.ClientErrorLogProperties;
+import com.example.ecommerce.shared.config.IdempotencyProperties;
+import com.example.ecommerce.shared.config.RateLimitProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @EnableCaching
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
-@EnableConfigurationProperties(value = JwtProperties.class)
+@EnableConfigurationProperties(value = {
+		JwtProperties.class,
+		CartCompactionProperties.class,
+		CartConsistencyCheckProperties.class,
+		GuestCartProperties.class,
+		AsyncCheckoutProperties.class,
+		OrderArchiveProperties.class,
+		OrderSummaryBackfillProperties.class,
+		OutboxProperties.class,
+		IdempotencyProperties.class,
+		SalesAnalyticsProperties.class,
+		PaymentGatewayProperties.class,
+		PaymentSimulatorProperties.class,
+		ReconciliationProperties.class,
+		TokenBlacklistProperties.class,
+		TokenGenerationProperties.class,
+		UserCacheProperties.class,
+		RefreshTokenProperties.class,
+		PasswordHashingProperties.class,
+		RateLimitProperties.class,
+		ClientErrorLogProperties.class
+})
 public class ECommerceApplication {
 
 	public static void main(String[] args) {
@@ -4,10 +4,9 @@ import com.example.ecommerce.address.model.embeddable.Area;
 import com.example.ecommerce.address.model.embeddable.Location;
 import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.shared.audit.Auditable;
+import com.example.ecommerce.shared.persistence.PooledSequence;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -25,7 +24,7 @@ import lombok.Setter;
 public class Address extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("address_seq")
     private Long id;
 
     // Title of the address (e.g., "Home", "Office")
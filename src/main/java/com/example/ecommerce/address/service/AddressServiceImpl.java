@@ -11,7 +11,6 @@ import com.example.ecommerce.address.payload.request.CreateAddressRequest;
 import com.example.ecommerce.address.payload.request.UpdateAddressRequest;
 import com.example.ecommerce.address.payload.response.AddressResponse;
 import com.example.ecommerce.address.repository.AddressRepository;
-import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.auth.service.UserContextService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -31,18 +30,17 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     public List<AddressResponse> getAllAddressesForUser() {
-        User currentUser = userContextService.getCurrentUser();
-        List<Address> addresses = addressRepository.findAllByUserId(currentUser.getId());
+        List<Address> addresses = addressRepository.findAllByUserId(userContextService.getCurrentUserId());
         return addressMapper.mapToResponseList(addresses);
     }
 
     @Override
     public AddressResponse createAddress(CreateAddressRequest request) {
 
-        User currentUser = userContextService.getCurrentUser();
-        checkAddressTitleForUser(request.title(), currentUser);
+        String currentUserId = userContextService.getCurrentUserId();
+        checkAddressTitleForUser(request.title(), currentUserId);
 
-        long addressCount = addressRepository.countAddressByUserId(currentUser.getId());
+        long addressCount = addressRepository.countAddressByUserId(currentUserId);
 
         if (addressCount >= MAX_ADDRESSES) {
             throw new AddressLimitExceededException();
@@ -65,7 +63,7 @@ public class AddressServiceImpl implements AddressService {
                 .title(request.title())
                 .area(area)
                 .location(location)
-                .user(currentUser)
+                .user(userContextService.getCurrentUserReference())
                 .build();
 
         return addressMapper.mapToResponse(addressRepository.save(address));
@@ -74,7 +72,7 @@ public class AddressServiceImpl implements AddressService {
     @Override
     public AddressResponse updateAddress(Long addressId, UpdateAddressRequest request) {
         Address existingAddress = getAddressById(addressId);
-        checkAddressTitleForUser(request.title(), existingAddress.getUser());
+        checkAddressTitleForUser(request.title(), existingAddress.getUser().getId());
         addressMapper.updateAddressFromRequest(request, existingAddress);
         return addressMapper.mapToResponse(addressRepository.save(existingAddress));
     }
@@ -86,13 +84,12 @@ public class AddressServiceImpl implements AddressService {
     }
 
     private Address getAddressById(Long addressId) {
-        User currentUser = userContextService.getCurrentUser();
-        return addressRepository.findByIdAndUserId(addressId, currentUser.getId())
+        return addressRepository.findByIdAndUserId(addressId, userContextService.getCurrentUserId())
                 .orElseThrow(() -> new AddressNotFoundException(addressId));
     }
 
-    private void checkAddressTitleForUser(String title, User user) {
-        if (addressRepository.existsByTitleAndUserId(title, user.getId())) {
+    private void checkAddressTitleForUser(String title, String userId) {
+        if (addressRepository.existsByTitleAndUserId(title, userId)) {
             throw new DuplicateAddressTitleException(title);
         }
     }
@@ -0,0 +1,34 @@
+package com.example.ecommerce.analytics.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the in-memory sales analytics.
+ * <p>
+ * This class holds the sales aggregator properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "analytics.sales")
+public class SalesAnalyticsProperties {
+
+    /**
+     * Number of most recent hourly buckets kept in memory and answerable without the database.
+     */
+    @Positive(message = "Sales analytics window hours must be positive")
+    @Max(value = 168, message = "Sales analytics window hours must not exceed 168")
+    private final int windowHours;
+
+    @ConstructorBinding
+    public SalesAnalyticsProperties(@DefaultValue("24") int windowHours) {
+        this.windowHours = windowHours;
+    }
+
+}
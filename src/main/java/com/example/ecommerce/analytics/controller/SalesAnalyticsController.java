@@ -0,0 +1,46 @@
+package com.example.ecommerce.analytics.controller;
+
+import com.example.ecommerce.analytics.model.enums.SalesDimension;
+import com.example.ecommerce.analytics.payload.response.SalesResponse;
+import com.example.ecommerce.analytics.service.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@RequestMapping("/api/v1/admin/analytics/sales")
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * Retrieves units sold and revenue per category over the most recent hours, highest revenue first.
+     *
+     * @param hours number of hours to include, counting the current one
+     * @return a {@link ResponseEntity} containing a list of {@link SalesResponse} keyed by category ID
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<SalesResponse>> getSalesByCategory(@RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(salesAnalyticsService.getRecentSales(SalesDimension.CATEGORY, hours));
+    }
+
+    /**
+     * Retrieves units sold and revenue per product over the most recent hours, highest revenue first.
+     *
+     * @param hours number of hours to include, counting the current one
+     * @return a {@link ResponseEntity} containing a list of {@link SalesResponse} keyed by product ID
+     */
+    @GetMapping("/products")
+    public ResponseEntity<List<SalesResponse>> getSalesByProduct(@RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(salesAnalyticsService.getRecentSales(SalesDimension.PRODUCT, hours));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.ecommerce.analytics.job;
+
+import com.example.ecommerce.analytics.service.SalesAnalyticsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically adds the sales counted in memory to the {@code sales_aggregate} table.
+ * <p>
+ * Each flush writes one row per product and category sold since the previous flush, regardless
+ * of how many orders there were. A failed flush keeps its counts for the next one, and a final
+ * flush runs on shutdown, so only a crash loses the counts of the last interval.
+ */
+@Component
+public class SalesAggregateFlushJob {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    private final Counter flushedRows;
+    private final Counter failedFlushes;
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesAggregateFlushJob.class);
+
+    public SalesAggregateFlushJob(SalesAnalyticsService salesAnalyticsService, MeterRegistry meterRegistry) {
+        this.salesAnalyticsService = salesAnalyticsService;
+        this.flushedRows = Counter.builder("analytics.sales.flushed")
+                .description("Number of sales aggregate rows incremented")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("analytics.sales.flush.failures")
+                .description("Number of sales aggregate flushes that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${analytics.sales.flush.initialDelayMs:60000}",
+            fixedDelayString = "${analytics.sales.flush.fixedDelayMs:60000}"
+    )
+    public void flush() {
+        try {
+            int flushed = salesAnalyticsService.flush();
+            flushedRows.increment(flushed);
+            if (flushed > 0) {
+                logger.debug("Flushed {} sales aggregates", flushed);
+            }
+        } catch (RuntimeException ex) {
+            failedFlushes.increment();
+            logger.error("Sales aggregate flush failed, counts are kept for the next flush", ex);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+}
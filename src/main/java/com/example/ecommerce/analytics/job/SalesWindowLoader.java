@@ -0,0 +1,26 @@
+package com.example.ecommerce.analytics.job;
+
+import com.example.ecommerce.analytics.service.SalesAnalyticsService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the in-memory sales window from the aggregate table on startup, so that recent sales
+ * are not reset by a restart.
+ */
+@Component
+public class SalesWindowLoader implements ApplicationRunner {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    public SalesWindowLoader(SalesAnalyticsService salesAnalyticsService) {
+        this.salesAnalyticsService = salesAnalyticsService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        salesAnalyticsService.loadRecentSales();
+    }
+
+}
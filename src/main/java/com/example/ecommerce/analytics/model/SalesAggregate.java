@@ -0,0 +1,35 @@
+package com.example.ecommerce.analytics.model;
+
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Units sold and revenue of one product or category within one hour.
+ * <p>
+ * Rows are only ever incremented by the periodic flush of the in-memory sales aggregator, so
+ * dashboards can read sales without aggregating orders and order items.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "sales_aggregate",
+        indexes = @Index(name = "idx_sales_aggregate_dimension_bucket", columnList = "dimension, bucket_start")
+)
+public class SalesAggregate {
+
+    @EmbeddedId
+    private SalesAggregateId id;
+
+    private long units;
+
+    private Money revenue;
+
+}
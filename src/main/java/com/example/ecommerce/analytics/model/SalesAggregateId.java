@@ -0,0 +1,44 @@
+package com.example.ecommerce.analytics.model;
+
+import com.example.ecommerce.analytics.model.enums.SalesDimension;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Identifies the sales of one product or category within one hour.
+ */
+@Getter
+@ToString
+@Embeddable
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesAggregateId implements Serializable {
+
+    /**
+     * Start of the hour the sales belong to.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 16)
+    private SalesDimension dimension;
+
+    /**
+     * ID of the product or category.
+     */
+    @Column(name = "dimension_key", nullable = false, length = 64)
+    private String dimensionKey;
+
+}
@@ -0,0 +1,18 @@
+package com.example.ecommerce.analytics.model.enums;
+
+/**
+ * What the sales figures of an aggregate are grouped by.
+ */
+public enum SalesDimension {
+
+    /**
+     * Sales of a single product, keyed by product ID.
+     */
+    PRODUCT,
+
+    /**
+     * Sales of all products in a category, keyed by category ID.
+     */
+    CATEGORY
+
+}
@@ -0,0 +1,16 @@
+package com.example.ecommerce.analytics.payload.response;
+
+import com.example.ecommerce.shared.money.Money;
+
+/**
+ * Sales of one product or category over the requested period.
+ *
+ * @param key     ID of the product or category
+ * @param units   number of units sold
+ * @param revenue revenue after discounts
+ */
+public record SalesResponse(
+        String key,
+        long units,
+        Money revenue
+) {}
@@ -0,0 +1,38 @@
+package com.example.ecommerce.analytics.repository;
+
+import com.example.ecommerce.analytics.model.SalesAggregate;
+import com.example.ecommerce.analytics.model.SalesAggregateId;
+import com.example.ecommerce.analytics.model.enums.SalesDimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SalesAggregateRepository extends JpaRepository<SalesAggregate, SalesAggregateId> {
+
+    /**
+     * Adds the given units and revenue to an hourly aggregate, creating it if it does not exist yet.
+     * Increments are commutative, so several instances can flush into the same row.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_aggregate (bucket_start, dimension, dimension_key, units, revenue)
+            VALUES (:bucketStart, :dimension, :dimensionKey, :units, :revenue)
+            ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue)
+            """, nativeQuery = true)
+    void increment(@Param("bucketStart") Instant bucketStart,
+                   @Param("dimension") String dimension,
+                   @Param("dimensionKey") String dimensionKey,
+                   @Param("units") long units,
+                   @Param("revenue") BigDecimal revenue);
+
+    @Query("SELECT s FROM SalesAggregate s WHERE s.id.dimension = :dimension AND s.id.bucketStart >= :from")
+    List<SalesAggregate> findAllByDimensionSince(@Param("dimension") SalesDimension dimension, @Param("from") Instant from);
+
+}
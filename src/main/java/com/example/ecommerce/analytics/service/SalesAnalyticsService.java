@@ -0,0 +1,50 @@
+package com.example.ecommerce.analytics.service;
+
+import com.example.ecommerce.analytics.model.enums.SalesDimension;
+import com.example.ecommerce.analytics.payload.response.SalesResponse;
+import com.example.ecommerce.order.payload.event.OrderSalesEvent;
+
+import java.util.List;
+
+/**
+ * Service interface for the in-memory sales aggregator.
+ * <p>
+ * Sales are counted per product and per category in hourly buckets as orders are completed and
+ * cancelled. Recent buckets are answered from memory, and all counts are periodically added to the
+ * {@code sales_aggregate} table, so neither reads nor writes aggregate over orders.
+ */
+public interface SalesAnalyticsService {
+
+    /**
+     * Counts the items of a completed order as sold, or of a cancelled order as given back, in the
+     * hour the event occurred.
+     *
+     * @param event the sales event of the order
+     */
+    void recordSales(OrderSalesEvent event);
+
+    /**
+     * Returns the sales of the most recent hours from memory, highest revenue first.
+     *
+     * @param dimension whether to group sales by product or by category
+     * @param hours     number of hourly buckets to include, counting the current one; capped at
+     *                  the configured window
+     * @return list of {@link SalesResponse}
+     */
+    List<SalesResponse> getRecentSales(SalesDimension dimension, int hours);
+
+    /**
+     * Adds the counts recorded since the previous flush to the aggregate table in one transaction.
+     * If the transaction fails, the counts are kept and written by the next flush.
+     *
+     * @return number of aggregate rows incremented
+     */
+    int flush();
+
+    /**
+     * Loads the aggregates of the in-memory window from the aggregate table, so that the window
+     * is complete right after a restart.
+     */
+    void loadRecentSales();
+
+}
@@ -0,0 +1,170 @@
+package com.example.ecommerce.analytics.service;
+
+import com.example.ecommerce.analytics.config.SalesAnalyticsProperties;
+import com.example.ecommerce.analytics.model.SalesAggregate;
+import com.example.ecommerce.analytics.model.SalesAggregateId;
+import com.example.ecommerce.analytics.model.enums.SalesDimension;
+import com.example.ecommerce.analytics.payload.response.SalesResponse;
+import com.example.ecommerce.analytics.repository.SalesAggregateRepository;
+import com.example.ecommerce.order.payload.event.OrderSalesEvent;
+import com.example.ecommerce.shared.money.Money;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+
+    private final SalesAggregateRepository salesAggregateRepository;
+    private final SalesAnalyticsProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<SalesAggregateId, HourlySales> buckets = new ConcurrentHashMap<>();
+
+    public SalesAnalyticsServiceImpl(SalesAggregateRepository salesAggregateRepository,
+                                     SalesAnalyticsProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.salesAggregateRepository = salesAggregateRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Listens after commit only, so that orders rolled back are never counted.
+     */
+    @Override
+    @TransactionalEventListener
+    public void recordSales(OrderSalesEvent event) {
+        int sign = event.type() == OrderSalesEvent.Type.PLACED ? 1 : -1;
+        Instant bucketStart = event.occurredAt().truncatedTo(ChronoUnit.HOURS);
+
+        for (OrderSalesEvent.SoldItem item : event.items()) {
+            long units = (long) sign * item.quantity();
+            long revenue = sign * item.revenue().getMinorUnits();
+
+            bucket(bucketStart, SalesDimension.PRODUCT, item.productId()).record(units, revenue);
+            if (item.categoryId() != null) {
+                bucket(bucketStart, SalesDimension.CATEGORY, item.categoryId().toString()).record(units, revenue);
+            }
+        }
+    }
+
+    @Override
+    public List<SalesResponse> getRecentSales(SalesDimension dimension, int hours) {
+        int windowHours = Math.max(1, Math.min(hours, properties.getWindowHours()));
+        Instant from = windowStart(windowHours);
+
+        Map<String, long[]> totals = new HashMap<>();
+        buckets.forEach((id, sales) -> {
+            if (id.getDimension() == dimension && !id.getBucketStart().isBefore(from)) {
+                long[] total = totals.computeIfAbsent(id.getDimensionKey(), key -> new long[2]);
+                total[0] += sales.units.sum();
+                total[1] += sales.revenue.sum();
+            }
+        });
+
+        return totals.entrySet().stream()
+                .map(entry -> new SalesResponse(entry.getKey(), entry.getValue()[0], Money.ofMinor(entry.getValue()[1])))
+                .sorted(Comparator.comparing(SalesResponse::revenue).reversed())
+                .toList();
+    }
+
+    @Override
+    public synchronized int flush() {
+        List<PendingSales> pending = new ArrayList<>();
+        buckets.forEach((id, sales) -> {
+            long units = sales.unflushedUnits.sumThenReset();
+            long revenue = sales.unflushedRevenue.sumThenReset();
+            if (units != 0 || revenue != 0) {
+                pending.add(new PendingSales(id, sales, units, revenue));
+            }
+        });
+
+        if (!pending.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> pending.forEach(sales -> salesAggregateRepository.increment(
+                        sales.id().getBucketStart(),
+                        sales.id().getDimension().name(),
+                        sales.id().getDimensionKey(),
+                        sales.units(),
+                        Money.ofMinor(sales.revenue()).toBigDecimal()
+                )));
+            } catch (RuntimeException ex) {
+                // Put the counts back, so that the next flush writes them
+                pending.forEach(sales -> {
+                    sales.sales().unflushedUnits.add(sales.units());
+                    sales.sales().unflushedRevenue.add(sales.revenue());
+                });
+                throw ex;
+            }
+        }
+
+        // Buckets that left the window are dropped once everything recorded in them has been written
+        Instant from = windowStart(properties.getWindowHours());
+        buckets.entrySet().removeIf(entry -> entry.getKey().getBucketStart().isBefore(from) && entry.getValue().isFlushed());
+
+        return pending.size();
+    }
+
+    @Override
+    public void loadRecentSales() {
+        Instant from = windowStart(properties.getWindowHours());
+        for (SalesDimension dimension : SalesDimension.values()) {
+            for (SalesAggregate aggregate : salesAggregateRepository.findAllByDimensionSince(dimension, from)) {
+                HourlySales sales = buckets.computeIfAbsent(aggregate.getId(), id -> new HourlySales());
+                sales.units.add(aggregate.getUnits());
+                sales.revenue.add(aggregate.getRevenue().getMinorUnits());
+            }
+        }
+    }
+
+    private HourlySales bucket(Instant bucketStart, SalesDimension dimension, String dimensionKey) {
+        return buckets.computeIfAbsent(new SalesAggregateId(bucketStart, dimension, dimensionKey), id -> new HourlySales());
+    }
+
+    /**
+     * Returns the start of the oldest of the given number of hourly buckets, counting the current one.
+     */
+    private Instant windowStart(int hours) {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS).minus(hours - 1L, ChronoUnit.HOURS);
+    }
+
+    /**
+     * Sales of one product or category within one hour. Striped adders keep concurrent orders
+     * from contending on a single counter.
+     */
+    private static final class HourlySales {
+
+        private final LongAdder units = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+        private final LongAdder unflushedUnits = new LongAdder();
+        private final LongAdder unflushedRevenue = new LongAdder();
+
+        private void record(long units, long revenue) {
+            this.units.add(units);
+            this.revenue.add(revenue);
+            this.unflushedUnits.add(units);
+            this.unflushedRevenue.add(revenue);
+        }
+
+        private boolean isFlushed() {
+            return unflushedUnits.sum() == 0 && unflushedRevenue.sum() == 0;
+        }
+
+    }
+
+    private record PendingSales(SalesAggregateId id, HourlySales sales, long units, long revenue) {}
+
+}
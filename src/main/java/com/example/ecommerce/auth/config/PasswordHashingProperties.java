@@ -0,0 +1,82 @@
+package com.example.ecommerce.auth.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for password hashing.
+ * <p>
+ * This class holds the password hashing properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "auth.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Number of threads hashing passwords. Hashing is CPU-bound, so this bounds the share of
+     * the CPU that sign-ins can take from other requests.
+     */
+    @Positive(message = "Password hashing worker count must be positive")
+    private final int workers;
+
+    /**
+     * Maximum number of passwords waiting for a worker.
+     * Sign-ins and registrations arriving while the queue is full are rejected with 503.
+     */
+    @Positive(message = "Password hashing queue capacity must be positive")
+    private final int queueCapacity;
+
+    /**
+     * How long a request waits for its password to be hashed before it is rejected with 503.
+     */
+    @NotNull(message = "Password hashing max wait must be defined")
+    private final Duration maxWait;
+
+    /**
+     * Time a single hash should take. The BCrypt cost is calibrated to it at startup.
+     */
+    @NotNull(message = "Password hashing target duration must be defined")
+    private final Duration targetDuration;
+
+    /**
+     * Lowest BCrypt cost used, however slow the machine.
+     */
+    @Min(value = 4, message = "BCrypt cost must be at least 4")
+    @Max(value = 31, message = "BCrypt cost must be at most 31")
+    private final int minStrength;
+
+    /**
+     * Highest BCrypt cost used, however fast the machine.
+     * Set it to the minimum strength to disable calibration.
+     */
+    @Min(value = 4, message = "BCrypt cost must be at least 4")
+    @Max(value = 31, message = "BCrypt cost must be at most 31")
+    private final int maxStrength;
+
+    @ConstructorBinding
+    public PasswordHashingProperties(@DefaultValue("4") int workers,
+                                     @DefaultValue("100") int queueCapacity,
+                                     @DefaultValue("5s") Duration maxWait,
+                                     @DefaultValue("250ms") Duration targetDuration,
+                                     @DefaultValue("10") int minStrength,
+                                     @DefaultValue("14") int maxStrength) {
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.maxWait = maxWait;
+        this.targetDuration = targetDuration;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+    }
+
+}
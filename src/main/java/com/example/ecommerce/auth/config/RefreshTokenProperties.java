@@ -0,0 +1,50 @@
+package com.example.ecommerce.auth.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for storing refresh tokens.
+ * <p>
+ * This class holds the refresh token retention properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "auth.refresh-token")
+public class RefreshTokenProperties {
+
+    /**
+     * Maximum number of active refresh tokens per user, one for each signed-in device.
+     * Issuing another one evicts the oldest.
+     */
+    @Positive(message = "Max active refresh tokens per user must be positive")
+    private final int maxActivePerUser;
+
+    /**
+     * Maximum number of revoked or expired refresh tokens deleted in a single transaction.
+     */
+    @Positive(message = "Refresh token purge batch size must be positive")
+    private final int purgeBatchSize;
+
+    /**
+     * Maximum number of batches purged in a single run.
+     * Remaining tokens are picked up by the next run.
+     */
+    @Positive(message = "Refresh token purge max batches per run must be positive")
+    private final int purgeMaxBatchesPerRun;
+
+    @ConstructorBinding
+    public RefreshTokenProperties(@DefaultValue("5") int maxActivePerUser,
+                                  @DefaultValue("500") int purgeBatchSize,
+                                  @DefaultValue("100") int purgeMaxBatchesPerRun) {
+        this.maxActivePerUser = maxActivePerUser;
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgeMaxBatchesPerRun = purgeMaxBatchesPerRun;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.ecommerce.auth.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local Bloom filter in front of the token blacklist.
+ * <p>
+ * This class holds the sizing of the filter loaded from {@code application.yaml} and provides
+ * validation to ensure correct values. The filter covers the lifetime of an access token, split
+ * into partitions of the configured duration.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "auth.blacklist")
+public class TokenBlacklistProperties {
+
+    /**
+     * Number of revoked tokens expected to expire within one partition.
+     */
+    @Positive(message = "Expected blacklist insertions must be positive")
+    private final long expectedInsertions;
+
+    /**
+     * False positive probability of a partition holding the expected number of tokens.
+     */
+    @DecimalMin(value = "0.0", inclusive = false, message = "Blacklist false positive probability must be between 0 and 1")
+    @DecimalMax(value = "1.0", inclusive = false, message = "Blacklist false positive probability must be between 0 and 1")
+    private final double falsePositiveProbability;
+
+    /**
+     * Length of the time window each partition of the filter covers.
+     */
+    @NotNull(message = "Blacklist partition duration must be defined")
+    private final Duration partitionDuration;
+
+    @ConstructorBinding
+    public TokenBlacklistProperties(@DefaultValue("100000") long expectedInsertions,
+                                    @DefaultValue("0.001") double falsePositiveProbability,
+                                    @DefaultValue("5m") Duration partitionDuration) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.partitionDuration = partitionDuration;
+    }
+
+}
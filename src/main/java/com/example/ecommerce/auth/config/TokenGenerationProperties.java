@@ -0,0 +1,44 @@
+package com.example.ecommerce.auth.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local cache of token generations.
+ * <p>
+ * This class holds the cache settings loaded from {@code application.yaml} and provides validation
+ * to ensure correct values. Increments are broadcast to every node, so the refresh interval only
+ * bounds how long a node uses a generation whose increment message it missed.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "auth.token-generation")
+public class TokenGenerationProperties {
+
+    /**
+     * Maximum number of generations held in the cache of each node.
+     */
+    @Positive(message = "Token generation cache maximum size must be positive")
+    private final long cacheMaximumSize;
+
+    /**
+     * How long a cached generation is used before it is read from Redis again.
+     */
+    @NotNull(message = "Token generation cache TTL must be defined")
+    private final Duration cacheTtl;
+
+    @ConstructorBinding
+    public TokenGenerationProperties(@DefaultValue("100000") long cacheMaximumSize,
+                                     @DefaultValue("1m") Duration cacheTtl) {
+        this.cacheMaximumSize = cacheMaximumSize;
+        this.cacheTtl = cacheTtl;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.example.ecommerce.auth.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the local cache of authenticated users.
+ * <p>
+ * This class holds the cache settings loaded from {@code application.yaml} and provides validation
+ * to ensure correct values. Changes to a user are broadcast to every node, so the time to live only
+ * bounds how long a node serves a user whose eviction message it missed.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "auth.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * Maximum number of users held in the cache of each node.
+     */
+    @Positive(message = "User cache maximum size must be positive")
+    private final long maximumSize;
+
+    /**
+     * How long a user is cached after it was loaded.
+     */
+    @NotNull(message = "User cache TTL must be defined")
+    private final Duration ttl;
+
+    @ConstructorBinding
+    public UserCacheProperties(@DefaultValue("10000") long maximumSize,
+                               @DefaultValue("5m") Duration ttl) {
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+    }
+
+}
@@ -4,9 +4,11 @@ import com.example.ecommerce.auth.payload.request.LoginRequest;
 import com.example.ecommerce.auth.payload.request.LogoutRequest;
 import com.example.ecommerce.auth.payload.request.RefreshTokenRequest;
 import com.example.ecommerce.auth.payload.request.RegistrationRequest;
+import com.example.ecommerce.auth.payload.response.LoginResult;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
 import com.example.ecommerce.auth.service.AuthService;
 import com.example.ecommerce.auth.service.TokenService;
+import com.example.ecommerce.cart.security.GuestCartCookie;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -14,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -31,16 +34,33 @@ public class AuthController {
 
     private final AuthService authService;
     private final TokenService tokenService;
+    private final GuestCartCookie guestCartCookie;
 
     /**
      * Authenticates a user and returns an authentication token pair.
+     * <p>
+     * If the request carries a guest cart cookie, the guest cart is merged into the user's cart
+     * and the cookie is cleared. If the merge fails, the cookie is kept so that the guest cart can
+     * still be reached and merged on the next login.
      *
-     * @param request the {@link LoginRequest} containing login credentials
+     * @param request     the {@link LoginRequest} containing login credentials
+     * @param cookieValue the guest cart cookie, if present
      * @return a {@link ResponseEntity} containing the {@link TokenResponse} with the token pair
      */
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<TokenResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookieValue
+    ) {
+        String guestCartId = guestCartCookie.resolveCartId(cookieValue).orElse(null);
+        LoginResult loginResult = authService.login(request, guestCartId);
+
+        if (!loginResult.guestCartMerged()) {
+            return ResponseEntity.ok(loginResult.tokenResponse());
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, guestCartCookie.expire().toString())
+                .body(loginResult.tokenResponse());
     }
 
     /**
@@ -86,19 +106,15 @@ public class AuthController {
     }
 
     /**
-     * Logs out the user from all active sessions by revoking all refresh tokens associated with their username
-     * and blacklisting the current access token. This ensures that all authentication sessions for the user are invalidated.
+     * Logs out the user from all active sessions by revoking every access and refresh token issued to them,
+     * including the current access token. This ensures that all authentication sessions for the user are invalidated.
      *
-     * @param authenticatedUserDetails the authenticated user's details used to retrieve the username and revoke all refresh tokens
-     * @param authorizationHeader the {@code Authorization} header containing the access token to be blacklisted
+     * @param authenticatedUserDetails the authenticated user's details used to retrieve the username and revoke all tokens
      * @return a {@link ResponseEntity} with no content to indicate a successful logout from all sessions
      */
     @PostMapping("/logout-all")
-    public ResponseEntity<Void> logoutAll(
-            @AuthenticationPrincipal UserDetails authenticatedUserDetails,
-            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader
-    ) {
-        authService.logoutAll(authorizationHeader, authenticatedUserDetails.getUsername());
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal UserDetails authenticatedUserDetails) {
+        authService.logoutAll(authenticatedUserDetails.getUsername());
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,11 @@
+package com.example.ecommerce.auth.exception;
+
+import com.example.ecommerce.shared.exception.ServiceUnavailableException;
+
+public class PasswordHashingBusyException extends ServiceUnavailableException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-ins are in progress. Please try again shortly");
+    }
+
+}
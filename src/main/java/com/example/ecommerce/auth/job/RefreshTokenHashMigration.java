@@ -0,0 +1,92 @@
+package com.example.ecommerce.auth.job;
+
+import com.example.ecommerce.auth.model.RefreshToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Replaces the {@code token} column of refresh tokens, which held the whole token, with its
+ * SHA-256 hash in {@code token_hash}.
+ * <p>
+ * Tokens are hashed in batches, only touching rows without a hash, so a run interrupted before
+ * the column is dropped can safely be repeated on the next start. Once the column is gone, the
+ * migration is a no-op.
+ * <p>
+ * Runs once every singleton has been created, which is before the web server accepts requests, so
+ * that no refresh request looks up a token by a hash that has not been written yet.
+ * <p>
+ * Instances started together may run the migration at the same time. Hashing is idempotent, and
+ * an instance that fails because another one dropped the column first treats the migration as done.
+ */
+@Component
+public class RefreshTokenHashMigration implements SmartInitializingSingleton {
+
+    static final String TABLE = "refresh_token";
+    static final String TOKEN_COLUMN = "token";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenHashMigration.class);
+
+    public RefreshTokenHashMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!tokenColumnExists()) {
+            return;
+        }
+
+        try {
+            migrate();
+        } catch (DataAccessException ex) {
+            if (tokenColumnExists()) {
+                throw ex;
+            }
+            logger.info("Column {}.{} was dropped by another instance, refresh tokens are already hashed", TABLE, TOKEN_COLUMN);
+        }
+    }
+
+    private void migrate() {
+        int hashed = 0;
+        List<Object[]> batch;
+        do {
+            batch = jdbcTemplate.query(
+                    "SELECT id, token FROM refresh_token WHERE token_hash IS NULL AND token IS NOT NULL LIMIT " + BATCH_SIZE,
+                    (rs, rowNum) -> new Object[]{RefreshToken.hash(rs.getString("token")), rs.getString("id")}
+            );
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE refresh_token SET token_hash = ? WHERE id = ?", batch);
+                hashed += batch.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + TOKEN_COLUMN);
+
+        logger.info("Hashed {} refresh tokens and dropped column {}.{}", hashed, TABLE, TOKEN_COLUMN);
+    }
+
+    private boolean tokenColumnExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            String tableName = upperCase ? TABLE.toUpperCase() : TABLE;
+            String columnName = upperCase ? TOKEN_COLUMN.toUpperCase() : TOKEN_COLUMN;
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, tableName, columnName)) {
+                return columns.next();
+            }
+        }));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.ecommerce.auth.job;
+
+import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.RefreshTokenProperties;
+import com.example.ecommerce.auth.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Periodically deletes refresh tokens that can no longer be used, because they were revoked or
+ * have expired.
+ * <p>
+ * Tokens are deleted in small batches, each in its own transaction, so locks are held only for
+ * the duration of a single batch. A run stops after a bounded number of batches; the next run
+ * continues with the remaining tokens. A deleted token is rejected like a revoked one.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenProperties properties;
+    private final JwtProperties jwtProperties;
+
+    private final Counter purgedTokens;
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                RefreshTokenProperties properties,
+                                JwtProperties jwtProperties,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+        this.jwtProperties = jwtProperties;
+        this.purgedTokens = Counter.builder("auth.refresh.token.purged")
+                .description("Number of revoked or expired refresh tokens deleted")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${auth.refresh-token.purgeCron:0 0 * * * *}")
+    public void purge() {
+        Instant now = Instant.now();
+        Instant legacyCutoff = now.minusMillis(jwtProperties.getRefreshExpInMs());
+        PageRequest batch = PageRequest.ofSize(properties.getPurgeBatchSize());
+
+        int purged = 0;
+        try {
+            for (int i = 0; i < properties.getPurgeMaxBatchesPerRun(); i++) {
+                List<String> ids = refreshTokenRepository.findPurgeableTokenIds(now, legacyCutoff, batch);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                int deleted = refreshTokenRepository.deleteAllByIdIn(ids);
+                purged += deleted;
+                purgedTokens.increment(deleted);
+
+                if (ids.size() < properties.getPurgeBatchSize()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Refresh token purge stopped after deleting {} tokens", purged, ex);
+            return;
+        }
+
+        logger.info("Refresh token purge deleted {} revoked or expired tokens", purged);
+    }
+
+}
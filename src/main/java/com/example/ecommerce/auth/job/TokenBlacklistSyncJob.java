@@ -0,0 +1,55 @@
+package com.example.ecommerce.auth.job;
+
+import com.example.ecommerce.auth.service.TokenBlacklistService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the local token blacklist filter from Redis on startup and keeps it in sync afterwards.
+ * <p>
+ * Revocations on other nodes normally arrive through Redis pub/sub. Messages published while a
+ * node is disconnected are lost, so the filter is reloaded periodically. The interval must stay
+ * below the access token lifetime, since a reload also renews tokens kept beyond the covered horizon.
+ */
+@Component
+public class TokenBlacklistSyncJob implements ApplicationRunner {
+
+    private final TokenBlacklistService tokenBlacklistService;
+
+    private final Counter failedLoads;
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistSyncJob.class);
+
+    public TokenBlacklistSyncJob(TokenBlacklistService tokenBlacklistService, MeterRegistry meterRegistry) {
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.failedLoads = Counter.builder("auth.blacklist.load.failures")
+                .description("Number of token blacklist loads from Redis that failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    @Scheduled(
+            initialDelayString = "${auth.blacklist.sync.fixedDelayMs:300000}",
+            fixedDelayString = "${auth.blacklist.sync.fixedDelayMs:300000}"
+    )
+    public void load() {
+        try {
+            int loaded = tokenBlacklistService.loadBlacklist();
+            logger.debug("Loaded {} revoked tokens into the blacklist filter", loaded);
+        } catch (RuntimeException ex) {
+            failedLoads.increment();
+            logger.error("Token blacklist load failed", ex);
+        }
+    }
+
+}
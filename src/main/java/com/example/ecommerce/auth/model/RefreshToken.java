@@ -10,17 +10,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
 import static lombok.Builder.Default;
 
 @Entity
+@Table(
+        indexes = {
+                @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_refresh_token_revoked", columnList = "revoked")
+        }
+)
 @Builder
 @Getter @Setter
 @NoArgsConstructor
@@ -31,8 +44,12 @@ public class RefreshToken extends Auditable {
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @Column(unique = true)
-    private String token;
+    /**
+     * SHA-256 hash of the token. The token itself is never stored, and the fixed-width hash keeps
+     * the unique index small.
+     */
+    @Column(name = "token_hash", columnDefinition = "BINARY(32)", unique = true)
+    private byte[] tokenHash;
 
     @Default
     @Enumerated(EnumType.STRING)
@@ -40,8 +57,27 @@ public class RefreshToken extends Auditable {
 
     private boolean revoked;
 
+    /**
+     * When the token expires. Tokens stored before this column existed have none, and expire
+     * one refresh token lifetime after they were created.
+     */
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * Returns the SHA-256 hash under which a refresh token is stored.
+     */
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
 }
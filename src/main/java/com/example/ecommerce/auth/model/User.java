@@ -2,9 +2,11 @@ package com.example.ecommerce.auth.model;
 
 import com.example.ecommerce.address.model.Address;
 import com.example.ecommerce.auth.model.enums.Role;
+import com.example.ecommerce.auth.model.listener.UserListener;
 import com.example.ecommerce.shared.audit.Auditable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -36,6 +38,7 @@ import static lombok.Builder.Default;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "users")
+@EntityListeners(UserListener.class)
 public class User extends Auditable implements UserDetails {
 
     @Id
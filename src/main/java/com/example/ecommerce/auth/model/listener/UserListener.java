@@ -0,0 +1,50 @@
+package com.example.ecommerce.auth.model.listener;
+
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.service.UserCacheService;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener for the {@link User} entity.
+ * This listener evicts a user from the {@link UserCacheService} whenever the user's role or
+ * account details are updated, or the user is removed.
+ */
+public class UserListener {
+
+    // Resolved lazily, since the cache depends on the entity manager that creates this listener
+    private final ObjectProvider<UserCacheService> userCacheService;
+
+    public UserListener(ObjectProvider<UserCacheService> userCacheService) {
+        this.userCacheService = userCacheService;
+    }
+
+    /**
+     * Invoked after an existing {@link User} entity is updated or removed. The user is evicted right
+     * away and once more after the transaction completes, so that a concurrent read cannot cache the
+     * state from before the commit.
+     *
+     * @param user the {@link User} entity being updated or removed
+     */
+    @PostUpdate
+    @PostRemove
+    public void afterChange(User user) {
+        evict(user.getUsername());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(user.getUsername());
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        userCacheService.ifAvailable(cache -> cache.evict(username));
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.ecommerce.auth.payload.response;
+
+/**
+ * The outcome of a login: the issued tokens, and whether the visitor's guest cart was merged into
+ * the user's cart. Only {@link #tokenResponse()} is returned to the client.
+ *
+ * @param tokenResponse   the generated token pair
+ * @param guestCartMerged {@code true} if a guest cart was given and merged, in which case the guest
+ *                        cart cookie can be cleared
+ */
+public record LoginResult(
+        TokenResponse tokenResponse,
+        boolean guestCartMerged
+) {}
@@ -1,21 +1,64 @@
 package com.example.ecommerce.auth.repository;
 
 import com.example.ecommerce.auth.model.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
 
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Locks the active tokens of a user, oldest first, so that concurrent sign-ins of the same
+     * user enforce the token cap one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
     SELECT rt FROM RefreshToken rt
-    WHERE rt.user.username = :username
+    WHERE rt.user.id = :userId
     AND rt.revoked = false
+    AND (rt.expiresAt > :now OR rt.expiresAt IS NULL)
+    ORDER BY rt.createdAt
+    """)
+    List<RefreshToken> lockActiveTokensByUserId(String userId, Instant now);
+
+    /**
+     * Marks every active token of a user as revoked, without loading the tokens.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+    UPDATE RefreshToken rt SET rt.revoked = true
+    WHERE rt.revoked = false
+    AND rt.user.id IN (SELECT u.id FROM User u WHERE u.username = :username)
+    """)
+    int revokeAllByUsername(String username);
+
+    /**
+     * Returns revoked and expired tokens. Tokens without an expiration time are expired once they
+     * were created before the legacy cutoff.
+     */
+    @Query("""
+    SELECT rt.id FROM RefreshToken rt
+    WHERE rt.revoked = true
+    OR rt.expiresAt < :now
+    OR (rt.expiresAt IS NULL AND rt.createdAt < :legacyCutoff)
     """)
-    List<RefreshToken> findActiveTokensByUserId(String username);
+    List<String> findPurgeableTokenIds(Instant now, Instant legacyCutoff, Pageable pageable);
 
-    Optional<RefreshToken> findByToken(String token);
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteAllByIdIn(Collection<String> ids);
 
 }
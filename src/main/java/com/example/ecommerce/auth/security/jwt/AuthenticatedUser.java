@@ -0,0 +1,79 @@
+package com.example.ecommerce.auth.security.jwt;
+
+import com.example.ecommerce.auth.model.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Principal of a request authenticated with an access token.
+ * <p>
+ * Built from the signed claims of the token, so that authenticating a request does not load the
+ * user. The password is never part of the principal.
+ *
+ * @param id          the ID of the user
+ * @param username    the username of the user
+ * @param authorities the roles of the user when the token was issued
+ */
+public record AuthenticatedUser(
+        String id,
+        String username,
+        List<GrantedAuthority> authorities
+) implements UserDetails {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLES_CLAIM = "roles";
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), List.copyOf(user.getAuthorities()));
+    }
+
+    /**
+     * Builds the principal from the claims of an access token.
+     *
+     * @return the principal, or {@code null} if the token was issued without the user ID and roles
+     */
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        String id = claims.get(USER_ID_CLAIM, String.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new AuthenticatedUser(id, claims.getSubject(), authorities);
+    }
+
+    /**
+     * Returns the claims that {@link #fromClaims(Claims)} reads back, apart from the subject.
+     */
+    public Map<String, Object> toClaims() {
+        return Map.of(
+                USER_ID_CLAIM, id,
+                ROLES_CLAIM, authorities.stream().map(GrantedAuthority::getAuthority).toList()
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+}
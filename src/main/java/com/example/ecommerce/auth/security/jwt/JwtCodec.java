@@ -0,0 +1,63 @@
+package com.example.ecommerce.auth.security.jwt;
+
+import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.exception.InvalidJwtTokenException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Signs and verifies JWT tokens with the configured secret.
+ * <p>
+ * The signing key is decoded once and the parser is built once. Both are immutable and thread-safe,
+ * so every request shares them instead of rebuilding them for each token.
+ */
+@Component
+public class JwtCodec {
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtCodec.class);
+
+    public JwtCodec(JwtProperties jwtProperties) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    /**
+     * Returns a new token builder that signs the token with the configured key.
+     */
+    public JwtBuilder builder() {
+        return Jwts.builder().signWith(signingKey);
+    }
+
+    /**
+     * Verifies the signature and expiration of the given token and returns its claims.
+     *
+     * @param token the compact, signed token
+     * @return the verified claims of the token
+     * @throws InvalidJwtTokenException if the token is malformed, expired, unsupported or not signed with the configured key
+     */
+    public Claims decode(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT token. {}", ex.getMessage());
+            throw new InvalidJwtTokenException("Invalid JWT token", ex);
+        } catch (IllegalArgumentException ex) {
+            logger.error("JWT claims string is empty: {}", ex.getMessage());
+            throw new InvalidJwtTokenException("JWT claims string is empty", ex);
+        }
+    }
+
+}
@@ -2,7 +2,10 @@ package com.example.ecommerce.auth.security.jwt;
 
 import com.example.ecommerce.auth.exception.TokenRevokedException;
 import com.example.ecommerce.auth.service.TokenBlacklistService;
+import com.example.ecommerce.auth.service.TokenGenerationService;
+import com.example.ecommerce.auth.service.UserCacheService;
 import com.example.ecommerce.auth.service.TokenService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,7 +17,6 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -25,6 +27,11 @@ import java.io.IOException;
 /**
  * This filter intercepts incoming HTTP requests to extract and validate JWT tokens,
  * authenticates the user based on the token, and sets the authentication context.
+ * <p>
+ * The token is verified exactly once per request. Its claims are exposed to the rest of the
+ * request as a {@link VerifiedJwt} request attribute, and the principal is built from them
+ * without loading the user. Revocation is checked against the blacklist and the token generation
+ * of the user, which are both answered locally in the common case.
  */
 @Component
 @RequiredArgsConstructor
@@ -34,8 +41,9 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final TokenGenerationService tokenGenerationService;
 
-    private final UserDetailsService userDetailsService;
+    private final UserCacheService userCacheService;
 
     @Override
     protected void doFilterInternal(
@@ -52,13 +60,18 @@ public class JwtTokenFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (tokenBlacklistService.isTokenBlacklisted(jwtToken)) {
-            throw new TokenRevokedException();
-        }
-
         try {
-            tokenService.validateToken(jwtToken);
-            authenticateRequest(jwtToken, request);
+            Claims claims = tokenService.parseToken(jwtToken);
+            VerifiedJwt verifiedJwt = new VerifiedJwt(jwtToken, claims);
+
+            // Checked after verification, so that invalid tokens never reach the blacklist
+            if (tokenBlacklistService.isTokenBlacklisted(verifiedJwt.tokenId())
+                    || tokenGenerationService.isRevoked(claims)) {
+                throw new TokenRevokedException();
+            }
+
+            request.setAttribute(VerifiedJwt.ATTRIBUTE, verifiedJwt);
+            authenticateRequest(claims, request);
         } catch (Exception ex) {
             logger.error("Cannot set user authentication. {}", ex.getMessage());
             throw ex;
@@ -68,9 +81,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void authenticateRequest(String jwtToken, HttpServletRequest request) {
-        String username = tokenService.extractUsername(jwtToken);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    /**
+     * Authenticates the request with a principal built from the token claims. Tokens issued before
+     * the claims carried the user ID fall back to the cached user.
+     */
+    private void authenticateRequest(Claims claims, HttpServletRequest request) {
+        AuthenticatedUser principal = AuthenticatedUser.fromClaims(claims);
+        UserDetails userDetails = principal != null ? principal : userCacheService.getUser(claims.getSubject());
 
         var authentication = new UsernamePasswordAuthenticationToken(
                 userDetails,
@@ -0,0 +1,42 @@
+package com.example.ecommerce.auth.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * A bearer token of the current request together with its claims, as verified by {@link JwtTokenFilter}.
+ * <p>
+ * Stored as a request attribute, so that the rest of the request reads the claims instead of
+ * verifying the same token again.
+ *
+ * @param token  the compact token from the {@code Authorization} header
+ * @param claims the verified claims of the token
+ */
+public record VerifiedJwt(String token, Claims claims) {
+
+    public static final String ATTRIBUTE = VerifiedJwt.class.getName();
+
+    /**
+     * Returns the verified token of the current request, if the request carried one.
+     */
+    public static Optional<VerifiedJwt> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((VerifiedJwt) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    /**
+     * Returns the {@code jti} claim that identifies the token in the blacklist. Tokens issued
+     * before they carried one are identified by the whole token.
+     */
+    public String tokenId() {
+        String id = claims.getId();
+        return id != null ? id : token;
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.example.ecommerce.auth.security.password;
+
+import com.example.ecommerce.auth.config.PasswordHashingProperties;
+import com.example.ecommerce.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PasswordEncoder} that hashes passwords on a dedicated, fixed-size worker pool.
+ * <p>
+ * Hashing is deliberately slow and CPU-bound. Running it on request threads lets a burst of
+ * sign-ins occupy every request thread and the whole CPU. Here the workers bound the CPU taken
+ * by hashing, and the bounded queue bounds the number of requests waiting for it. A password
+ * that cannot be queued, or is not hashed within the maximum wait, fails the request with 503
+ * instead of piling up.
+ * <p>
+ * The calling thread still waits for the result, so the encoder can be used wherever a
+ * {@link PasswordEncoder} is expected.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final long maxWaitNanos;
+
+    private final Timer encodeDuration;
+    private final Timer matchesDuration;
+    private final Timer queueWait;
+    private final Counter rejectedHashes;
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate,
+                                  PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.hashingExecutor = new ThreadPoolExecutor(
+                properties.getWorkers(),
+                properties.getWorkers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeDuration = hashingTimer(meterRegistry, "encode");
+        this.matchesDuration = hashingTimer(meterRegistry, "matches");
+        this.queueWait = Timer.builder("auth.password.hashing.queue.wait")
+                .description("Time a password waited for a hashing worker")
+                .register(meterRegistry);
+        this.rejectedHashes = Counter.builder("auth.password.hashing.rejected")
+                .description("Number of passwords rejected because the hashing queue was full or too slow")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue.depth", hashingExecutor, executor -> executor.getQueue().size())
+                .description("Number of passwords waiting for a hashing worker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the highest BCrypt cost whose hash takes no longer than the target duration on this
+     * machine, within the configured bounds. Each step doubles the work, so costs are tried
+     * upwards only while the next one is expected to stay within the target.
+     */
+    public static int calibrateStrength(PasswordHashingProperties properties) {
+        long targetNanos = properties.getTargetDuration().toNanos();
+        int strength = properties.getMinStrength();
+
+        // Warms up the BCrypt code path, so that the first measurement is not inflated
+        new BCryptPasswordEncoder(4).encode("calibration");
+
+        long nanos = measureHash(strength);
+        while (strength < properties.getMaxStrength() && nanos * 2 <= targetNanos) {
+            strength++;
+            nanos = measureHash(strength);
+        }
+
+        logger.info("Calibrated BCrypt cost {} at {} ms per hash for a target of {} ms",
+                strength, Duration.ofNanos(nanos).toMillis(), properties.getTargetDuration().toMillis());
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(encodeDuration, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(matchesDuration, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Returns {@code true} if the password was hashed with a lower cost than the current one, so
+     * that it is hashed again after the next successful sign-in.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Runs the hashing work on a worker and waits for its result.
+     *
+     * @throws PasswordHashingBusyException if the queue is full, or the result takes longer than the maximum wait
+     */
+    private <T> T hash(Timer duration, Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> result;
+        try {
+            result = hashingExecutor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return duration.record(work);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedHashes.increment();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Drops the work if it is still queued
+            result.cancel(true);
+            rejectedHashes.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing.duration")
+                .description("Time spent hashing a password on a hashing worker")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static long measureHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        return System.nanoTime() - start;
+    }
+
+}
@@ -1,8 +1,15 @@
 package com.example.ecommerce.auth.security.web;
 
+import com.example.ecommerce.auth.config.PasswordHashingProperties;
+import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.auth.repository.UserRepository;
 import com.example.ecommerce.auth.security.jwt.JwtAuthEntryPoint;
 import com.example.ecommerce.auth.security.jwt.JwtTokenFilter;
+import com.example.ecommerce.auth.security.password.BoundedPasswordEncoder;
+import com.example.ecommerce.shared.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,6 +21,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -35,13 +43,32 @@ public class SecurityConfig {
             "/api/v1/auth/login",
             "/api/v1/auth/register",
             "/api/v1/auth/refresh-token",
+            "/api/v1/guest-cart/**",
             "/v3/api-docs/**",
             "/swagger-ui/**",
     };
 
+    /**
+     * Hashes passwords with BCrypt on a bounded worker pool, with the cost calibrated to the
+     * target duration on this machine.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int strength = BoundedPasswordEncoder.calibrateStrength(properties);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), properties, meterRegistry);
+    }
+
+    /**
+     * Stores the password hash again after a successful sign-in, if it was hashed with a lower
+     * cost than the current one.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService(UserRepository userRepository) {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            user.setPassword(newPassword);
+            return userRepository.save(user);
+        };
     }
 
     @Bean
@@ -52,10 +79,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+                                                       UserDetailsPasswordService userDetailsPasswordService,
+                                                       PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
         daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        daoAuthenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return new ProviderManager(daoAuthenticationProvider);
     }
 
@@ -71,19 +101,36 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Keeps the rate limit filter out of the servlet filter chain, where it would run before the
+     * user is authenticated. It runs in the security filter chain only.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             JwtTokenFilter jwtTokenFilter,
+            RateLimitFilter rateLimitFilter,
             JwtAuthEntryPoint jwtAuthEntryPoint,
             CorsConfigurationSource corsConfigurationSource
     ) throws Exception {
         return http.csrf(AbstractHttpConfigurer::disable)
                 .cors(corsConfigurer -> corsConfigurer.configurationSource(corsConfigurationSource))
-                .authorizeHttpRequests(request -> request.requestMatchers(WHITE_LIST).permitAll().anyRequest().authenticated())
+                .authorizeHttpRequests(request -> request
+                        // Async dispatches complete already authorized requests, e.g. order status streams
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(WHITE_LIST).permitAll()
+                        .anyRequest().authenticated())
                 .exceptionHandling(handler -> handler.authenticationEntryPoint(jwtAuthEntryPoint))
                 .sessionManagement(configurer -> configurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtTokenFilter.class)
                 .headers(headerConfigurer -> headerConfigurer.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
                 .build();
     }
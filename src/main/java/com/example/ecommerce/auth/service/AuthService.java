@@ -5,6 +5,7 @@ import com.example.ecommerce.auth.exception.ForbiddenRoleAssignmentException;
 import com.example.ecommerce.auth.exception.UsernameAlreadyTakenException;
 import com.example.ecommerce.auth.payload.request.LoginRequest;
 import com.example.ecommerce.auth.payload.request.RegistrationRequest;
+import com.example.ecommerce.auth.payload.response.LoginResult;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
 import org.springframework.security.core.AuthenticationException;
 
@@ -19,12 +20,17 @@ public interface AuthService {
 
     /**
      * Authenticates a user and returns an authentication response.
+     * <p>
+     * If a guest cart ID is given, the guest cart is merged into the user's cart. A failed merge does
+     * not fail the login; the guest cart is kept so that it can be merged on a later login.
      *
      * @param loginRequest the {@link LoginRequest} containing login credentials
-     * @return a {@link TokenResponse} containing the generated token pair for the authenticated user
+     * @param guestCartId  the verified ID of the visitor's guest cart, or {@code null} if there is none
+     * @return a {@link LoginResult} containing the generated token pair for the authenticated user and
+     *         whether the guest cart was merged
      * @throws AuthenticationException if authentication fails due to invalid credentials
      */
-    TokenResponse login(LoginRequest loginRequest);
+    LoginResult login(LoginRequest loginRequest, String guestCartId);
 
     /**
      * Registers a new user and assigns them a role based on the provided registration request.
@@ -49,12 +55,11 @@ public interface AuthService {
     void logout(String authorizationHeader, String refreshToken);
 
     /**
-     * Logs out the user by revoking all tokens associated with their username,
-     * adding their access tokens to the blacklist, and clearing the security context.
+     * Logs out the user by revoking every access and refresh token issued to them,
+     * and clearing the security context.
      *
-     * @param authorizationHeader the authorization header containing the access token
      * @param authenticatedUsername the username of the user whose tokens are to be revoked
      */
-    void logoutAll(String authorizationHeader, String authenticatedUsername);
+    void logoutAll(String authenticatedUsername);
 
 }
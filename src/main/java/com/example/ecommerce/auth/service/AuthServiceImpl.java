@@ -7,8 +7,10 @@ import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.auth.model.enums.Role;
 import com.example.ecommerce.auth.payload.request.LoginRequest;
 import com.example.ecommerce.auth.payload.request.RegistrationRequest;
+import com.example.ecommerce.auth.payload.response.LoginResult;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
 import com.example.ecommerce.auth.repository.UserRepository;
+import com.example.ecommerce.cart.service.GuestCartService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -36,19 +38,24 @@ public class AuthServiceImpl implements AuthService {
 
     private final TokenService tokenService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final GuestCartService guestCartService;
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
 
     @Override
-    public TokenResponse login(LoginRequest loginRequest) {
+    public LoginResult login(LoginRequest loginRequest, String guestCartId) {
         var authToken = new UsernamePasswordAuthenticationToken(loginRequest.username(), loginRequest.password());
         Authentication authentication = authenticationManager.authenticate(authToken);
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return tokenService.generateTokenPair(userDetails);
+        TokenResponse tokenResponse = tokenService.generateTokenPair(userDetails);
+
+        boolean guestCartMerged = guestCartId != null && mergeGuestCart(guestCartId, userDetails.getUsername());
+
+        return new LoginResult(tokenResponse, guestCartMerged);
     }
 
     @Override
@@ -114,20 +121,37 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public void logoutAll(String authorizationHeader, String authenticatedUsername) {
+    public void logoutAll(String authenticatedUsername) {
+        // Also revokes the current access token, so it is not blacklisted separately
         tokenService.revokeAllTokensForUser(authenticatedUsername);
-        extractAndBlacklistTokenFromGivenHeader(authorizationHeader);
         SecurityContextHolder.clearContext();
     }
 
+    /**
+     * Merges the guest cart into the user's cart. A failed merge is logged but does not fail the login.
+     *
+     * @return {@code true} if the guest cart was merged
+     */
+    private boolean mergeGuestCart(String guestCartId, String username) {
+        try {
+            guestCartService.mergeIntoUserCart(guestCartId);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to merge guest cart '{}' for user '{}'", guestCartId, username, e);
+            return false;
+        }
+    }
+
     private void extractAndBlacklistTokenFromGivenHeader(String authorizationHeader) {
         if (authorizationHeader == null  || authorizationHeader.isBlank()) {
             throw new IllegalArgumentException();
         }
 
         String token = authorizationHeader.replace("Bearer ", "");
-        long expirationInMs = tokenService.extractExpiration(token).getTime();
-        tokenBlacklistService.blacklistToken(token, expirationInMs, TimeUnit.MILLISECONDS);
+        long remainingInMs = tokenService.extractExpiration(token).getTime() - System.currentTimeMillis();
+        if (remainingInMs > 0) {
+            tokenBlacklistService.blacklistToken(tokenService.extractTokenId(token), remainingInMs, TimeUnit.MILLISECONDS);
+        }
     }
 
 }
@@ -0,0 +1,154 @@
+package com.example.ecommerce.auth.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Bloom filter of keys that only need to be remembered until they expire.
+ * <p>
+ * Time is divided into partitions of equal length, and every key is added to the partition in
+ * which it expires. Once a partition lies entirely in the past, it is ignored by lookups and
+ * reused for a future partition, so memory stays constant and expired keys never add to the
+ * false positive rate. Keys expiring beyond the covered horizon are kept in the last partition,
+ * and must be added again before that partition ends.
+ * <p>
+ * Lookups are lock-free. Adding a key locks the partition it is added to, which is the only
+ * writer of its bits.
+ */
+class TimePartitionedBloomFilter {
+
+    private final Partition[] partitions;
+    private final long partitionMillis;
+    private final int bitCount;
+    private final int hashCount;
+    private final LongSupplier clock;
+
+    /**
+     * @param expectedInsertions       keys expected to expire within one partition
+     * @param falsePositiveProbability the false positive probability at the expected insertions
+     * @param partitionMillis          the length of each partition
+     * @param horizonMillis            the longest time until expiry that is covered exactly
+     * @param clock                    the current time in milliseconds
+     */
+    TimePartitionedBloomFilter(long expectedInsertions,
+                               double falsePositiveProbability,
+                               long partitionMillis,
+                               long horizonMillis,
+                               LongSupplier clock) {
+        double bits = -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(bits)));
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.partitionMillis = partitionMillis;
+        this.clock = clock;
+
+        // One extra partition for the one that is currently running out
+        int partitionCount = (int) ((horizonMillis + partitionMillis - 1) / partitionMillis) + 1;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition((bitCount + 63) / 64);
+        }
+    }
+
+    /**
+     * Adds a key that has to be found until the given expiration time. Keys that have already
+     * expired are ignored.
+     */
+    void put(String key, long expiresAtMillis) {
+        long currentSlice = clock.getAsLong() / partitionMillis;
+        long slice = Math.min(expiresAtMillis / partitionMillis, currentSlice + partitions.length - 1);
+        if (slice < currentSlice) {
+            return;
+        }
+
+        long hash = hash(key);
+        partitions[(int) Math.floorMod(slice, (long) partitions.length)].put(slice, hash, mix(hash), this);
+    }
+
+    /**
+     * Returns {@code false} if the key has definitely not been added or has expired, or {@code true}
+     * if it might have been added.
+     */
+    boolean mightContain(String key) {
+        long currentSlice = clock.getAsLong() / partitionMillis;
+        long hash = hash(key);
+        long secondHash = mix(hash);
+        for (Partition partition : partitions) {
+            if (partition.slice >= currentSlice && partition.mightContain(hash, secondHash, this)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index of the i-th bit of a key, by double hashing.
+     */
+    private int bitIndex(long hash, long secondHash, int i) {
+        return (int) Math.floorMod(hash + i * secondHash, (long) bitCount);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key, finalized to spread the bits.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Partition {
+
+        private final AtomicLongArray words;
+
+        /**
+         * The time slice whose keys this partition holds. Set to {@link Long#MIN_VALUE} while the
+         * partition is being cleared for reuse.
+         */
+        private volatile long slice = Long.MIN_VALUE;
+
+        Partition(int wordCount) {
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        synchronized void put(long slice, long hash, long secondHash, TimePartitionedBloomFilter filter) {
+            if (this.slice < slice) {
+                // The previous slice of this partition has ended
+                this.slice = Long.MIN_VALUE;
+                for (int i = 0; i < words.length(); i++) {
+                    words.set(i, 0L);
+                }
+                this.slice = slice;
+            }
+
+            for (int i = 0; i < filter.hashCount; i++) {
+                int index = filter.bitIndex(hash, secondHash, i);
+                words.set(index >>> 6, words.get(index >>> 6) | (1L << index));
+            }
+        }
+
+        boolean mightContain(long hash, long secondHash, TimePartitionedBloomFilter filter) {
+            for (int i = 0; i < filter.hashCount; i++) {
+                int index = filter.bitIndex(hash, secondHash, i);
+                if ((words.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -3,25 +3,38 @@ package com.example.ecommerce.auth.service;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Service interface for managing blacklisted tokens.
+ * Service interface for revoking access tokens before they expire.
+ * <p>
+ * Tokens are identified by their {@code jti} claim, see {@link TokenService#extractTokenId(String)}.
+ * Revoked token IDs are stored in Redis as keys without a value. Every node keeps a local Bloom
+ * filter of them, so that only tokens the filter reports as possibly revoked are confirmed
+ * against Redis.
  */
 public interface TokenBlacklistService {
 
     /**
-     * Blacklists a token for a specified duration.
+     * Revokes a token until it expires and notifies the other nodes.
      *
-     * @param token   The token to be blacklisted
-     * @param timeout The duration before the token is removed from the blacklist
-     * @param unit    The time unit of the timeout value
+     * @param tokenId the ID of the token to revoke
+     * @param timeout the remaining lifetime of the token
+     * @param unit    the unit of the timeout
      */
-    void blacklistToken(String token, long timeout, TimeUnit unit);
+    void blacklistToken(String tokenId, long timeout, TimeUnit unit);
 
     /**
-     * Checks if a token is currently blacklisted.
+     * Checks whether a token has been revoked.
      *
-     * @param token The token to check
-     * @return {@code true} if the token is blacklisted, {@code false} otherwise
+     * @param tokenId the ID of the token to check
+     * @return {@code true} if the token is revoked, otherwise {@code false}
      */
-    boolean isTokenBlacklisted(String token);
+    boolean isTokenBlacklisted(String tokenId);
+
+    /**
+     * Adds every token revoked in Redis to the local filter. Until this has succeeded once, every
+     * check is answered by Redis.
+     *
+     * @return the number of revoked tokens found
+     */
+    int loadBlacklist();
 
 }
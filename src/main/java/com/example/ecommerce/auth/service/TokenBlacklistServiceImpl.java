@@ -1,32 +1,209 @@
 package com.example.ecommerce.auth.service;
 
-import lombok.RequiredArgsConstructor;
+import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.TokenBlacklistProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 @Service
-@RequiredArgsConstructor
-public class TokenBlacklistServiceImpl implements TokenBlacklistService {
+public class TokenBlacklistServiceImpl implements TokenBlacklistService, MessageListener {
 
     private final static String BLACKLISTED_TOKEN_KEY_PREFIX = "blacklisted:";
 
+    static final String BLACKLIST_CHANNEL = "token-blacklist";
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final byte[] EMPTY_VALUE = new byte[0];
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final TimePartitionedBloomFilter revokedTokens;
+    private final LongSupplier clock;
 
-    @Override
-    public void blacklistToken(String token, long timeout, TimeUnit unit) {
-        redisTemplate.opsForValue().set(
-                BLACKLISTED_TOKEN_KEY_PREFIX + token,
-                token,
-                timeout,
-                unit
+    /**
+     * Whether the filter holds every revoked token. Until the first load, checks go to Redis.
+     */
+    private volatile boolean loaded;
+
+    private final Counter redisCallsSaved;
+    private final Counter filterHits;
+    private final Counter falsePositives;
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistServiceImpl.class);
+
+    public TokenBlacklistServiceImpl(RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     JwtProperties jwtProperties,
+                                     TokenBlacklistProperties blacklistProperties,
+                                     MeterRegistry meterRegistry) {
+        this(redisTemplate, listenerContainer, jwtProperties, blacklistProperties, meterRegistry, System::currentTimeMillis);
+    }
+
+    TokenBlacklistServiceImpl(RedisTemplate<String, Object> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              JwtProperties jwtProperties,
+                              TokenBlacklistProperties blacklistProperties,
+                              MeterRegistry meterRegistry,
+                              LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.revokedTokens = new TimePartitionedBloomFilter(
+                blacklistProperties.getExpectedInsertions(),
+                blacklistProperties.getFalsePositiveProbability(),
+                blacklistProperties.getPartitionDuration().toMillis(),
+                jwtProperties.getAccessExpInMs(),
+                clock
         );
+
+        this.redisCallsSaved = Counter.builder("auth.blacklist.redis.calls.saved")
+                .description("Number of blacklist checks answered by the local filter without Redis")
+                .register(meterRegistry);
+        this.filterHits = Counter.builder("auth.blacklist.filter.hits")
+                .description("Number of blacklist checks the local filter passed on to Redis")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.blacklist.filter.false.positives")
+                .description("Number of filter hits for tokens Redis reported as not revoked")
+                .register(meterRegistry);
+        Gauge.builder("auth.blacklist.filter.false.positive.rate", this, TokenBlacklistServiceImpl::falsePositiveRate)
+                .description("Share of checks of tokens that are not revoked which the local filter passed on to Redis")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(BLACKLIST_CHANNEL));
     }
 
     @Override
-    public boolean isTokenBlacklisted(String token) {
-        return redisTemplate.hasKey(BLACKLISTED_TOKEN_KEY_PREFIX + token);
+    public void blacklistToken(String tokenId, long timeout, TimeUnit unit) {
+        long expiresAt = clock.getAsLong() + unit.toMillis(timeout);
+
+        // Only the key is looked up, so the entry stores no value
+        byte[] key = (BLACKLISTED_TOKEN_KEY_PREFIX + tokenId).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, EMPTY_VALUE, Expiration.from(timeout, unit), RedisStringCommands.SetOption.upsert()));
+        revokedTokens.put(tokenId, expiresAt);
+
+        // Nodes that miss the message pick the token up with the next load
+        try {
+            redisTemplate.convertAndSend(BLACKLIST_CHANNEL, expiresAt + ":" + tokenId);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to publish revoked token to other nodes", ex);
+        }
+    }
+
+    @Override
+    public boolean isTokenBlacklisted(String tokenId) {
+        if (!loaded) {
+            return isStoredInRedis(tokenId);
+        }
+
+        if (!revokedTokens.mightContain(tokenId)) {
+            redisCallsSaved.increment();
+            return false;
+        }
+
+        filterHits.increment();
+        boolean revoked = isStoredInRedis(tokenId);
+        if (!revoked) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    @Override
+    public int loadBlacklist() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(BLACKLISTED_TOKEN_KEY_PREFIX + "*")
+                .count(LOAD_BATCH_SIZE)
+                .build();
+
+        int loadedTokens = 0;
+        List<String> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == LOAD_BATCH_SIZE) {
+                    loadedTokens += loadBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        loadedTokens += loadBatch(batch);
+
+        loaded = true;
+        return loadedTokens;
+    }
+
+    /**
+     * Adds a token revoked on another node, published as {@code <expiresAtMillis>:<tokenId>}.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String payload = String.valueOf(body);
+        int separator = payload.indexOf(':');
+        try {
+            revokedTokens.put(payload.substring(separator + 1), Long.parseLong(payload.substring(0, separator)));
+        } catch (RuntimeException ex) {
+            logger.error("Ignoring malformed revoked token message", ex);
+        }
+    }
+
+    /**
+     * Reads the remaining lifetime of every key of the batch in one round-trip and adds the
+     * tokens that have not expired.
+     */
+    private int loadBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        long now = clock.getAsLong();
+        int added = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            long ttl = ttls.get(i) instanceof Long value ? value : -1L;
+            if (ttl == -2L) {
+                // Expired between scan and lookup
+                continue;
+            }
+
+            String tokenId = keys.get(i).substring(BLACKLISTED_TOKEN_KEY_PREFIX.length());
+            revokedTokens.put(tokenId, ttl < 0 ? Long.MAX_VALUE : now + ttl);
+            added++;
+        }
+        return added;
+    }
+
+    private boolean isStoredInRedis(String tokenId) {
+        return redisTemplate.hasKey(BLACKLISTED_TOKEN_KEY_PREFIX + tokenId);
+    }
+
+    private double falsePositiveRate() {
+        double negatives = redisCallsSaved.count() + falsePositives.count();
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
     }
 
 }
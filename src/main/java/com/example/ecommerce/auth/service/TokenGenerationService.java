@@ -0,0 +1,47 @@
+package com.example.ecommerce.auth.service;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Service interface for revoking every token of a user at once.
+ * <p>
+ * Each user has a token generation, stored in Redis and embedded in every token issued to the
+ * user as the {@value #GENERATION_CLAIM} claim. Incrementing the generation revokes all tokens
+ * issued before, without touching them one by one. Every node keeps the generations it has read
+ * in a local cache, which other nodes update when they increment a generation.
+ * <p>
+ * Generations are only held in Redis. If Redis loses them, for example after a flush or a failover
+ * to a replica without persistence, every generation starts over at {@code 0}, and access tokens
+ * revoked by an increment are accepted again until they expire. Stored refresh tokens are revoked
+ * in the database as well, so they stay revoked.
+ */
+public interface TokenGenerationService {
+
+    String GENERATION_CLAIM = "gen";
+
+    /**
+     * Returns the current token generation of a user, which new tokens are issued with.
+     *
+     * @param username the username of the user
+     * @return the current generation, {@code 0} until it is first incremented
+     */
+    long currentGeneration(String username);
+
+    /**
+     * Revokes every token issued to a user so far.
+     *
+     * @param username the username of the user
+     * @return the new generation
+     */
+    long incrementGeneration(String username);
+
+    /**
+     * Checks whether a token was issued before the current generation of its subject. Tokens
+     * without the claim count as generation {@code 0}.
+     *
+     * @param claims the verified claims of the token
+     * @return {@code true} if the token is revoked, otherwise {@code false}
+     */
+    boolean isRevoked(Claims claims);
+
+}
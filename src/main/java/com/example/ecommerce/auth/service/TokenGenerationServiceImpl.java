@@ -0,0 +1,140 @@
+package com.example.ecommerce.auth.service;
+
+import com.example.ecommerce.auth.config.TokenGenerationProperties;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TokenGenerationServiceImpl implements TokenGenerationService, MessageListener {
+
+    private static final String GENERATION_KEY_PREFIX = "token-generation:";
+
+    static final String GENERATION_CHANNEL = "token-generation";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Generations read from Redis. Entries are read again once the TTL has passed, so that a node
+     * that missed an increment message picks up the new generation. Until a read succeeds, the
+     * last known generation stays in use.
+     */
+    private final LoadingCache<String, Long> generations;
+
+    private final Counter loadFailures;
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenGenerationServiceImpl.class);
+
+    public TokenGenerationServiceImpl(RedisTemplate<String, Object> redisTemplate,
+                                      RedisMessageListenerContainer listenerContainer,
+                                      TokenGenerationProperties tokenGenerationProperties,
+                                      MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(tokenGenerationProperties.getCacheMaximumSize())
+                .refreshAfterWrite(tokenGenerationProperties.getCacheTtl())
+                // Refresh on the reading thread, like the load that an expired entry would need
+                .executor(Runnable::run)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Long load(String username) {
+                        return loadGeneration(username, 0L);
+                    }
+
+                    @Override
+                    public Long reload(String username, Long previousGeneration) {
+                        return loadGeneration(username, previousGeneration);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, generations, "token-generations");
+
+        this.loadFailures = Counter.builder("auth.token.generation.load.failures")
+                .description("Number of token generation reads from Redis that failed and fell back to the last known generation")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(GENERATION_CHANNEL));
+    }
+
+    @Override
+    public long currentGeneration(String username) {
+        return generations.get(username);
+    }
+
+    @Override
+    public long incrementGeneration(String username) {
+        Long generation = redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + username);
+        if (generation == null) {
+            throw new IllegalStateException("Cannot increment token generation inside a transaction or pipeline");
+        }
+        updateGeneration(username, generation);
+
+        // Nodes that miss the message pick the generation up once their cached entry expires
+        try {
+            redisTemplate.convertAndSend(GENERATION_CHANNEL, generation + ":" + username);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to publish token generation of user '{}' to other nodes", username, ex);
+        }
+
+        logger.info("Revoked all tokens of user '{}' with generation {}", username, generation);
+        return generation;
+    }
+
+    @Override
+    public boolean isRevoked(Claims claims) {
+        Number generation = claims.get(GENERATION_CLAIM, Number.class);
+        long tokenGeneration = generation != null ? generation.longValue() : 0L;
+        return tokenGeneration < currentGeneration(claims.getSubject());
+    }
+
+    /**
+     * Updates the cached generation of a user, published as {@code <generation>:<username>}.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String payload = String.valueOf(body);
+        int separator = payload.indexOf(':');
+        try {
+            updateGeneration(payload.substring(separator + 1), Long.parseLong(payload.substring(0, separator)));
+        } catch (RuntimeException ex) {
+            logger.error("Ignoring malformed token generation message", ex);
+        }
+    }
+
+    /**
+     * Generations only grow, so a message arriving after a newer value was read is ignored.
+     */
+    private void updateGeneration(String username, long generation) {
+        generations.asMap().merge(username, generation, Math::max);
+    }
+
+    /**
+     * Reads the generation of a user from Redis. If Redis cannot be reached, tokens are checked
+     * against the last known generation, or {@code 0} if none was read yet, rather than rejecting
+     * every request.
+     */
+    private long loadGeneration(String username, long lastKnownGeneration) {
+        try {
+            Object generation = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + username);
+            return generation != null ? Long.parseLong(generation.toString()) : 0L;
+        } catch (RuntimeException ex) {
+            loadFailures.increment();
+            logger.warn("Failed to read token generation of user '{}', using generation {}", username, lastKnownGeneration, ex);
+            return lastKnownGeneration;
+        }
+    }
+
+}
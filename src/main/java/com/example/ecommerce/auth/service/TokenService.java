@@ -3,6 +3,7 @@ package com.example.ecommerce.auth.service;
 import com.example.ecommerce.auth.exception.InvalidJwtTokenException;
 import com.example.ecommerce.auth.exception.TokenRevokedException;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -40,6 +41,15 @@ public interface TokenService {
      */
     void validateToken(String token);
 
+    /**
+     * Validates a given token and returns its claims, verifying the token only once.
+     *
+     * @param token the token to validate
+     * @return the verified claims of the token
+     * @throws InvalidJwtTokenException if the token is malformed, expired, or unsupported
+     */
+    Claims parseToken(String token);
+
     /**
      * Revokes a specific refresh token by marking it as revoked in the database.
      *
@@ -48,9 +58,11 @@ public interface TokenService {
     void revokeToken(String token);
 
     /**
-     * Revokes all active refresh tokens associated with a specific user.
+     * Revokes every access and refresh token issued to a specific user so far, by incrementing
+     * the token generation of the user. Stored refresh tokens are also marked as revoked with a
+     * single update, so that they stay revoked if the generation is lost.
      *
-     * @param username the username whose active tokens should be revoked
+     * @param username the username whose tokens should be revoked
      */
     void revokeAllTokensForUser(String username);
 
@@ -78,4 +90,12 @@ public interface TokenService {
      */
     Date extractExpiration(String token);
 
+    /**
+     * Extracts the ID of a given token, which identifies it in the blacklist.
+     *
+     * @param token the token from which to extract the ID
+     * @return the {@code jti} claim of the token, or the token itself if it was issued without one
+     */
+    String extractTokenId(String token);
+
 }
@@ -1,6 +1,7 @@
 package com.example.ecommerce.auth.service;
 
 import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.RefreshTokenProperties;
 import com.example.ecommerce.auth.exception.InvalidJwtTokenException;
 import com.example.ecommerce.auth.exception.TokenRevokedException;
 import com.example.ecommerce.auth.model.RefreshToken;
@@ -8,14 +9,11 @@ import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.auth.model.enums.TokenType;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
 import com.example.ecommerce.auth.repository.RefreshTokenRepository;
+import com.example.ecommerce.auth.security.jwt.AuthenticatedUser;
+import com.example.ecommerce.auth.security.jwt.JwtCodec;
+import com.example.ecommerce.auth.security.jwt.VerifiedJwt;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtBuilder;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -24,9 +22,11 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.SecretKey;
-import java.security.Key;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -38,15 +38,22 @@ public class TokenServiceImpl implements TokenService {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenServiceImpl.class);
 
+    private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     // The expiration time of refresh tokens is very long, and
     // they are used to renew access tokens. For this reason,
     // it will be stored in the database.
     private final RefreshTokenRepository refreshTokenRepository;
 
+    private final JwtCodec jwtCodec;
     private final JwtProperties jwtProperties;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final TokenGenerationService tokenGenerationService;
     private final UserDetailsService userDetailsService;
 
     @Override
+    @Transactional
     public TokenResponse generateTokenPair(UserDetails userDetails) {
 
         String accessToken = buildAccessToken(userDetails);
@@ -57,9 +64,11 @@ public class TokenServiceImpl implements TokenService {
     }
 
     @Override
+    @Transactional(noRollbackFor = InvalidJwtTokenException.class)
     public TokenResponse refreshTokenPair(String refreshToken) {
+        Claims claims;
         try {
-            validateToken(refreshToken);
+            claims = parseToken(refreshToken);
         } catch (InvalidJwtTokenException ex) {
             revokeToken(refreshToken);
             logger.error("Cannot generate new token pair");
@@ -68,15 +77,18 @@ public class TokenServiceImpl implements TokenService {
 
         // Called to verify that user exists
         // otherwise exception will be thrown
-        User user = getUser(refreshToken);
+        User user = (User) userDetailsService.loadUserByUsername(claims.getSubject());
+
+        // Reject tokens issued before the user logged out everywhere
+        if (tokenGenerationService.isRevoked(claims)) {
+            throw new TokenRevokedException();
+        }
 
-        // Check stored token revoked or not
-        refreshTokenRepository.findByToken(refreshToken)
-                .ifPresent(storedToken -> {
-                    if (storedToken.isRevoked()) {
-                        throw new TokenRevokedException();
-                    }
-                });
+        // Check stored token revoked or not. Revoked tokens may
+        // already be purged, so a missing token counts as revoked.
+        refreshTokenRepository.findByTokenHash(RefreshToken.hash(refreshToken))
+                .filter(storedToken -> !storedToken.isRevoked())
+                .orElseThrow(TokenRevokedException::new);
 
         // Revoke stored old refresh token
         revokeToken(refreshToken);
@@ -91,20 +103,17 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void validateToken(String token) {
-        try {
-            Jwts.parser().verifyWith((SecretKey) getSigningKey()).build().parseSignedClaims(token);
-        } catch (MalformedJwtException | ExpiredJwtException | UnsupportedJwtException ex) {
-            logger.error("Invalid JWT token. {}", ex.getMessage());
-            throw new InvalidJwtTokenException("Invalid JWT token", ex);
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty: {}", ex.getMessage());
-            throw new InvalidJwtTokenException("JWT claims string is empty", ex);
-        }
+        jwtCodec.decode(token);
+    }
+
+    @Override
+    public Claims parseToken(String token) {
+        return jwtCodec.decode(token);
     }
 
     @Override
     public void revokeToken(String token) {
-        refreshTokenRepository.findByToken(token).ifPresent(storedToken -> {
+        refreshTokenRepository.findByTokenHash(RefreshToken.hash(token)).ifPresent(storedToken -> {
             storedToken.setRevoked(true);
             refreshTokenRepository.save(storedToken);
             logger.info("Token revoked for user '{}'", extractUsername(token));
@@ -113,16 +122,8 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void revokeAllTokensForUser(String username) {
-        List<RefreshToken> activeTokens = refreshTokenRepository.findActiveTokensByUserId(username);
-        if (activeTokens.isEmpty()) {
-            logger.error("No active tokens found for user '{}'", username);
-            return;
-        }
-
-        activeTokens.forEach(token -> token.setRevoked(true));
-        refreshTokenRepository.saveAll(activeTokens);
-
-        logger.info("Revoked {} token(s) for user '{}'", activeTokens.size(), username);
+        refreshTokenRepository.revokeAllByUsername(username);
+        tokenGenerationService.incrementGeneration(username);
     }
 
     @Override
@@ -145,26 +146,33 @@ public class TokenServiceImpl implements TokenService {
         return extractClaim(token, Claims::getExpiration);
     }
 
-    // **************** Helper Methods **************** //
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+    @Override
+    public String extractTokenId(String token) {
+        return new VerifiedJwt(token, extractClaims(token)).tokenId();
     }
 
+    // **************** Helper Methods **************** //
+
     private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
         return claimResolver.apply(extractClaims(token));
     }
 
+    /**
+     * Returns the claims already verified by the JWT filter if the token is the bearer token of the
+     * current request, otherwise verifies the token.
+     */
     private Claims extractClaims(String token) {
-        SecretKey key = (SecretKey) getSigningKey();
-        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return VerifiedJwt.current()
+                .filter(verifiedJwt -> verifiedJwt.token().equals(token))
+                .map(VerifiedJwt::claims)
+                .orElseGet(() -> jwtCodec.decode(token));
     }
 
     private String buildAccessToken(UserDetails userDetails) {
         return buildToken(
                 userDetails,
                 jwtProperties.getAccessExpInMs(),
-                Map.of("roles", userDetails.getAuthorities())
+                AuthenticatedUser.of((User) userDetails).toClaims()
         );
     }
 
@@ -181,11 +189,12 @@ public class TokenServiceImpl implements TokenService {
         Date issuedAt = new Date();
         Date expiredAt = new Date(issuedAt.getTime() + expiration);
 
-        JwtBuilder builder = Jwts.builder()
+        JwtBuilder builder = jwtCodec.builder()
+                .id(newTokenId())
                 .subject(userDetails.getUsername())
                 .issuedAt(issuedAt)
                 .expiration(expiredAt)
-                .signWith(getSigningKey());
+                .claim(TokenGenerationService.GENERATION_CLAIM, tokenGenerationService.currentGeneration(userDetails.getUsername()));
 
         if (claims != null && !claims.isEmpty()) {
             builder.claims(claims);
@@ -194,21 +203,40 @@ public class TokenServiceImpl implements TokenService {
         return builder.compact();
     }
 
+    /**
+     * Returns 128 random bits as 22 URL-safe characters, shorter than a UUID string.
+     */
+    private static String newTokenId() {
+        byte[] id = new byte[16];
+        TOKEN_ID_RANDOM.nextBytes(id);
+        return TOKEN_ID_ENCODER.encodeToString(id);
+    }
+
+    /**
+     * Stores a new refresh token. If the user already has the maximum number of active tokens,
+     * the oldest ones are deleted in the same transaction.
+     */
     private void saveRefreshToken(String token, UserDetails userDetails) {
+        User user = (User) userDetails;
+        Instant now = Instant.now();
+
+        List<RefreshToken> activeTokens = refreshTokenRepository.lockActiveTokensByUserId(user.getId(), now);
+        int excess = activeTokens.size() - refreshTokenProperties.getMaxActivePerUser() + 1;
+        if (excess > 0) {
+            refreshTokenRepository.deleteAll(activeTokens.subList(0, excess));
+            logger.info("Evicted {} oldest refresh token(s) of user '{}'", excess, user.getUsername());
+        }
 
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(token)
+                .tokenHash(RefreshToken.hash(token))
                 .type(TokenType.BEARER)
                 .revoked(false)
-                .user((User) userDetails)
+                .expiresAt(now.plusMillis(jwtProperties.getRefreshExpInMs()))
+                .user(user)
                 .build();
 
         refreshTokenRepository.save(refreshToken);
         logger.info("Refresh token saved for the user '{}'", userDetails.getUsername());
     }
 
-    private User getUser(String token) {
-        return (User) userDetailsService.loadUserByUsername(extractUsername(token));
-    }
-
 }
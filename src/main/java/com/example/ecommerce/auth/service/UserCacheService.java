@@ -0,0 +1,34 @@
+package com.example.ecommerce.auth.service;
+
+import com.example.ecommerce.auth.exception.UserNotFoundException;
+import com.example.ecommerce.auth.model.User;
+
+/**
+ * Service interface for reading users through a bounded, local cache.
+ * <p>
+ * Evictions are broadcast to every node. A node that misses the broadcast keeps serving the
+ * previous state of the user until its entry expires, which the configured time to live bounds.
+ * <p>
+ * Cached users are detached entities shared between requests. They must not be modified, and
+ * their lazy associations are not initialized.
+ */
+public interface UserCacheService {
+
+    /**
+     * Returns the user with the given username, loading it only if it is not cached.
+     *
+     * @param username the username of the user
+     * @return the cached {@link User}
+     * @throws UserNotFoundException if no user exists with the given username
+     */
+    User getUser(String username);
+
+    /**
+     * Removes the user with the given username from the cache of every node, so that the next read
+     * loads its current state.
+     *
+     * @param username the username of the user
+     */
+    void evict(String username);
+
+}
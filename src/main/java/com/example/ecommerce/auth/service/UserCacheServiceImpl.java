@@ -0,0 +1,79 @@
+package com.example.ecommerce.auth.service;
+
+import com.example.ecommerce.auth.config.UserCacheProperties;
+import com.example.ecommerce.auth.exception.UserNotFoundException;
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserCacheServiceImpl implements UserCacheService, MessageListener {
+
+    static final String EVICTION_CHANNEL = "user-cache-evictions";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, User> users;
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheServiceImpl.class);
+
+    public UserCacheServiceImpl(UserRepository userRepository,
+                                RedisTemplate<String, Object> redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                UserCacheProperties userCacheProperties,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(userCacheProperties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICTION_CHANNEL));
+    }
+
+    @Override
+    public User getUser(String username) {
+        // Unknown usernames are not cached, so a registration is visible immediately
+        return users.get(username, key -> userRepository
+                .findByUsername(key)
+                .orElseThrow(() -> new UserNotFoundException(key)));
+    }
+
+    @Override
+    public void evict(String username) {
+        users.invalidate(username);
+
+        // Nodes that miss the message drop the user once its cache entry expires
+        try {
+            redisTemplate.convertAndSend(EVICTION_CHANNEL, username);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to publish user cache eviction to other nodes", ex);
+        }
+    }
+
+    /**
+     * Evicts a user changed on another node, published as its username.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object username = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (username != null) {
+            users.invalidate(String.valueOf(username));
+        }
+    }
+
+}
@@ -14,13 +14,31 @@ import org.springframework.security.core.context.SecurityContextHolder;
 public interface UserContextService {
 
     /**
-     * Returns the currently authenticated user.
+     * Returns the currently authenticated user. Users authenticated with an access token are
+     * read through the {@link UserCacheService}.
      *
      * @return the authenticated {@link User}
      * @throws AuthenticationRequiredException if no user is authenticated
      */
     User getCurrentUser();
 
+    /**
+     * Returns the ID of the authenticated user, without loading the user.
+     *
+     * @return the user ID
+     * @throws AuthenticationRequiredException if no user is authenticated
+     */
+    String getCurrentUserId();
+
+    /**
+     * Returns an uninitialized reference to the authenticated user, for use in associations
+     * of entities owned by the user.
+     *
+     * @return a lazy {@link User} reference
+     * @throws AuthenticationRequiredException if no user is authenticated
+     */
+    User getCurrentUserReference();
+
     /**
      * Returns the username of the authenticated user.
      *
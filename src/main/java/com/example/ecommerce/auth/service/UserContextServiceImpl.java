@@ -2,32 +2,48 @@ package com.example.ecommerce.auth.service;
 
 import com.example.ecommerce.auth.exception.AuthenticationRequiredException;
 import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.repository.UserRepository;
+import com.example.ecommerce.auth.security.jwt.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 public class UserContextServiceImpl implements UserContextService {
 
+    private final UserCacheService userCacheService;
+    private final UserRepository userRepository;
+
     @Override
     public User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
-            throw new AuthenticationRequiredException("User is not authenticated");
-        }
-
-        Object principal = auth.getPrincipal();
+        UserDetails principal = getPrincipal();
         if (principal instanceof User user) {
             return user;
         }
+        return userCacheService.getUser(principal.getUsername());
+    }
 
-        throw new AuthenticationRequiredException("Invalid authentication principal");
+    @Override
+    public String getCurrentUserId() {
+        UserDetails principal = getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.id();
+        }
+        return getCurrentUser().getId();
+    }
+
+    @Override
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 
     @Override
     public String getCurrentUsername() {
-        return getCurrentUser().getUsername();
+        return getPrincipal().getUsername();
     }
 
     @Override
@@ -36,4 +52,18 @@ public class UserContextServiceImpl implements UserContextService {
         return auth != null && auth.isAuthenticated();
     }
 
+    private UserDetails getPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            throw new AuthenticationRequiredException("User is not authenticated");
+        }
+
+        Object principal = auth.getPrincipal();
+        if (principal instanceof User || principal instanceof AuthenticatedUser) {
+            return (UserDetails) principal;
+        }
+
+        throw new AuthenticationRequiredException("Invalid authentication principal");
+    }
+
 }
@@ -0,0 +1,50 @@
+package com.example.ecommerce.cart.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the abandoned cart compaction job.
+ * <p>
+ * This class holds the compaction-related properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "cart.compaction")
+public class CartCompactionProperties {
+
+    /**
+     * Number of days a cart may stay untouched before it is considered abandoned.
+     */
+    @Positive(message = "Cart retention days must be positive")
+    private final int retentionDays;
+
+    /**
+     * Maximum number of carts deleted in a single transaction.
+     * Kept small so that row locks are held only briefly.
+     */
+    @Positive(message = "Cart compaction batch size must be positive")
+    private final int batchSize;
+
+    /**
+     * Maximum number of batches processed in a single run.
+     * Remaining carts are picked up by the next run.
+     */
+    @Positive(message = "Cart compaction max batches per run must be positive")
+    private final int maxBatchesPerRun;
+
+    @ConstructorBinding
+    public CartCompactionProperties(@DefaultValue("30") int retentionDays,
+                                    @DefaultValue("200") int batchSize,
+                                    @DefaultValue("100") int maxBatchesPerRun) {
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.ecommerce.cart.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the cart summary consistency checker.
+ * <p>
+ * This class holds the consistency check properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "cart.consistency-check")
+public class CartConsistencyCheckProperties {
+
+    /**
+     * Number of carts whose totals are recomputed in a single query.
+     */
+    @Positive(message = "Cart consistency check batch size must be positive")
+    private final int batchSize;
+
+    @ConstructorBinding
+    public CartConsistencyCheckProperties(@DefaultValue("500") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+}
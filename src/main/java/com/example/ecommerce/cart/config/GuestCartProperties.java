@@ -0,0 +1,61 @@
+package com.example.ecommerce.cart.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for anonymous guest carts.
+ * <p>
+ * This class holds the guest cart related properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "cart.guest")
+public class GuestCartProperties {
+
+    /**
+     * The secret key used to sign guest cart cookies.
+     * It should be a Base64-encoded string.
+     */
+    @NotBlank(message = "Guest cart secret key cannot be blank")
+    private final String secret;
+
+    /**
+     * How long a guest cart is kept after its last access.
+     * Every read or write extends the lifetime by this amount.
+     */
+    @NotNull(message = "Guest cart time to live is required")
+    private final Duration ttl;
+
+    /**
+     * Maximum number of distinct products a guest cart may hold.
+     */
+    @Positive(message = "Guest cart max items must be positive")
+    private final int maxItems;
+
+    /**
+     * Whether the guest cart cookie is only sent over HTTPS.
+     */
+    private final boolean secureCookie;
+
+    @ConstructorBinding
+    public GuestCartProperties(String secret,
+                               @DefaultValue("7d") Duration ttl,
+                               @DefaultValue("50") int maxItems,
+                               @DefaultValue("true") boolean secureCookie) {
+        this.secret = secret;
+        this.ttl = ttl;
+        this.maxItems = maxItems;
+        this.secureCookie = secureCookie;
+    }
+
+}
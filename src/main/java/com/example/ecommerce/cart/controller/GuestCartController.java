@@ -0,0 +1,109 @@
+package com.example.ecommerce.cart.controller;
+
+import com.example.ecommerce.cart.payload.request.CreateCartItemRequest;
+import com.example.ecommerce.cart.payload.request.UpdateCartItemRequest;
+import com.example.ecommerce.cart.payload.response.GuestCartResponse;
+import com.example.ecommerce.cart.security.GuestCartCookie;
+import com.example.ecommerce.cart.service.GuestCartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for managing the cart of anonymous visitors.
+ * <p>
+ * The guest cart is identified by a signed cookie which is issued when the first item is added
+ * and refreshed on every request, so that its lifetime slides along with the cart in Redis.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/guest-cart")
+public class GuestCartController {
+
+    private final GuestCartService guestCartService;
+    private final GuestCartCookie guestCartCookie;
+
+    /**
+     * Retrieves the current guest cart.
+     *
+     * @param cookieValue the guest cart cookie, if present
+     * @return a {@link ResponseEntity} containing the {@link GuestCartResponse} with cart details
+     */
+    @GetMapping
+    public ResponseEntity<GuestCartResponse> getCart(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookieValue
+    ) {
+        String cartId = guestCartCookie.resolveCartId(cookieValue).orElse(null);
+        return withCookie(cartId, guestCartService.getCart(cartId));
+    }
+
+    /**
+     * Adds an item to the guest cart, starting a new guest cart if none exists.
+     *
+     * @param cookieValue the guest cart cookie, if present
+     * @param request     the {@link CreateCartItemRequest} containing item details to be added
+     * @return a {@link ResponseEntity} containing the updated {@link GuestCartResponse}
+     */
+    @PostMapping("/items")
+    public ResponseEntity<GuestCartResponse> addItem(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookieValue,
+            @Valid @RequestBody CreateCartItemRequest request
+    ) {
+        String cartId = guestCartCookie.resolveCartId(cookieValue).orElseGet(guestCartCookie::newCartId);
+        return withCookie(cartId, guestCartService.addItem(cartId, request));
+    }
+
+    /**
+     * Updates the quantity of a product in the guest cart.
+     *
+     * @param cookieValue the guest cart cookie, if present
+     * @param productId   the unique identifier of the product to be updated
+     * @param request     the {@link UpdateCartItemRequest} containing the new quantity
+     * @return a {@link ResponseEntity} containing the updated {@link GuestCartResponse}
+     */
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<GuestCartResponse> updateItemQuantity(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookieValue,
+            @PathVariable String productId,
+            @Valid @RequestBody UpdateCartItemRequest request
+    ) {
+        String cartId = guestCartCookie.resolveCartId(cookieValue).orElseGet(guestCartCookie::newCartId);
+        return withCookie(cartId, guestCartService.updateItemQuantity(cartId, productId, request));
+    }
+
+    /**
+     * Removes a product from the guest cart.
+     *
+     * @param cookieValue the guest cart cookie, if present
+     * @param productId   the unique identifier of the product to be removed
+     * @return a {@link ResponseEntity} containing the updated {@link GuestCartResponse}
+     */
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<GuestCartResponse> removeItem(
+            @CookieValue(name = GuestCartCookie.NAME, required = false) String cookieValue,
+            @PathVariable String productId
+    ) {
+        String cartId = guestCartCookie.resolveCartId(cookieValue).orElseGet(guestCartCookie::newCartId);
+        return withCookie(cartId, guestCartService.removeItem(cartId, productId));
+    }
+
+    private ResponseEntity<GuestCartResponse> withCookie(String cartId, GuestCartResponse response) {
+        if (cartId == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, guestCartCookie.create(cartId).toString())
+                .body(response);
+    }
+
+}
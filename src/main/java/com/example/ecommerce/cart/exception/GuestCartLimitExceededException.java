@@ -0,0 +1,11 @@
+package com.example.ecommerce.cart.exception;
+
+import com.example.ecommerce.shared.exception.BadRequestException;
+
+public class GuestCartLimitExceededException extends BadRequestException {
+
+    public GuestCartLimitExceededException(int maxItems) {
+        super("Guest cart cannot contain more than " + maxItems + " different products");
+    }
+
+}
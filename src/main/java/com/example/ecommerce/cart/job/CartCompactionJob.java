@@ -0,0 +1,117 @@
+package com.example.ecommerce.cart.job;
+
+import com.example.ecommerce.cart.config.CartCompactionProperties;
+import com.example.ecommerce.cart.repository.CartItemRepository;
+import com.example.ecommerce.cart.repository.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Periodically purges carts, together with their items, that have not been touched for
+ * the configured number of days.
+ * <p>
+ * Carts are selected in primary key order and deleted in small batches, each in its own
+ * transaction, so locks are held only for the duration of a single batch. A run stops after
+ * a bounded number of batches; because every batch commits independently, an interrupted or
+ * capped run loses no work and the next run simply continues with the remaining carts.
+ * Users whose cart was purged get a new, empty cart on their next access.
+ */
+@Component
+public class CartCompactionJob {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CartCompactionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter cartsReclaimed;
+    private final Counter cartItemsReclaimed;
+    private final Counter cartsSkipped;
+
+    private static final Logger logger = LoggerFactory.getLogger(CartCompactionJob.class);
+
+    public CartCompactionJob(CartRepository cartRepository,
+                             CartItemRepository cartItemRepository,
+                             CartCompactionProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cartsReclaimed = Counter.builder("cart.compaction.reclaimed")
+                .description("Number of rows deleted by the abandoned cart compaction job")
+                .tag("table", "cart")
+                .register(meterRegistry);
+        this.cartItemsReclaimed = Counter.builder("cart.compaction.reclaimed")
+                .description("Number of rows deleted by the abandoned cart compaction job")
+                .tag("table", "cart_item")
+                .register(meterRegistry);
+        this.cartsSkipped = Counter.builder("cart.compaction.skipped")
+                .description("Number of abandoned carts spared because they were modified during compaction")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${cart.compaction.cron:0 30 3 * * *}")
+    public void compact() {
+        Instant cutoff = Instant.now().minus(properties.getRetentionDays(), ChronoUnit.DAYS);
+        PageRequest batch = PageRequest.ofSize(properties.getBatchSize());
+
+        long lastCartId = 0L;
+        int deletedCarts = 0;
+        int deletedItems = 0;
+
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            List<Long> cartIds = cartRepository.findAbandonedCartIdsAfter(lastCartId, cutoff, batch);
+            if (cartIds.isEmpty()) {
+                break;
+            }
+
+            int[] deleted = deleteBatch(cartIds, cutoff);
+            deletedCarts += deleted[0];
+            deletedItems += deleted[1];
+            lastCartId = cartIds.get(cartIds.size() - 1);
+
+            if (cartIds.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+
+        logger.info("Cart compaction removed {} carts and {} cart items untouched since {}",
+                deletedCarts, deletedItems, cutoff);
+    }
+
+    /**
+     * Deletes the given carts and their items in a single short transaction.
+     *
+     * @return number of deleted carts and cart items, in that order
+     */
+    private int[] deleteBatch(List<Long> cartIds, Instant cutoff) {
+        int[] deleted = transactionTemplate.execute(status -> {
+            List<Long> stillAbandoned = cartRepository.lockAbandonedCarts(cartIds, cutoff);
+            if (stillAbandoned.isEmpty()) {
+                return new int[]{0, 0};
+            }
+            int items = cartItemRepository.deleteAllByCartIdIn(stillAbandoned);
+            int carts = cartRepository.deleteAllByIdIn(stillAbandoned);
+            return new int[]{carts, items};
+        });
+
+        cartsReclaimed.increment(deleted[0]);
+        cartItemsReclaimed.increment(deleted[1]);
+        cartsSkipped.increment(cartIds.size() - deleted[0]);
+        return deleted;
+    }
+
+}
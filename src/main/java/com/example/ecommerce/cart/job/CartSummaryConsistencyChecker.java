@@ -0,0 +1,84 @@
+package com.example.ecommerce.cart.job;
+
+import com.example.ecommerce.cart.config.CartConsistencyCheckProperties;
+import com.example.ecommerce.cart.repository.CartRepository;
+import com.example.ecommerce.cart.repository.projection.CartTotals;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically verifies the denormalized item count and total price stored on each cart
+ * against the values recomputed from its cart items, and repairs any drift.
+ * <p>
+ * Carts are scanned in primary key order in fixed size batches, so a run never holds
+ * more than one batch in memory and never keeps a long-running transaction open.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartSummaryConsistencyChecker {
+
+    private final CartRepository cartRepository;
+    private final CartConsistencyCheckProperties properties;
+
+    private static final Logger logger = LoggerFactory.getLogger(CartSummaryConsistencyChecker.class);
+
+    @Scheduled(
+            initialDelayString = "${cart.consistency-check.initialDelayMs:60000}",
+            fixedDelayString = "${cart.consistency-check.fixedDelayMs:900000}"
+    )
+    public void checkConsistency() {
+        int batchSize = properties.getBatchSize();
+        long lastCartId = 0L;
+        int checked = 0;
+        int corrected = 0;
+
+        List<CartTotals> batch;
+        do {
+            batch = cartRepository.findCartTotalsAfter(lastCartId, PageRequest.ofSize(batchSize));
+            for (CartTotals totals : batch) {
+                if (!totals.isConsistent() && correct(totals)) {
+                    corrected++;
+                }
+            }
+            checked += batch.size();
+            if (!batch.isEmpty()) {
+                lastCartId = batch.get(batch.size() - 1).cartId();
+            }
+        } while (batch.size() == batchSize);
+
+        if (corrected > 0) {
+            logger.warn("Cart summary consistency check corrected {} of {} carts", corrected, checked);
+        } else {
+            logger.debug("Cart summary consistency check found no drift in {} carts", checked);
+        }
+    }
+
+    private boolean correct(CartTotals totals) {
+        int updated = cartRepository.correctTotals(
+                totals.cartId(),
+                Math.toIntExact(totals.actualItemCount()),
+                totals.actualTotalPrice(),
+                totals.storedItemCount(),
+                totals.storedTotalPrice()
+        );
+
+        if (updated == 0) {
+            // The cart was modified after it was read; the next run will re-check it
+            logger.debug("Skipped correcting cart '{}' as it changed concurrently", totals.cartId());
+            return false;
+        }
+
+        logger.info("Corrected cart '{}' totals from ({}, {}) to ({}, {})",
+                totals.cartId(),
+                totals.storedItemCount(), totals.storedTotalPrice(),
+                totals.actualItemCount(), totals.actualTotalPrice());
+        return true;
+    }
+
+}
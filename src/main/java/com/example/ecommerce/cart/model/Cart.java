@@ -2,10 +2,10 @@ package com.example.ecommerce.cart.model;
 
 import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.shared.audit.Auditable;
+import com.example.ecommerce.shared.money.Money;
+import com.example.ecommerce.shared.persistence.PooledSequence;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
@@ -16,7 +16,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,7 +29,7 @@ import static lombok.Builder.Default;
 public class Cart extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("cart_seq")
     private Long id;
 
     @OneToOne
@@ -41,8 +40,13 @@ public class Cart extends Auditable {
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CartItem> cartItems = new ArrayList<>();
 
+    // Denormalized running totals, kept in sync by the cart mutation paths
+    // so that the cart summary can be served without loading cart items.
     @Default
-    private BigDecimal totalPrice = BigDecimal.ZERO;
+    private int itemCount = 0;
+
+    @Default
+    private Money totalPrice = Money.ZERO;
 
     public boolean isEmpty() {
         return cartItems == null || cartItems.isEmpty();
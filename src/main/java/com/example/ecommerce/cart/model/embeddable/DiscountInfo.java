@@ -1,6 +1,7 @@
 package com.example.ecommerce.cart.model.embeddable;
 
 import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.shared.money.Money;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,8 +9,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 @ToString
@@ -19,10 +18,10 @@ import java.math.BigDecimal;
 public class DiscountInfo {
 
     private boolean discountApplied;
-    private BigDecimal discountPerItem = BigDecimal.ZERO;
-    private BigDecimal totalDiscountAmount = BigDecimal.ZERO;
-    private BigDecimal discountedUnitPrice = BigDecimal.ZERO;
-    private BigDecimal discountedTotalPrice = BigDecimal.ZERO;
+    private Money discountPerItem = Money.ZERO;
+    private Money totalDiscountAmount = Money.ZERO;
+    private Money discountedUnitPrice = Money.ZERO;
+    private Money discountedTotalPrice = Money.ZERO;
 
     public static DiscountInfo noDiscount() {
         return new DiscountInfo();
@@ -33,22 +32,18 @@ public class DiscountInfo {
             return DiscountInfo.noDiscount();
         }
 
-        // Convert quantity value to BigDecimal once to avoid repeated conversion
-        BigDecimal quantityBD = BigDecimal.valueOf(quantity);
-
-        // Calculate prices and discount amounts
-        BigDecimal unitPrice = product.getPrice(); // Original price for given product
-        BigDecimal discountedUnitPrice = product.getDiscountedPrice();
-        BigDecimal discountedTotalPrice = discountedUnitPrice.multiply(quantityBD);
-        BigDecimal discountAmountPerItem = unitPrice.subtract(discountedUnitPrice);
-        BigDecimal totalDiscountAmount = discountAmountPerItem.multiply(quantityBD);
+        // Calculate prices and discount amounts; the discount is rounded once per unit,
+        // so line totals are always an exact multiple of the discounted unit price
+        Money unitPrice = product.getUnitPrice(); // Original price for given product
+        Money discountAmountPerItem = unitPrice.percentage(product.getDiscount().getPercentage());
+        Money discountedUnitPrice = unitPrice.minus(discountAmountPerItem);
 
         return new DiscountInfo(
                 true,
                 discountAmountPerItem,
-                totalDiscountAmount,
+                discountAmountPerItem.times(quantity),
                 discountedUnitPrice,
-                discountedTotalPrice
+                discountedUnitPrice.times(quantity)
         );
     }
 
@@ -1,6 +1,7 @@
 package com.example.ecommerce.cart.model.embeddable;
 
 import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.shared.money.Money;
 import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,8 +9,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 @ToString
@@ -19,13 +18,12 @@ import java.math.BigDecimal;
 public class ProductInfo {
 
     private int quantity;
-    private BigDecimal unitPrice = BigDecimal.ZERO;
-    private BigDecimal totalPrice = BigDecimal.ZERO;
+    private Money unitPrice = Money.ZERO;
+    private Money totalPrice = Money.ZERO;
 
     public static ProductInfo calculateProductInfo(int quantity, Product product) {
-        BigDecimal unitPrice = product.getPrice();
-        BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
-        return new ProductInfo(quantity, unitPrice, totalPrice);
+        Money unitPrice = product.getUnitPrice();
+        return new ProductInfo(quantity, unitPrice, unitPrice.times(quantity));
     }
 
 }
@@ -1,10 +1,11 @@
 package com.example.ecommerce.cart.payload.response;
 
-import java.math.BigDecimal;
+import com.example.ecommerce.shared.money.Money;
+
 import java.util.List;
 
 public record CartResponse(
         Long cartId,
-        BigDecimal totalPrice,
+        Money totalPrice,
         List<CartItemResponse> items
 ) {}
@@ -1,9 +1,9 @@
 package com.example.ecommerce.cart.payload.response;
 
-import java.math.BigDecimal;
+import com.example.ecommerce.shared.money.Money;
 
 public record CartSummaryResponse(
         Long cartId,
         int itemCount,
-        BigDecimal totalPrice
+        Money totalPrice
 ) {}
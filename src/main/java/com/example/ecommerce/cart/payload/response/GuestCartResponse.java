@@ -0,0 +1,11 @@
+package com.example.ecommerce.cart.payload.response;
+
+import com.example.ecommerce.shared.money.Money;
+
+import java.util.List;
+
+public record GuestCartResponse(
+        int itemCount,
+        Money totalPrice,
+        List<GuestCartItemResponse> items
+) {}
@@ -2,8 +2,11 @@ package com.example.ecommerce.cart.repository;
 
 import com.example.ecommerce.cart.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CartItemRepository extends JpaRepository<CartItem, String> {
@@ -11,4 +14,11 @@ public interface CartItemRepository extends JpaRepository<CartItem, String> {
     @Query("SELECT ci FROM CartItem ci WHERE ci.cart.id = ?1 AND ci.product.id = ?2")
     Optional<CartItem> findByCartIdAndProductId(Long cartId, String productId);
 
+    @Query("SELECT ci FROM CartItem ci WHERE ci.cart.id = ?1 AND ci.product.id IN ?2")
+    List<CartItem> findAllByCartIdAndProductIdIn(Long cartId, Collection<String> productIds);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id IN ?1")
+    int deleteAllByCartIdIn(Collection<Long> cartIds);
+
 }
@@ -1,9 +1,20 @@
 package com.example.ecommerce.cart.repository;
 
 import com.example.ecommerce.cart.model.Cart;
+import com.example.ecommerce.cart.payload.response.CartSummaryResponse;
+import com.example.ecommerce.cart.repository.projection.CartTotals;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
@@ -11,4 +22,67 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.username = ?1")
     Optional<Cart> findByUser(String username);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.user.username = ?1")
+    Optional<Cart> findByUserForUpdate(String username);
+
+    @Query("""
+            SELECT new com.example.ecommerce.cart.payload.response.CartSummaryResponse(c.id, c.itemCount, c.totalPrice)
+            FROM Cart c
+            WHERE c.user.id = ?1
+            """)
+    Optional<CartSummaryResponse> findSummaryByUserId(String userId);
+
+    @Query("""
+            SELECT new com.example.ecommerce.cart.repository.projection.CartTotals(
+                c.id,
+                c.itemCount,
+                c.totalPrice,
+                COALESCE(SUM(ci.productInfo.quantity), 0),
+                COALESCE(SUM(
+                    CAST(ci.productInfo.totalPrice AS BigDecimal)
+                    - COALESCE(CAST(ci.discountInfo.totalDiscountAmount AS BigDecimal), 0)
+                ), 0)
+            )
+            FROM Cart c LEFT JOIN c.cartItems ci
+            WHERE c.id > ?1
+            GROUP BY c.id, c.itemCount, c.totalPrice
+            ORDER BY c.id
+            """)
+    List<CartTotals> findCartTotalsAfter(Long lastCartId, Pageable pageable);
+
+    /**
+     * Overwrites the denormalized totals only if they still hold the expected values,
+     * so that a concurrent cart mutation is never overwritten by a stale correction.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Cart c
+            SET c.itemCount = ?2, c.totalPrice = ?3
+            WHERE c.id = ?1 AND c.itemCount = ?4 AND c.totalPrice = ?5
+            """)
+    int correctTotals(Long cartId, int itemCount, Money totalPrice,
+                      int expectedItemCount, Money expectedTotalPrice);
+
+    @Query("""
+            SELECT c.id
+            FROM Cart c
+            WHERE c.id > ?1 AND COALESCE(c.updatedAt, c.createdAt) < ?2
+            ORDER BY c.id
+            """)
+    List<Long> findAbandonedCartIdsAfter(Long lastCartId, Instant cutoff, Pageable pageable);
+
+    /**
+     * Locks the given carts and returns the ones that are still untouched since the cutoff,
+     * so that a cart modified after it was selected for compaction is left alone.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Cart c WHERE c.id IN ?1 AND COALESCE(c.updatedAt, c.createdAt) < ?2")
+    List<Long> lockAbandonedCarts(Collection<Long> cartIds, Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id IN ?1")
+    int deleteAllByIdIn(Collection<Long> cartIds);
+
 }
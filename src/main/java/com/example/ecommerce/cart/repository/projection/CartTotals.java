@@ -0,0 +1,30 @@
+package com.example.ecommerce.cart.repository.projection;
+
+import com.example.ecommerce.shared.money.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Stored (denormalized) totals of a cart alongside the totals recomputed from its items.
+ */
+public record CartTotals(
+        Long cartId,
+        int storedItemCount,
+        Money storedTotalPrice,
+        long actualItemCount,
+        Money actualTotalPrice
+) {
+
+    /**
+     * Used by the query, as aggregates over monetary columns are computed as plain decimals.
+     */
+    public CartTotals(Long cartId, int storedItemCount, Money storedTotalPrice,
+                      long actualItemCount, BigDecimal actualTotalPrice) {
+        this(cartId, storedItemCount, storedTotalPrice, actualItemCount, Money.of(actualTotalPrice));
+    }
+
+    public boolean isConsistent() {
+        return storedItemCount == actualItemCount && storedTotalPrice.equals(actualTotalPrice);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.example.ecommerce.cart.security;
+
+import com.example.ecommerce.cart.config.GuestCartProperties;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies the cookie that identifies an anonymous guest cart.
+ * <p>
+ * The cookie value has the form {@code <cartId>.<signature>}, where the signature is an HMAC-SHA256
+ * of the cart id. Since guest carts are not tied to a user, the signature is what prevents clients
+ * from guessing or enumerating the ids of other visitors' carts.
+ */
+@Component
+public class GuestCartCookie {
+
+    public static final String NAME = "guest_cart";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '.';
+
+    private final GuestCartProperties properties;
+    private final SecretKeySpec signingKey;
+
+    public GuestCartCookie(GuestCartProperties properties) {
+        this.properties = properties;
+        this.signingKey = new SecretKeySpec(Base64.getDecoder().decode(properties.getSecret()), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Generates a new random guest cart id.
+     *
+     * @return the new cart id
+     */
+    public String newCartId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Creates a cookie carrying the signed cart id.
+     *
+     * @param cartId the guest cart id
+     * @return the cookie to be sent to the client
+     */
+    public ResponseCookie create(String cartId) {
+        return baseCookie(cartId + SEPARATOR + sign(cartId))
+                .maxAge(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Creates a cookie that removes the guest cart cookie from the client.
+     *
+     * @return the expired cookie
+     */
+    public ResponseCookie expire() {
+        return baseCookie("").maxAge(0).build();
+    }
+
+    /**
+     * Extracts the cart id from a cookie value if its signature is valid.
+     *
+     * @param cookieValue the raw cookie value, may be {@code null}
+     * @return the verified cart id, or empty if the value is missing or tampered with
+     */
+    public Optional<String> resolveCartId(String cookieValue) {
+        if (cookieValue == null) {
+            return Optional.empty();
+        }
+
+        int separatorIndex = cookieValue.lastIndexOf(SEPARATOR);
+        if (separatorIndex <= 0) {
+            return Optional.empty();
+        }
+
+        String cartId = cookieValue.substring(0, separatorIndex);
+        byte[] expected = sign(cartId).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = cookieValue.substring(separatorIndex + 1).getBytes(StandardCharsets.US_ASCII);
+
+        // Constant-time comparison to avoid leaking the signature through timing
+        return MessageDigest.isEqual(expected, actual) ? Optional.of(cartId) : Optional.empty();
+    }
+
+    private ResponseCookie.ResponseCookieBuilder baseCookie(String value) {
+        return ResponseCookie.from(NAME, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(properties.isSecureCookie())
+                .sameSite("Lax");
+    }
+
+    private String sign(String cartId) {
+        try {
+            // Mac instances are not thread-safe, so a new one is created per signature
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal(cartId.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign guest cart id", e);
+        }
+    }
+
+}
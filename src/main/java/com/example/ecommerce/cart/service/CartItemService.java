@@ -5,6 +5,8 @@ import com.example.ecommerce.cart.payload.request.CreateCartItemRequest;
 import com.example.ecommerce.cart.payload.request.UpdateCartItemRequest;
 import com.example.ecommerce.cart.payload.response.CartItemResponse;
 
+import java.util.Map;
+
 /**
  * Service interface for managing operations related to cart items in the user's cart.
  */
@@ -36,4 +38,15 @@ public interface CartItemService {
      */
     void removeItemFromCart(String cartItemId);
 
+    /**
+     * Adds the given quantities to the authenticated user's cart in a single batch.
+     * <p>
+     * Quantities are added to existing items of the same product. Merged quantities are capped at
+     * the available stock and products that no longer exist are skipped, so merging never fails
+     * because of stale guest cart contents.
+     *
+     * @param quantitiesByProductId quantities to add, keyed by product ID
+     */
+    void mergeItemsIntoCart(Map<String, Integer> quantitiesByProductId);
+
 }
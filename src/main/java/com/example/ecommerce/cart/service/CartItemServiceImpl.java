@@ -13,13 +13,18 @@ import com.example.ecommerce.cart.repository.CartItemRepository;
 import com.example.ecommerce.product.exception.InsufficientStockException;
 import com.example.ecommerce.product.model.Product;
 import com.example.ecommerce.product.service.ProductService;
+import com.example.ecommerce.shared.money.Money;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -37,7 +42,7 @@ public class CartItemServiceImpl implements CartItemService {
     @Transactional
     public CartItemResponse addItemToCart(CreateCartItemRequest request) {
 
-        Cart currentUserCart = cartService.getCartByAuthenticatedUser();
+        Cart currentUserCart = cartService.getCartByAuthenticatedUserForUpdate();
         Product requestedProduct = productService.findProductEntityById(request.productId());
 
         CartItem cartItem = getOrCreateIfNotExists(currentUserCart, requestedProduct);
@@ -45,17 +50,17 @@ public class CartItemServiceImpl implements CartItemService {
         final int itemQuantity = cartItem.getQuantity() + request.quantity();
         checkStockAvailability(itemQuantity, requestedProduct);
 
+        // An existing item is already reflected in the cart totals, so only the difference is added
+        Money previousItemPrice = calculateTotalItemPrice(cartItem);
+
         ProductInfo productInfo = ProductInfo.calculateProductInfo(itemQuantity, requestedProduct);
         cartItem.setProductInfo(productInfo);
 
         applyDiscountIfExists(itemQuantity, cartItem, requestedProduct);
 
-        BigDecimal amountToBeAdded = calculateTotalItemPrice(
-                cartItem.getProductInfo(),
-                cartItem.getDiscountInfo()
-        );
+        Money amountToBeAdded = calculateTotalItemPrice(cartItem).minus(previousItemPrice);
 
-        cartService.updateCartTotalPrice(amountToBeAdded);
+        cartService.updateCartTotals(currentUserCart, request.quantity(), amountToBeAdded);
         cartItem = cartItemRepository.save(cartItem);
 
         logger.info("Item '{}' added to cart '{}'", cartItem.getId(), currentUserCart.getId());
@@ -66,6 +71,7 @@ public class CartItemServiceImpl implements CartItemService {
     @Transactional
     public CartItemResponse updateItemQuantityInCart(String cartItemId, UpdateCartItemRequest request) {
 
+        cartService.getCartByAuthenticatedUserForUpdate();
         CartItem existingCartItem = findCartItemById(cartItemId);
 
         final int currentQuantity = existingCartItem.getQuantity();
@@ -81,20 +87,19 @@ public class CartItemServiceImpl implements CartItemService {
         DiscountInfo oldDiscountInfo = existingCartItem.getDiscountInfo();
         DiscountInfo newDiscountInfo = DiscountInfo.calculateDiscountInfo(updatedQuantity, product);
 
-        BigDecimal oldTotalPrice = calculateTotalItemPrice(oldProductInfo, oldDiscountInfo);
-        BigDecimal newTotalPrice = calculateTotalItemPrice(newProductInfo, newDiscountInfo);
-        BigDecimal priceDifference = newTotalPrice.subtract(oldTotalPrice).abs();
+        Money oldTotalPrice = calculateTotalItemPrice(oldProductInfo, oldDiscountInfo);
+        Money newTotalPrice = calculateTotalItemPrice(newProductInfo, newDiscountInfo);
 
         // apply changes
         existingCartItem.setProductInfo(newProductInfo);
         existingCartItem.setDiscountInfo(newDiscountInfo);
 
-        // If quantity decreases, price difference changed to negative
-        priceDifference = currentQuantity < updatedQuantity
-                ? priceDifference
-                : priceDifference.negate();
-
-        cartService.updateCartTotalPrice(priceDifference);
+        // Negative differences when the quantity decreases
+        cartService.updateCartTotals(
+                existingCartItem.getCart(),
+                updatedQuantity - currentQuantity,
+                newTotalPrice.minus(oldTotalPrice)
+        );
 
         CartItem updatedCartItem = cartItemRepository.save(existingCartItem);
         logger.info("Updated quantity of cart item {} to {}", currentQuantity, updatedQuantity);
@@ -106,26 +111,75 @@ public class CartItemServiceImpl implements CartItemService {
     @Transactional
     public void removeItemFromCart(String cartItemId) {
 
-        Cart currentUserCart = cartService.getCartByAuthenticatedUser();
+        Cart currentUserCart = cartService.getCartByAuthenticatedUserForUpdate();
         CartItem existingCartItem = findCartItemById(cartItemId);
 
-        BigDecimal amountToBeDeducted = calculateTotalItemPrice(
-                existingCartItem.getProductInfo(), existingCartItem.getDiscountInfo()
-        );
+        Money amountToBeDeducted = calculateTotalItemPrice(existingCartItem);
 
-        // Passing amount as (-amountToBeDeducted)
-        cartService.updateCartTotalPrice(amountToBeDeducted.negate());
+        // Passing quantity and amount as negative values
+        cartService.updateCartTotals(
+                currentUserCart,
+                -existingCartItem.getQuantity(),
+                amountToBeDeducted.negate()
+        );
 
         cartItemRepository.delete(existingCartItem);
         logger.info("Removed item '{}' from cart '{}'", cartItemId, currentUserCart.getId());
     }
 
+    @Override
+    @Transactional
+    public void mergeItemsIntoCart(Map<String, Integer> quantitiesByProductId) {
+
+        Cart currentUserCart = cartService.getCartByAuthenticatedUserForUpdate();
+        List<Product> products = productService.findProductEntitiesByIds(quantitiesByProductId.keySet());
+
+        Map<String, CartItem> existingItems = cartItemRepository
+                .findAllByCartIdAndProductIdIn(currentUserCart.getId(), quantitiesByProductId.keySet())
+                .stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
+
+        List<CartItem> mergedItems = new ArrayList<>();
+        int itemCountDifference = 0;
+        Money priceDifference = Money.ZERO;
+
+        for (Product product : products) {
+            CartItem cartItem = existingItems.get(product.getId());
+            if (cartItem == null) {
+                cartItem = createNewItem(currentUserCart, product);
+            }
+
+            final int currentQuantity = cartItem.getQuantity();
+            final int mergedQuantity = Math.min(
+                    currentQuantity + quantitiesByProductId.get(product.getId()),
+                    product.getStock()
+            );
+
+            if (mergedQuantity <= currentQuantity) {
+                continue;
+            }
+
+            Money previousItemPrice = calculateTotalItemPrice(cartItem);
+            cartItem.setProductInfo(ProductInfo.calculateProductInfo(mergedQuantity, product));
+            applyDiscountIfExists(mergedQuantity, cartItem, product);
+
+            itemCountDifference += mergedQuantity - currentQuantity;
+            priceDifference = priceDifference.plus(calculateTotalItemPrice(cartItem).minus(previousItemPrice));
+            mergedItems.add(cartItem);
+        }
+
+        if (mergedItems.isEmpty()) {
+            return;
+        }
+
+        cartItemRepository.saveAll(mergedItems);
+        cartService.updateCartTotals(currentUserCart, itemCountDifference, priceDifference);
+        logger.info("Merged {} items into cart '{}'", mergedItems.size(), currentUserCart.getId());
+    }
+
     private CartItem findCartItemById(String cartItemId) {
         return cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> {
-                    logger.error("Cart item not found with id '{}'", cartItemId);
-                    return new CartItemNotFoundException(cartItemId);
-                });
+                .orElseThrow(() -> new CartItemNotFoundException(cartItemId));
     }
 
     private CartItem getOrCreateIfNotExists(Cart currentUserCart, Product requestedProduct) {
@@ -168,6 +222,22 @@ public class CartItemServiceImpl implements CartItemService {
         cartItem.setDiscountInfo(DiscountInfo.calculateDiscountInfo(quantity, product));
     }
 
+    /**
+     * Calculates total price for a cart item, treating an item without product info as empty.
+     *
+     * @param cartItem cart item to calculate
+     * @return total price of the cart item after applying discount
+     */
+    private Money calculateTotalItemPrice(CartItem cartItem) {
+        if (cartItem.getProductInfo() == null) {
+            return Money.ZERO;
+        }
+        DiscountInfo discountInfo = cartItem.getDiscountInfo() != null
+                ? cartItem.getDiscountInfo()
+                : DiscountInfo.noDiscount();
+        return calculateTotalItemPrice(cartItem.getProductInfo(), discountInfo);
+    }
+
     /**
      * Calculates total price for a cart item based on its product info and any applicable discount.
      *
@@ -175,9 +245,9 @@ public class CartItemServiceImpl implements CartItemService {
      * @param discountInfo discount info of the cart item
      * @return total price of the cart item after applying discount
      */
-    private BigDecimal calculateTotalItemPrice(ProductInfo productInfo, DiscountInfo discountInfo) {
+    private Money calculateTotalItemPrice(ProductInfo productInfo, DiscountInfo discountInfo) {
         if (discountInfo.isDiscountApplied()) {
-            return productInfo.getTotalPrice().subtract(discountInfo.getTotalDiscountAmount());
+            return productInfo.getTotalPrice().minus(discountInfo.getTotalDiscountAmount());
         }
         return productInfo.getTotalPrice();
     }
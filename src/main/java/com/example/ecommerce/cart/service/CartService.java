@@ -3,8 +3,7 @@ package com.example.ecommerce.cart.service;
 import com.example.ecommerce.cart.model.Cart;
 import com.example.ecommerce.cart.payload.response.CartResponse;
 import com.example.ecommerce.cart.payload.response.CartSummaryResponse;
-
-import java.math.BigDecimal;
+import com.example.ecommerce.shared.money.Money;
 
 /**
  * Service interface for managing the shopping cart.
@@ -22,6 +21,15 @@ public interface CartService {
      */
     Cart getCartByAuthenticatedUser();
 
+    /**
+     * Retrieves the cart associated with the authenticated user and locks it until the end of the
+     * current transaction, so that concurrent checkouts and changes of the same cart run one after another.
+     * If no cart exists, a new one is created.
+     *
+     * @return the locked {@link Cart} of the authenticated user
+     */
+    Cart getCartByAuthenticatedUserForUpdate();
+
     /**
      * Retrieves a summary of the user's cart, including total item count and total price.
      *
@@ -31,21 +39,41 @@ public interface CartService {
 
     /**
      * Retrieves a summary of the authenticated user's cart.
+     * <p>
+     * The summary is read from the denormalized totals on the cart row without loading cart items.
+     * If the user does not have a cart yet, an empty summary is returned and no cart is created.
      *
      * @return a {@link CartSummaryResponse} containing cart ID, item count, and total price
      */
     CartSummaryResponse getCartSummary();
 
     /**
-     * Updates the total price of the authenticated user's cart.
+     * Adjusts the denormalized item count and total price of the given cart.
+     * <p>
+     * Must be called by every path that adds, updates or removes cart items so that the
+     * cart summary can be served from the cart row alone.
+     * The totals are adjusted by reading and writing the entity, so the cart must have been
+     * loaded with {@link #getCartByAuthenticatedUserForUpdate()} in the same transaction;
+     * otherwise concurrent changes to the same cart would overwrite each other's totals.
      *
-     * @param priceDifference the amount to adjust the total price by (positive or negative)
+     * @param cart                the cart to update
+     * @param itemCountDifference the amount to adjust the item count by (positive or negative)
+     * @param priceDifference     the amount to adjust the total price by (positive or negative)
      */
-    void updateCartTotalPrice(BigDecimal priceDifference);
+    void updateCartTotals(Cart cart, int itemCountDifference, Money priceDifference);
 
     /**
-     * Clear all items from the user's cart and resets the total price to zero.
+     * Clear all items from the user's cart and resets the item count and total price to zero.
      */
     void clearCart();
 
+    /**
+     * Clear all items from the given cart and resets the item count and total price to zero.
+     * Callers that have already loaded the cart in the current transaction should use this
+     * overload to avoid loading it again.
+     *
+     * @param cart the cart to clear
+     */
+    void clearCart(Cart cart);
+
 }
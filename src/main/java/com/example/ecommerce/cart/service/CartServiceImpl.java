@@ -7,11 +7,11 @@ import com.example.ecommerce.cart.model.CartItem;
 import com.example.ecommerce.cart.payload.response.CartResponse;
 import com.example.ecommerce.cart.payload.response.CartSummaryResponse;
 import com.example.ecommerce.cart.repository.CartRepository;
+import com.example.ecommerce.shared.money.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -31,35 +31,48 @@ public class CartServiceImpl implements CartService {
                 .orElseGet(this::createCart);
     }
 
+    @Override
+    public Cart getCartByAuthenticatedUserForUpdate() {
+        return cartRepository
+                .findByUserForUpdate(userContextService.getCurrentUsername())
+                .orElseGet(this::createCart);
+    }
+
     @Override
     public CartResponse getCart() {
         return cartMapper.mapToResponse(getCartByAuthenticatedUser());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CartSummaryResponse getCartSummary() {
-        Cart cart = getCartByAuthenticatedUser();
-        int itemCount = cart.getCartItems().stream().mapToInt(CartItem::getQuantity).sum();
-        return new CartSummaryResponse(cart.getId(), itemCount, cart.getTotalPrice());
+        return cartRepository
+                .findSummaryByUserId(userContextService.getCurrentUserId())
+                .orElseGet(() -> new CartSummaryResponse(null, 0, Money.ZERO));
     }
 
     @Override
-    public void updateCartTotalPrice(BigDecimal priceDifference) {
-        Cart currentUserCart = getCartByAuthenticatedUser();
-        currentUserCart.setTotalPrice(currentUserCart.getTotalPrice().add(priceDifference));
-        cartRepository.save(currentUserCart);
+    public void updateCartTotals(Cart cart, int itemCountDifference, Money priceDifference) {
+        cart.setItemCount(cart.getItemCount() + itemCountDifference);
+        cart.setTotalPrice(cart.getTotalPrice().plus(priceDifference));
+        cartRepository.save(cart);
     }
 
     @Override
     public void clearCart() {
-        Cart currentUserCart = getCartByAuthenticatedUser();
-        List<CartItem> cartItems = currentUserCart.getCartItems();
+        clearCart(getCartByAuthenticatedUser());
+    }
+
+    @Override
+    public void clearCart(Cart cart) {
+        List<CartItem> cartItems = cart.getCartItems();
 
         // orphanRemoval will handle the deletion
         cartItems.clear();
 
-        currentUserCart.setTotalPrice(BigDecimal.ZERO);
-        cartRepository.save(currentUserCart);
+        cart.setItemCount(0);
+        cart.setTotalPrice(Money.ZERO);
+        cartRepository.save(cart);
     }
 
     /**
@@ -68,7 +81,7 @@ public class CartServiceImpl implements CartService {
      * @return newly created {@link Cart}
      */
     private Cart createCart() {
-        Cart cart = new Cart(null, userContextService.getCurrentUser(), List.of(), BigDecimal.ZERO);
+        Cart cart = new Cart(null, userContextService.getCurrentUserReference(), List.of(), 0, Money.ZERO);
         return cartRepository.save(cart);
     }
 
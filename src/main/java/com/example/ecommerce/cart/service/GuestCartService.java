@@ -0,0 +1,69 @@
+package com.example.ecommerce.cart.service;
+
+import com.example.ecommerce.cart.exception.CartItemNotFoundException;
+import com.example.ecommerce.cart.exception.GuestCartLimitExceededException;
+import com.example.ecommerce.cart.payload.request.CreateCartItemRequest;
+import com.example.ecommerce.cart.payload.request.UpdateCartItemRequest;
+import com.example.ecommerce.cart.payload.response.GuestCartResponse;
+import com.example.ecommerce.product.exception.InsufficientStockException;
+
+/**
+ * Service interface for managing carts of anonymous visitors.
+ * <p>
+ * Guest carts are identified by an opaque cart ID issued to the client in a signed cookie and are
+ * stored only in Redis, never in the database. Each access extends their lifetime, so carts of
+ * visitors that never come back simply expire. When a visitor logs in, their guest cart is merged
+ * into their user cart.
+ */
+public interface GuestCartService {
+
+    /**
+     * Retrieves the contents of a guest cart with current prices.
+     * An unknown or expired cart ID results in an empty cart.
+     *
+     * @param cartId the guest cart ID
+     * @return a {@link GuestCartResponse} representing the cart details
+     */
+    GuestCartResponse getCart(String cartId);
+
+    /**
+     * Adds an item to a guest cart or increases its quantity if it already exists.
+     *
+     * @param cartId  the guest cart ID
+     * @param request a {@link CreateCartItemRequest} containing details of the item to be added
+     * @return a {@link GuestCartResponse} representing the updated cart
+     * @throws InsufficientStockException      if there is not enough stock for the resulting quantity
+     * @throws GuestCartLimitExceededException if the cart already holds the maximum number of products
+     */
+    GuestCartResponse addItem(String cartId, CreateCartItemRequest request);
+
+    /**
+     * Updates the quantity of a product in a guest cart.
+     *
+     * @param cartId    the guest cart ID
+     * @param productId the ID of the product to update
+     * @param request   a {@link UpdateCartItemRequest} containing the updated quantity
+     * @return a {@link GuestCartResponse} representing the updated cart
+     * @throws CartItemNotFoundException  if the product is not in the cart
+     * @throws InsufficientStockException if there is not enough stock for the requested quantity
+     */
+    GuestCartResponse updateItemQuantity(String cartId, String productId, UpdateCartItemRequest request);
+
+    /**
+     * Removes a product from a guest cart.
+     *
+     * @param cartId    the guest cart ID
+     * @param productId the ID of the product to remove
+     * @return a {@link GuestCartResponse} representing the updated cart
+     * @throws CartItemNotFoundException if the product is not in the cart
+     */
+    GuestCartResponse removeItem(String cartId, String productId);
+
+    /**
+     * Merges a guest cart into the authenticated user's cart and deletes the guest cart.
+     *
+     * @param cartId the guest cart ID
+     */
+    void mergeIntoUserCart(String cartId);
+
+}
@@ -0,0 +1,207 @@
+package com.example.ecommerce.cart.service;
+
+import com.example.ecommerce.cart.config.GuestCartProperties;
+import com.example.ecommerce.cart.exception.CartItemNotFoundException;
+import com.example.ecommerce.cart.exception.GuestCartLimitExceededException;
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.cart.payload.request.CreateCartItemRequest;
+import com.example.ecommerce.cart.payload.request.UpdateCartItemRequest;
+import com.example.ecommerce.cart.payload.response.GuestCartItemResponse;
+import com.example.ecommerce.cart.payload.response.GuestCartResponse;
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.mapper.ProductMapper;
+import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.service.ProductService;
+import com.example.ecommerce.shared.money.Money;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class GuestCartServiceImpl implements GuestCartService {
+
+    private static final String GUEST_CART_KEY_PREFIX = "guest-cart:";
+
+    private static final long ADDED = 0;
+    private static final long LIMIT_EXCEEDED = 1;
+
+    /**
+     * Adds a quantity of a product to a guest cart in one atomic step, so that concurrent adds to the
+     * same cart never lose an increment. Returns the outcome and the resulting quantity; the cart is
+     * only changed if it is {@code ADDED}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADD_ITEM_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+            if current == 0 and redis.call('HLEN', KEYS[1]) >= tonumber(ARGV[3]) then
+                return {1, current}
+            end
+            local quantity = current + tonumber(ARGV[2])
+            if quantity > tonumber(ARGV[4]) then
+                return {2, quantity}
+            end
+            redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            return {0, quantity}
+            """, List.class);
+
+    private final CartItemService cartItemService;
+    private final ProductService productService;
+
+    private final ProductMapper productMapper;
+    private final GuestCartProperties properties;
+    private final StringRedisTemplate redisTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestCartServiceImpl.class);
+
+    @Override
+    public GuestCartResponse getCart(String cartId) {
+        if (cartId == null) {
+            return emptyCart();
+        }
+        return buildResponse(findQuantities(cartId));
+    }
+
+    @Override
+    public GuestCartResponse addItem(String cartId, CreateCartItemRequest request) {
+        Product product = productService.findProductEntityById(request.productId());
+
+        List<?> result = redisTemplate.execute(
+                ADD_ITEM_SCRIPT,
+                List.of(key(cartId)),
+                product.getId(),
+                String.valueOf(request.quantity()),
+                String.valueOf(properties.getMaxItems()),
+                String.valueOf(product.getStock())
+        );
+
+        long outcome = ((Number) result.get(0)).longValue();
+        if (outcome == LIMIT_EXCEEDED) {
+            throw new GuestCartLimitExceededException(properties.getMaxItems());
+        }
+        if (outcome != ADDED) {
+            throw new InsufficientStockException(product.getStock(), ((Number) result.get(1)).intValue());
+        }
+        logger.info("Product '{}' added to guest cart '{}'", product.getId(), cartId);
+
+        return buildResponse(findQuantities(cartId));
+    }
+
+    @Override
+    public GuestCartResponse updateItemQuantity(String cartId, String productId, UpdateCartItemRequest request) {
+        String key = key(cartId);
+        if (!hash().hasKey(key, productId)) {
+            throw new CartItemNotFoundException(productId);
+        }
+
+        checkStockAvailability(request.quantity(), productService.findProductEntityById(productId));
+        hash().put(key, productId, String.valueOf(request.quantity()));
+
+        return buildResponse(findQuantities(cartId));
+    }
+
+    @Override
+    public GuestCartResponse removeItem(String cartId, String productId) {
+        if (hash().delete(key(cartId), productId) == 0) {
+            throw new CartItemNotFoundException(productId);
+        }
+        return buildResponse(findQuantities(cartId));
+    }
+
+    @Override
+    public void mergeIntoUserCart(String cartId) {
+        String key = key(cartId);
+        Map<String, Integer> quantities = toQuantities(hash().entries(key));
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        cartItemService.mergeItemsIntoCart(quantities);
+
+        // Deleted only after a successful merge, so a failed merge keeps the guest cart intact
+        redisTemplate.delete(key);
+        logger.info("Guest cart '{}' merged into user cart", cartId);
+    }
+
+    /**
+     * Reads the product quantities of a guest cart and extends its lifetime.
+     */
+    private Map<String, Integer> findQuantities(String cartId) {
+        String key = key(cartId);
+        Map<String, Integer> quantities = toQuantities(hash().entries(key));
+        if (!quantities.isEmpty()) {
+            redisTemplate.expire(key, properties.getTtl());
+        }
+        return quantities;
+    }
+
+    private GuestCartResponse buildResponse(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return emptyCart();
+        }
+
+        List<GuestCartItemResponse> items = new ArrayList<>(quantities.size());
+        int itemCount = 0;
+        Money totalPrice = Money.ZERO;
+
+        // Prices are not stored in the guest cart, they are always calculated from the current products
+        for (Product product : productService.findProductEntitiesByIds(quantities.keySet())) {
+            int quantity = quantities.get(product.getId());
+            ProductInfo productInfo = ProductInfo.calculateProductInfo(quantity, product);
+            DiscountInfo discountInfo = DiscountInfo.calculateDiscountInfo(quantity, product);
+
+            itemCount += quantity;
+            totalPrice = totalPrice
+                    .plus(productInfo.getTotalPrice())
+                    .minus(discountInfo.getTotalDiscountAmount());
+
+            items.add(new GuestCartItemResponse(productMapper.mapToResponse(product), productInfo, discountInfo));
+        }
+
+        return new GuestCartResponse(itemCount, totalPrice, items);
+    }
+
+    private Map<String, Integer> toQuantities(Map<Object, Object> entries) {
+        Map<String, Integer> quantities = new HashMap<>(entries.size());
+        entries.forEach((productId, quantity) ->
+                quantities.put(productId.toString(), Integer.parseInt(quantity.toString())));
+        return quantities;
+    }
+
+    /**
+     * Checks stock availability for the requested quantity of the specified product.
+     *
+     * @param requestedQuantity requested quantity
+     * @param product           product to check
+     * @throws InsufficientStockException if available stock is less than requested quantity
+     */
+    private void checkStockAvailability(int requestedQuantity, Product product) {
+        if (!product.hasSufficientStock(requestedQuantity)) {
+            throw new InsufficientStockException(product.getStock(), requestedQuantity);
+        }
+    }
+
+    private GuestCartResponse emptyCart() {
+        return new GuestCartResponse(0, Money.ZERO, List.of());
+    }
+
+    private HashOperations<String, Object, Object> hash() {
+        return redisTemplate.opsForHash();
+    }
+
+    private String key(String cartId) {
+        return GUEST_CART_KEY_PREFIX + cartId;
+    }
+
+}
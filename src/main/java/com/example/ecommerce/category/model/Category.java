@@ -1,9 +1,8 @@
 package com.example.ecommerce.category.model;
 
 import com.example.ecommerce.shared.audit.Auditable;
+import com.example.ecommerce.shared.persistence.PooledSequence;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -19,7 +18,7 @@ import lombok.ToString;
 public class Category extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("category_seq")
     private Long id;
     private String name;
 
@@ -0,0 +1,71 @@
+package com.example.ecommerce.order.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the asynchronous checkout pipeline.
+ * <p>
+ * This class holds the async checkout properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "order.checkout")
+public class AsyncCheckoutProperties {
+
+    /**
+     * Maximum number of accepted checkouts waiting for a worker.
+     * Checkouts submitted while the queue is full are rejected with 503.
+     */
+    @Positive(message = "Checkout queue capacity must be positive")
+    private final int queueCapacity;
+
+    /**
+     * Number of worker threads processing queued checkouts. Each worker holds one database
+     * connection while processing, so this must stay well below the connection pool size.
+     */
+    @Positive(message = "Checkout worker count must be positive")
+    private final int workers;
+
+    /**
+     * How long a status stream stays open before the client has to reconnect.
+     */
+    @NotNull(message = "Checkout status stream timeout must be defined")
+    private final Duration statusStreamTimeout;
+
+    /**
+     * How long an order may stay pending before it is marked as failed. Checkouts are only lost
+     * when an instance stops or crashes, so this must well exceed the longest a checkout can wait
+     * in the queue and for the payment gateway.
+     */
+    @NotNull(message = "Pending order timeout must be defined")
+    private final Duration pendingOrderTimeout;
+
+    /**
+     * Maximum number of stale pending orders failed in one transaction-per-order pass.
+     */
+    @Positive(message = "Pending order sweep batch size must be positive")
+    private final int pendingOrderSweepBatchSize;
+
+    @ConstructorBinding
+    public AsyncCheckoutProperties(@DefaultValue("1000") int queueCapacity,
+                                   @DefaultValue("4") int workers,
+                                   @DefaultValue("60s") Duration statusStreamTimeout,
+                                   @DefaultValue("15m") Duration pendingOrderTimeout,
+                                   @DefaultValue("100") int pendingOrderSweepBatchSize) {
+        this.queueCapacity = queueCapacity;
+        this.workers = workers;
+        this.statusStreamTimeout = statusStreamTimeout;
+        this.pendingOrderTimeout = pendingOrderTimeout;
+        this.pendingOrderSweepBatchSize = pendingOrderSweepBatchSize;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.example.ecommerce.order.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the order archive job.
+ * <p>
+ * This class holds the archive-related properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "order.archive")
+public class OrderArchiveProperties {
+
+    /**
+     * Number of days after which completed, cancelled and failed orders are moved to the archive.
+     */
+    @Positive(message = "Order archive retention days must be positive")
+    private final int retentionDays;
+
+    /**
+     * Maximum number of orders moved in a single transaction.
+     */
+    @Positive(message = "Order archive batch size must be positive")
+    private final int batchSize;
+
+    /**
+     * Maximum number of batches processed in a single run.
+     * Remaining orders are picked up by the next run.
+     */
+    @Positive(message = "Order archive max batches per run must be positive")
+    private final int maxBatchesPerRun;
+
+    @ConstructorBinding
+    public OrderArchiveProperties(@DefaultValue("180") int retentionDays,
+                                  @DefaultValue("200") int batchSize,
+                                  @DefaultValue("100") int maxBatchesPerRun) {
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.example.ecommerce.order.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the order summary backfill.
+ * <p>
+ * This class holds the backfill properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "order.summary-backfill")
+public class OrderSummaryBackfillProperties {
+
+    /**
+     * Whether missing order summaries are created on startup. Only needed once, on the first
+     * deployment of the order history read model.
+     */
+    private final boolean enabled;
+
+    /**
+     * Number of orders summarized in a single transaction.
+     */
+    @Positive(message = "Order summary backfill batch size must be positive")
+    private final int batchSize;
+
+    @ConstructorBinding
+    public OrderSummaryBackfillProperties(@DefaultValue("false") boolean enabled,
+                                          @DefaultValue("500") int batchSize) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+}
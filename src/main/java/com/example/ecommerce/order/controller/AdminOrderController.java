@@ -0,0 +1,72 @@
+package com.example.ecommerce.order.controller;
+
+import com.example.ecommerce.order.export.OrderExportFormat;
+import com.example.ecommerce.order.payload.request.AdminOrderSearchRequest;
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+import com.example.ecommerce.order.service.AdminOrderService;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@RequestMapping("/api/v1/admin/orders")
+public class AdminOrderController {
+
+    private final AdminOrderService adminOrderService;
+
+    /**
+     * Searches the orders of all users, newest first.
+     *
+     * @param filter the optional status, date range, user and minimum total filters
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page
+     * @param size   the maximum number of orders in the page
+     * @return a {@link ResponseEntity} containing a {@link CursorPaginatedResponse} of {@link AdminOrderResponse}
+     */
+    @GetMapping
+    public ResponseEntity<CursorPaginatedResponse<AdminOrderResponse>> searchOrders(
+            @Valid @ParameterObject AdminOrderSearchRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(adminOrderService.searchOrders(filter, cursor, size));
+    }
+
+    /**
+     * Exports every order matching the filters as a file download. The response is streamed while the
+     * orders are read, so exports of any size use constant memory.
+     *
+     * @param filter   the optional status, date range, user and minimum total filters
+     * @param format   the output format, {@code CSV} or {@code NDJSON}
+     * @param response the response to stream the orders to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/export")
+    public void exportOrders(
+            @Valid @ParameterObject AdminOrderSearchRequest filter,
+            @RequestParam(defaultValue = "CSV") OrderExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getMediaType().toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders." + format.getFileExtension())
+                .build()
+                .toString());
+        adminOrderService.exportOrders(filter, format, response.getOutputStream());
+    }
+
+}
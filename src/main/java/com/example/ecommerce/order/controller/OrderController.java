@@ -3,12 +3,15 @@ package com.example.ecommerce.order.controller;
 import com.example.ecommerce.order.payload.request.CancelOrderRequest;
 import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
 import com.example.ecommerce.order.payload.response.OrderResponse;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import com.example.ecommerce.order.payload.response.OrderSummaryResponse;
+import com.example.ecommerce.order.service.AsyncCheckoutService;
 import com.example.ecommerce.order.service.OrderService;
-import com.example.ecommerce.shared.payload.PaginatedResponse;
+import com.example.ecommerce.shared.idempotency.Idempotent;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,7 +20,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
 
 @RestController
 @RequiredArgsConstructor
@@ -26,16 +34,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderService orderService;
+    private final AsyncCheckoutService asyncCheckoutService;
 
     /**
-     * Retrieves all orders with pagination.
+     * Retrieves the order history of the current user, newest first.
+     * <p>
+     * Pages are navigated with the opaque {@code nextCursor} of the previous response. Full order
+     * details are available through {@link #getOrderById(String)}.
      *
-     * @param pageable pagination information
-     * @return a {@link ResponseEntity} containing a {@link PaginatedResponse} of {@link OrderResponse}
+     * @param cursor the cursor of the page to retrieve, or {@code null} for the first page
+     * @param size   the maximum number of orders in the page
+     * @return a {@link ResponseEntity} containing a {@link CursorPaginatedResponse} of {@link OrderSummaryResponse}
      */
     @GetMapping
-    public ResponseEntity<PaginatedResponse<OrderResponse>> getAllOrders(@ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(orderService.getAllOrdersForCurrentUser(pageable));
+    public ResponseEntity<CursorPaginatedResponse<OrderSummaryResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.getAllOrdersForCurrentUser(cursor, size));
     }
 
     /**
@@ -56,10 +72,53 @@ public class OrderController {
      * @return a {@link ResponseEntity} containing the created {@link OrderResponse}
      */
     @PostMapping("/checkout")
+    @Idempotent
     public ResponseEntity<OrderResponse> placeOrder(@Valid @RequestBody PlaceOrderRequest placeOrderRequest) {
         return ResponseEntity.ok(orderService.placeOrder(placeOrderRequest));
     }
 
+    /**
+     * Accepts a new order for asynchronous processing.
+     * <p>
+     * The order is created as pending and completed in the background. Its progress can be followed
+     * through the status endpoint referenced by the {@code Location} header or through the status stream.
+     *
+     * @param placeOrderRequest the {@link PlaceOrderRequest} containing the details of the order to be placed
+     * @return a {@link ResponseEntity} with status 202 containing the {@link OrderStatusResponse} of the pending order
+     */
+    @PostMapping("/checkout/async")
+    @Idempotent
+    public ResponseEntity<OrderStatusResponse> placeOrderAsync(@Valid @RequestBody PlaceOrderRequest placeOrderRequest) {
+        OrderStatusResponse pendingOrder = asyncCheckoutService.submitCheckout(placeOrderRequest);
+        URI statusLocation = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/orders/{orderId}/status")
+                .buildAndExpand(pendingOrder.orderId())
+                .toUri();
+        return ResponseEntity.accepted().location(statusLocation).body(pendingOrder);
+    }
+
+    /**
+     * Retrieves the current status of an order.
+     *
+     * @param orderId the unique identifier of the order
+     * @return a {@link ResponseEntity} containing the {@link OrderStatusResponse}
+     */
+    @GetMapping("/{orderId}/status")
+    public ResponseEntity<OrderStatusResponse> getOrderStatus(@PathVariable String orderId) {
+        return ResponseEntity.ok(orderService.getOrderStatus(orderId));
+    }
+
+    /**
+     * Streams the status of an order as Server-Sent Events until the order reaches a final status.
+     *
+     * @param orderId the unique identifier of the order
+     * @return an {@link SseEmitter} publishing {@link OrderStatusResponse} events
+     */
+    @GetMapping(path = "/{orderId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@PathVariable String orderId) {
+        return asyncCheckoutService.streamOrderStatus(orderId);
+    }
+
     /**
      * Cancels an existing order.
      *
@@ -67,6 +126,7 @@ public class OrderController {
      * @return a {@link ResponseEntity} indicating the cancellation was successful
      */
     @DeleteMapping("/cancel")
+    @Idempotent
     public ResponseEntity<Void> cancelOrder(@RequestBody CancelOrderRequest request) {
         orderService.cancelOrder(request);
         return ResponseEntity.ok().build();
@@ -0,0 +1,11 @@
+package com.example.ecommerce.order.exception;
+
+import com.example.ecommerce.shared.exception.ConflictException;
+
+public class CheckoutAlreadyPendingException extends ConflictException {
+
+    public CheckoutAlreadyPendingException() {
+        super("A checkout is already in progress for this cart");
+    }
+
+}
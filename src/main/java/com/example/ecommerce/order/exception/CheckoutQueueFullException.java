@@ -0,0 +1,11 @@
+package com.example.ecommerce.order.exception;
+
+import com.example.ecommerce.shared.exception.ServiceUnavailableException;
+
+public class CheckoutQueueFullException extends ServiceUnavailableException {
+
+    public CheckoutQueueFullException() {
+        super("Too many checkouts are in progress. Please try again shortly");
+    }
+
+}
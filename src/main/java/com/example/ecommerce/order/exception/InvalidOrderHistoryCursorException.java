@@ -0,0 +1,11 @@
+package com.example.ecommerce.order.exception;
+
+import com.example.ecommerce.shared.exception.BadRequestException;
+
+public class InvalidOrderHistoryCursorException extends BadRequestException {
+
+    public InvalidOrderHistoryCursorException() {
+        super("Order history cursor is invalid");
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.ecommerce.order.exception;
+
+import com.example.ecommerce.shared.exception.InternalServerException;
+
+public class OrderArchiveSerializationException extends InternalServerException {
+
+    public OrderArchiveSerializationException(String orderId, Throwable cause) {
+        super("Could not convert archived order " + orderId, cause);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.example.ecommerce.order.export;
+
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+class CsvOrderExportWriter implements OrderExportWriter {
+
+    private static final String HEADER = "id,user_id,username,order_status,order_date,total_price";
+
+    private final Writer writer;
+
+    CsvOrderExportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(AdminOrderResponse order) throws IOException {
+        writeField(order.id());
+        writer.write(',');
+        writeField(order.userId());
+        writer.write(',');
+        writeField(order.username());
+        writer.write(',');
+        writeField(order.orderStatus());
+        writer.write(',');
+        writeField(order.orderDate());
+        writer.write(',');
+        writeField(order.totalPrice() != null ? order.totalPrice().toBigDecimal().toPlainString() : null);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a field, quoting it when it contains a separator, a quote or a line break.
+     */
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        String field = Objects.toString(value);
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            writer.write(field);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.ecommerce.order.export;
+
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private final Writer writer;
+    private final ObjectMapper objectMapper;
+
+    NdjsonOrderExportWriter(Writer writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON has no header
+    }
+
+    @Override
+    public void write(AdminOrderResponse order) throws IOException {
+        writer.write(objectMapper.writeValueAsString(order));
+        writer.write('\n');
+    }
+
+}
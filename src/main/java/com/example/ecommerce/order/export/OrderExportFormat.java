@@ -0,0 +1,40 @@
+package com.example.ecommerce.order.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.io.Writer;
+
+/**
+ * Output formats of the admin order export.
+ */
+@Getter
+public enum OrderExportFormat {
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV(new MediaType("text", "csv"), "csv"),
+
+    /**
+     * Newline-delimited JSON, one order object per line.
+     */
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    OrderExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public OrderExportWriter createWriter(Writer writer, ObjectMapper objectMapper) {
+        return switch (this) {
+            case CSV -> new CsvOrderExportWriter(writer);
+            case NDJSON -> new NdjsonOrderExportWriter(writer, objectMapper);
+        };
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.ecommerce.order.export;
+
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+
+import java.io.IOException;
+
+/**
+ * Writes exported orders one at a time, so that an export never holds more than a single order.
+ */
+public interface OrderExportWriter {
+
+    /**
+     * Writes what precedes the first order, if the format has anything.
+     */
+    void writeHeader() throws IOException;
+
+    void write(AdminOrderResponse order) throws IOException;
+
+}
@@ -0,0 +1,66 @@
+package com.example.ecommerce.order.job;
+
+import com.example.ecommerce.order.config.OrderArchiveProperties;
+import com.example.ecommerce.order.service.OrderArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves completed, cancelled and failed orders older than the configured number of
+ * days from the hot order tables to the archive tables.
+ * <p>
+ * Orders are moved oldest first in small batches, each copied and deleted in its own transaction,
+ * so the hot tables never lose an order that has not reached the archive. A run stops after a
+ * bounded number of batches; an interrupted or capped run loses no work and the next run continues
+ * with the remaining orders. Archived orders stay listed in the order history, which is served from
+ * order summaries, and are still returned by the order details endpoint.
+ */
+@Component
+public class OrderArchiveJob {
+
+    private final OrderArchiveService orderArchiveService;
+    private final OrderArchiveProperties properties;
+
+    private final Counter archivedOrders;
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveJob.class);
+
+    public OrderArchiveJob(OrderArchiveService orderArchiveService,
+                           OrderArchiveProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.orderArchiveService = orderArchiveService;
+        this.properties = properties;
+        this.archivedOrders = Counter.builder("order.archive.moved")
+                .description("Number of orders moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getRetentionDays());
+
+        int archived = 0;
+        try {
+            for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+                int batchSize = orderArchiveService.archiveNextBatch(cutoff, properties.getBatchSize());
+                archived += batchSize;
+                archivedOrders.increment(batchSize);
+                if (batchSize < properties.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Order archive stopped after moving {} orders placed before {}", archived, cutoff, ex);
+            return;
+        }
+
+        logger.info("Order archive moved {} orders placed before {}", archived, cutoff);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.example.ecommerce.order.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Removes the {@code orders_order_items} join table left behind by the former unidirectional
+ * mapping of order items.
+ * <p>
+ * Order items are now owned by their {@code order_id} column. Items whose order was only recorded
+ * in the join table get their {@code order_id} backfilled before the table is dropped. The
+ * backfill only touches items without an order, so a run interrupted before the drop can safely be
+ * repeated on the next start. Once the table is gone, the migration is a no-op.
+ * <p>
+ * Runs once every singleton has been created, which is before the web server accepts requests and
+ * before any {@link org.springframework.boot.ApplicationRunner}, so that neither checkouts nor backfills
+ * reading order items can see an item without its order.
+ */
+@Component
+public class OrderItemJoinTableMigration implements SmartInitializingSingleton {
+
+    static final String JOIN_TABLE = "orders_order_items";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderItemJoinTableMigration.class);
+
+    public OrderItemJoinTableMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!joinTableExists()) {
+            return;
+        }
+
+        int backfilled = jdbcTemplate.update("""
+                UPDATE order_item
+                SET order_id = (SELECT j.order_id FROM orders_order_items j WHERE j.order_items_id = order_item.id)
+                WHERE order_id IS NULL
+                """);
+        jdbcTemplate.execute("DROP TABLE " + JOIN_TABLE);
+
+        logger.info("Backfilled order_id of {} order items and dropped table {}", backfilled, JOIN_TABLE);
+    }
+
+    private boolean joinTableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? JOIN_TABLE.toUpperCase() : JOIN_TABLE;
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, tableName, new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.example.ecommerce.order.job;
+
+import com.example.ecommerce.order.config.OrderSummaryBackfillProperties;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.OrderItem;
+import com.example.ecommerce.order.model.OrderSummary;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.order.repository.OrderSummaryRepository;
+import com.example.ecommerce.product.service.ProductImageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the missing order summaries of orders placed before the order history read model
+ * existed.
+ * <p>
+ * Orders are visited in primary key order and summarized in batches, each in its own transaction.
+ * Only orders without a summary are selected, so the backfill is a no-op once every order has
+ * been summarized and an interrupted run continues where it left off on the next start.
+ * <p>
+ * The backfill is opt-in through {@code order.summary-backfill.enabled}, as it is only needed once.
+ * It runs while the application serves traffic, so a summary may be inserted by someone else between
+ * selecting a batch and saving it, for example by another instance starting at the same time. The
+ * batch is then rolled back and selected again, which leaves out the summaries that now exist.
+ */
+@Component
+@ConditionalOnProperty(prefix = "order.summary-backfill", name = "enabled", havingValue = "true")
+public class OrderSummaryBackfillRunner implements ApplicationRunner {
+
+    static final int MAX_CONFLICTS = 10;
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final ProductImageService productImageService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderSummaryBackfillProperties properties;
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryBackfillRunner.class);
+
+    public OrderSummaryBackfillRunner(OrderRepository orderRepository,
+                                      OrderSummaryRepository orderSummaryRepository,
+                                      ProductImageService productImageService,
+                                      PlatformTransactionManager transactionManager,
+                                      OrderSummaryBackfillProperties properties) {
+        this.orderRepository = orderRepository;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.productImageService = productImageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int batchSize = properties.getBatchSize();
+        PageRequest batch = PageRequest.ofSize(batchSize);
+
+        String lastOrderId = "";
+        int created = 0;
+        int conflicts = 0;
+        while (true) {
+            String afterId = lastOrderId;
+            List<String> orderIds;
+            try {
+                orderIds = transactionTemplate.execute(status -> backfillBatch(afterId, batch));
+            } catch (DataIntegrityViolationException ex) {
+                if (++conflicts > MAX_CONFLICTS) {
+                    throw ex;
+                }
+                logger.warn("Order summaries after order {} were created concurrently, retrying the batch", afterId);
+                continue;
+            }
+            if (orderIds == null || orderIds.isEmpty()) {
+                break;
+            }
+
+            created += orderIds.size();
+            lastOrderId = orderIds.get(orderIds.size() - 1);
+            if (orderIds.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (created > 0) {
+            logger.info("Created {} missing order summaries", created);
+        }
+    }
+
+    /**
+     * Summarizes the next batch of orders without a summary within the current transaction.
+     *
+     * @return IDs of the summarized orders, in ascending order
+     */
+    private List<String> backfillBatch(String lastOrderId, PageRequest batch) {
+        List<Order> orders = orderRepository.findWithoutSummaryAfter(lastOrderId, batch);
+        // Flushed here, so that a duplicate summary fails this call rather than the commit
+        orderSummaryRepository.saveAllAndFlush(orders.stream()
+                .map(order -> OrderSummary.of(order, findThumbnailUrl(order)))
+                .toList());
+        return orders.stream().map(Order::getId).toList();
+    }
+
+    private String findThumbnailUrl(Order order) {
+        List<OrderItem> orderItems = order.getOrderItems();
+        if (orderItems.isEmpty()) {
+            return null;
+        }
+        return productImageService.findThumbnailUrl(orderItems.get(0).getProduct().getId()).orElse(null);
+    }
+
+}
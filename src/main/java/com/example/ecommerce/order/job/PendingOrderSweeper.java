@@ -0,0 +1,83 @@
+package com.example.ecommerce.order.job;
+
+import com.example.ecommerce.order.config.AsyncCheckoutProperties;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.order.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically marks orders that stayed pending longer than the configured timeout as failed.
+ * <p>
+ * Asynchronous checkouts are queued in memory, so an order stays pending when its instance stops
+ * with checkouts still queued, crashes, or cannot mark a failed checkout. Such an order would block
+ * every further asynchronous checkout of its user. Its payment is not retried: the checkout may have
+ * been rolled back and its authorization voided, so the order is failed instead, the same way a
+ * checkout that could not be processed is.
+ * <p>
+ * Each order is failed in its own transaction under the order lock, so an order that a worker
+ * completes concurrently keeps its final status.
+ */
+@Component
+public class PendingOrderSweeper {
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final AsyncCheckoutProperties properties;
+
+    private final Counter expiredOrders;
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingOrderSweeper.class);
+
+    public PendingOrderSweeper(OrderRepository orderRepository,
+                               OrderService orderService,
+                               AsyncCheckoutProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.properties = properties;
+        this.expiredOrders = Counter.builder("order.checkout.pending.expired")
+                .description("Number of pending orders marked as failed after the pending order timeout")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${order.checkout.pendingOrderSweepInitialDelayMs:60000}",
+            fixedDelayString = "${order.checkout.pendingOrderSweepFixedDelayMs:60000}"
+    )
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getPendingOrderTimeout());
+        List<String> orderIds = orderRepository.findIdsByOrderStatusPlacedBefore(
+                OrderStatus.PENDING,
+                cutoff,
+                PageRequest.ofSize(properties.getPendingOrderSweepBatchSize())
+        );
+
+        int failed = 0;
+        for (String orderId : orderIds) {
+            try {
+                if (orderService.failPendingOrder(orderId) == OrderStatus.FAILED) {
+                    failed++;
+                }
+            } catch (RuntimeException ex) {
+                // The order stays pending and is retried by the next run
+                logger.error("Could not mark stale pending order {} as failed", orderId, ex);
+            }
+        }
+
+        expiredOrders.increment(failed);
+        if (!orderIds.isEmpty()) {
+            logger.warn("Marked {} of {} orders pending since before {} as failed", failed, orderIds.size(), cutoff);
+        }
+    }
+
+}
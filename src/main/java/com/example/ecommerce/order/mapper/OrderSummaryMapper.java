@@ -0,0 +1,10 @@
+package com.example.ecommerce.order.mapper;
+
+import com.example.ecommerce.order.model.OrderSummary;
+import com.example.ecommerce.order.payload.response.OrderSummaryResponse;
+import com.example.ecommerce.shared.mapper.GenericMapper;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface OrderSummaryMapper extends GenericMapper<OrderSummary, OrderSummaryResponse> {
+}
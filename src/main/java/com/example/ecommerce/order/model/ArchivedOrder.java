@@ -0,0 +1,78 @@
+package com.example.ecommerce.order.model;
+
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of an order that reached a terminal state and was moved out of the {@code orders} table.
+ * <p>
+ * Archived orders are never modified, so the order together with its items is stored as the JSON
+ * document served by the API, next to the few columns needed to look it up.
+ */
+@Entity
+@Builder
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_archive")
+public class ArchivedOrder implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    private LocalDateTime orderDate;
+
+    private Money totalPrice;
+
+    @Column(name = "address_id")
+    private Long addressId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String details;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    /**
+     * Archived orders keep the ID of the original order, so this flag tells Spring Data to persist
+     * new rows directly instead of merging them, which would issue a select first.
+     */
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+}
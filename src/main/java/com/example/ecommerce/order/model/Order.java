@@ -5,11 +5,13 @@ import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.order.model.enums.OrderStatus;
 import com.example.ecommerce.payment.model.Payment;
 import com.example.ecommerce.shared.audit.Auditable;
+import com.example.ecommerce.shared.money.Money;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,7 +23,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,7 +34,14 @@ import static lombok.Builder.Default;
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_order_date", columnList = "order_date"),
+                @Index(name = "idx_orders_status_date", columnList = "order_status, order_date"),
+                @Index(name = "idx_orders_user_date", columnList = "user_id, order_date")
+        }
+)
 public class Order extends Auditable {
 
     @Id
@@ -45,7 +53,7 @@ public class Order extends Auditable {
     private User user;
 
     @Default
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     @Default
@@ -58,7 +66,7 @@ public class Order extends Auditable {
     private Payment payment;
 
     @Default
-    private BigDecimal totalPrice = BigDecimal.ZERO;
+    private Money totalPrice = Money.ZERO;
 
     @ManyToOne
     @JoinColumn(name = "address_id")
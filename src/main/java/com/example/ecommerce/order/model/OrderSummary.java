@@ -0,0 +1,99 @@
+package com.example.ecommerce.order.model;
+
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of an order, used to serve the order history listing without
+ * loading orders, their items, products, payments and addresses.
+ * <p>
+ * A summary shares its ID with the order it describes and is kept up to date by every
+ * write that changes the order status.
+ */
+@Entity
+@Builder
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "order_summary",
+        indexes = @Index(name = "idx_order_summary_user_date", columnList = "user_id, order_date, id")
+)
+public class OrderSummary implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus;
+
+    private Money totalPrice;
+
+    private int itemCount;
+
+    private String thumbnailUrl;
+
+    /**
+     * Summaries have an assigned ID, so this flag tells Spring Data to persist new summaries
+     * directly instead of merging them, which would issue a select first.
+     */
+    @Transient
+    private boolean persisted;
+
+    /**
+     * Creates the summary of an order.
+     *
+     * @param order        the {@link Order} to summarize
+     * @param thumbnailUrl the image URL of the first ordered product, may be {@code null}
+     * @return a new {@link OrderSummary}
+     */
+    public static OrderSummary of(Order order, String thumbnailUrl) {
+        return OrderSummary.builder()
+                .id(order.getId())
+                .userId(order.getUser().getId())
+                .orderDate(order.getOrderDate())
+                .orderStatus(order.getOrderStatus())
+                .totalPrice(order.getTotalPrice())
+                .itemCount(order.getOrderItems().stream()
+                        .mapToInt(orderItem -> orderItem.getProductInfo().getQuantity())
+                        .sum())
+                .thumbnailUrl(thumbnailUrl)
+                .build();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+}
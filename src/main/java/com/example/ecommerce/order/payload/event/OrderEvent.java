@@ -0,0 +1,19 @@
+package com.example.ecommerce.order.payload.event;
+
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.shared.money.Money;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Payload of the order events published through the outbox.
+ */
+public record OrderEvent(
+        String orderId,
+        String username,
+        OrderStatus orderStatus,
+        Money totalPrice,
+        Map<String, Integer> quantitiesByProductId,
+        Instant occurredAt
+) {}
@@ -0,0 +1,53 @@
+package com.example.ecommerce.order.payload.event;
+
+import com.example.ecommerce.shared.money.Money;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Application event published when a completed order is placed or cancelled, delivered to
+ * listeners after the order transaction commits.
+ *
+ * @param orderId    ID of the order
+ * @param type       whether the items were sold or given back
+ * @param items      the sold items of the order
+ * @param occurredAt when the order was completed or cancelled
+ */
+public record OrderSalesEvent(
+        String orderId,
+        Type type,
+        List<SoldItem> items,
+        Instant occurredAt
+) {
+
+    public enum Type {
+
+        /**
+         * The order has been completed and its items are sold.
+         */
+        PLACED,
+
+        /**
+         * A completed order has been cancelled and its sales are reversed.
+         */
+        CANCELLED
+
+    }
+
+    /**
+     * A single line of the order.
+     *
+     * @param productId  ID of the ordered product
+     * @param categoryId ID of the category of the product, {@code null} if it has none
+     * @param quantity   ordered quantity
+     * @param revenue    price paid for the line, after discounts
+     */
+    public record SoldItem(
+            String productId,
+            Long categoryId,
+            int quantity,
+            Money revenue
+    ) {}
+
+}
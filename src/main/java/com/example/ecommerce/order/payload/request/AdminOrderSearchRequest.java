@@ -0,0 +1,20 @@
+package com.example.ecommerce.order.payload.request;
+
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of the admin order search. Every filter is optional; {@code from} is inclusive and
+ * {@code to} is exclusive.
+ */
+public record AdminOrderSearchRequest(
+        OrderStatus status,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        String userId,
+        @PositiveOrZero(message = "Minimum total must not be negative") BigDecimal minTotal
+) {}
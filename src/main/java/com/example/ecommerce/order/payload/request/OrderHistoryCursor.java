@@ -0,0 +1,47 @@
+package com.example.ecommerce.order.payload.request;
+
+import com.example.ecommerce.order.exception.InvalidOrderHistoryCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an order listing sorted newest first: the date and ID of the last order of the previous page.
+ * Encoded as an opaque URL-safe string for clients.
+ */
+public record OrderHistoryCursor(
+        LocalDateTime orderDate,
+        String orderId
+) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String value = orderDate.toString() + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @throws InvalidOrderHistoryCursorException if the cursor is malformed
+     */
+    public static OrderHistoryCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidOrderHistoryCursorException();
+            }
+            return new OrderHistoryCursor(
+                    LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    value.substring(separatorIndex + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidOrderHistoryCursorException();
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.ecommerce.order.payload.response;
+
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.shared.money.Money;
+
+import java.time.LocalDateTime;
+
+public record AdminOrderResponse(
+        String id,
+        String userId,
+        String username,
+        OrderStatus orderStatus,
+        LocalDateTime orderDate,
+        Money totalPrice
+) {}
@@ -1,6 +1,7 @@
 package com.example.ecommerce.order.payload.response;
 
-import java.math.BigDecimal;
+import com.example.ecommerce.shared.money.Money;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -8,6 +9,6 @@ public record OrderResponse(
         String id,
         String orderStatus,
         LocalDateTime orderDate,
-        BigDecimal totalPrice,
+        Money totalPrice,
         List<OrderItemResponse> items
 ) {}
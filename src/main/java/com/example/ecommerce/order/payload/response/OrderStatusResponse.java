@@ -0,0 +1,17 @@
+package com.example.ecommerce.order.payload.response;
+
+import com.example.ecommerce.order.model.enums.OrderStatus;
+
+public record OrderStatusResponse(
+        String orderId,
+        OrderStatus orderStatus
+) {
+
+    /**
+     * Returns whether the order has reached a state that will not change without user action.
+     */
+    public boolean isFinal() {
+        return orderStatus != OrderStatus.PENDING && orderStatus != OrderStatus.PROCESSING;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.ecommerce.order.payload.response;
+
+import com.example.ecommerce.shared.money.Money;
+
+import java.time.LocalDateTime;
+
+public record OrderSummaryResponse(
+        String id,
+        LocalDateTime orderDate,
+        String orderStatus,
+        Money totalPrice,
+        int itemCount,
+        String thumbnailUrl
+) {}
@@ -0,0 +1,6 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.order.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, String> {}
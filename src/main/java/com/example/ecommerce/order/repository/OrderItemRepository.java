@@ -0,0 +1,16 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.order.model.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+public interface OrderItemRepository extends JpaRepository<OrderItem, String> {
+
+    @Modifying
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.id IN ?1")
+    int deleteAllByOrderIdIn(Collection<String> orderIds);
+
+}
@@ -1,14 +1,68 @@
 package com.example.ecommerce.order.repository;
 
 import com.example.ecommerce.order.model.Order;
-import org.springframework.data.domain.Page;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface OrderRepository extends JpaRepository<Order, String> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-    @Query("SELECT o FROM Order o WHERE o.user.username = ?1")
-    Page<Order> findAllByUser(String username, Pageable pageable);
+public interface OrderRepository extends JpaRepository<Order, String>, OrderSearchRepository {
+
+    @Query("SELECT o.orderStatus FROM Order o WHERE o.id = ?1 AND o.user.username = ?2")
+    Optional<OrderStatus> findStatusByIdAndUsername(String orderId, String username);
+
+    boolean existsByUserIdAndOrderStatus(String userId, OrderStatus orderStatus);
+
+    /**
+     * Loads an order and locks its row, so that a checkout worker and a cancellation
+     * cannot change the status of the same order concurrently.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = ?1")
+    Optional<Order> findByIdForUpdate(String orderId);
+
+    /**
+     * Finds orders, after the given ID, that do not have an order summary yet.
+     */
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.id > ?1 AND NOT EXISTS (SELECT 1 FROM OrderSummary s WHERE s.id = o.id)
+            ORDER BY o.id
+            """)
+    List<Order> findWithoutSummaryAfter(String lastOrderId, Pageable pageable);
+
+    /**
+     * Finds the IDs of the oldest orders placed before the cutoff that are in the given state.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.orderStatus = ?1 AND o.orderDate < ?2 ORDER BY o.orderDate, o.id")
+    List<String> findIdsByOrderStatusPlacedBefore(OrderStatus orderStatus, LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Locks the oldest orders placed before the cutoff that are in one of the given states. Orders
+     * locked by a concurrent cancellation are skipped and picked up by a later batch.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM Order o WHERE o.orderDate < ?1 AND o.orderStatus IN ?2 ORDER BY o.orderDate, o.id")
+    List<Order> findArchivableForUpdate(LocalDateTime cutoff, Collection<OrderStatus> orderStatuses, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product", "payment"})
+    @Query("SELECT o FROM Order o WHERE o.id IN ?1")
+    List<Order> findAllWithDetailsByIdIn(Collection<String> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN ?1")
+    int deleteAllByIdIn(Collection<String> orderIds);
 
 }
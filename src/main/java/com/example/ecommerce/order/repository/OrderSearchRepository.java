@@ -0,0 +1,36 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.order.payload.request.AdminOrderSearchRequest;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Order queries with optional filters, built with the Criteria API. Results are projected directly
+ * into {@link AdminOrderResponse}s, newest first, without loading order entities.
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Finds the orders matching the filter that come after the given position.
+     *
+     * @param filter the search filters
+     * @param after  the date and ID of the last order of the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of orders to return
+     * @return the matching orders
+     */
+    List<AdminOrderResponse> search(AdminOrderSearchRequest filter, OrderHistoryCursor after, int limit);
+
+    /**
+     * Streams every order matching the filter with a forward-only cursor, fetching the given number
+     * of rows per round-trip. Must be called within a transaction and the stream must be closed.
+     *
+     * @param filter    the search filters
+     * @param fetchSize the number of rows fetched from the database at a time
+     * @return a stream of the matching orders
+     */
+    Stream<AdminOrderResponse> streamAll(AdminOrderSearchRequest filter, int fetchSize);
+
+}
@@ -0,0 +1,98 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.AdminOrderSearchRequest;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AdminOrderResponse> search(AdminOrderSearchRequest filter, OrderHistoryCursor after, int limit) {
+        return entityManager.createQuery(createQuery(filter, after))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<AdminOrderResponse> streamAll(AdminOrderSearchRequest filter, int fetchSize) {
+        return entityManager.createQuery(createQuery(filter, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Builds the projection query. Each filter narrows an indexed column: status and date are served by
+     * {@code idx_orders_status_date}, user and date by {@code idx_orders_user_date}.
+     */
+    private CriteriaQuery<AdminOrderResponse> createQuery(AdminOrderSearchRequest filter, OrderHistoryCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AdminOrderResponse> query = cb.createQuery(AdminOrderResponse.class);
+        Root<Order> order = query.from(Order.class);
+        Join<Order, User> user = order.join("user", JoinType.LEFT);
+
+        Path<String> id = order.get("id");
+        Path<LocalDateTime> orderDate = order.get("orderDate");
+        Path<OrderStatus> orderStatus = order.get("orderStatus");
+        Path<Money> totalPrice = order.get("totalPrice");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.status() != null) {
+            predicates.add(cb.equal(orderStatus, filter.status()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(orderDate, filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(orderDate, filter.to()));
+        }
+        if (filter.userId() != null && !filter.userId().isBlank()) {
+            predicates.add(cb.equal(order.get("user").get("id"), filter.userId()));
+        }
+        if (filter.minTotal() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(totalPrice, Money.of(filter.minTotal())));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(orderDate, after.orderDate()),
+                    cb.and(cb.equal(orderDate, after.orderDate()), cb.lessThan(id, after.orderId()))
+            ));
+        }
+
+        return query
+                .select(cb.construct(
+                        AdminOrderResponse.class,
+                        id,
+                        user.get("id"),
+                        user.get("username"),
+                        orderStatus,
+                        orderDate,
+                        totalPrice
+                ))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(orderDate), cb.desc(id));
+    }
+
+}
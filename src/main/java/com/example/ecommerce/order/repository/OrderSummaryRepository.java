@@ -0,0 +1,34 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.order.model.OrderSummary;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, String> {
+
+    @Query("SELECT s FROM OrderSummary s WHERE s.userId = ?1 ORDER BY s.orderDate DESC, s.id DESC")
+    List<OrderSummary> findLatestByUserId(String userId, Pageable pageable);
+
+    /**
+     * Keyset query for the page following the given order, newest first.
+     */
+    @Query("""
+            SELECT s FROM OrderSummary s
+            WHERE s.userId = ?1 AND (s.orderDate < ?2 OR (s.orderDate = ?2 AND s.id < ?3))
+            ORDER BY s.orderDate DESC, s.id DESC
+            """)
+    List<OrderSummary> findLatestByUserIdBefore(String userId, LocalDateTime orderDate, String orderId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderSummary s SET s.orderStatus = ?2 WHERE s.id = ?1")
+    int updateOrderStatus(String orderId, OrderStatus orderStatus);
+
+}
@@ -0,0 +1,39 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.exception.InvalidOrderHistoryCursorException;
+import com.example.ecommerce.order.export.OrderExportFormat;
+import com.example.ecommerce.order.payload.request.AdminOrderSearchRequest;
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for searching and exporting the orders of all users.
+ */
+public interface AdminOrderService {
+
+    /**
+     * Searches orders across users, newest first, using keyset pagination.
+     *
+     * @param filter the search filters
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size   the maximum number of orders in the page, capped at 200
+     * @return a {@link CursorPaginatedResponse} of {@link AdminOrderResponse}
+     * @throws InvalidOrderHistoryCursorException if the cursor is malformed
+     */
+    CursorPaginatedResponse<AdminOrderResponse> searchOrders(AdminOrderSearchRequest filter, String cursor, int size);
+
+    /**
+     * Writes every order matching the filter to the output stream, newest first. Orders are read with a
+     * forward-only cursor and written as they arrive, so memory use does not depend on the number of orders.
+     *
+     * @param filter       the search filters
+     * @param format       the output format
+     * @param outputStream the stream to write to; it is flushed but not closed
+     * @throws IOException if writing to the stream fails
+     */
+    void exportOrders(AdminOrderSearchRequest filter, OrderExportFormat format, OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,85 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.export.OrderExportFormat;
+import com.example.ecommerce.order.export.OrderExportWriter;
+import com.example.ecommerce.order.payload.request.AdminOrderSearchRequest;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class AdminOrderServiceImpl implements AdminOrderService {
+
+    private final ObjectMapper objectMapper;
+    private final OrderRepository orderRepository;
+
+    static final int MAX_SEARCH_PAGE_SIZE = 200;
+    static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminOrderServiceImpl.class);
+
+    @Override
+    public CursorPaginatedResponse<AdminOrderResponse> searchOrders(AdminOrderSearchRequest filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        OrderHistoryCursor after = cursor == null || cursor.isEmpty() ? null : OrderHistoryCursor.decode(cursor);
+
+        // One extra row tells whether a next page exists without a count query
+        List<AdminOrderResponse> orders = orderRepository.search(filter, after, pageSize + 1);
+
+        boolean hasNext = orders.size() > pageSize;
+        List<AdminOrderResponse> page = hasNext ? orders.subList(0, pageSize) : orders;
+        String nextCursor = null;
+        if (hasNext) {
+            AdminOrderResponse last = page.get(page.size() - 1);
+            nextCursor = new OrderHistoryCursor(last.orderDate(), last.id()).encode();
+        }
+
+        return new CursorPaginatedResponse<>(page, page.size(), nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(AdminOrderSearchRequest filter, OrderExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        OrderExportWriter exportWriter = format.createWriter(writer, objectMapper);
+        AtomicLong exported = new AtomicLong();
+
+        exportWriter.writeHeader();
+        try (Stream<AdminOrderResponse> orders = orderRepository.streamAll(filter, EXPORT_FETCH_SIZE)) {
+            orders.forEach(order -> {
+                try {
+                    exportWriter.write(order);
+                    exported.incrementAndGet();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+
+        logger.info("Exported {} orders as {}", exported.get(), format);
+    }
+
+}
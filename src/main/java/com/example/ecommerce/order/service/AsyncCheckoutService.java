@@ -0,0 +1,42 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.address.exception.AddressNotFoundException;
+import com.example.ecommerce.cart.exception.EmptyCartException;
+import com.example.ecommerce.order.exception.CheckoutQueueFullException;
+import com.example.ecommerce.order.exception.OrderNotFoundException;
+import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for the asynchronous checkout pipeline.
+ * <p>
+ * Checkouts are validated and stored as pending orders on the request thread, then completed
+ * by a fixed pool of workers draining a bounded in-process queue. Clients follow the progress
+ * of an order by polling its status or by subscribing to a status stream.
+ */
+public interface AsyncCheckoutService {
+
+    /**
+     * Creates a pending order from the authenticated user's cart and queues it for completion.
+     *
+     * @param request the {@link PlaceOrderRequest} containing order details
+     * @return {@link OrderStatusResponse} with the ID of the accepted order
+     * @throws EmptyCartException         if the user's cart is empty
+     * @throws AddressNotFoundException   if the provided address ID is invalid
+     * @throws CheckoutQueueFullException if the checkout queue is full
+     */
+    OrderStatusResponse submitCheckout(PlaceOrderRequest request);
+
+    /**
+     * Opens a Server-Sent Events stream for an order of the authenticated user.
+     * The current status is sent immediately and the stream is completed once the order
+     * reaches a final status or the stream times out.
+     *
+     * @param orderId ID of the order to follow
+     * @return the {@link SseEmitter} publishing {@link OrderStatusResponse} events
+     * @throws OrderNotFoundException if the user has no order with the given ID
+     */
+    SseEmitter streamOrderStatus(String orderId);
+
+}
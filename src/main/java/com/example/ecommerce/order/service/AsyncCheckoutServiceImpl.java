@@ -0,0 +1,219 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.config.AsyncCheckoutProperties;
+import com.example.ecommerce.order.exception.CheckoutQueueFullException;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default {@link AsyncCheckoutService} implementation.
+ * <p>
+ * Accepted checkouts are handed to a fixed-size worker pool backed by a bounded array queue.
+ * When the queue is full new checkouts are rejected with 503 instead of piling up, so request
+ * threads never wait on checkout processing. Each task carries the security context of the
+ * request that submitted it, so that the changes it makes are audited as that user.
+ * <p>
+ * The queue lives in memory: checkouts still queued when the application stops remain pending
+ * until {@link com.example.ecommerce.order.job.PendingOrderSweeper} marks them as failed.
+ * Status events are published to subscribers connected to the instance that processed the
+ * order; clients connected elsewhere see the final status when they poll or reconnect.
+ */
+@Service
+public class AsyncCheckoutServiceImpl implements AsyncCheckoutService {
+
+    private final OrderService orderService;
+    private final AsyncCheckoutProperties properties;
+    private final ThreadPoolExecutor checkoutExecutor;
+    private final Map<String, List<SseEmitter>> statusSubscribers = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCheckouts;
+
+    private static final String STATUS_EVENT_NAME = "order-status";
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCheckoutServiceImpl.class);
+
+    public AsyncCheckoutServiceImpl(OrderService orderService,
+                                    AsyncCheckoutProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.checkoutExecutor = new ThreadPoolExecutor(
+                properties.getWorkers(),
+                properties.getWorkers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("checkout-worker-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        Gauge.builder("order.checkout.queue.depth", checkoutExecutor, executor -> executor.getQueue().size())
+                .description("Number of accepted checkouts waiting for a worker")
+                .register(meterRegistry);
+        this.rejectedCheckouts = Counter.builder("order.checkout.rejected")
+                .description("Number of checkouts rejected because the checkout queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OrderStatusResponse submitCheckout(PlaceOrderRequest request) {
+        // Reject early while the queue is full, so that no pending order is created in vain
+        if (checkoutExecutor.getQueue().remainingCapacity() == 0) {
+            rejectedCheckouts.increment();
+            throw new CheckoutQueueFullException();
+        }
+
+        OrderStatusResponse pendingOrder = orderService.createPendingOrder(request);
+        String orderId = pendingOrder.orderId();
+        long acceptedAt = System.nanoTime();
+
+        try {
+            checkoutExecutor.execute(new DelegatingSecurityContextRunnable(
+                    () -> processCheckout(orderId, request.paymentMethod(), acceptedAt),
+                    copyCurrentSecurityContext()
+            ));
+        } catch (RejectedExecutionException ex) {
+            // The queue filled up after the early check
+            rejectedCheckouts.increment();
+            orderService.failPendingOrder(orderId);
+            throw new CheckoutQueueFullException();
+        }
+
+        logger.info("Checkout for order {} accepted", orderId);
+        return pendingOrder;
+    }
+
+    @Override
+    public SseEmitter streamOrderStatus(String orderId) {
+        SseEmitter emitter = new SseEmitter(properties.getStatusStreamTimeout().toMillis());
+        subscribe(orderId, emitter);
+
+        // Status is read after subscribing, so a checkout completing in between is not missed
+        OrderStatusResponse currentStatus;
+        try {
+            currentStatus = orderService.getOrderStatus(orderId);
+        } catch (RuntimeException ex) {
+            unsubscribe(orderId, emitter);
+            throw ex;
+        }
+
+        sendStatus(emitter, currentStatus);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        checkoutExecutor.shutdown();
+        if (!checkoutExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("{} queued checkouts were not processed before shutdown", checkoutExecutor.getQueue().size());
+            checkoutExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Completes a queued checkout on a worker thread and publishes the resulting status.
+     *
+     * @param orderId       ID of the pending order
+     * @param paymentMethod the payment method to use
+     * @param acceptedAt    {@link System#nanoTime()} at which the checkout was accepted
+     */
+    private void processCheckout(String orderId, String paymentMethod, long acceptedAt) {
+        OrderStatus orderStatus;
+        try {
+            orderStatus = orderService.completePendingOrder(orderId, paymentMethod);
+        } catch (RuntimeException ex) {
+            logger.error("Checkout failed for order {}", orderId, ex);
+            orderStatus = failPendingOrder(orderId);
+        }
+
+        Timer.builder("order.checkout.latency")
+                .description("Time from accepting a checkout until its order is processed")
+                .tag("status", orderStatus.name().toLowerCase())
+                .register(meterRegistry)
+                .record(System.nanoTime() - acceptedAt, TimeUnit.NANOSECONDS);
+
+        publishStatus(new OrderStatusResponse(orderId, orderStatus));
+    }
+
+    private OrderStatus failPendingOrder(String orderId) {
+        try {
+            return orderService.failPendingOrder(orderId);
+        } catch (RuntimeException ex) {
+            logger.error("Could not mark order {} as failed, it stays pending", orderId, ex);
+            return OrderStatus.PENDING;
+        }
+    }
+
+    private void subscribe(String orderId, SseEmitter emitter) {
+        statusSubscribers.compute(orderId, (id, emitters) -> {
+            List<SseEmitter> subscribers = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            subscribers.add(emitter);
+            return subscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(ex -> unsubscribe(orderId, emitter));
+    }
+
+    private void unsubscribe(String orderId, SseEmitter emitter) {
+        statusSubscribers.computeIfPresent(orderId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void publishStatus(OrderStatusResponse orderStatus) {
+        List<SseEmitter> subscribers = statusSubscribers.get(orderStatus.orderId());
+        if (subscribers != null) {
+            subscribers.forEach(emitter -> sendStatus(emitter, orderStatus));
+        }
+    }
+
+    /**
+     * Sends an order status event and completes the stream if the status is final.
+     */
+    private void sendStatus(SseEmitter emitter, OrderStatusResponse orderStatus) {
+        try {
+            emitter.send(SseEmitter.event().name(STATUS_EVENT_NAME).data(orderStatus));
+            if (orderStatus.isFinal()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client has gone away or the stream is already completed
+            logger.debug("Could not send status of order {}", orderStatus.orderId(), ex);
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private static SecurityContext copyCurrentSecurityContext() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        return securityContext;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.payload.response.OrderResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service interface for moving finished orders out of the hot order tables and reading them back.
+ */
+public interface OrderArchiveService {
+
+    /**
+     * Moves the oldest completed, cancelled or failed orders placed before the cutoff, together with
+     * their items and payments, to the archive tables within a single transaction.
+     *
+     * @param cutoff    orders placed before this time are archived
+     * @param batchSize the maximum number of orders to move
+     * @return the number of archived orders, less than {@code batchSize} once no orders are left
+     */
+    int archiveNextBatch(LocalDateTime cutoff, int batchSize);
+
+    /**
+     * Retrieves the details of an archived order.
+     *
+     * @param orderId the unique identifier of the order
+     * @return the order details, or an empty {@link Optional} if the order is not archived
+     */
+    Optional<OrderResponse> findArchivedOrder(String orderId);
+
+}
@@ -0,0 +1,112 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.exception.OrderArchiveSerializationException;
+import com.example.ecommerce.order.mapper.OrderMapper;
+import com.example.ecommerce.order.model.ArchivedOrder;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.response.OrderResponse;
+import com.example.ecommerce.order.repository.ArchivedOrderRepository;
+import com.example.ecommerce.order.repository.OrderItemRepository;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.payment.model.ArchivedPayment;
+import com.example.ecommerce.payment.repository.ArchivedPaymentRepository;
+import com.example.ecommerce.payment.repository.PaymentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    static final Set<OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(
+            OrderStatus.COMPLETED,
+            OrderStatus.CANCELLED,
+            OrderStatus.FAILED
+    );
+
+    private final ObjectMapper objectMapper;
+    private final OrderMapper orderMapper;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PaymentRepository paymentRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
+
+    @Override
+    @Transactional
+    public int archiveNextBatch(LocalDateTime cutoff, int batchSize) {
+        List<String> orderIds = orderRepository.findArchivableForUpdate(cutoff, ARCHIVABLE_STATUSES, PageRequest.ofSize(batchSize))
+                .stream()
+                .map(Order::getId)
+                .toList();
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Order> orders = orderRepository.findAllWithDetailsByIdIn(orderIds);
+        Instant archivedAt = Instant.now();
+        archivedOrderRepository.saveAll(orders.stream()
+                .map(order -> toArchivedOrder(order, archivedAt))
+                .toList());
+        archivedPaymentRepository.saveAll(orders.stream()
+                .map(Order::getPayment)
+                .filter(Objects::nonNull)
+                .map(payment -> ArchivedPayment.of(payment, archivedAt))
+                .toList());
+
+        // Bulk deletes bypass cascades, so children go first
+        paymentRepository.deleteAllByOrderIdIn(orderIds);
+        orderItemRepository.deleteAllByOrderIdIn(orderIds);
+        orderRepository.deleteAllByIdIn(orderIds);
+
+        return orderIds.size();
+    }
+
+    @Override
+    public Optional<OrderResponse> findArchivedOrder(String orderId) {
+        return archivedOrderRepository.findById(orderId).map(this::readDetails);
+    }
+
+    private ArchivedOrder toArchivedOrder(Order order, Instant archivedAt) {
+        return ArchivedOrder.builder()
+                .id(order.getId())
+                .userId(order.getUser() != null ? order.getUser().getId() : null)
+                .orderStatus(order.getOrderStatus())
+                .orderDate(order.getOrderDate())
+                .totalPrice(order.getTotalPrice())
+                .addressId(order.getAddress() != null ? order.getAddress().getId() : null)
+                .details(writeDetails(order))
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+    private String writeDetails(Order order) {
+        try {
+            return objectMapper.writeValueAsString(orderMapper.mapToResponse(order));
+        } catch (JsonProcessingException ex) {
+            throw new OrderArchiveSerializationException(order.getId(), ex);
+        }
+    }
+
+    private OrderResponse readDetails(ArchivedOrder archivedOrder) {
+        try {
+            return objectMapper.readValue(archivedOrder.getDetails(), OrderResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new OrderArchiveSerializationException(archivedOrder.getId(), ex);
+        }
+    }
+
+}
@@ -2,13 +2,17 @@ package com.example.ecommerce.order.service;
 
 import com.example.ecommerce.address.exception.AddressNotFoundException;
 import com.example.ecommerce.cart.exception.EmptyCartException;
+import com.example.ecommerce.order.exception.CheckoutAlreadyPendingException;
+import com.example.ecommerce.order.exception.InvalidOrderHistoryCursorException;
 import com.example.ecommerce.order.exception.OrderNotFoundException;
+import com.example.ecommerce.order.model.enums.OrderStatus;
 import com.example.ecommerce.order.payload.request.CancelOrderRequest;
 import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
 import com.example.ecommerce.order.payload.response.OrderResponse;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import com.example.ecommerce.order.payload.response.OrderSummaryResponse;
 import com.example.ecommerce.payment.exception.PaymentFailedException;
-import com.example.ecommerce.shared.payload.PaginatedResponse;
-import org.springframework.data.domain.Pageable;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
 
 /**
  * Service interface for managing orders in the e-commerce system.
@@ -18,6 +22,7 @@ public interface OrderService {
 
     /**
      * Retrieves order details as a {@link OrderResponse} object.
+     * Orders that were moved to the archive are read from there.
      *
      * @param orderId ID of the order to retrieve
      * @return {@link OrderResponse} containing order details
@@ -26,12 +31,15 @@ public interface OrderService {
     OrderResponse getOrderById(String orderId);
 
     /**
-     * Retrieves all orders with pagination support for authenticated user.
+     * Retrieves the order history of the authenticated user, newest first, using keyset pagination.
+     * Orders are served from their summaries; full details are available through {@link #getOrderById}.
      *
-     * @param pageable pagination information
-     * @return a paginated list of {@link OrderResponse}
+     * @param cursor the {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param size   the maximum number of orders to return, capped at 100
+     * @return a {@link CursorPaginatedResponse} of {@link OrderSummaryResponse}
+     * @throws InvalidOrderHistoryCursorException if the cursor is malformed
      */
-    PaginatedResponse<OrderResponse> getAllOrdersForCurrentUser(Pageable pageable);
+    CursorPaginatedResponse<OrderSummaryResponse> getAllOrdersForCurrentUser(String cursor, int size);
 
     /**
      * Places an order for the authenticated user by processing items in their cart.
@@ -45,7 +53,51 @@ public interface OrderService {
     OrderResponse placeOrder(PlaceOrderRequest request);
 
     /**
-     * Cancels an order if it has been not canceled yet and restores product stock.
+     * Validates the authenticated user's cart and moves its contents into a {@link OrderStatus#PENDING} order,
+     * without taking payment or stock. The cart is emptied, so that items added afterwards belong to the next
+     * order. The order is completed later by {@link #completePendingOrder}.
+     *
+     * @param request the {@link PlaceOrderRequest} containing order details
+     * @return {@link OrderStatusResponse} with the ID of the pending order
+     * @throws EmptyCartException              if the user's cart is empty
+     * @throws AddressNotFoundException        if the provided address ID is invalid
+     * @throws CheckoutAlreadyPendingException if the user already has a pending order
+     */
+    OrderStatusResponse createPendingOrder(PlaceOrderRequest request);
+
+    /**
+     * Completes a pending order by taking payment and decreasing product stocks for the items stored with
+     * the order. A failed payment marks the order as {@link OrderStatus#FAILED} instead of throwing.
+     * Orders that are no longer pending, for example because they were cancelled, are left unchanged.
+     *
+     * @param orderId       ID of the pending order
+     * @param paymentMethod the payment method to use
+     * @return the status of the order after processing
+     * @throws OrderNotFoundException if no order is found with the given ID
+     */
+    OrderStatus completePendingOrder(String orderId, String paymentMethod);
+
+    /**
+     * Marks an order as {@link OrderStatus#FAILED} if it is still pending.
+     * Used when a pending order could not be completed.
+     *
+     * @param orderId ID of the pending order
+     * @return the status of the order after the update
+     * @throws OrderNotFoundException if no order is found with the given ID
+     */
+    OrderStatus failPendingOrder(String orderId);
+
+    /**
+     * Retrieves the current status of an order of the authenticated user.
+     *
+     * @param orderId ID of the order
+     * @return {@link OrderStatusResponse} containing the current order status
+     * @throws OrderNotFoundException if the user has no order with the given ID
+     */
+    OrderStatusResponse getOrderStatus(String orderId);
+
+    /**
+     * Cancels an order if it has been not canceled yet and restores product stock taken by a completed order.
      *
      * @param request the {@link CancelOrderRequest} containing the order ID to be canceled
      * @throws OrderNotFoundException if no order is found with the given ID
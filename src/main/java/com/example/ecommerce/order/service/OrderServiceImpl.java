@@ -7,30 +7,50 @@ import com.example.ecommerce.auth.service.UserContextService;
 import com.example.ecommerce.cart.exception.EmptyCartException;
 import com.example.ecommerce.cart.model.Cart;
 import com.example.ecommerce.cart.model.CartItem;
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
 import com.example.ecommerce.cart.service.CartService;
+import com.example.ecommerce.order.exception.CheckoutAlreadyPendingException;
 import com.example.ecommerce.order.exception.OrderNotFoundException;
 import com.example.ecommerce.order.mapper.OrderMapper;
+import com.example.ecommerce.order.mapper.OrderSummaryMapper;
 import com.example.ecommerce.order.model.Order;
 import com.example.ecommerce.order.model.OrderItem;
+import com.example.ecommerce.order.model.OrderSummary;
 import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.event.OrderEvent;
+import com.example.ecommerce.order.payload.event.OrderSalesEvent;
 import com.example.ecommerce.order.payload.request.CancelOrderRequest;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
 import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
 import com.example.ecommerce.order.payload.response.OrderResponse;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import com.example.ecommerce.order.payload.response.OrderSummaryResponse;
 import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.order.repository.OrderSummaryRepository;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.service.OutboxService;
 import com.example.ecommerce.payment.exception.PaymentFailedException;
 import com.example.ecommerce.payment.model.enums.PaymentMethod;
 import com.example.ecommerce.payment.service.PaymentService;
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.service.ProductImageService;
 import com.example.ecommerce.product.service.ProductService;
-import com.example.ecommerce.shared.payload.PaginatedResponse;
+import com.example.ecommerce.shared.money.Money;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,89 +59,198 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderMapper orderMapper;
     private final OrderRepository orderRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final OrderSummaryMapper orderSummaryMapper;
+    private final OrderSummaryRepository orderSummaryRepository;
 
     private final CartService cartService;
     private final PaymentService paymentService;
     private final ProductService productService;
+    private final ProductImageService productImageService;
+    private final OutboxService outboxService;
     private final UserContextService userContextService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final int MAX_ORDER_HISTORY_PAGE_SIZE = 100;
 
     private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
 
     @Override
     public OrderResponse getOrderById(String orderId) {
-        return orderMapper.mapToResponse(findOrderEntityById(orderId));
+        return orderRepository.findById(orderId)
+                .map(orderMapper::mapToResponse)
+                .or(() -> orderArchiveService.findArchivedOrder(orderId))
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
     @Override
-    public PaginatedResponse<OrderResponse> getAllOrdersForCurrentUser(Pageable pageable) {
-        String username = userContextService.getCurrentUsername();
-        return orderMapper.mapToPaginatedResponse(orderRepository.findAllByUser(username, pageable));
+    public CursorPaginatedResponse<OrderSummaryResponse> getAllOrdersForCurrentUser(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_ORDER_HISTORY_PAGE_SIZE));
+        String userId = userContextService.getCurrentUserId();
+
+        // One extra row tells whether a next page exists without a count query
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<OrderSummary> summaries;
+        if (cursor == null || cursor.isEmpty()) {
+            summaries = orderSummaryRepository.findLatestByUserId(userId, limit);
+        } else {
+            OrderHistoryCursor position = OrderHistoryCursor.decode(cursor);
+            summaries = orderSummaryRepository.findLatestByUserIdBefore(userId, position.orderDate(), position.orderId(), limit);
+        }
+
+        boolean hasNext = summaries.size() > pageSize;
+        List<OrderSummary> page = hasNext ? summaries.subList(0, pageSize) : summaries;
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSummary last = page.get(page.size() - 1);
+            nextCursor = new OrderHistoryCursor(last.getOrderDate(), last.getId()).encode();
+        }
+
+        return new CursorPaginatedResponse<>(orderSummaryMapper.mapToResponseList(page), page.size(), nextCursor, hasNext);
     }
 
     @Override
+    @Transactional(noRollbackFor = PaymentFailedException.class)
     public OrderResponse placeOrder(PlaceOrderRequest request) {
 
         Cart currentUserCart = cartService.getCartByAuthenticatedUser();
-        if (currentUserCart.isEmpty()) {
-            throw new EmptyCartException();
-        }
-
-        User currentUser = currentUserCart.getUser();
-        Address deliveryAddress = getDeliveryAddress(currentUser, request.addressId());
-        Order order = createNewOrder(currentUserCart, deliveryAddress);
+        Order order = createNewOrder(currentUserCart, request.addressId());
+        // Persisting assigns the order its ID before the payment, which is keyed by it at the gateway
+        orderRepository.save(order);
 
         try {
-            processOrderPayment(order, request.paymentMethod());
-            updateProductStocks(order.getOrderItems(), productService::decreaseStock);
-            cartService.clearCart();
+            completeOrder(order, request.paymentMethod());
+            cartService.clearCart(currentUserCart);
         } catch (PaymentFailedException ex) {
             order.setOrderStatus(OrderStatus.FAILED);
             logger.error("Payment failed for order {}", order.getId());
             throw ex; // Re-throw to be handled by global exception handler
         } finally {
-            orderRepository.save(order);
+            orderSummaryRepository.save(createOrderSummary(order));
+            recordOrderEvent(order, order.getOrderStatus() == OrderStatus.COMPLETED
+                    ? OutboxEventType.ORDER_COMPLETED
+                    : OutboxEventType.ORDER_FAILED);
         }
 
-        logger.info("Order placed successfully for user '{}'", currentUser.getUsername());
+        publishSalesEvent(order, OrderSalesEvent.Type.PLACED);
+        logger.info("Order placed successfully for user '{}'", currentUserCart.getUser().getUsername());
         return orderMapper.mapToResponse(order);
     }
 
     @Override
+    @Transactional
+    public OrderStatusResponse createPendingOrder(PlaceOrderRequest request) {
+        // The cart lock makes a second submit wait until this one has committed and then see its pending order
+        Cart currentUserCart = cartService.getCartByAuthenticatedUserForUpdate();
+        if (orderRepository.existsByUserIdAndOrderStatus(currentUserCart.getUser().getId(), OrderStatus.PENDING)) {
+            throw new CheckoutAlreadyPendingException();
+        }
+
+        Order order = orderRepository.save(createNewOrder(currentUserCart, request.addressId()));
+        orderSummaryRepository.save(createOrderSummary(order));
+        recordOrderEvent(order, OutboxEventType.ORDER_CREATED);
+
+        // The order now holds its own copy of the cart lines, so later cart changes cannot alter what is charged
+        cartService.clearCart(currentUserCart);
+        logger.info("Pending order {} created for user '{}'", order.getId(), currentUserCart.getUser().getUsername());
+        return new OrderStatusResponse(order.getId(), order.getOrderStatus());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = PaymentFailedException.class)
+    public OrderStatus completePendingOrder(String orderId, String paymentMethod) {
+        Order order = findOrderEntityByIdForUpdate(orderId);
+        if (order.getOrderStatus() != OrderStatus.PENDING) {
+            logger.info("Skipping checkout of order {} with status {}", orderId, order.getOrderStatus());
+            return order.getOrderStatus();
+        }
+
+        try {
+            completeOrder(order, paymentMethod);
+            orderSummaryRepository.updateOrderStatus(orderId, order.getOrderStatus());
+            recordOrderEvent(order, OutboxEventType.ORDER_COMPLETED);
+            publishSalesEvent(order, OrderSalesEvent.Type.PLACED);
+            logger.info("Pending order {} completed", orderId);
+        } catch (PaymentFailedException ex) {
+            order.setOrderStatus(OrderStatus.FAILED);
+            orderSummaryRepository.updateOrderStatus(orderId, order.getOrderStatus());
+            recordOrderEvent(order, OutboxEventType.ORDER_FAILED);
+            logger.error("Payment failed for order {}", orderId);
+        }
+
+        return order.getOrderStatus();
+    }
+
+    @Override
+    @Transactional
+    public OrderStatus failPendingOrder(String orderId) {
+        Order order = findOrderEntityByIdForUpdate(orderId);
+        if (order.getOrderStatus() == OrderStatus.PENDING) {
+            order.setOrderStatus(OrderStatus.FAILED);
+            orderSummaryRepository.updateOrderStatus(orderId, order.getOrderStatus());
+            recordOrderEvent(order, OutboxEventType.ORDER_FAILED);
+            logger.error("Pending order {} marked as failed", orderId);
+        }
+        return order.getOrderStatus();
+    }
+
+    @Override
+    public OrderStatusResponse getOrderStatus(String orderId) {
+        return orderRepository.findStatusByIdAndUsername(orderId, userContextService.getCurrentUsername())
+                .map(orderStatus -> new OrderStatusResponse(orderId, orderStatus))
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    @Override
+    @Transactional
     public void cancelOrder(CancelOrderRequest request) {
-        Order placedOrder = findOrderEntityById(request.orderId());
+        Order placedOrder = findOrderEntityByIdForUpdate(request.orderId());
         if (placedOrder.getOrderStatus() == OrderStatus.CANCELLED) {
             throw new IllegalStateException("Order is already cancelled");
         }
 
+        // Stock is only taken once an order completes; pending and failed orders have nothing to give back
+        boolean completed = placedOrder.getOrderStatus() == OrderStatus.COMPLETED;
+        if (completed) {
+            productService.increaseStocks(getQuantitiesByProductId(placedOrder.getOrderItems()));
+        }
+
         placedOrder.setOrderStatus(OrderStatus.CANCELLED);
-        // Resetting product stocks
-        updateProductStocks(placedOrder.getOrderItems(), productService::increaseStock);
         orderRepository.save(placedOrder);
+        orderSummaryRepository.updateOrderStatus(placedOrder.getId(), placedOrder.getOrderStatus());
+        recordOrderEvent(placedOrder, OutboxEventType.ORDER_CANCELLED);
+        if (completed) {
+            publishSalesEvent(placedOrder, OrderSalesEvent.Type.CANCELLED);
+        }
     }
 
     /**
-     * Retrieves an order by its ID.
+     * Retrieves an order by its ID and locks its row until the end of the current transaction.
      *
      * @param orderId ID of the order to retrieve
      * @return found {@link Order}
      * @throws OrderNotFoundException if order is not found
      */
-    private Order findOrderEntityById(String orderId) {
-        return orderRepository.findById(orderId)
-                .orElseThrow(() -> {
-                    logger.error("Order not found with id {}", orderId);
-                    return new OrderNotFoundException(orderId);
-                });
+    private Order findOrderEntityByIdForUpdate(String orderId) {
+        return orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
     }
 
     /**
-     * Creates a new {@code Order} based on the current user's cart and delivery address.
+     * Creates a new pending {@code Order} based on the current user's cart and the selected delivery address.
      *
      * @param currentUserCart cart of the authenticated user
-     * @param deliveryAddress delivery address for order
+     * @param addressId       ID of the user's address to deliver to
      * @return newly created {@link Order}
+     * @throws EmptyCartException       if the cart is empty
+     * @throws AddressNotFoundException if address is not found
      */
-    private Order createNewOrder(Cart currentUserCart, Address deliveryAddress) {
+    private Order createNewOrder(Cart currentUserCart, Long addressId) {
+        if (currentUserCart.isEmpty()) {
+            throw new EmptyCartException();
+        }
+
+        Address deliveryAddress = getDeliveryAddress(currentUserCart.getUser(), addressId);
         Order newOrder = Order.builder()
                 .user(currentUserCart.getUser())
                 .address(deliveryAddress)
@@ -152,6 +281,20 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
+    /**
+     * Creates the order history summary of an order.
+     *
+     * @param order the {@link Order} to summarize
+     * @return a new {@link OrderSummary}
+     */
+    private OrderSummary createOrderSummary(Order order) {
+        List<OrderItem> orderItems = order.getOrderItems();
+        String thumbnailUrl = orderItems.isEmpty()
+                ? null
+                : productImageService.findThumbnailUrl(orderItems.get(0).getProduct().getId()).orElse(null);
+        return OrderSummary.of(order, thumbnailUrl);
+    }
+
     /**
      * Retrieves delivery address for the order based on user's saved addresses.
      *
@@ -169,10 +312,24 @@ public class OrderServiceImpl implements OrderService {
         return userAddresses.stream()
                 .filter(address -> Objects.equals(addressId, address.getId()))
                 .findFirst()
-                .orElseThrow(() -> {
-                    logger.error("Address with id {} not found for user: {}", addressId, user.getUsername());
-                    return new AddressNotFoundException(addressId);
-                });
+                .orElseThrow(() -> new AddressNotFoundException(addressId));
+    }
+
+    /**
+     * Takes payment and decreases product stocks for the items of the order.
+     * <p>Stock is locked and checked before the payment is authorized, so that an order short of
+     * stock fails without charging the customer, and the decrease after the payment cannot run short.
+     *
+     * @param order         the {@link Order} to complete
+     * @param paymentMethod the method to use for the payment
+     * @throws InsufficientStockException if there are not enough stocks for any item
+     * @throws PaymentFailedException     if payment fails
+     */
+    private void completeOrder(Order order, String paymentMethod) {
+        Map<String, Integer> quantitiesByProductId = getQuantitiesByProductId(order.getOrderItems());
+        productService.checkStocksForUpdate(quantitiesByProductId);
+        processOrderPayment(order, paymentMethod);
+        productService.decreaseStocks(quantitiesByProductId);
     }
 
     /**
@@ -191,16 +348,70 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Updates product stock based on order items.
+     * Sums the ordered quantities per product, so that each product row is locked and updated once.
      *
-     * @param orderItems     list of {@link OrderItem}s in the order
-     * @param stockOperation stock operation to perform by {@link ProductService} (increase or decrease)
+     * @param orderItems list of {@link OrderItem}s in the order
+     * @return ordered quantities keyed by product ID
      */
-    private void updateProductStocks(List<OrderItem> orderItems, BiConsumer<String, Integer> stockOperation) {
-        orderItems.forEach(orderItem -> {
-            String productId = orderItem.getProduct().getId();
-            stockOperation.accept(productId, orderItem.getProductInfo().getQuantity());
-        });
+    private Map<String, Integer> getQuantitiesByProductId(List<OrderItem> orderItems) {
+        return orderItems.stream()
+                .collect(Collectors.toMap(
+                        orderItem -> orderItem.getProduct().getId(),
+                        orderItem -> orderItem.getProductInfo().getQuantity(),
+                        Integer::sum
+                ));
+    }
+
+    /**
+     * Records an order event in the outbox, within the current transaction.
+     *
+     * @param order     the {@link Order} the event belongs to
+     * @param eventType the type of the event
+     */
+    private void recordOrderEvent(Order order, OutboxEventType eventType) {
+        OrderEvent event = new OrderEvent(
+                order.getId(),
+                order.getUser().getUsername(),
+                order.getOrderStatus(),
+                order.getTotalPrice(),
+                getQuantitiesByProductId(order.getOrderItems()),
+                Instant.now()
+        );
+        outboxService.record(eventType, order.getId(), event);
+    }
+
+    /**
+     * Publishes the sales of a completed order, delivered to listeners once the current transaction commits.
+     *
+     * @param order the completed {@link Order}
+     * @param type  whether the order has been placed or cancelled
+     */
+    private void publishSalesEvent(Order order, OrderSalesEvent.Type type) {
+        List<OrderSalesEvent.SoldItem> items = order.getOrderItems().stream()
+                .map(this::createSoldItem)
+                .toList();
+        eventPublisher.publishEvent(new OrderSalesEvent(order.getId(), type, items, Instant.now()));
+    }
+
+    /**
+     * Creates the sales line of an order item, priced after discounts.
+     *
+     * @param orderItem the {@link OrderItem} to convert
+     * @return a new {@link OrderSalesEvent.SoldItem}
+     */
+    private OrderSalesEvent.SoldItem createSoldItem(OrderItem orderItem) {
+        Product product = orderItem.getProduct();
+        DiscountInfo discountInfo = orderItem.getDiscountInfo();
+        Money revenue = discountInfo != null && discountInfo.isDiscountApplied()
+                ? discountInfo.getDiscountedTotalPrice()
+                : orderItem.getProductInfo().getTotalPrice();
+
+        return new OrderSalesEvent.SoldItem(
+                product.getId(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                orderItem.getProductInfo().getQuantity(),
+                revenue
+        );
     }
 
 }
@@ -0,0 +1,58 @@
+package com.example.ecommerce.outbox.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the transactional outbox.
+ * <p>
+ * This class holds the outbox relay and publisher properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * Maximum number of events published and deleted in a single relay transaction.
+     */
+    @Positive(message = "Outbox batch size must be positive")
+    private final int batchSize;
+
+    /**
+     * Maximum number of batches relayed in a single run.
+     * Remaining events are picked up by the next run.
+     */
+    @Positive(message = "Outbox max batches per run must be positive")
+    private final int maxBatchesPerRun;
+
+    /**
+     * Key of the Redis stream events are published to.
+     */
+    @NotBlank(message = "Outbox stream key must be defined")
+    private final String streamKey;
+
+    /**
+     * Approximate number of entries the Redis stream is trimmed to on publish.
+     */
+    @Positive(message = "Outbox stream max length must be positive")
+    private final long streamMaxLength;
+
+    @ConstructorBinding
+    public OutboxProperties(@DefaultValue("100") int batchSize,
+                            @DefaultValue("50") int maxBatchesPerRun,
+                            @DefaultValue("ecommerce:events") String streamKey,
+                            @DefaultValue("100000") long streamMaxLength) {
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.streamKey = streamKey;
+        this.streamMaxLength = streamMaxLength;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.ecommerce.outbox.exception;
+
+import com.example.ecommerce.shared.exception.InternalServerException;
+
+public class OutboxEventSerializationException extends InternalServerException {
+
+    public OutboxEventSerializationException(String eventType, Throwable cause) {
+        super("Could not serialize payload of outbox event " + eventType, cause);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.example.ecommerce.outbox.job;
+
+import com.example.ecommerce.outbox.config.OutboxProperties;
+import com.example.ecommerce.outbox.model.OutboxEvent;
+import com.example.ecommerce.outbox.publisher.OutboxPublisher;
+import com.example.ecommerce.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically publishes outbox events and removes the delivered ones.
+ * <p>
+ * Each batch is locked, published and deleted in one transaction. If publishing fails the
+ * transaction is rolled back and the batch is retried by the next run; if the transaction fails
+ * after publishing, the batch is published again. Delivery is therefore at-least-once.
+ * Locked rows are skipped by other instances, so several relays can run side by side.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPublisher outboxPublisher,
+                       OutboxProperties properties,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedEvents = Counter.builder("outbox.relay.published")
+                .description("Number of outbox events published")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("outbox.relay.failures")
+                .description("Number of outbox batches that could not be published")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${outbox.relay.initialDelayMs:5000}",
+            fixedDelayString = "${outbox.relay.fixedDelayMs:1000}"
+    )
+    public void relay() {
+        int published = 0;
+        try {
+            for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+                Integer batchSize = transactionTemplate.execute(status -> relayBatch());
+                published += batchSize;
+                if (batchSize < properties.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            failedBatches.increment();
+            logger.error("Outbox relay stopped after publishing {} events", published, ex);
+            return;
+        }
+
+        if (published > 0) {
+            logger.debug("Outbox relay published {} events", published);
+        }
+    }
+
+    /**
+     * Publishes and deletes the next batch of events within the current transaction.
+     *
+     * @return number of published events
+     */
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findNextBatchForUpdate(PageRequest.ofSize(properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        outboxPublisher.publish(events);
+        outboxEventRepository.deleteAllByIdIn(events.stream().map(OutboxEvent::getId).toList());
+
+        publishedEvents.increment(events.size());
+        return events.size();
+    }
+
+}
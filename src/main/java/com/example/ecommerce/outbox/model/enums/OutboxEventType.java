@@ -0,0 +1,39 @@
+package com.example.ecommerce.outbox.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum OutboxEventType {
+
+    /**
+     * An order has been accepted and is waiting to be completed.
+     */
+    ORDER_CREATED("order"),
+
+    /**
+     * An order has been paid and its stock has been taken.
+     */
+    ORDER_COMPLETED("order"),
+
+    /**
+     * An order could not be completed, for example because payment failed.
+     */
+    ORDER_FAILED("order"),
+
+    /**
+     * An order has been cancelled by the user.
+     */
+    ORDER_CANCELLED("order"),
+
+    /**
+     * The stock quantity of a product has changed.
+     */
+    STOCK_CHANGED("product");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+}
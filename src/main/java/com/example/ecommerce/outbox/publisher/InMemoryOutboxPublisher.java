@@ -0,0 +1,36 @@
+package com.example.ecommerce.outbox.publisher;
+
+import com.example.ecommerce.outbox.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps published outbox events in memory. Intended for tests and local runs without Redis,
+ * enabled with {@code outbox.publisher=in-memory}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "publisher", havingValue = "in-memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxEvent> publishedEvents = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        publishedEvents.addAll(events);
+    }
+
+    /**
+     * Returns the events published so far, in publishing order.
+     */
+    public List<OutboxEvent> getPublishedEvents() {
+        return List.copyOf(publishedEvents);
+    }
+
+    public void clear() {
+        publishedEvents.clear();
+    }
+
+}
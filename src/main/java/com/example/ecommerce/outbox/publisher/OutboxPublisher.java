@@ -0,0 +1,24 @@
+package com.example.ecommerce.outbox.publisher;
+
+import com.example.ecommerce.outbox.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Publishes outbox events to a message transport.
+ * <p>
+ * Implementations must either publish every event of the batch or throw, in which case the whole
+ * batch is published again later. Delivery is therefore at-least-once and consumers should use the
+ * event ID to discard duplicates.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes the given events in order.
+     *
+     * @param events the events to publish, ordered by ID
+     * @throws RuntimeException if the events could not be published
+     */
+    void publish(List<OutboxEvent> events);
+
+}
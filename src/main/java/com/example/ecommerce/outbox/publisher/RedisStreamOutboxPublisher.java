@@ -0,0 +1,57 @@
+package com.example.ecommerce.outbox.publisher;
+
+import com.example.ecommerce.outbox.config.OutboxProperties;
+import com.example.ecommerce.outbox.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes outbox events to a Redis stream. All events of a batch are sent in a single pipeline,
+ * and the stream is trimmed approximately to the configured length on every add.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "publisher", havingValue = "redis", matchIfMissing = true)
+public class RedisStreamOutboxPublisher implements OutboxPublisher {
+
+    private final OutboxProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        XAddOptions options = XAddOptions.maxlen(properties.getStreamMaxLength()).approximateTrimming(true);
+
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (OutboxEvent event : events) {
+                    operations.opsForStream().add(toRecord(event), options);
+                }
+                return null;
+            }
+        });
+    }
+
+    private MapRecord<String, String, String> toRecord(OutboxEvent event) {
+        return StreamRecords.string(Map.of(
+                "eventId", event.getId().toString(),
+                "eventType", event.getEventType().name(),
+                "aggregateType", event.getAggregateType(),
+                "aggregateId", event.getAggregateId(),
+                "payload", event.getPayload(),
+                "createdAt", event.getCreatedAt().toString()
+        )).withStreamKey(properties.getStreamKey());
+    }
+
+}
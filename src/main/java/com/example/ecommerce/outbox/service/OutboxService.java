@@ -0,0 +1,23 @@
+package com.example.ecommerce.outbox.service;
+
+import com.example.ecommerce.outbox.exception.OutboxEventSerializationException;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+
+/**
+ * Service interface for recording events that are published to downstream consumers.
+ */
+public interface OutboxService {
+
+    /**
+     * Stores an event in the outbox as part of the caller's transaction. The event is published
+     * by the outbox relay only if that transaction commits.
+     *
+     * @param eventType   the type of the event
+     * @param aggregateId ID of the entity the event belongs to
+     * @param payload     the event payload, serialized as JSON
+     * @throws OutboxEventSerializationException if the payload cannot be serialized
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no active transaction
+     */
+    void record(OutboxEventType eventType, String aggregateId, Object payload);
+
+}
@@ -0,0 +1,45 @@
+package com.example.ecommerce.outbox.service;
+
+import com.example.ecommerce.outbox.exception.OutboxEventSerializationException;
+import com.example.ecommerce.outbox.model.OutboxEvent;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType eventType, String aggregateId, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateType(eventType.getAggregateType())
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(serialize(eventType, payload))
+                .createdAt(Instant.now())
+                .build();
+
+        outboxEventRepository.save(event);
+    }
+
+    private String serialize(OutboxEventType eventType, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new OutboxEventSerializationException(eventType.name(), ex);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.example.ecommerce.payment.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for calls to the payment gateway.
+ * <p>
+ * This class holds the timeout, bulkhead, retry and circuit breaker properties loaded from
+ * {@code application.yaml} and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "payment.gateway")
+public class PaymentGatewayProperties {
+
+    /**
+     * How long a single call may take before it is abandoned and counted as failed.
+     */
+    @NotNull(message = "Payment gateway timeout must be defined")
+    private final Duration timeout;
+
+    /**
+     * Maximum number of calls in flight at once. Further calls are rejected immediately
+     * instead of waiting, so a slow gateway cannot tie up every checkout.
+     */
+    @Positive(message = "Payment gateway max concurrent calls must be positive")
+    private final int maxConcurrentCalls;
+
+    /**
+     * Maximum number of attempts of a call, counting the first one.
+     */
+    @Positive(message = "Payment gateway max attempts must be positive")
+    private final int maxAttempts;
+
+    /**
+     * Upper bound of the randomized delay before the first retry; doubled for every further retry.
+     */
+    @NotNull(message = "Payment gateway initial backoff must be defined")
+    private final Duration initialBackoff;
+
+    /**
+     * Upper bound of the randomized delay before any retry.
+     */
+    @NotNull(message = "Payment gateway max backoff must be defined")
+    private final Duration maxBackoff;
+
+    /**
+     * Number of most recent calls the failure rate of the circuit breaker is computed over.
+     */
+    @Positive(message = "Payment gateway sliding window size must be positive")
+    private final int slidingWindowSize;
+
+    /**
+     * Number of calls that must have been recorded before the circuit breaker may open.
+     */
+    @Positive(message = "Payment gateway minimum calls must be positive")
+    private final int minimumCalls;
+
+    /**
+     * Failure rate, in percent, at or above which the circuit breaker opens.
+     */
+    @Positive(message = "Payment gateway failure rate threshold must be positive")
+    @Max(value = 100, message = "Payment gateway failure rate threshold must not exceed 100")
+    private final int failureRateThreshold;
+
+    /**
+     * How long the circuit breaker stays open, failing calls fast, before it lets trial calls through.
+     */
+    @NotNull(message = "Payment gateway open duration must be defined")
+    private final Duration openDuration;
+
+    /**
+     * Number of trial calls that must succeed for a half-open circuit breaker to close again.
+     */
+    @Positive(message = "Payment gateway half-open calls must be positive")
+    private final int halfOpenCalls;
+
+    @ConstructorBinding
+    public PaymentGatewayProperties(@DefaultValue("2s") Duration timeout,
+                                    @DefaultValue("50") int maxConcurrentCalls,
+                                    @DefaultValue("3") int maxAttempts,
+                                    @DefaultValue("100ms") Duration initialBackoff,
+                                    @DefaultValue("1s") Duration maxBackoff,
+                                    @DefaultValue("50") int slidingWindowSize,
+                                    @DefaultValue("20") int minimumCalls,
+                                    @DefaultValue("50") int failureRateThreshold,
+                                    @DefaultValue("30s") Duration openDuration,
+                                    @DefaultValue("5") int halfOpenCalls) {
+        this.timeout = timeout;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+}
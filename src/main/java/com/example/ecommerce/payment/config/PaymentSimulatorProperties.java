@@ -0,0 +1,74 @@
+package com.example.ecommerce.payment.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the simulated payment gateway.
+ * <p>
+ * This class holds the latency and outcome distribution of simulated calls loaded from
+ * {@code application.yaml} and provides validation to ensure correct values. Rates are
+ * probabilities between 0 and 1 and are drawn independently for every call.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "payment.gateway.simulator")
+public class PaymentSimulatorProperties {
+
+    /**
+     * Median latency of a call.
+     */
+    @NotNull(message = "Payment simulator latency must be defined")
+    private final Duration latency;
+
+    /**
+     * Shape of the log-normal latency distribution. 0 makes every call take the median latency,
+     * larger values give a longer tail.
+     */
+    @PositiveOrZero(message = "Payment simulator latency sigma must not be negative")
+    private final double latencySigma;
+
+    /**
+     * Share of calls answered with a declined payment.
+     */
+    @DecimalMin(value = "0.0", message = "Payment simulator decline rate must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Payment simulator decline rate must be between 0 and 1")
+    private final double declineRate;
+
+    /**
+     * Share of calls failing with a transient gateway error.
+     */
+    @DecimalMin(value = "0.0", message = "Payment simulator error rate must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Payment simulator error rate must be between 0 and 1")
+    private final double errorRate;
+
+    /**
+     * Share of calls that are never answered and only end by timing out.
+     */
+    @DecimalMin(value = "0.0", message = "Payment simulator hang rate must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Payment simulator hang rate must be between 0 and 1")
+    private final double hangRate;
+
+    @ConstructorBinding
+    public PaymentSimulatorProperties(@DefaultValue("150ms") Duration latency,
+                                      @DefaultValue("0.5") double latencySigma,
+                                      @DefaultValue("0.0") double declineRate,
+                                      @DefaultValue("0.0") double errorRate,
+                                      @DefaultValue("0.0") double hangRate) {
+        this.latency = latency;
+        this.latencySigma = latencySigma;
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.hangRate = hangRate;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.example.ecommerce.payment.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Configuration properties for the nightly payment reconciliation.
+ * <p>
+ * This class holds the settlement file location and reconciliation job properties loaded from
+ * {@code application.yaml} and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "payment.reconciliation")
+public class ReconciliationProperties {
+
+    /**
+     * Directory the payment provider delivers settlement files to.
+     */
+    @NotBlank(message = "Settlement directory must be defined")
+    private final String directory;
+
+    /**
+     * Name of the settlement file of a date, where {@code {date}} is replaced with the ISO date.
+     */
+    @NotBlank(message = "Settlement file name must be defined")
+    private final String fileName;
+
+    /**
+     * Number of past days reconciled by every run. Dates already reconciled are skipped, so a
+     * settlement file delivered late or a failed run is picked up by one of the next runs.
+     */
+    @Positive(message = "Reconciliation lookback days must be positive")
+    private final int lookbackDays;
+
+    /**
+     * Number of transactions compared between two checkpoints. Discrepancies found in between are
+     * held in memory until the checkpoint.
+     */
+    @Positive(message = "Reconciliation checkpoint interval must be positive")
+    private final int checkpointInterval;
+
+    @ConstructorBinding
+    public ReconciliationProperties(@DefaultValue("settlements") String directory,
+                                    @DefaultValue("settlement-{date}.csv") String fileName,
+                                    @DefaultValue("3") int lookbackDays,
+                                    @DefaultValue("5000") int checkpointInterval) {
+        this.directory = directory;
+        this.fileName = fileName;
+        this.lookbackDays = lookbackDays;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public Path getSettlementFile(LocalDate settlementDate) {
+        return Path.of(directory, fileName.replace("{date}", settlementDate.toString()));
+    }
+
+}
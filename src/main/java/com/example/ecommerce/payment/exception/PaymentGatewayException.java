@@ -0,0 +1,23 @@
+package com.example.ecommerce.payment.exception;
+
+import com.example.ecommerce.shared.exception.ServiceUnavailableException;
+import lombok.Getter;
+
+/**
+ * Thrown when the payment gateway could not be reached or did not answer in time, or when calls
+ * to it are rejected to protect checkout from a degraded gateway.
+ */
+@Getter
+public class PaymentGatewayException extends ServiceUnavailableException {
+
+    /**
+     * Whether the same request may succeed if sent again, as after a timeout or a transient error.
+     */
+    private final boolean retryable;
+
+    public PaymentGatewayException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.ecommerce.payment.gateway;
+
+/**
+ * The answer of the payment gateway to an authorization request.
+ *
+ * @param approved      whether the payment has been approved
+ * @param transactionId ID of the transaction at the gateway, {@code null} if declined
+ * @param declineReason why the payment has been declined, {@code null} if approved
+ */
+public record PaymentAuthorization(
+        boolean approved,
+        String transactionId,
+        String declineReason
+) {
+
+    public static PaymentAuthorization approved(String transactionId) {
+        return new PaymentAuthorization(true, transactionId, null);
+    }
+
+    public static PaymentAuthorization declined(String declineReason) {
+        return new PaymentAuthorization(false, null, declineReason);
+    }
+
+}
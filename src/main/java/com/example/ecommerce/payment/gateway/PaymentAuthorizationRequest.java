@@ -0,0 +1,18 @@
+package com.example.ecommerce.payment.gateway;
+
+import com.example.ecommerce.payment.model.enums.PaymentMethod;
+import com.example.ecommerce.shared.money.Money;
+
+/**
+ * A request to authorize a payment.
+ *
+ * @param idempotencyKey key the gateway uses to recognize a repeated request and return the original
+ *                       result instead of charging again
+ * @param amount         amount to charge
+ * @param paymentMethod  method to charge with
+ */
+public record PaymentAuthorizationRequest(
+        String idempotencyKey,
+        Money amount,
+        PaymentMethod paymentMethod
+) {}
@@ -0,0 +1,128 @@
+package com.example.ecommerce.payment.gateway;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker guarding the payment gateway.
+ * <p>
+ * While closed, the outcomes of the most recent calls are kept in a ring buffer. Once enough
+ * calls have been recorded and the share of failures reaches the threshold, the breaker opens
+ * and rejects every call for the open duration. It then lets a limited number of trial calls
+ * through: if all succeed it closes again, the first failure opens it for another period.
+ */
+class PaymentCircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int recordedCalls;
+    private int recordedFailures;
+    private int nextIndex;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    PaymentCircuitBreaker(int slidingWindowSize,
+                          int minimumCalls,
+                          int failureRateThreshold,
+                          long openDurationNanos,
+                          int halfOpenCalls,
+                          LongSupplier nanoClock) {
+        this.failures = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns whether a call may be made now. Every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // Late answer of a call permitted before the breaker opened
+            }
+        }
+    }
+
+    synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (recordedCalls >= minimumCalls && recordedFailures * 100L >= (long) failureRateThreshold * recordedCalls) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> transitionTo(State.OPEN);
+            case OPEN -> {
+                // Late answer of a call permitted before the breaker opened
+            }
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == failures.length) {
+            if (failures[nextIndex]) {
+                recordedFailures--;
+            }
+        } else {
+            recordedCalls++;
+        }
+
+        failures[nextIndex] = failure;
+        if (failure) {
+            recordedFailures++;
+        }
+        nextIndex = (nextIndex + 1) % failures.length;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        openedAt = nanoClock.getAsLong();
+        recordedCalls = 0;
+        recordedFailures = 0;
+        nextIndex = 0;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.ecommerce.payment.gateway;
+
+import com.example.ecommerce.payment.exception.PaymentGatewayException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service provider interface of a payment service provider.
+ * <p>
+ * Calls must not block the caller: the result is delivered through the returned future, so that
+ * a slow gateway holds no threads while it is waiting. A declined payment is a regular result;
+ * the future only completes exceptionally if no answer was received.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Authorizes and captures a payment. Requests with the same idempotency key must be charged
+     * at most once, so that a request whose answer was lost can safely be sent again.
+     *
+     * @param request the payment to authorize
+     * @return a future completed with the {@link PaymentAuthorization}, or exceptionally with a
+     *         {@link PaymentGatewayException} if the gateway could not be reached
+     */
+    CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request);
+
+    /**
+     * Voids the payment authorized under the given idempotency key, so that the customer is not
+     * charged. Since the answer to an authorization can be lost, voiding a key under which nothing
+     * was authorized must succeed without effect, and so must voiding a key twice.
+     *
+     * @param idempotencyKey the idempotency key of the authorization request
+     * @return a future completed once the payment is voided, or exceptionally with a
+     *         {@link PaymentGatewayException} if the gateway could not be reached
+     */
+    CompletableFuture<Void> voidAuthorization(String idempotencyKey);
+
+}
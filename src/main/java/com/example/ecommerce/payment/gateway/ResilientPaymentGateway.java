@@ -0,0 +1,209 @@
+package com.example.ecommerce.payment.gateway;
+
+import com.example.ecommerce.payment.config.PaymentGatewayProperties;
+import com.example.ecommerce.payment.exception.PaymentGatewayException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Protects checkout from a slow or failing payment gateway.
+ * <p>
+ * Every attempt passes through, from the outside in:
+ * <ul>
+ *     <li>a bulkhead, which rejects the attempt at once when the configured number of calls is
+ *     already in flight, so a slow gateway cannot tie up every checkout;</li>
+ *     <li>a circuit breaker, which fails attempts fast while the gateway keeps failing;</li>
+ *     <li>a timeout, after which the attempt is abandoned and counted as failed.</li>
+ * </ul>
+ * Attempts that timed out or failed with a transient error are retried after a random delay of up
+ * to an exponentially growing bound ("full jitter"), so that many checkouts failing together do not
+ * retry in lockstep. Only idempotent calls are retried: authorization requests carry an idempotency
+ * key, so a retried request whose first answer was lost is not charged twice. Rejections by the
+ * bulkhead or the circuit breaker are not retried, since retrying would only add load.
+ * <p>
+ * Voids are timed out and retried the same way, but bypass the bulkhead and the circuit breaker:
+ * they release money that is already held, so they are sent even while the gateway is saturated
+ * or failing.
+ * <p>
+ * No thread waits for the gateway: timeouts and retry delays are scheduled on the shared delayed
+ * executor of {@link CompletableFuture}.
+ */
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    private final PaymentGateway delegate;
+    private final Duration timeout;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Semaphore bulkhead;
+    private final PaymentCircuitBreaker circuitBreaker;
+
+    private final Counter retries;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter timeouts;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientPaymentGateway.class);
+
+    public ResilientPaymentGateway(PaymentGateway delegate, PaymentGatewayProperties properties, MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, System::nanoTime);
+    }
+
+    ResilientPaymentGateway(PaymentGateway delegate,
+                            PaymentGatewayProperties properties,
+                            MeterRegistry meterRegistry,
+                            LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.timeout = properties.getTimeout();
+        this.maxAttempts = properties.getMaxAttempts();
+        this.initialBackoffNanos = properties.getInitialBackoff().toNanos();
+        this.maxBackoffNanos = properties.getMaxBackoff().toNanos();
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+        this.circuitBreaker = new PaymentCircuitBreaker(
+                properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getFailureRateThreshold(),
+                properties.getOpenDuration().toNanos(),
+                properties.getHalfOpenCalls(),
+                nanoClock
+        );
+
+        Gauge.builder("payment.gateway.calls.active", bulkhead, semaphore -> properties.getMaxConcurrentCalls() - semaphore.availablePermits())
+                .description("Number of payment gateway calls in flight")
+                .register(meterRegistry);
+        Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the payment gateway circuit breaker: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.retries = Counter.builder("payment.gateway.retries")
+                .description("Number of payment gateway calls retried")
+                .register(meterRegistry);
+        this.bulkheadRejections = Counter.builder("payment.gateway.rejected")
+                .description("Number of payment gateway calls rejected without being made")
+                .tag("reason", "bulkhead")
+                .register(meterRegistry);
+        this.circuitRejections = Counter.builder("payment.gateway.rejected")
+                .description("Number of payment gateway calls rejected without being made")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("payment.gateway.timeouts")
+                .description("Number of payment gateway calls abandoned after the timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+        CompletableFuture<PaymentAuthorization> result = new CompletableFuture<>();
+        attempt(request.idempotencyKey(), () -> call(request), 1, result);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String idempotencyKey) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        attempt(idempotencyKey, () -> withTimeout(() -> delegate.voidAuthorization(idempotencyKey)), 1, result);
+        return result;
+    }
+
+    private <T> void attempt(String idempotencyKey, Supplier<CompletableFuture<T>> call, int attempt, CompletableFuture<T> result) {
+        call.get().whenComplete((value, ex) -> {
+            if (ex == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(ex);
+            if (attempt < maxAttempts && cause instanceof PaymentGatewayException gatewayException && gatewayException.isRetryable()) {
+                long backoffNanos = backoffNanos(attempt);
+                retries.increment();
+                logger.debug("Retrying payment {} in {} ms after attempt {} failed: {}",
+                        idempotencyKey, TimeUnit.NANOSECONDS.toMillis(backoffNanos), attempt, cause.getMessage());
+                CompletableFuture.delayedExecutor(backoffNanos, TimeUnit.NANOSECONDS)
+                        .execute(() -> attempt(idempotencyKey, call, attempt + 1, result));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    /**
+     * Makes a single attempt through the bulkhead, the circuit breaker and the timeout.
+     */
+    private CompletableFuture<PaymentAuthorization> call(PaymentAuthorizationRequest request) {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.increment();
+            return CompletableFuture.failedFuture(new PaymentGatewayException("Payment gateway is at capacity, please try again later", false));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            circuitRejections.increment();
+            return CompletableFuture.failedFuture(new PaymentGatewayException("Payment gateway is unavailable, please try again later", false));
+        }
+
+        return withTimeout(() -> delegate.authorize(request))
+                .whenComplete((authorization, ex) -> {
+                    bulkhead.release();
+                    if (ex == null) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        circuitBreaker.onFailure();
+                    }
+                });
+    }
+
+    /**
+     * Makes a single call to the gateway that fails with a retryable {@link PaymentGatewayException}
+     * if no answer arrives within the timeout.
+     */
+    private <T> CompletableFuture<T> withTimeout(Supplier<CompletableFuture<T>> delegateCall) {
+        CompletableFuture<T> call;
+        try {
+            call = delegateCall.get();
+        } catch (RuntimeException ex) {
+            call = CompletableFuture.failedFuture(ex);
+        }
+
+        return call.copy()
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .handle((value, ex) -> {
+                    if (ex == null) {
+                        return value;
+                    }
+
+                    Throwable cause = unwrap(ex);
+                    if (cause instanceof TimeoutException) {
+                        timeouts.increment();
+                        throw new PaymentGatewayException("Payment gateway did not answer within " + timeout.toMillis() + " ms", true);
+                    }
+                    throw cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Returns a random delay between zero and the exponential backoff bound of the given attempt.
+     */
+    private long backoffNanos(int attempt) {
+        long bound = initialBackoffNanos << Math.min(attempt - 1, 30);
+        if (bound <= 0 || bound > maxBackoffNanos) {
+            bound = maxBackoffNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.ecommerce.payment.gateway;
+
+import com.example.ecommerce.payment.config.PaymentSimulatorProperties;
+import com.example.ecommerce.payment.exception.PaymentGatewayException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for a payment service provider, enabled with {@code payment.gateway.provider=simulator}
+ * (the default).
+ * <p>
+ * Answers are delayed by a log-normally distributed latency and drawn from the configured decline,
+ * error and hang rates, so that checkout throughput under a degraded gateway can be load tested
+ * offline. Answers are completed by a single scheduler thread; no thread waits for a simulated call.
+ * The simulator does not deduplicate idempotency keys, and voids always succeed after the median latency.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payment.gateway", name = "provider", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final PaymentSimulatorProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    public SimulatedPaymentGateway(PaymentSimulatorProperties properties) {
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("payment-simulator-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Override
+    public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+        CompletableFuture<PaymentAuthorization> result = new CompletableFuture<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        double outcome = random.nextDouble();
+        if (outcome < properties.getHangRate()) {
+            return result;
+        }
+
+        long latencyNanos = (long) (properties.getLatency().toNanos() * Math.exp(properties.getLatencySigma() * random.nextGaussian()));
+        scheduler.schedule(() -> {
+            if (outcome < properties.getHangRate() + properties.getErrorRate()) {
+                result.completeExceptionally(new PaymentGatewayException("Simulated payment gateway error", true));
+            } else if (outcome < properties.getHangRate() + properties.getErrorRate() + properties.getDeclineRate()) {
+                result.complete(PaymentAuthorization.declined("Simulated decline"));
+            } else {
+                result.complete(PaymentAuthorization.approved(UUID.randomUUID().toString()));
+            }
+        }, latencyNanos, TimeUnit.NANOSECONDS);
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> voidAuthorization(String idempotencyKey) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        scheduler.schedule(() -> result.complete(null), properties.getLatency().toNanos(), TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+}
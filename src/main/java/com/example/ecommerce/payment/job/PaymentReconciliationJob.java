@@ -0,0 +1,65 @@
+package com.example.ecommerce.payment.job;
+
+import com.example.ecommerce.payment.config.ReconciliationProperties;
+import com.example.ecommerce.payment.service.PaymentReconciliationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Reconciles the payments of the past days against the settlement files of the payment provider
+ * every night.
+ * <p>
+ * Dates are reconciled oldest first. Dates already reconciled are skipped, a failed date is resumed
+ * from its last checkpoint, and a date whose settlement file has not arrived yet is tried again by
+ * the next run until it leaves the lookback window.
+ */
+@Component
+public class PaymentReconciliationJob {
+
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final ReconciliationProperties properties;
+
+    private final Counter failedRuns;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationJob.class);
+
+    public PaymentReconciliationJob(PaymentReconciliationService paymentReconciliationService,
+                                    ReconciliationProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.paymentReconciliationService = paymentReconciliationService;
+        this.properties = properties;
+        this.failedRuns = Counter.builder("payment.reconciliation.failures")
+                .description("Number of payment reconciliation runs that stopped with an error")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${payment.reconciliation.cron:0 0 5 * * *}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        for (int daysAgo = properties.getLookbackDays(); daysAgo >= 1; daysAgo--) {
+            LocalDate settlementDate = today.minusDays(daysAgo);
+            Path settlementFile = properties.getSettlementFile(settlementDate);
+            if (!Files.isRegularFile(settlementFile)) {
+                logger.debug("No settlement file {} for {} yet", settlementFile, settlementDate);
+                continue;
+            }
+
+            try {
+                paymentReconciliationService.reconcile(settlementDate, settlementFile);
+            } catch (IOException | RuntimeException ex) {
+                failedRuns.increment();
+                logger.error("Reconciliation of {} stopped, it resumes from its last checkpoint on the next run", settlementDate, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.ecommerce.payment.model;
+
+import com.example.ecommerce.payment.model.enums.PaymentMethod;
+import com.example.ecommerce.payment.model.enums.PaymentStatus;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of the payment of an archived order, kept column by column so that payment records
+ * remain queryable after the order has left the hot tables.
+ */
+@Entity
+@Builder
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "payment_archive",
+        indexes = @Index(name = "idx_payment_archive_order", columnList = "order_id")
+)
+public class ArchivedPayment implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private String orderId;
+
+    private String transactionId;
+
+    private Money amount;
+    private LocalDateTime paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentMethod paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    /**
+     * Creates the archive copy of a payment.
+     *
+     * @param payment    the {@link Payment} to archive
+     * @param archivedAt the time the payment is archived
+     * @return a new {@link ArchivedPayment}
+     */
+    public static ArchivedPayment of(Payment payment, Instant archivedAt) {
+        return ArchivedPayment.builder()
+                .id(payment.getId())
+                .orderId(payment.getOrder().getId())
+                .transactionId(payment.getTransactionId())
+                .amount(payment.getAmount())
+                .paymentDate(payment.getPaymentDate())
+                .paymentMethod(payment.getPaymentMethod())
+                .paymentStatus(payment.getPaymentStatus())
+                .createdAt(payment.getCreatedAt())
+                .archivedAt(archivedAt)
+                .build();
+    }
+
+}
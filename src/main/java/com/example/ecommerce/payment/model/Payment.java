@@ -4,22 +4,23 @@ import com.example.ecommerce.order.model.Order;
 import com.example.ecommerce.payment.model.enums.PaymentMethod;
 import com.example.ecommerce.payment.model.enums.PaymentStatus;
 import com.example.ecommerce.shared.audit.Auditable;
+import com.example.ecommerce.shared.money.Money;
+import com.example.ecommerce.shared.persistence.PooledSequence;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -27,15 +28,16 @@ import java.time.LocalDateTime;
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_payment_date", columnList = "payment_date"))
 public class Payment extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("payment_seq")
     private Long id;
 
     private String transactionId;
 
-    private BigDecimal amount;
+    private Money amount;
     private LocalDateTime paymentDate;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,68 @@
+package com.example.ecommerce.payment.model;
+
+import com.example.ecommerce.payment.model.enums.DiscrepancyType;
+import com.example.ecommerce.payment.model.enums.PaymentStatus;
+import com.example.ecommerce.shared.money.Money;
+import com.example.ecommerce.shared.persistence.PooledSequence;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A difference between a recorded payment and the settlement file of the payment provider,
+ * reported by a reconciliation run.
+ */
+@Entity
+@Builder
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "payment_discrepancy",
+        indexes = @Index(name = "idx_payment_discrepancy_run", columnList = "run_id")
+)
+public class PaymentDiscrepancy {
+
+    @Id
+    @PooledSequence("payment_discrepancy_seq")
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private DiscrepancyType type;
+
+    private String transactionId;
+
+    private Money ledgerAmount;
+
+    private Money settledAmount;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus ledgerStatus;
+
+    private String settledStatus;
+
+    /**
+     * The offending settlement file line, for unreadable records.
+     */
+    @Column(length = 1024)
+    private String details;
+
+    @Column(nullable = false)
+    private Instant detectedAt;
+
+}
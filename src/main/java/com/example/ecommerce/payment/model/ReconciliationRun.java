@@ -0,0 +1,67 @@
+package com.example.ecommerce.payment.model;
+
+import com.example.ecommerce.payment.model.enums.ReconciliationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of the reconciliation of one settlement date.
+ * <p>
+ * The checkpoint is the highest transaction ID compared so far together with the byte offset of
+ * the first settlement file line not yet read. Both are saved in the same transaction as the
+ * discrepancies found up to that point, so a resumed run neither loses nor repeats any of them.
+ */
+@Entity
+@Builder
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+        name = "reconciliation_run",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reconciliation_run_date", columnNames = "settlement_date")
+)
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReconciliationStatus status;
+
+    private String lastTransactionId;
+
+    private long fileOffset;
+
+    private long matchedCount;
+
+    private long discrepancyCount;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+}
@@ -0,0 +1,30 @@
+package com.example.ecommerce.payment.model.enums;
+
+public enum DiscrepancyType {
+
+    /**
+     * A payment was recorded, but the provider did not settle it.
+     */
+    MISSING_IN_SETTLEMENT,
+
+    /**
+     * The provider settled a transaction no payment was recorded for.
+     */
+    MISSING_IN_LEDGER,
+
+    /**
+     * The settled amount differs from the recorded payment amount.
+     */
+    AMOUNT_MISMATCH,
+
+    /**
+     * The settled status differs from the recorded payment status.
+     */
+    STATUS_MISMATCH,
+
+    /**
+     * A line of the settlement file could not be parsed.
+     */
+    UNREADABLE_RECORD
+
+}
@@ -0,0 +1,20 @@
+package com.example.ecommerce.payment.model.enums;
+
+public enum ReconciliationStatus {
+
+    /**
+     * The run is in progress, or stopped without being marked as failed.
+     */
+    RUNNING,
+
+    /**
+     * Every payment and settlement record has been compared.
+     */
+    COMPLETED,
+
+    /**
+     * The run stopped with an error and resumes from its last checkpoint when started again.
+     */
+    FAILED
+
+}
@@ -0,0 +1,137 @@
+package com.example.ecommerce.payment.reconciliation;
+
+import com.example.ecommerce.shared.money.Money;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a settlement file line by line through a fixed-size buffer, keeping track of the byte offset
+ * of the next unread line, so that reading can be resumed at that offset later.
+ * <p>
+ * Settlement files are CSV files with the columns {@code transaction_id,amount,status}, optionally
+ * preceded by a header line, and must be sorted by transaction ID. Blank lines are skipped.
+ */
+public class SettlementFileReader implements Closeable {
+
+    private static final String HEADER_PREFIX = "transaction_id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private byte[] line = new byte[256];
+    private long position;
+
+    private SettlementFileReader(FileChannel channel, long position) {
+        this.channel = channel;
+        this.position = position;
+        this.buffer.flip();
+    }
+
+    /**
+     * Opens a settlement file for reading, starting at the given byte offset.
+     *
+     * @param file   the settlement file
+     * @param offset a value previously returned by {@link #position()}, or 0 to read from the start
+     */
+    public static SettlementFileReader open(Path file, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        return new SettlementFileReader(channel, offset);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next {@link SettlementRecord}, or {@code null} at the end of the file
+     */
+    public SettlementRecord next() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank() || text.startsWith(HEADER_PREFIX));
+
+        return parse(text);
+    }
+
+    /**
+     * Returns the byte offset of the first line not yet read.
+     */
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String readLine() throws IOException {
+        int length = 0;
+        boolean eof = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+            }
+
+            byte next = buffer.get();
+            position++;
+            if (next == '\n') {
+                break;
+            }
+            if (length == line.length) {
+                if (length == MAX_LINE_LENGTH) {
+                    throw new IOException("Settlement file line ending at offset " + position + " is too long");
+                }
+                line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE_LENGTH));
+            }
+            line[length++] = next;
+        }
+
+        if (eof && length == 0) {
+            return null;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static SettlementRecord parse(String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != 3 || fields[0].isBlank()) {
+            return new SettlementRecord(null, null, null, text);
+        }
+
+        try {
+            Money amount = Money.of(new BigDecimal(fields[1].trim()));
+            return new SettlementRecord(fields[0].trim(), amount, fields[2].trim(), text);
+        } catch (NumberFormatException | ArithmeticException ex) {
+            return new SettlementRecord(null, null, null, text);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.ecommerce.payment.reconciliation;
+
+import com.example.ecommerce.shared.money.Money;
+
+/**
+ * A line of the settlement file of the payment provider.
+ *
+ * @param transactionId ID of the settled transaction, {@code null} if the line could not be parsed
+ * @param amount        settled amount
+ * @param status        settled status, named like {@code PaymentStatus}
+ * @param line          the raw line
+ */
+public record SettlementRecord(
+        String transactionId,
+        Money amount,
+        String status,
+        String line
+) {
+
+    public boolean isReadable() {
+        return transactionId != null;
+    }
+
+}
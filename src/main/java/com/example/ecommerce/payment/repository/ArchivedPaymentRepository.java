@@ -0,0 +1,6 @@
+package com.example.ecommerce.payment.repository;
+
+import com.example.ecommerce.payment.model.ArchivedPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedPaymentRepository extends JpaRepository<ArchivedPayment, Long> {}
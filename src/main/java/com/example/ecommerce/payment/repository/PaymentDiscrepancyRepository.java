@@ -0,0 +1,7 @@
+package com.example.ecommerce.payment.repository;
+
+import com.example.ecommerce.payment.model.PaymentDiscrepancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PaymentDiscrepancyRepository extends JpaRepository<PaymentDiscrepancy, Long> {
+}
@@ -1,6 +1,43 @@
 package com.example.ecommerce.payment.repository;
 
 import com.example.ecommerce.payment.model.Payment;
+import com.example.ecommerce.payment.repository.projection.PaymentLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {}
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.order.id IN ?1")
+    int deleteAllByOrderIdIn(Collection<String> orderIds);
+
+    /**
+     * Streams the payments made in the given period whose transaction ID sorts after the given one,
+     * ordered by transaction ID. Rows are fetched from a forward-only cursor in chunks and not
+     * tracked by the persistence context, so the stream must be consumed and closed within a
+     * transaction but never holds more than a chunk in memory.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.example.ecommerce.payment.repository.projection.PaymentLedgerEntry(p.transactionId, p.amount, p.paymentStatus)
+            FROM Payment p
+            WHERE p.paymentDate >= :from AND p.paymentDate < :to AND p.transactionId > :afterTransactionId
+            ORDER BY p.transactionId
+            """)
+    Stream<PaymentLedgerEntry> streamLedgerEntries(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("afterTransactionId") String afterTransactionId);
+
+}
@@ -0,0 +1,13 @@
+package com.example.ecommerce.payment.repository;
+
+import com.example.ecommerce.payment.model.ReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    Optional<ReconciliationRun> findBySettlementDate(LocalDate settlementDate);
+
+}
@@ -0,0 +1,13 @@
+package com.example.ecommerce.payment.repository.projection;
+
+import com.example.ecommerce.payment.model.enums.PaymentStatus;
+import com.example.ecommerce.shared.money.Money;
+
+/**
+ * The fields of a payment compared against the settlement file of the payment provider.
+ */
+public record PaymentLedgerEntry(
+        String transactionId,
+        Money amount,
+        PaymentStatus paymentStatus
+) {}
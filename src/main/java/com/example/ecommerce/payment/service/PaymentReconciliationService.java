@@ -0,0 +1,31 @@
+package com.example.ecommerce.payment.service;
+
+import com.example.ecommerce.payment.model.ReconciliationRun;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Service interface for reconciling recorded payments against the settlement files of the payment provider.
+ */
+public interface PaymentReconciliationService {
+
+    /**
+     * Compares the payments made on a date with the settlement file of that date and reports every
+     * difference as a {@code PaymentDiscrepancy}.
+     * <p>
+     * Payments and settlement records are both read in transaction ID order and merged in a single
+     * pass, so memory use does not depend on the number of payments. Progress is checkpointed
+     * periodically; calling this again for a date whose run failed resumes from the last checkpoint,
+     * and a date already reconciled is not reconciled again.
+     *
+     * @param settlementDate the date to reconcile
+     * @param settlementFile the settlement file of the date, sorted by transaction ID
+     * @return the {@link ReconciliationRun} of the date
+     * @throws IOException           if the settlement file cannot be read
+     * @throws IllegalStateException if the settlement file is not sorted by transaction ID
+     */
+    ReconciliationRun reconcile(LocalDate settlementDate, Path settlementFile) throws IOException;
+
+}
@@ -0,0 +1,271 @@
+package com.example.ecommerce.payment.service;
+
+import com.example.ecommerce.payment.config.ReconciliationProperties;
+import com.example.ecommerce.payment.model.PaymentDiscrepancy;
+import com.example.ecommerce.payment.model.ReconciliationRun;
+import com.example.ecommerce.payment.model.enums.DiscrepancyType;
+import com.example.ecommerce.payment.model.enums.ReconciliationStatus;
+import com.example.ecommerce.payment.reconciliation.SettlementFileReader;
+import com.example.ecommerce.payment.reconciliation.SettlementRecord;
+import com.example.ecommerce.payment.repository.PaymentDiscrepancyRepository;
+import com.example.ecommerce.payment.repository.PaymentRepository;
+import com.example.ecommerce.payment.repository.ReconciliationRunRepository;
+import com.example.ecommerce.payment.repository.projection.PaymentLedgerEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService {
+
+    private final PaymentRepository paymentRepository;
+    private final ReconciliationRunRepository reconciliationRunRepository;
+    private final PaymentDiscrepancyRepository paymentDiscrepancyRepository;
+    private final ReconciliationProperties properties;
+    private final TransactionTemplate writeTransaction;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationServiceImpl.class);
+
+    public PaymentReconciliationServiceImpl(PaymentRepository paymentRepository,
+                                            ReconciliationRunRepository reconciliationRunRepository,
+                                            PaymentDiscrepancyRepository paymentDiscrepancyRepository,
+                                            ReconciliationProperties properties,
+                                            PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.reconciliationRunRepository = reconciliationRunRepository;
+        this.paymentDiscrepancyRepository = paymentDiscrepancyRepository;
+        this.properties = properties;
+        // Checkpoints commit on their own while the payment cursor stays open in the outer transaction
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReconciliationRun reconcile(LocalDate settlementDate, Path settlementFile) throws IOException {
+        ReconciliationRun run = writeTransaction.execute(status -> startOrResume(settlementDate, settlementFile));
+        if (run.getStatus() == ReconciliationStatus.COMPLETED) {
+            logger.debug("Payments of {} are already reconciled", settlementDate);
+            return run;
+        }
+
+        try {
+            merge(run, settlementFile);
+        } catch (IOException | RuntimeException ex) {
+            // Reloaded, so that only the last committed checkpoint is kept
+            writeTransaction.executeWithoutResult(status -> reconciliationRunRepository.findById(run.getId())
+                    .ifPresent(failedRun -> failedRun.setStatus(ReconciliationStatus.FAILED)));
+            throw ex;
+        }
+
+        logger.info("Reconciled payments of {}: {} matched, {} discrepancies",
+                settlementDate, run.getMatchedCount(), run.getDiscrepancyCount());
+        return run;
+    }
+
+    private ReconciliationRun startOrResume(LocalDate settlementDate, Path settlementFile) {
+        ReconciliationRun run = reconciliationRunRepository.findBySettlementDate(settlementDate)
+                .orElseGet(() -> ReconciliationRun.builder()
+                        .settlementDate(settlementDate)
+                        .fileName(settlementFile.getFileName().toString())
+                        .startedAt(Instant.now())
+                        .build());
+        if (run.getStatus() == ReconciliationStatus.COMPLETED) {
+            return run;
+        }
+
+        if (run.getLastTransactionId() != null) {
+            logger.info("Resuming reconciliation of {} after transaction {}", settlementDate, run.getLastTransactionId());
+        }
+        run.setStatus(ReconciliationStatus.RUNNING);
+        return reconciliationRunRepository.save(run);
+    }
+
+    /**
+     * Merges the payments and the settlement records of the run, both ordered by transaction ID,
+     * starting from the checkpoint of the run.
+     */
+    private void merge(ReconciliationRun run, Path settlementFile) throws IOException {
+        LocalDateTime from = run.getSettlementDate().atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+        String afterTransactionId = run.getLastTransactionId() != null ? run.getLastTransactionId() : "";
+
+        try (Stream<PaymentLedgerEntry> ledgerStream = paymentRepository.streamLedgerEntries(from, to, afterTransactionId);
+             SettlementFileReader settlementReader = SettlementFileReader.open(settlementFile, run.getFileOffset())) {
+            MergeState state = new MergeState(run, ledgerStream.iterator(), settlementReader);
+
+            while (state.ledger != null || state.settled != null) {
+                if (state.settled != null && !state.settled.isReadable()) {
+                    state.report(discrepancy(run, DiscrepancyType.UNREADABLE_RECORD, null, null)
+                            .details(truncate(state.settled.line()))
+                            .build());
+                    state.advanceSettlement();
+                    continue;
+                }
+
+                int comparison = state.ledger == null ? 1
+                        : state.settled == null ? -1
+                        : state.ledger.transactionId().compareTo(state.settled.transactionId());
+                if (comparison < 0) {
+                    state.report(discrepancy(run, DiscrepancyType.MISSING_IN_SETTLEMENT, state.ledger, null).build());
+                    state.advanceLedger();
+                } else if (comparison > 0) {
+                    state.report(discrepancy(run, DiscrepancyType.MISSING_IN_LEDGER, null, state.settled).build());
+                    state.advanceSettlement();
+                } else {
+                    compare(state);
+                    state.advanceLedger();
+                    state.advanceSettlement();
+                }
+
+                if (++state.sinceCheckpoint >= properties.getCheckpointInterval()) {
+                    checkpoint(state, ReconciliationStatus.RUNNING);
+                }
+            }
+
+            checkpoint(state, ReconciliationStatus.COMPLETED);
+        }
+    }
+
+    private void compare(MergeState state) {
+        PaymentLedgerEntry ledger = state.ledger;
+        SettlementRecord settled = state.settled;
+
+        if (!ledger.amount().equals(settled.amount())) {
+            state.report(discrepancy(state.run, DiscrepancyType.AMOUNT_MISMATCH, ledger, settled).build());
+        } else if (ledger.paymentStatus() == null || !ledger.paymentStatus().name().equalsIgnoreCase(settled.status())) {
+            state.report(discrepancy(state.run, DiscrepancyType.STATUS_MISMATCH, ledger, settled).build());
+        } else {
+            state.matched++;
+        }
+    }
+
+    /**
+     * Saves the discrepancies found since the previous checkpoint together with the position
+     * reached on both sides.
+     */
+    private void checkpoint(MergeState state, ReconciliationStatus status) {
+        ReconciliationRun run = state.run;
+        run.setStatus(status);
+        run.setLastTransactionId(state.lastTransactionId);
+        run.setFileOffset(state.settledOffset);
+        run.setMatchedCount(run.getMatchedCount() + state.matched);
+        run.setDiscrepancyCount(run.getDiscrepancyCount() + state.discrepancies.size());
+        if (status == ReconciliationStatus.COMPLETED) {
+            run.setCompletedAt(Instant.now());
+        }
+
+        writeTransaction.executeWithoutResult(transactionStatus -> {
+            paymentDiscrepancyRepository.saveAll(state.discrepancies);
+            reconciliationRunRepository.save(run);
+        });
+
+        state.discrepancies.clear();
+        state.matched = 0;
+        state.sinceCheckpoint = 0;
+    }
+
+    private static PaymentDiscrepancy.PaymentDiscrepancyBuilder discrepancy(ReconciliationRun run,
+                                                                            DiscrepancyType type,
+                                                                            PaymentLedgerEntry ledger,
+                                                                            SettlementRecord settled) {
+        return PaymentDiscrepancy.builder()
+                .runId(run.getId())
+                .type(type)
+                .transactionId(ledger != null ? ledger.transactionId() : settled != null ? settled.transactionId() : null)
+                .ledgerAmount(ledger != null ? ledger.amount() : null)
+                .ledgerStatus(ledger != null ? ledger.paymentStatus() : null)
+                .settledAmount(settled != null ? settled.amount() : null)
+                .settledStatus(settled != null ? settled.status() : null)
+                .detectedAt(Instant.now());
+    }
+
+    private static String truncate(String line) {
+        return line.length() <= 1024 ? line : line.substring(0, 1024);
+    }
+
+    /**
+     * Cursor positions of a running merge. The checkpoint position is the highest transaction ID
+     * consumed from either side and the file offset of the first settlement record not consumed.
+     */
+    private static final class MergeState {
+
+        private final ReconciliationRun run;
+        private final Iterator<PaymentLedgerEntry> ledgerEntries;
+        private final SettlementFileReader settlementReader;
+        private final List<PaymentDiscrepancy> discrepancies = new ArrayList<>();
+
+        private PaymentLedgerEntry ledger;
+        private SettlementRecord settled;
+        private long settledOffset;
+        private String lastTransactionId;
+        private String lastSettledTransactionId;
+        private long matched;
+        private int sinceCheckpoint;
+
+        private MergeState(ReconciliationRun run,
+                           Iterator<PaymentLedgerEntry> ledgerEntries,
+                           SettlementFileReader settlementReader) throws IOException {
+            this.run = run;
+            this.ledgerEntries = ledgerEntries;
+            this.settlementReader = settlementReader;
+            this.lastTransactionId = run.getLastTransactionId();
+            this.lastSettledTransactionId = run.getLastTransactionId();
+            this.settledOffset = settlementReader.position();
+            this.ledger = ledgerEntries.hasNext() ? ledgerEntries.next() : null;
+            this.settled = settlementReader.next();
+            checkSettlementOrder();
+        }
+
+        private void advanceLedger() {
+            lastTransactionId = ledger.transactionId();
+            ledger = ledgerEntries.hasNext() ? ledgerEntries.next() : null;
+            if (ledger != null && ledger.transactionId().compareTo(lastTransactionId) <= 0) {
+                throw new IllegalStateException("Payments are not ordered by transaction ID at transaction "
+                        + ledger.transactionId() + ", check the collation of the transaction_id column");
+            }
+        }
+
+        private void advanceSettlement() throws IOException {
+            if (settled.isReadable()) {
+                lastTransactionId = settled.transactionId();
+                lastSettledTransactionId = settled.transactionId();
+            }
+            settledOffset = settlementReader.position();
+            settled = settlementReader.next();
+            checkSettlementOrder();
+        }
+
+        private void report(PaymentDiscrepancy discrepancy) {
+            discrepancies.add(discrepancy);
+        }
+
+        /**
+         * The merge relies on strictly ascending transaction IDs; a file violating that would
+         * report every following record as missing.
+         */
+        private void checkSettlementOrder() {
+            if (settled != null && settled.isReadable() && lastSettledTransactionId != null
+                    && settled.transactionId().compareTo(lastSettledTransactionId) <= 0) {
+                throw new IllegalStateException("Settlement file is not sorted by transaction ID at transaction "
+                        + settled.transactionId());
+            }
+        }
+
+    }
+
+}
@@ -2,53 +2,131 @@ package com.example.ecommerce.payment.service;
 
 import com.example.ecommerce.order.model.Order;
 import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.payment.config.PaymentGatewayProperties;
+import com.example.ecommerce.payment.exception.PaymentGatewayException;
+import com.example.ecommerce.payment.gateway.PaymentAuthorization;
+import com.example.ecommerce.payment.gateway.PaymentAuthorizationRequest;
+import com.example.ecommerce.payment.gateway.PaymentGateway;
+import com.example.ecommerce.payment.gateway.ResilientPaymentGateway;
 import com.example.ecommerce.payment.model.Payment;
 import com.example.ecommerce.payment.model.enums.PaymentMethod;
-import com.example.ecommerce.payment.repository.PaymentRepository;
 import com.example.ecommerce.payment.model.enums.PaymentStatus;
-import lombok.RequiredArgsConstructor;
+import com.example.ecommerce.shared.money.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @Service
-@Transactional
-@RequiredArgsConstructor
 public class PaymentService {
 
-    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final Counter voidFailures;
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+
+    public PaymentService(PaymentGateway paymentGateway, PaymentGatewayProperties properties, MeterRegistry meterRegistry) {
+        this.paymentGateway = new ResilientPaymentGateway(paymentGateway, properties, meterRegistry);
+        this.voidFailures = Counter.builder("payment.void.failures")
+                .description("Number of payments of rolled back orders that could not be voided")
+                .register(meterRegistry);
+    }
 
     /**
      * Process payment for a given order with a specified amount and payment method.
-     * <p>Note: It simulates payment process. Payment is always considered successful
-     * for now.
+     * <p>The payment is authorized by the {@link PaymentGateway}. Waiting for its answer is bounded
+     * by the gateway timeout and retries, and calls are rejected at once while the gateway is
+     * saturated or failing.
+     * <p>The payment is attached to the order and persisted by cascade together with it,
+     * so it is written in the same transaction and JDBC batch as the order itself. If that
+     * transaction rolls back, the payment is voided at the gateway, including when the gateway
+     * did not answer in time and may have authorized it nonetheless.
      *
      * @param order         order for which payment is processed
      * @param paymentAmount amount to be paid
      * @param paymentMethod payment method to be used (e.g., DEBIT_CARD, CREDIT_CARD)
-     * @return true if payment is processed successfully
+     * @return true if payment is approved, false if it is declined
+     * @throws PaymentGatewayException if the payment gateway could not be reached
+     * @throws IllegalStateException   if the order has no ID yet
      */
-    public boolean processPayment(Order order, BigDecimal paymentAmount, String paymentMethod) {
-
+    public boolean processPayment(Order order, Money paymentAmount, String paymentMethod) {
+        if (order.getId() == null) {
+            throw new IllegalStateException("Order must be persisted before its payment is processed");
+        }
+        PaymentMethod method = PaymentMethod.fromString(paymentMethod);
         order.setOrderStatus(OrderStatus.PROCESSING);
 
+        // The order keys the payment, so the gateway charges an order at most once however often it is sent
+        String idempotencyKey = order.getId();
+        voidOnRollback(idempotencyKey);
+        PaymentAuthorization authorization = authorize(new PaymentAuthorizationRequest(
+                idempotencyKey,
+                paymentAmount,
+                method
+        ));
+        if (!authorization.approved()) {
+            logger.info("Payment for order {} declined: {}", order.getId(), authorization.declineReason());
+        }
+
         Payment payment = Payment.builder()
                 .order(order)
                 .amount(paymentAmount)
-                .paymentMethod(PaymentMethod.fromString(paymentMethod))
+                .paymentMethod(method)
                 .paymentDate(LocalDateTime.now())
-                .paymentStatus(PaymentStatus.SUCCESS)
-                .transactionId(UUID.randomUUID().toString())
+                .paymentStatus(authorization.approved() ? PaymentStatus.SUCCESS : PaymentStatus.FAILED)
+                .transactionId(authorization.transactionId())
                 .build();
 
-        paymentRepository.save(payment);
+        order.setPayment(payment);
+        return authorization.approved();
+    }
+
+    /**
+     * Voids the payment authorized under the given key once the current transaction has rolled
+     * back, so that no customer is charged for an order that was never stored. Voiding does not
+     * block; a failure is logged and counted, and the payment then has to be released manually.
+     *
+     * @param idempotencyKey the idempotency key of the authorization request
+     */
+    private void voidOnRollback(String idempotencyKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                paymentGateway.voidAuthorization(idempotencyKey).whenComplete((ignored, ex) -> {
+                    if (ex == null) {
+                        logger.info("Payment {} voided after its order was rolled back", idempotencyKey);
+                    } else {
+                        voidFailures.increment();
+                        logger.error("Could not void payment {} of a rolled back order, it must be released manually",
+                                idempotencyKey, ex);
+                    }
+                });
+            }
+        });
+    }
 
-        // Simulating payment process
-        // Payment is always considered successful for now
-        return true;
+    private PaymentAuthorization authorize(PaymentAuthorizationRequest request) {
+        try {
+            return paymentGateway.authorize(request).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 
 }
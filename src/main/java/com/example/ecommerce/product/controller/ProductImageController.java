@@ -2,6 +2,7 @@ package com.example.ecommerce.product.controller;
 
 import com.example.ecommerce.product.payload.response.ProductImageResponse;
 import com.example.ecommerce.product.service.ProductImageServiceImpl;
+import com.example.ecommerce.shared.idempotency.Idempotent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -35,6 +36,7 @@ public class ProductImageController {
      * @return a {@link ResponseEntity} containing a {@link List} of URLs for the uploaded images
      */
     @PostMapping
+    @Idempotent
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<String>> uploadImages(@PathVariable String productId, @RequestParam("image") MultipartFile[] files) {
         // Properly encode the URL to handle special characters
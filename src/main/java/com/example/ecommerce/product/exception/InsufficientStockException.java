@@ -1,6 +1,8 @@
 package com.example.ecommerce.product.exception;
 
-public class InsufficientStockException extends RuntimeException {
+import com.example.ecommerce.shared.exception.ConflictException;
+
+public class InsufficientStockException extends ConflictException {
 
     public InsufficientStockException(int availableStock, int requestedQuantity) {
         super(String.format(
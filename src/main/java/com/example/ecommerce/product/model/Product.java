@@ -4,6 +4,7 @@ import com.example.ecommerce.category.model.Category;
 import com.example.ecommerce.product.model.embeddable.Discount;
 import com.example.ecommerce.product.model.listener.ProductListener;
 import com.example.ecommerce.shared.audit.Auditable;
+import com.example.ecommerce.shared.money.Money;
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.CascadeType;
@@ -89,11 +90,16 @@ public class Product extends Auditable {
         return now.isAfter(discount.getStart()) && now.isAfter(discount.getEnd());
     }
 
-    public BigDecimal getDiscountedPrice() {
+    public Money getUnitPrice() {
+        return Money.of(price);
+    }
+
+    public Money getDiscountedPrice() {
+        Money unitPrice = getUnitPrice();
         if (isDiscountActive()) {
-            return price.subtract(price.multiply(BigDecimal.valueOf(discount.getPercentage() / 100)));
+            return unitPrice.minus(unitPrice.percentage(discount.getPercentage()));
         }
-        return price; // if there is no discount return regular price
+        return unitPrice; // if there is no discount return regular price
     }
 
     public boolean hasSufficientStock(int quantity) {
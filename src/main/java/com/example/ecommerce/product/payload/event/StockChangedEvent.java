@@ -0,0 +1,14 @@
+package com.example.ecommerce.product.payload.event;
+
+/**
+ * Payload of the stock change events published through the outbox.
+ *
+ * @param productId      ID of the product
+ * @param quantityChange the amount the stock changed by (positive or negative)
+ * @param stock          the stock after the change
+ */
+public record StockChangedEvent(
+        String productId,
+        int quantityChange,
+        int stock
+) {}
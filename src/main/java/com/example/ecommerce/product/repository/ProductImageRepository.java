@@ -1,6 +1,7 @@
 package com.example.ecommerce.product.repository;
 
 import com.example.ecommerce.product.model.ProductImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -18,4 +19,7 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Stri
     @Query("SELECT pi FROM ProductImage pi WHERE pi.product.id = ?1 AND pi.filename = ?2")
     Optional<ProductImage> findByProductIdAndFilename(String productId, String filename);
 
+    @Query("SELECT pi.url FROM ProductImage pi WHERE pi.product.id = ?1 ORDER BY pi.createdAt, pi.id")
+    List<String> findUrlsByProductId(String productId, Pageable pageable);
+
 }
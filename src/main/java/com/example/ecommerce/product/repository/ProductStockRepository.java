@@ -0,0 +1,50 @@
+package com.example.ecommerce.product.repository;
+
+import com.example.ecommerce.product.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Locking reads and relative writes for stock updates. Stock values returned here always come
+ * from the database, even when an earlier read in the same transaction already loaded the products.
+ * <p>
+ * Rows are locked in ascending id order so that concurrent checkouts touching overlapping products
+ * always acquire their locks in the same order and cannot deadlock each other.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * Locks the given products with a single {@code SELECT ... FOR UPDATE} and re-reads their state
+     * under the lock. Meant for edits of the whole product; stock changes alone are cheaper with
+     * {@link #lockStocks} and {@link #addToStocks}.
+     *
+     * @param productIds the IDs of the products to lock
+     * @return the locked products that exist, ordered by ID
+     */
+    List<Product> lockAllForStockUpdate(Collection<String> productIds);
+
+    /**
+     * Locks the given products with a single {@code SELECT ... FOR UPDATE} that only reads their
+     * IDs and stock. The row locks are held until the current transaction ends.
+     *
+     * @param productIds the IDs of the products to lock
+     * @return the committed stock of the products that exist, keyed and ordered by ID
+     */
+    SortedMap<String, Integer> lockStocks(Collection<String> productIds);
+
+    /**
+     * Adds the given quantities to the stock of the products with relative updates sent as one JDBC
+     * batch, in ascending id order. A negative quantity is only applied if the stock covers it.
+     * <p>
+     * Products already loaded in the persistence context are detached, since their stock would be
+     * stale and writing them back would undo the update.
+     *
+     * @param quantitiesByProductId the quantities to add, negative to subtract, keyed by product ID
+     * @return the number of products updated; fewer than requested if a product is missing or
+     *         short of stock
+     */
+    int addToStocks(SortedMap<String, Integer> quantitiesByProductId);
+
+}
@@ -0,0 +1,85 @@
+package com.example.ecommerce.product.repository;
+
+import com.example.ecommerce.product.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String LOCK_STOCKS_SQL = "SELECT id, stock FROM product WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String ADD_TO_STOCK_SQL = "UPDATE product SET stock = stock + ? WHERE id = ? AND stock + ? >= 0";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * A locking query hands back the instances already held by the persistence context without
+     * overwriting their state, so a product read earlier in the transaction (for example through a
+     * cart item) would still show the stock from before another checkout committed. Each product is
+     * therefore refreshed once its row is locked. The refresh is itself a locking read, because a
+     * plain read under MySQL's {@code REPEATABLE READ} would return the transaction's old snapshot.
+     */
+    @Override
+    public List<Product> lockAllForStockUpdate(Collection<String> productIds) {
+        List<Product> products = entityManager
+                .createQuery("SELECT p FROM Product p WHERE p.id IN ?1 ORDER BY p.id", Product.class)
+                .setParameter(1, productIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        products.forEach(product -> entityManager.refresh(product, LockModeType.PESSIMISTIC_WRITE));
+        return products;
+    }
+
+    /**
+     * Selects scalars rather than entities, so the values are read from the locked rows and never
+     * from instances the persistence context already holds.
+     */
+    @Override
+    public SortedMap<String, Integer> lockStocks(Collection<String> productIds) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(LOCK_STOCKS_SQL)
+                .setParameter("ids", productIds)
+                .getResultList();
+
+        SortedMap<String, Integer> stocks = new TreeMap<>();
+        rows.forEach(row -> stocks.put((String) row[0], ((Number) row[1]).intValue()));
+        return stocks;
+    }
+
+    @Override
+    public int addToStocks(SortedMap<String, Integer> quantitiesByProductId) {
+        Session session = entityManager.unwrap(Session.class);
+        quantitiesByProductId.keySet().forEach(productId -> {
+            Product managedProduct = session.getReference(Product.class, productId);
+            entityManager.detach(managedProduct);
+        });
+
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ADD_TO_STOCK_SQL)) {
+                for (Map.Entry<String, Integer> entry : quantitiesByProductId.entrySet()) {
+                    statement.setInt(1, entry.getValue());
+                    statement.setString(2, entry.getKey());
+                    statement.setInt(3, entry.getValue());
+                    statement.addBatch();
+                }
+
+                int updated = 0;
+                for (int count : statement.executeBatch()) {
+                    // Drivers that rewrite the batch may only report that a row was updated
+                    updated += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+                }
+                return updated;
+            }
+        });
+    }
+
+}
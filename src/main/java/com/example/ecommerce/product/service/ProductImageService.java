@@ -8,6 +8,7 @@ import com.example.ecommerce.product.payload.response.ProductImageResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -47,6 +48,14 @@ public interface ProductImageService {
      */
     List<String> getAllProductImageUrls(String productId);
 
+    /**
+     * Retrieves the URL of the first image uploaded for a specific product, without loading any image data.
+     *
+     * @param productId the ID of the product
+     * @return the URL of the product's first image, or empty if the product has no images
+     */
+    Optional<String> findThumbnailUrl(String productId);
+
     /**
      * Deletes multiple product images associated with a specific product.
      *
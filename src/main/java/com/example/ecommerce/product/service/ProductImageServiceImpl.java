@@ -11,12 +11,14 @@ import com.example.ecommerce.product.repository.ProductImageRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -82,6 +84,11 @@ public class ProductImageServiceImpl implements ProductImageService {
                 .toList();
     }
 
+    @Override
+    public Optional<String> findThumbnailUrl(String productId) {
+        return productImageRepository.findUrlsByProductId(productId, PageRequest.ofSize(1)).stream().findFirst();
+    }
+
     @Override
     public void deleteProductImages(String productId, Set<String> filenames) {
         int imageCountForProduct = productImageRepository.countProductImageByProductId(productId);
@@ -9,6 +9,10 @@ import com.example.ecommerce.product.payload.response.ProductResponse;
 import com.example.ecommerce.shared.payload.PaginatedResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service interface for managing products in the e-commerce system.
  * Provides methods for creating, updating, retrieving, and deleting products,
@@ -25,6 +29,15 @@ public interface ProductService {
      */
     Product findProductEntityById(String productId);
 
+    /**
+     * Finds the product entities with the given identifiers in a single query.
+     * Identifiers that do not match a product are ignored.
+     *
+     * @param productIds the unique identifiers of the products
+     * @return the product entities that were found
+     */
+    List<Product> findProductEntitiesByIds(Collection<String> productIds);
+
     /**
      * Retrieves a product's details by its unique identifier.
      *
@@ -114,4 +127,42 @@ public interface ProductService {
      */
     void decreaseStock(String productId, int quantity);
 
+    /**
+     * Increases the stock quantities of several products within the caller's transaction.
+     * All affected rows are locked in ascending id order with a single query and updated with one
+     * batch of relative updates. Products already loaded in the persistence context are detached.
+     *
+     * @param quantitiesByProductId the quantities to add, keyed by product ID
+     * @throws IllegalArgumentException if any quantity is negative
+     * @throws ProductNotFoundException if any product is not found
+     */
+    void increaseStocks(Map<String, Integer> quantitiesByProductId);
+
+    /**
+     * Locks several products within the caller's transaction and checks that every quantity is in
+     * stock, without changing any stock. All affected rows are locked in ascending id order with a
+     * single query and stay locked until the transaction ends, so a {@link #decreaseStocks} of the
+     * same quantities later in the transaction cannot run short.
+     *
+     * @param quantitiesByProductId the requested quantities, keyed by product ID
+     * @throws IllegalArgumentException if any quantity is negative
+     * @throws ProductNotFoundException if any product is not found
+     * @throws InsufficientStockException if there are not enough stocks for any product
+     */
+    void checkStocksForUpdate(Map<String, Integer> quantitiesByProductId);
+
+    /**
+     * Decreases the stock quantities of several products within the caller's transaction.
+     * All affected rows are locked in ascending id order with a single query and every line is
+     * validated before any stock is changed, so either all quantities are applied or none. The
+     * stock is then updated with one batch of relative updates, and products already loaded in the
+     * persistence context are detached.
+     *
+     * @param quantitiesByProductId the quantities to subtract, keyed by product ID
+     * @throws IllegalArgumentException if any quantity is negative
+     * @throws ProductNotFoundException if any product is not found
+     * @throws InsufficientStockException if there are not enough stocks for any product
+     */
+    void decreaseStocks(Map<String, Integer> quantitiesByProductId);
+
 }
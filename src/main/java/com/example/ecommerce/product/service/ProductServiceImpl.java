@@ -2,11 +2,14 @@ package com.example.ecommerce.product.service;
 
 import com.example.ecommerce.category.model.Category;
 import com.example.ecommerce.category.service.CategoryService;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.service.OutboxService;
 import com.example.ecommerce.product.exception.InsufficientStockException;
 import com.example.ecommerce.product.exception.ProductNotFoundException;
 import com.example.ecommerce.product.mapper.ProductMapper;
 import com.example.ecommerce.product.model.Product;
 import com.example.ecommerce.product.model.embeddable.Discount;
+import com.example.ecommerce.product.payload.event.StockChangedEvent;
 import com.example.ecommerce.product.payload.request.CreateProductRequest;
 import com.example.ecommerce.product.payload.request.UpdateProductRequest;
 import com.example.ecommerce.product.payload.response.ProductResponse;
@@ -19,7 +22,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
@@ -31,14 +39,17 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
 
     private final CategoryService categoryService;
+    private final OutboxService outboxService;
 
     @Override
     public Product findProductEntityById(String productId) {
         return productRepository.findById(productId)
-                .orElseThrow(() -> {
-                    logger.error("Product not found with id '{}'", productId);
-                    return new ProductNotFoundException(productId);
-                });
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+    }
+
+    @Override
+    public List<Product> findProductEntitiesByIds(Collection<String> productIds) {
+        return productRepository.findAllById(productIds);
     }
 
     @Override
@@ -93,10 +104,20 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public ProductResponse updateProduct(String productId, UpdateProductRequest request) {
-        Product existingProduct = findProductEntityById(productId);
+        // Locked like a checkout, so that the recorded stock change is taken against the committed stock
+        Product existingProduct = productRepository.lockAllForStockUpdate(List.of(productId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+        int previousStock = existingProduct.getStock();
+
         productMapper.updateProductFromRequest(request, existingProduct);
         Product updatedProduct = productRepository.save(existingProduct);
+        if (updatedProduct.getStock() != previousStock) {
+            recordStockChange(updatedProduct, updatedProduct.getStock() - previousStock);
+        }
+
         logger.info("Product '{}' updated", updatedProduct.getName());
         return productMapper.mapToResponse(updatedProduct);
     }
@@ -132,6 +153,7 @@ public class ProductServiceImpl implements ProductService {
 
         logger.info("Successfully increased stock for product {}. New stock: {}", productId, newStock);
         productRepository.save(existingProduct);
+        recordStockChange(existingProduct, quantity);
     }
 
     @Override
@@ -145,10 +167,6 @@ public class ProductServiceImpl implements ProductService {
 
         Product existingProduct = findProductEntityById(productId);
         if (!existingProduct.hasSufficientStock(quantity)) {
-            logger.error(
-                    "Insufficient stock for product {}. Requested: {}, Available: {}",
-                    productId, quantity, existingProduct.getStock()
-            );
             throw new InsufficientStockException(existingProduct.getStock(), quantity);
         }
 
@@ -157,6 +175,124 @@ public class ProductServiceImpl implements ProductService {
 
         logger.info("Successfully decreased stock for product {}. New stock: {}", productId, newStock);
         productRepository.save(existingProduct);
+        recordStockChange(existingProduct, -quantity);
+    }
+
+    @Override
+    @Transactional
+    public void increaseStocks(Map<String, Integer> quantitiesByProductId) {
+        SortedMap<String, Integer> stocks = lockStocksForUpdate(quantitiesByProductId);
+
+        applyStockChanges(new TreeMap<>(quantitiesByProductId));
+        stocks.forEach((productId, stock) -> {
+            int quantity = quantitiesByProductId.get(productId);
+            recordStockChange(productId, quantity, stock + quantity);
+        });
+        logger.info("Increased stock for {} products", quantitiesByProductId.size());
+    }
+
+    @Override
+    @Transactional
+    public void checkStocksForUpdate(Map<String, Integer> quantitiesByProductId) {
+        checkSufficientStocks(lockStocksForUpdate(quantitiesByProductId), quantitiesByProductId);
+    }
+
+    @Override
+    @Transactional
+    public void decreaseStocks(Map<String, Integer> quantitiesByProductId) {
+        SortedMap<String, Integer> stocks = lockStocksForUpdate(quantitiesByProductId);
+
+        // Validate every line before touching any stock so that a failure leaves nothing to undo
+        checkSufficientStocks(stocks, quantitiesByProductId);
+
+        SortedMap<String, Integer> stockChanges = new TreeMap<>();
+        quantitiesByProductId.forEach((productId, quantity) -> stockChanges.put(productId, -quantity));
+        applyStockChanges(stockChanges);
+        stocks.forEach((productId, stock) -> {
+            int quantity = quantitiesByProductId.get(productId);
+            recordStockChange(productId, -quantity, stock - quantity);
+        });
+        logger.info("Decreased stock for {} products", quantitiesByProductId.size());
+    }
+
+    /**
+     * Validates the requested quantities and locks the affected product rows in ascending id order.
+     * Only the IDs and stock are read, so the lock costs a single query however many products are
+     * involved.
+     *
+     * @param quantitiesByProductId the requested quantities, keyed by product ID
+     * @return the committed stock of the locked products, keyed and ordered by ID
+     * @throws IllegalArgumentException if any quantity is negative
+     * @throws ProductNotFoundException if any product is not found
+     */
+    private SortedMap<String, Integer> lockStocksForUpdate(Map<String, Integer> quantitiesByProductId) {
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            if (quantity < 0) {
+                logger.error("Negative quantity provided for product {}. Requested: {}", productId, quantity);
+                throw new IllegalArgumentException("Quantity must be positive number");
+            }
+        });
+
+        TreeSet<String> productIds = new TreeSet<>(quantitiesByProductId.keySet());
+        SortedMap<String, Integer> stocks = productRepository.lockStocks(productIds);
+        if (stocks.size() != productIds.size()) {
+            productIds.removeAll(stocks.keySet());
+            String missingProductId = productIds.first();
+            throw new ProductNotFoundException(missingProductId);
+        }
+        return stocks;
+    }
+
+    /**
+     * Checks that the locked stock covers every requested quantity.
+     *
+     * @param stocks                the locked stock, keyed by product ID
+     * @param quantitiesByProductId the requested quantities, keyed by product ID
+     * @throws InsufficientStockException if there are not enough stocks for any product
+     */
+    private void checkSufficientStocks(Map<String, Integer> stocks, Map<String, Integer> quantitiesByProductId) {
+        stocks.forEach((productId, stock) -> {
+            int quantity = quantitiesByProductId.get(productId);
+            if (stock < quantity) {
+                throw new InsufficientStockException(stock, quantity);
+            }
+        });
+    }
+
+    /**
+     * Applies the stock changes to the locked rows as one batch of relative updates.
+     *
+     * @param stockChanges the quantities to add, negative to subtract, keyed by product ID
+     * @throws IllegalStateException if a row did not take its update despite the lock
+     */
+    private void applyStockChanges(SortedMap<String, Integer> stockChanges) {
+        int updated = productRepository.addToStocks(stockChanges);
+        if (updated != stockChanges.size()) {
+            throw new IllegalStateException("Expected to update the stock of " + stockChanges.size()
+                    + " products but updated " + updated);
+        }
+    }
+
+    /**
+     * Records a stock change event in the outbox, within the current transaction.
+     *
+     * @param product        the product whose stock changed
+     * @param quantityChange the amount the stock changed by
+     */
+    private void recordStockChange(Product product, int quantityChange) {
+        recordStockChange(product.getId(), quantityChange, product.getStock());
+    }
+
+    /**
+     * Records a stock change event in the outbox, within the current transaction.
+     *
+     * @param productId      the ID of the product whose stock changed
+     * @param quantityChange the amount the stock changed by
+     * @param newStock       the stock after the change
+     */
+    private void recordStockChange(String productId, int quantityChange, int newStock) {
+        StockChangedEvent event = new StockChangedEvent(productId, quantityChange, newStock);
+        outboxService.record(OutboxEventType.STOCK_CHANGED, productId, event);
     }
 
 }
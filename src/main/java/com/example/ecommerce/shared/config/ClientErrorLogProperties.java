@@ -0,0 +1,44 @@
+package com.example.ecommerce.shared.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for logging client errors.
+ * <p>
+ * This class holds the sampling of client error logs loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "exception.client-error-log")
+public class ClientErrorLogProperties {
+
+    /**
+     * Number of client errors of one exception type logged per interval. Further occurrences are
+     * only counted until the interval ends.
+     */
+    @Positive(message = "Client error log permits per interval must be positive")
+    private final int permitsPerInterval;
+
+    /**
+     * Length of the interval the permits apply to.
+     */
+    @NotNull(message = "Client error log interval must be defined")
+    private final Duration interval;
+
+    @ConstructorBinding
+    public ClientErrorLogProperties(@DefaultValue("10") int permitsPerInterval,
+                                    @DefaultValue("1m") Duration interval) {
+        this.permitsPerInterval = permitsPerInterval;
+        this.interval = interval;
+    }
+
+}
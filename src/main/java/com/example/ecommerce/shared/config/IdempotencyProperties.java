@@ -0,0 +1,52 @@
+package com.example.ecommerce.shared.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for idempotent endpoints.
+ * <p>
+ * This class holds the idempotency-related properties loaded from {@code application.yaml}
+ * and provides validation to ensure correct values.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a stored response is replayed to retries.
+     */
+    @NotNull(message = "Idempotency response TTL must be defined")
+    private final Duration responseTtl;
+
+    /**
+     * How long a key stays locked while its first request is running. Must be longer than the slowest
+     * idempotent request; the lock expires on its own if the instance dies mid-request.
+     */
+    @NotNull(message = "Idempotency lock TTL must be defined")
+    private final Duration lockTtl;
+
+    /**
+     * Maximum accepted length of an idempotency key.
+     */
+    @Positive(message = "Idempotency key max length must be positive")
+    private final int maxKeyLength;
+
+    @ConstructorBinding
+    public IdempotencyProperties(@DefaultValue("24h") Duration responseTtl,
+                                 @DefaultValue("60s") Duration lockTtl,
+                                 @DefaultValue("255") int maxKeyLength) {
+        this.responseTtl = responseTtl;
+        this.lockTtl = lockTtl;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.ecommerce.shared.config;
+
+import com.example.ecommerce.shared.ratelimit.RateLimitKey;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for rate limiting.
+ * <p>
+ * This class holds the rate limiting policies loaded from {@code application.yaml}
+ * and provides validation to ensure correct values. Requests are counted in memory by default, or
+ * across all instances in Redis with {@code rate-limit.backend=redis}.
+ */
+@Getter
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * Maximum number of clients tracked at once by each policy of the local backend.
+     * Rounded up to a power of two; memory does not grow beyond it.
+     */
+    @Positive(message = "Rate limit max keys per policy must be positive")
+    private final int maxKeysPerPolicy;
+
+    /**
+     * The policies, all of which apply to a request they match.
+     */
+    @Valid
+    private final List<Policy> policies;
+
+    @ConstructorBinding
+    public RateLimitProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("65536") int maxKeysPerPolicy,
+                               @DefaultValue List<Policy> policies) {
+        this.enabled = enabled;
+        this.maxKeysPerPolicy = maxKeysPerPolicy;
+        this.policies = policies;
+    }
+
+    /**
+     * A limit on the requests a single client may send to matching endpoints.
+     *
+     * @param name   the name of the policy, used in metrics
+     * @param path   the path pattern of the endpoints, e.g. {@code /api/v1/products/**}
+     * @param method the HTTP method of the endpoints, or {@code null} for every method
+     * @param key    what identifies a client
+     * @param limit  the number of requests a client may send within the window
+     * @param window the length of the window
+     */
+    public record Policy(
+            @NotBlank(message = "Rate limit policy name cannot be blank") String name,
+            @NotBlank(message = "Rate limit policy path cannot be blank") String path,
+            String method,
+            @NotNull(message = "Rate limit policy key must be defined") RateLimitKey key,
+            @Positive(message = "Rate limit policy limit must be positive") int limit,
+            @NotNull(message = "Rate limit policy window must be defined") Duration window
+    ) {
+    }
+
+}
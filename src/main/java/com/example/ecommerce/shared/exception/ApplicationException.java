@@ -16,7 +16,11 @@ import org.springframework.http.HttpStatus;
  *   <li>{@link NotFoundException} - For HTTP 404 errors (resource not found).</li>
  *   <li>{@link ConflictException} - For HTTP 409 errors (conflicting resources).</li>
  *   <li>{@link InternalServerException} - For HTTP 500 errors (server-side issues).</li>
+ *   <li>{@link ServiceUnavailableException} - For HTTP 503 errors (server temporarily overloaded).</li>
  * </ul>
+ * Client errors (4xx) are expected outcomes of a request, such as a missing product, so they are
+ * created without a stack trace, which would be the most expensive part of throwing them. Server
+ * errors (5xx) keep their stack trace for diagnosis.
  */
 @Getter
 public abstract class ApplicationException extends RuntimeException {
@@ -24,12 +28,12 @@ public abstract class ApplicationException extends RuntimeException {
     private final HttpStatus status;
 
     public ApplicationException(String message, HttpStatus status) {
-        super(message);
+        super(message, null, true, status.is5xxServerError());
         this.status = status;
     }
 
     public ApplicationException(String message, HttpStatus status, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, status.is5xxServerError());
         this.status = status;
     }
 
@@ -0,0 +1,70 @@
+package com.example.ecommerce.shared.exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how often client errors of the same type are logged.
+ * <p>
+ * Every exception type may be logged a fixed number of times per interval; further occurrences
+ * within the interval are only counted, and the count is reported with the next logged one. A
+ * flood of the same expected error, such as bots probing for missing products, thus costs a
+ * handful of log lines per interval while every distinct error still shows up.
+ */
+class ClientErrorLogSampler {
+
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+    private final LongSupplier clock;
+
+    /**
+     * @param permitsPerInterval the number of errors of one type logged per interval
+     * @param intervalNanos      the length of the interval
+     * @param clock              a monotonic clock in nanoseconds
+     */
+    ClientErrorLogSampler(int permitsPerInterval, long intervalNanos, LongSupplier clock) {
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = intervalNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Decides whether an error of the given type is logged.
+     *
+     * @return the number of errors of the type suppressed since the last logged one, or
+     *         {@code -1} if this error is suppressed as well
+     */
+    long tryAcquire(Class<?> type) {
+        return windows.computeIfAbsent(type, key -> new Window(clock.getAsLong())).tryAcquire(clock.getAsLong());
+    }
+
+    private final class Window {
+
+        private long start;
+        private int logged;
+        private long suppressed;
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        synchronized long tryAcquire(long now) {
+            if (now - start >= intervalNanos) {
+                start = now;
+                logged = 0;
+            }
+            if (logged >= permitsPerInterval) {
+                suppressed++;
+                return -1;
+            }
+            logged++;
+            long suppressedSinceLastLogged = suppressed;
+            suppressed = 0;
+            return suppressedSinceLastLogged;
+        }
+
+    }
+
+}
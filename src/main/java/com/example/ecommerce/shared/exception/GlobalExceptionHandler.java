@@ -1,5 +1,6 @@
 package com.example.ecommerce.shared.exception;
 
+import com.example.ecommerce.shared.config.ClientErrorLogProperties;
 import com.example.ecommerce.shared.payload.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,7 @@ import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -32,24 +34,47 @@ import static org.springframework.http.HttpStatus.*;
  * It handles various types of exceptions thrown during request processing.
  * <p>
  * For each exception, the handler logs detailed information about the error, including the request details,
- * the authenticated user (if available), status code, exception message, and the stack trace.
+ * the authenticated user (if available), status code and exception message. Server errors are logged with their
+ * stack trace. Client errors are expected outcomes, so they are logged as warnings without a stack trace, and
+ * only a limited number of each exception type per interval.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final ClientErrorLogSampler clientErrorLogSampler;
+
+    public GlobalExceptionHandler(ClientErrorLogProperties clientErrorLogProperties) {
+        this.clientErrorLogSampler = new ClientErrorLogSampler(
+                clientErrorLogProperties.getPermitsPerInterval(),
+                clientErrorLogProperties.getInterval().toNanos(),
+                System::nanoTime
+        );
+    }
+
     @ExceptionHandler(ApplicationException.class)
     public ResponseEntity<ErrorResponse> handleApplicationException(ApplicationException ex, WebRequest request) {
-        // Logging the request details, current username, status and exception message with stack trace
-        logger.error(
-                "Exception occurred at endpoint: '{}' - User: '{}' - Status: '{}' - Error: '{}'",
-                request.getDescription(false),
-                getCurrentUsername(),
-                ex.getStatus(),
-                ex.getMessage(),
-                ex
-        );
+        if (ex.getStatus().is5xxServerError()) {
+            // Logging the request details, current username, status and exception message with stack trace
+            logger.error(
+                    "Exception occurred at endpoint: '{}' - User: '{}' - Status: '{}' - Error: '{}'",
+                    request.getDescription(false),
+                    getCurrentUsername(),
+                    ex.getStatus(),
+                    ex.getMessage(),
+                    ex
+            );
+        } else {
+            logClientError(
+                    ex,
+                    "Exception occurred at endpoint: '{}' - User: '{}' - Status: '{}' - Error: '{}'",
+                    request.getDescription(false),
+                    getCurrentUsername(),
+                    ex.getStatus(),
+                    ex.getMessage()
+            );
+        }
 
         return buildApplicationErrorResponse(ex, request);
     }
@@ -57,12 +82,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
 
-        logger.error(
+        logClientError(
+                ex,
                 "Unauthorized access attempt by user '{}' to '{}' - Error: '{}'",
                 getCurrentUsername(),
                 request.getDescription(false),
-                ex.getMessage(),
-                ex
+                ex.getMessage()
         );
 
         return buildErrorResponse(UNAUTHORIZED, ex, request);
@@ -71,12 +96,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
 
-        logger.error(
+        logClientError(
+                ex,
                 "User '{}' attempted to unauthorized access to '{}' - Error: '{}'",
                 getCurrentUsername(),
                 request.getDescription(false),
-                ex.getMessage(),
-                ex
+                ex.getMessage()
         );
 
         return buildErrorResponse(FORBIDDEN, ex, request);
@@ -104,12 +129,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             @NonNull WebRequest request
     ) {
 
-        logger.error(
+        logClientError(
+                ex,
                 "File size exceeds the maximum allowed limit for current endpoint: '{}' - User: '{}' - Error: '{}'",
                 request.getDescription(false),
                 getCurrentUsername(),
-                ex.getMessage(),
-                ex
+                ex.getMessage()
         );
 
         ErrorResponse errorResponse = ErrorResponse.of(
@@ -128,13 +153,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                                                                   @NonNull HttpStatusCode status,
                                                                   @NonNull WebRequest request) {
 
-        logger.error(
+        logClientError(
+                ex,
                 "Validation failed at endpoint: '{}' - User: '{}' - Status: '{}' - Error: '{}'",
                 request.getDescription(false),
                 getCurrentUsername(),
                 BAD_REQUEST,
-                ex.getClass().getSimpleName(),
-                ex
+                ex.getClass().getSimpleName()
         );
 
         String timestamp = Instant.now().toString();
@@ -159,6 +184,25 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(ErrorResponse.of(ex, request), ex.getStatus());
     }
 
+    /**
+     * Logs a client error as a warning, unless too many errors of its type have been logged recently.
+     * The number of errors suppressed in between is appended to the next logged one.
+     */
+    private void logClientError(Exception ex, String message, Object... arguments) {
+        long suppressed = clientErrorLogSampler.tryAcquire(ex.getClass());
+        if (suppressed < 0) {
+            return;
+        }
+
+        if (suppressed == 0) {
+            logger.warn(message, arguments);
+        } else {
+            Object[] argumentsWithSuppressed = Arrays.copyOf(arguments, arguments.length + 1);
+            argumentsWithSuppressed[arguments.length] = suppressed;
+            logger.warn(message + " - Similar errors suppressed: {}", argumentsWithSuppressed);
+        }
+    }
+
     /**
      * Retrieves the username of the currently authenticated user.
      *
@@ -0,0 +1,18 @@
+package com.example.ecommerce.shared.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A base class for exceptions that indicate the server is temporarily unable to handle the request.
+ * <p>
+ * This class extends {@link ApplicationException} and uses the {@link HttpStatus#SERVICE_UNAVAILABLE} status code.
+ * It is intended to be used for cases where the server is overloaded and rejects work instead of queueing it,
+ * so that clients can back off and retry later.
+ */
+public abstract class ServiceUnavailableException extends ApplicationException {
+
+    public ServiceUnavailableException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+}
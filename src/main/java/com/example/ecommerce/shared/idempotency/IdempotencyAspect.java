@@ -0,0 +1,181 @@
+package com.example.ecommerce.shared.idempotency;
+
+import com.example.ecommerce.auth.service.UserContextService;
+import com.example.ecommerce.shared.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Makes {@link Idempotent} controller methods safe to retry.
+ * <p>
+ * Keys are scoped to the current user and the request method and path. The first request with a key
+ * takes a lock in Redis with {@code SET NX} and, once it succeeds, replaces the lock with the serialized
+ * response for {@link IdempotencyProperties#getResponseTtl()}. Retries read the stored response instead of
+ * executing the method. If the method throws, the lock is released so that the request can be retried;
+ * failures are not stored.
+ * <p>
+ * The lock and the stored response carry a fingerprint of the request payload. A request that reuses a key
+ * with a different payload is rejected with 422 instead of being answered with the other request's response.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String IN_FLIGHT_MARKER = "IN_FLIGHT:";
+    private static final byte ARGUMENT_SEPARATOR = 0;
+
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final UserContextService userContextService;
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyAspect.class);
+
+    @Around("@annotation(com.example.ecommerce.shared.idempotency.Idempotent)")
+    public Object handleIdempotentRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey == null) {
+            return joinPoint.proceed();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            throw new InvalidIdempotencyKeyException(properties.getMaxKeyLength());
+        }
+
+        String redisKey = KEY_PREFIX + userContextService.getCurrentUsername()
+                + ":" + request.getMethod() + ":" + request.getRequestURI()
+                + ":" + idempotencyKey;
+
+        String requestHash = fingerprint(request, joinPoint.getArgs());
+        Boolean locked = stringRedisTemplate.opsForValue()
+                .setIfAbsent(redisKey, IN_FLIGHT_MARKER + requestHash, properties.getLockTtl());
+        if (!Boolean.TRUE.equals(locked)) {
+            return replayStoredResponse(redisKey, requestHash, ((MethodSignature) joinPoint.getSignature()).getMethod());
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = (ResponseEntity<?>) joinPoint.proceed();
+        } catch (Throwable ex) {
+            stringRedisTemplate.delete(redisKey);
+            throw ex;
+        }
+
+        storeResponse(redisKey, requestHash, response);
+        return response;
+    }
+
+    /**
+     * Hashes the query string and the arguments bound from the request. Arguments are compared by their JSON
+     * form, so formatting differences in a retried body do not matter; uploaded files are compared by content.
+     */
+    private String fingerprint(HttpServletRequest request, Object[] args) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+
+        digest.update(String.valueOf(request.getQueryString()).getBytes(StandardCharsets.UTF_8));
+        for (Object arg : args) {
+            digest.update(ARGUMENT_SEPARATOR);
+            if (arg instanceof MultipartFile file) {
+                digest.update(file.getBytes());
+            } else if (arg instanceof MultipartFile[] files) {
+                for (MultipartFile file : files) {
+                    digest.update(file.getBytes());
+                    digest.update(ARGUMENT_SEPARATOR);
+                }
+            } else {
+                digest.update(objectMapper.writeValueAsBytes(arg));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ResponseEntity<?> replayStoredResponse(String redisKey, String requestHash, Method method) throws IOException {
+        String storedValue = stringRedisTemplate.opsForValue().get(redisKey);
+        // A missing value means the lock expired between the two calls, which is treated like a running request
+        if (storedValue == null) {
+            throw new IdempotentRequestInProgressException();
+        }
+        if (storedValue.startsWith(IN_FLIGHT_MARKER)) {
+            ensureSameRequest(redisKey, storedValue.substring(IN_FLIGHT_MARKER.length()), requestHash);
+            throw new IdempotentRequestInProgressException();
+        }
+
+        StoredResponse storedResponse = objectMapper.readValue(storedValue, StoredResponse.class);
+        ensureSameRequest(redisKey, storedResponse.requestHash(), requestHash);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(storedResponse.headers());
+        headers.set(IDEMPOTENT_REPLAYED_HEADER, "true");
+
+        Object body = null;
+        if (storedResponse.body() != null) {
+            JavaType bodyType = objectMapper.constructType(
+                    ResolvableType.forMethodReturnType(method).getGeneric(0).getType());
+            // Derived properties, such as a serialized isXxx() accessor, have no matching constructor parameter
+            body = objectMapper.readerFor(bodyType)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(storedResponse.body());
+        }
+
+        logger.info("Replaying stored response for idempotent request '{}'", redisKey);
+        return ResponseEntity.status(storedResponse.status()).headers(headers).body(body);
+    }
+
+    private void ensureSameRequest(String redisKey, String storedHash, String requestHash) {
+        if (!requestHash.equals(storedHash)) {
+            logger.warn("Idempotency key of request '{}' was reused with a different payload", redisKey);
+            throw new IdempotencyKeyReusedException();
+        }
+    }
+
+    private void storeResponse(String redisKey, String requestHash, ResponseEntity<?> response) {
+        try {
+            String body = response.hasBody() ? objectMapper.writeValueAsString(response.getBody()) : null;
+            StoredResponse storedResponse = new StoredResponse(
+                    requestHash, response.getStatusCode().value(), response.getHeaders(), body);
+            stringRedisTemplate.opsForValue().set(
+                    redisKey,
+                    objectMapper.writeValueAsString(storedResponse),
+                    properties.getResponseTtl()
+            );
+        } catch (RuntimeException | JsonProcessingException ex) {
+            // The request itself succeeded; a retry will see the lock until it expires
+            logger.error("Could not store response for idempotent request '{}'", redisKey, ex);
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.example.ecommerce.shared.idempotency;
+
+import com.example.ecommerce.shared.exception.ApplicationException;
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyKeyReusedException extends ApplicationException {
+
+    public IdempotencyKeyReusedException() {
+        super("Idempotency key has already been used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.ecommerce.shared.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as idempotent when the client sends an {@value IdempotencyAspect#IDEMPOTENCY_KEY_HEADER}
+ * header.
+ * <p>
+ * The first request with a given key is executed and its response is stored. Retries with the same key by the
+ * same user get the stored response without executing the method again, and a retry that arrives while the first
+ * request is still running is rejected with 409. Requests without the header are executed as usual.
+ * <p>
+ * Annotated methods must return a {@link org.springframework.http.ResponseEntity}.
+ *
+ * @see IdempotencyAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
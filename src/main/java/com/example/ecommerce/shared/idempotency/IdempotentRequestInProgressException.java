@@ -0,0 +1,11 @@
+package com.example.ecommerce.shared.idempotency;
+
+import com.example.ecommerce.shared.exception.ConflictException;
+
+public class IdempotentRequestInProgressException extends ConflictException {
+
+    public IdempotentRequestInProgressException() {
+        super("A request with the same idempotency key is already being processed");
+    }
+
+}
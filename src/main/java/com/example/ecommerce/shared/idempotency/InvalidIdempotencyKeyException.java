@@ -0,0 +1,11 @@
+package com.example.ecommerce.shared.idempotency;
+
+import com.example.ecommerce.shared.exception.BadRequestException;
+
+public class InvalidIdempotencyKeyException extends BadRequestException {
+
+    public InvalidIdempotencyKeyException(int maxLength) {
+        super("Idempotency key must be between 1 and " + maxLength + " characters");
+    }
+
+}
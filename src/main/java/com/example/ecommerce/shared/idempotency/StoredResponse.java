@@ -0,0 +1,19 @@
+package com.example.ecommerce.shared.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response stored for replaying to retried idempotent requests.
+ *
+ * @param requestHash the fingerprint of the request that produced the response
+ * @param status      the HTTP status code
+ * @param headers     the response headers
+ * @param body        the response body serialized as JSON, or {@code null} if there was none
+ */
+public record StoredResponse(
+        String requestHash,
+        int status,
+        Map<String, List<String>> headers,
+        String body
+) {}
@@ -0,0 +1,136 @@
+package com.example.ecommerce.shared.money;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An immutable monetary amount stored as a {@code long} number of minor units (cents).
+ * <p>
+ * All amounts have a fixed scale of {@value #SCALE}. Addition, subtraction and multiplication by a
+ * quantity are exact and throw {@link ArithmeticException} on overflow instead of wrapping around.
+ * Conversions from {@link BigDecimal} and percentage calculations are the only operations that can
+ * lose precision; both round to the nearest minor unit with ties away from zero ({@link RoundingMode#HALF_UP}).
+ * <p>
+ * Amounts are persisted as {@code DECIMAL} columns through {@link MoneyConverter} and serialized to JSON
+ * as plain decimal numbers, so neither the database schema nor the API representation is affected.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of fractional digits of every amount.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Rounding applied whenever a value has to be reduced to {@value #SCALE} fractional digits.
+     */
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    public static final Money ZERO = new Money(0L);
+
+    private static final long BASIS_POINTS_PER_WHOLE = 10_000L;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        // movePointRight keeps the compact (long) representation, unlike unscaledValue()
+        return ofMinor(amount.setScale(SCALE, ROUNDING_MODE).movePointRight(SCALE).longValueExact());
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    /**
+     * Calculates the given percentage of this amount.
+     * <p>
+     * The percentage is first converted to whole basis points (1/100 of a percent) so that binary
+     * floating-point error in values such as {@code 0.1} or {@code 12.5} does not leak into the result.
+     *
+     * @param percentage the percentage, for example {@code 12.5} for 12.5%
+     * @return the rounded share of this amount
+     */
+    public Money percentage(double percentage) {
+        long basisPoints = Math.round(percentage * 100);
+        return ofMinor(divideRounded(Math.multiplyExact(minorUnits, basisPoints), BASIS_POINTS_PER_WHOLE));
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0L;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * Divides with {@link RoundingMode#HALF_UP} semantics for a positive divisor.
+     */
+    private static long divideRounded(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.ecommerce.shared.payload;
+
+import java.util.List;
+
+/**
+ * A record representing a page of a keyset (cursor) paginated listing.
+ * <p>
+ * Unlike {@link PaginatedResponse} it carries no totals, so producing it never requires a count query.
+ * The next page is requested by passing {@code nextCursor} back to the same endpoint.
+ *
+ * @param <T> the type of content in the response
+ */
+public record CursorPaginatedResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {}
@@ -0,0 +1,32 @@
+package com.example.ecommerce.shared.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates numeric identifiers from a pooled sequence instead of an {@code IDENTITY} column.
+ * <p>
+ * Identifiers are known before the insert, so Hibernate can batch inserts of the annotated entity.
+ * Each allocation reserves a block of {@value PooledSequenceGenerator#DEFAULT_ALLOCATION_SIZE}
+ * identifiers by default, configurable with the {@value PooledSequenceGenerator#ALLOCATION_SIZE_SETTING}
+ * Hibernate property.
+ *
+ * @see PooledSequenceGenerator
+ */
+@Documented
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PooledSequence {
+
+    /**
+     * Name of the sequence, or of the table emulating it.
+     */
+    String value();
+
+}
@@ -0,0 +1,71 @@
+package com.example.ecommerce.shared.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every {@link PooledSequence} past the identifiers already stored in its entity table.
+ * <p>
+ * Entities that switched from {@code IDENTITY} columns to pooled sequences keep their existing rows,
+ * while a newly created sequence starts at 1. Before anything is inserted, each sequence is raised so
+ * that its next block starts above the current maximum identifier. Sequences that are already ahead
+ * are left untouched, so this is a no-op on every start after the first.
+ * <p>
+ * Runs once every singleton has been created, which is before the web server accepts requests and
+ * before any {@link org.springframework.boot.ApplicationRunner} can insert rows.
+ */
+@Component
+public class PooledSequenceAligner implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledSequenceAligner.class);
+
+    public PooledSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof PooledSequenceGenerator generator
+                            && persister instanceof AbstractEntityPersister entityPersister) {
+                        align(
+                                generator.getDatabaseStructure().getPhysicalName().getObjectName().getText(),
+                                generator.getDatabaseStructure().getIncrementSize(),
+                                entityPersister.getTableName(),
+                                entityPersister.getIdentifierColumnNames()[0]
+                        );
+                    }
+                });
+    }
+
+    /**
+     * Raises the stored upper bound, so that the next reserved block, which ends at the stored value,
+     * starts above the highest existing identifier.
+     */
+    private void align(String sequenceTable, int allocationSize, String entityTable, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + entityTable, Long.class);
+        long minNextValue = (maxId == null ? 0 : maxId) + allocationSize;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE " + sequenceTable + " SET " + PooledSequenceGenerator.DEF_VALUE_COLUMN + " = ? WHERE "
+                        + PooledSequenceGenerator.DEF_VALUE_COLUMN + " < ?",
+                minNextValue, minNextValue
+        );
+        if (updated > 0) {
+            logger.info("Moved sequence {} past the highest {} id {}", sequenceTable, entityTable, maxId);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.example.ecommerce.shared.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Sequence generator behind {@link PooledSequence}.
+ * <p>
+ * The sequence is always emulated by a single-row table, which is what MySQL gets anyway, so that
+ * every database stores it the same way and {@link PooledSequenceAligner} can align it with existing
+ * identifiers. Values are handed out with the pooled optimizer: the stored value is the upper bound
+ * of the last reserved block.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<PooledSequence> {
+
+    public static final String ALLOCATION_SIZE_SETTING = "ecommerce.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private String sequenceName;
+
+    @Override
+    public void initialize(PooledSequence config, Member member, GeneratorCreationContext context) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(FORCE_TBL_PARAM, "true");
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+}
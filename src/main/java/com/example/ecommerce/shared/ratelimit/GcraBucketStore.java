@@ -0,0 +1,110 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of a fixed number of clients, updated without locks.
+ * <p>
+ * Each bucket is kept with the generic cell rate algorithm, which reduces a token bucket to a
+ * single timestamp: the theoretical arrival time (TAT) at which the bucket is full again. A
+ * request is permitted if it does not move the TAT more than one window ahead of now, and the
+ * new TAT is set with a compare-and-set.
+ * <p>
+ * Buckets live in a fixed-size open-addressing table, looked up by a 64-bit hash of the client
+ * key over a few neighbouring slots. A bucket whose TAT has passed is full, which is the same
+ * state as a missing bucket, so its slot is reused for the next client that needs one. When all
+ * probed slots are held by active clients, the client shares the first slot, which can only make
+ * the limit stricter, never looser.
+ */
+class GcraBucketStore {
+
+    private static final int MAX_PROBES = 4;
+
+    private final AtomicLongArray keyHashes;
+    private final AtomicLongArray arrivalTimes;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+
+    /**
+     * @param maxKeys     the number of clients tracked at once, rounded up to a power of two
+     * @param limit       the number of requests permitted within the window
+     * @param windowNanos the length of the window
+     * @param clock       a monotonic clock in nanoseconds
+     */
+    GcraBucketStore(int maxKeys, int limit, long windowNanos, LongSupplier clock) {
+        int slots = Math.max(MAX_PROBES, Integer.highestOneBit(maxKeys - 1) << 1);
+        this.keyHashes = new AtomicLongArray(slots);
+        this.arrivalTimes = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.emissionIntervalNanos = Math.max(1, windowNanos / limit);
+        this.toleranceNanos = emissionIntervalNanos * limit;
+
+        // Shifted so that the clock is always positive, and 0 is a full bucket
+        long origin = clock.getAsLong() - 1;
+        this.clock = () -> clock.getAsLong() - origin;
+    }
+
+    /**
+     * @return {@code 0} if the request is permitted, otherwise the nanoseconds until it would be
+     */
+    long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        int slot = slotOf(hash(key), now);
+
+        while (true) {
+            long arrivalTime = arrivalTimes.get(slot);
+            long newArrivalTime = Math.max(arrivalTime, now) + emissionIntervalNanos;
+            long excess = newArrivalTime - now - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrivalTimes.compareAndSet(slot, arrivalTime, newArrivalTime)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of a client, claiming a free one if the client has none.
+     */
+    private int slotOf(long hash, long now) {
+        int first = (int) hash & mask;
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (first + i) & mask;
+            long slotHash = keyHashes.get(slot);
+            if (slotHash == hash) {
+                return slot;
+            }
+            // A full bucket is as good as none, so its slot may be taken over
+            if ((slotHash == 0 || arrivalTimes.get(slot) <= now) && keyHashes.compareAndSet(slot, slotHash, hash)) {
+                return slot;
+            }
+            if (keyHashes.get(slot) == hash) {
+                // Claimed by a concurrent request of the same client
+                return slot;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key, finalized with SplitMix64. Never {@code 0}, which marks a
+     * free slot.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash += 0x9e3779b97f4a7c15L;
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        hash ^= hash >>> 31;
+        return hash != 0 ? hash : 1;
+    }
+
+}
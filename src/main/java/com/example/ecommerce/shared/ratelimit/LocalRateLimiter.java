@@ -0,0 +1,41 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import com.example.ecommerce.shared.config.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process {@link RateLimiter}, enabled with {@code rate-limit.backend=local} or by default.
+ * <p>
+ * Every policy has its own {@link GcraBucketStore} of bounded size. Limits apply per instance,
+ * so behind a load balancer a client may send up to the limit to every instance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "backend", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final GcraBucketStore[] stores;
+
+    public LocalRateLimiter(RateLimitProperties properties) {
+        List<RateLimitPolicy> policies = RateLimitPolicy.of(properties);
+        this.stores = new GcraBucketStore[policies.size()];
+        for (RateLimitPolicy policy : policies) {
+            stores[policy.index()] = new GcraBucketStore(
+                    properties.getMaxKeysPerPolicy(),
+                    policy.limit(),
+                    policy.window().toNanos(),
+                    System::nanoTime
+            );
+        }
+    }
+
+    @Override
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        long waitNanos = stores[policy.index()].tryAcquire(key);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import com.example.ecommerce.shared.config.RateLimitProperties;
+import com.example.ecommerce.shared.payload.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This filter rejects requests with status 429 (Too Many Requests) once their client has exceeded
+ * a configured {@link RateLimitPolicy}, telling it when to retry in the {@code Retry-After} header.
+ * <p>
+ * It runs in the security filter chain after the bearer token has been verified, so that policies
+ * can be keyed on the authenticated user or token. Requests are counted by the configured
+ * {@link RateLimiter}, and rejections are counted per policy.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<RateLimitPolicy> policies;
+
+    /**
+     * Rejected requests, indexed like the policies.
+     */
+    private final Counter[] rejections;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           RateLimiter rateLimiter,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        this.policies = RateLimitPolicy.of(properties);
+        this.rejections = policies.stream()
+                .map(policy -> Counter.builder("rate.limit.rejected")
+                        .description("Number of requests rejected by a rate limit policy")
+                        .tag("policy", policy.name())
+                        .register(meterRegistry))
+                .toArray(Counter[]::new);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || policies.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        PathContainer requestPath = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (RateLimitPolicy policy : policies) {
+            if (!policy.matches(request, requestPath)) {
+                continue;
+            }
+
+            long retryAfterMillis = rateLimiter.tryAcquire(policy, policy.key().resolve(request));
+            if (retryAfterMillis > 0) {
+                rejections[policy.index()].increment();
+                reject(request, response, retryAfterMillis);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+
+        var errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+                request.getRequestURI(),
+                Instant.now().toString()
+        );
+
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import com.example.ecommerce.auth.security.jwt.VerifiedJwt;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * What identifies the client of a request to a rate limiting policy. Requests without the
+ * user or token fall back to the IP address.
+ */
+public enum RateLimitKey {
+
+    /**
+     * The remote IP address of the request. Behind a load balancer this is the client address
+     * that Tomcat resolves from {@code X-Forwarded-For} ({@code server.forward-headers-strategy:
+     * native}), which is only trusted when the request comes from one of the internal proxies.
+     */
+    IP {
+        @Override
+        String resolve(HttpServletRequest request) {
+            return ip(request);
+        }
+    },
+
+    /**
+     * The username of the authenticated user.
+     */
+    USER {
+        @Override
+        String resolve(HttpServletRequest request) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated() || authentication.getName() == null) {
+                return ip(request);
+            }
+            return "user:" + authentication.getName();
+        }
+    },
+
+    /**
+     * The ID of the verified bearer token.
+     */
+    TOKEN {
+        @Override
+        String resolve(HttpServletRequest request) {
+            Object verifiedJwt = request.getAttribute(VerifiedJwt.ATTRIBUTE);
+            if (verifiedJwt == null) {
+                return ip(request);
+            }
+            return "token:" + ((VerifiedJwt) verifiedJwt).tokenId();
+        }
+    };
+
+    abstract String resolve(HttpServletRequest request);
+
+    private static String ip(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+
+}
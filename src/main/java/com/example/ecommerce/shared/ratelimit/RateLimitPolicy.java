@@ -0,0 +1,56 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import com.example.ecommerce.shared.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A configured {@link RateLimitProperties.Policy} with its path pattern parsed once.
+ *
+ * @param index  the position of the policy, which backends use to find its state
+ * @param name   the name of the policy
+ * @param path   the parsed path pattern
+ * @param method the HTTP method, or {@code null} for every method
+ * @param key    what identifies a client
+ * @param limit  the number of requests a client may send within the window
+ * @param window the length of the window
+ */
+public record RateLimitPolicy(
+        int index,
+        String name,
+        PathPattern path,
+        String method,
+        RateLimitKey key,
+        int limit,
+        Duration window
+) {
+
+    public static List<RateLimitPolicy> of(RateLimitProperties properties) {
+        List<RateLimitProperties.Policy> policies = properties.getPolicies();
+        return IntStream.range(0, policies.size())
+                .mapToObj(i -> {
+                    RateLimitProperties.Policy policy = policies.get(i);
+                    return new RateLimitPolicy(
+                            i,
+                            policy.name(),
+                            PathPatternParser.defaultInstance.parse(policy.path()),
+                            policy.method(),
+                            policy.key(),
+                            policy.limit(),
+                            policy.window()
+                    );
+                })
+                .toList();
+    }
+
+    boolean matches(HttpServletRequest request, PathContainer requestPath) {
+        return (method == null || method.equalsIgnoreCase(request.getMethod())) && path.matches(requestPath);
+    }
+
+}
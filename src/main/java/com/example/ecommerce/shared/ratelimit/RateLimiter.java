@@ -0,0 +1,18 @@
+package com.example.ecommerce.shared.ratelimit;
+
+/**
+ * Backend that counts the requests of each client against the rate limiting policies.
+ */
+public interface RateLimiter {
+
+    /**
+     * Counts a request of a client against a policy, unless the client has exhausted its limit.
+     *
+     * @param policy the policy the request matched
+     * @param key    the client, as resolved by the {@link RateLimitKey} of the policy
+     * @return {@code 0} if the request is permitted, otherwise the milliseconds until the client
+     *         may send a request again
+     */
+    long tryAcquire(RateLimitPolicy policy, String key);
+
+}
@@ -0,0 +1,95 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RateLimiter} shared by all instances, enabled with {@code rate-limit.backend=redis}.
+ * <p>
+ * Every client has a sliding window log in a Redis sorted set, whose members are the times of
+ * its permitted requests. A Lua script trims the log to the window, counts it and adds the
+ * request in one atomic step, using the clock of Redis so that instances need not agree on the
+ * time. If Redis is unavailable, requests are permitted rather than failing the application.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "backend", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    /**
+     * Returns 0 and records the request if the window has room for it, otherwise the
+     * milliseconds until its oldest request leaves the window.
+     */
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            local limit = tonumber(ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) < limit then
+                redis.call('ZADD', KEYS[1], now, ARGV[3])
+                redis.call('PEXPIRE', KEYS[1], window)
+                return 0
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            return math.max(1, tonumber(oldest[2]) + window - now)
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Prefix of the request IDs of this instance, which keeps requests recorded in the same
+     * millisecond by different instances apart.
+     */
+    private final String instanceId;
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private final Counter failures;
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+
+        byte[] instanceBytes = new byte[8];
+        new SecureRandom().nextBytes(instanceBytes);
+        this.instanceId = HexFormat.of().formatHex(instanceBytes) + ":";
+
+        this.failures = Counter.builder("rate.limit.redis.failures")
+                .description("Number of requests permitted because Redis could not be reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        try {
+            Long retryAfterMillis = redisTemplate.execute(
+                    SLIDING_WINDOW_SCRIPT,
+                    List.of(KEY_PREFIX + policy.name() + ":" + key),
+                    Long.toString(policy.window().toMillis()),
+                    Integer.toString(policy.limit()),
+                    instanceId + requestIds.incrementAndGet()
+            );
+            return retryAfterMillis != null ? retryAfterMillis : 0;
+        } catch (DataAccessException ex) {
+            failures.increment();
+            logger.warn("Rate limit policy '{}' not applied, Redis is unavailable: {}", policy.name(), ex.getMessage());
+            return 0;
+        }
+    }
+
+}
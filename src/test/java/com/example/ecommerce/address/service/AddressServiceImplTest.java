@@ -67,7 +67,7 @@ class AddressServiceImplTest {
 
         User user = addresses.get(0).getUser();
 
-        given(userContextService.getCurrentUser()).willReturn(user);
+        given(userContextService.getCurrentUserId()).willReturn(user.getId());
         given(addressRepository.findAllByUserId(user.getId())).willReturn(addresses);
         given(addressMapper.mapToResponseList(addresses)).willReturn(expected);
 
@@ -88,7 +88,8 @@ class AddressServiceImplTest {
         Address address = AddressFactory.address(createRequest.title());
         AddressResponse expected = AddressFactory.response(address);
 
-        given(userContextService.getCurrentUser()).willReturn(address.getUser());
+        given(userContextService.getCurrentUserId()).willReturn(address.getUser().getId());
+        given(userContextService.getCurrentUserReference()).willReturn(address.getUser());
         given(addressRepository.save(any(Address.class))).willReturn(address);
         given(addressMapper.mapToResponse(any(Address.class))).willReturn(expected);
 
@@ -106,7 +107,7 @@ class AddressServiceImplTest {
         // given
         CreateAddressRequest createRequest = AddressFactory.createRequest();
 
-        given(userContextService.getCurrentUser()).willReturn(testUser);
+        given(userContextService.getCurrentUserId()).willReturn(testUser.getId());
         given(addressRepository.existsByTitleAndUserId(anyString(), anyString())).willReturn(true);
 
         // when
@@ -125,7 +126,7 @@ class AddressServiceImplTest {
     void givenCreateAddressRequest_whenAddressCountReachesLimit_thenThrowAddressLimitExceededException() {
         // given
         CreateAddressRequest createRequest = AddressFactory.createRequest();
-        given(userContextService.getCurrentUser()).willReturn(testUser);
+        given(userContextService.getCurrentUserId()).willReturn(testUser.getId());
         given(addressRepository.countAddressByUserId(anyString())).willReturn(50L);
 
         // when
@@ -143,7 +144,7 @@ class AddressServiceImplTest {
     void givenValidUpdateRequest_whenAddressUpdated_thenReturnUpdatedAddressResponse() {
         // given
         Address address = AddressFactory.address();
-        given(userContextService.getCurrentUser()).willReturn(testUser);
+        given(userContextService.getCurrentUserId()).willReturn(testUser.getId());
         given(addressRepository.findByIdAndUserId(anyLong(), anyString())).willReturn(Optional.of(address));
 
         UpdateAddressRequest updateRequest = AddressFactory.updateRequest();
@@ -166,7 +167,7 @@ class AddressServiceImplTest {
     void givenValidAddressId_whenAddressExists_thenDeleteExistingAddress() {
         // given
         Address address = AddressFactory.address();
-        given(userContextService.getCurrentUser()).willReturn(testUser);
+        given(userContextService.getCurrentUserId()).willReturn(testUser.getId());
         given(addressRepository.findByIdAndUserId(address.getId(), testUser.getId())).willReturn(Optional.of(address));
 
         // when & then
@@ -179,7 +180,7 @@ class AddressServiceImplTest {
     void givenInvalidAddressId_whenAddressNotExists_thenThrowAddressNotFoundException() {
         // given
         Long addressId = 1L;
-        given(userContextService.getCurrentUser()).willReturn(testUser);
+        given(userContextService.getCurrentUserId()).willReturn(testUser.getId());
         given(addressRepository.findByIdAndUserId(addressId, testUser.getId())).willReturn(Optional.empty());
 
         // when & then
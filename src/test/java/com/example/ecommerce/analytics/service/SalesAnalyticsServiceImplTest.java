@@ -0,0 +1,120 @@
+package com.example.ecommerce.analytics.service;
+
+import com.example.ecommerce.analytics.config.SalesAnalyticsProperties;
+import com.example.ecommerce.analytics.model.enums.SalesDimension;
+import com.example.ecommerce.analytics.payload.response.SalesResponse;
+import com.example.ecommerce.analytics.repository.SalesAggregateRepository;
+import com.example.ecommerce.order.payload.event.OrderSalesEvent;
+import com.example.ecommerce.shared.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceImplTest {
+
+    @Mock
+    SalesAggregateRepository salesAggregateRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SalesAnalyticsServiceImpl salesAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        salesAnalyticsService = new SalesAnalyticsServiceImpl(
+                salesAggregateRepository,
+                new SalesAnalyticsProperties(24),
+                transactionManager
+        );
+    }
+
+    @Test
+    void givenPlacedAndCancelledOrders_whenGetRecentSalesByCategory_thenReturnNetSalesHighestRevenueFirst() {
+        // given
+        Instant now = Instant.now();
+        salesAnalyticsService.recordSales(placed(now, new OrderSalesEvent.SoldItem("p1", 1L, 2, Money.ofMinor(2000))));
+        salesAnalyticsService.recordSales(placed(now, new OrderSalesEvent.SoldItem("p2", 2L, 1, Money.ofMinor(5000))));
+        salesAnalyticsService.recordSales(placed(now.minus(2, ChronoUnit.HOURS), new OrderSalesEvent.SoldItem("p3", 1L, 3, Money.ofMinor(900))));
+        salesAnalyticsService.recordSales(placed(now.minus(30, ChronoUnit.HOURS), new OrderSalesEvent.SoldItem("p1", 1L, 9, Money.ofMinor(9000))));
+        salesAnalyticsService.recordSales(new OrderSalesEvent("order-2", OrderSalesEvent.Type.CANCELLED,
+                List.of(new OrderSalesEvent.SoldItem("p1", 1L, 1, Money.ofMinor(1000))), now));
+
+        // when
+        List<SalesResponse> sales = salesAnalyticsService.getRecentSales(SalesDimension.CATEGORY, 24);
+
+        // then
+        then(sales).containsExactly(
+                new SalesResponse("2", 1, Money.ofMinor(5000)),
+                new SalesResponse("1", 4, Money.ofMinor(1900))
+        );
+    }
+
+    @Test
+    void givenRecordedSales_whenFlush_thenIncrementAggregatesOnceAndKeepInMemoryTotals() {
+        // given
+        Instant now = Instant.now();
+        Instant bucketStart = now.truncatedTo(ChronoUnit.HOURS);
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        salesAnalyticsService.recordSales(placed(now, new OrderSalesEvent.SoldItem("p1", 1L, 2, Money.ofMinor(2000))));
+        salesAnalyticsService.recordSales(placed(now, new OrderSalesEvent.SoldItem("p1", 1L, 1, Money.ofMinor(1000))));
+
+        // when
+        int flushed = salesAnalyticsService.flush();
+        int flushedAgain = salesAnalyticsService.flush();
+
+        // then
+        then(flushed).isEqualTo(2);
+        then(flushedAgain).isZero();
+        verify(salesAggregateRepository, times(1)).increment(bucketStart, "PRODUCT", "p1", 3, new BigDecimal("30.00"));
+        verify(salesAggregateRepository, times(1)).increment(bucketStart, "CATEGORY", "1", 3, new BigDecimal("30.00"));
+        then(salesAnalyticsService.getRecentSales(SalesDimension.PRODUCT, 24))
+                .containsExactly(new SalesResponse("p1", 3, Money.ofMinor(3000)));
+    }
+
+    @Test
+    void givenFailingFlush_whenFlushAgain_thenWriteTheKeptCounts() {
+        // given
+        Instant now = Instant.now();
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        salesAnalyticsService.recordSales(placed(now, new OrderSalesEvent.SoldItem("p1", null, 2, Money.ofMinor(2000))));
+        willThrow(new QueryTimeoutException("timeout")).willDoNothing()
+                .given(salesAggregateRepository).increment(any(), anyString(), anyString(), anyLong(), any());
+
+        // when
+        QueryTimeoutException ex = catchThrowableOfType(QueryTimeoutException.class, () -> salesAnalyticsService.flush());
+        int flushed = salesAnalyticsService.flush();
+
+        // then
+        then(ex).isNotNull();
+        then(flushed).isEqualTo(1);
+        verify(salesAggregateRepository, times(2)).increment(any(), eq("PRODUCT"), eq("p1"), eq(2L), any());
+    }
+
+    private OrderSalesEvent placed(Instant occurredAt, OrderSalesEvent.SoldItem item) {
+        return new OrderSalesEvent("order-1", OrderSalesEvent.Type.PLACED, List.of(item), occurredAt);
+    }
+
+}
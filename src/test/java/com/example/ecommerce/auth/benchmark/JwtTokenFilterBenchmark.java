@@ -0,0 +1,194 @@
+package com.example.ecommerce.auth.benchmark;
+
+import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.RefreshTokenProperties;
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.model.enums.Role;
+import com.example.ecommerce.auth.security.jwt.AuthenticatedUser;
+import com.example.ecommerce.auth.security.jwt.JwtCodec;
+import com.example.ecommerce.auth.security.jwt.JwtTokenFilter;
+import com.example.ecommerce.auth.service.TokenBlacklistService;
+import com.example.ecommerce.auth.service.TokenGenerationService;
+import com.example.ecommerce.auth.service.TokenServiceImpl;
+import com.example.ecommerce.auth.service.UserCacheService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating a bearer token with the previous filter, which
+ * rebuilt the signing key and parser and verified the token twice, against {@link JwtTokenFilter}
+ * with {@link JwtCodec}, which verifies the token once with a shared parser.
+ * <p>
+ * The blacklist and user lookups are stubbed, so that only the token handling is measured. The
+ * user lookup of the previous filter was a {@code users} query on every request, which the current
+ * filter avoids by building the principal from the token claims:
+ * <pre>
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.ecommerce.auth.benchmark.JwtTokenFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenFilterBenchmark {
+
+    private static final String SECRET = Encoders.BASE64.encode(
+            "BenchmarkSecretKeyWithSufficientLengthForHMacSHA256".getBytes()
+    );
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private String token;
+    private UserDetailsService userDetailsService;
+    private JwtTokenFilter jwtTokenFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties(SECRET, 900_000L, 604_800_000L);
+        JwtCodec jwtCodec = new JwtCodec(jwtProperties);
+
+        User user = User.builder()
+                .id("benchmark-user-id")
+                .username("benchmark-user")
+                .password("benchmark-pw")
+                .role(Role.ROLE_USER)
+                .build();
+        userDetailsService = username -> user;
+
+        token = jwtCodec.builder()
+                .subject(user.getUsername())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .claims(AuthenticatedUser.of(user).toClaims())
+                .compact();
+
+        TokenBlacklistService tokenBlacklistService = new TokenBlacklistService() {
+            @Override
+            public void blacklistToken(String tokenId, long timeout, TimeUnit unit) {
+            }
+
+            @Override
+            public boolean isTokenBlacklisted(String tokenId) {
+                return false;
+            }
+
+            @Override
+            public int loadBlacklist() {
+                return 0;
+            }
+        };
+
+        TokenGenerationService tokenGenerationService = new TokenGenerationService() {
+            @Override
+            public long currentGeneration(String username) {
+                return 0;
+            }
+
+            @Override
+            public long incrementGeneration(String username) {
+                return 0;
+            }
+
+            @Override
+            public boolean isRevoked(Claims claims) {
+                return false;
+            }
+        };
+
+        UserCacheService userCacheService = new UserCacheService() {
+            @Override
+            public User getUser(String username) {
+                return user;
+            }
+
+            @Override
+            public void evict(String username) {
+            }
+        };
+
+        TokenServiceImpl tokenService = new TokenServiceImpl(null, jwtCodec, jwtProperties, new RefreshTokenProperties(5, 500, 100), tokenGenerationService, userDetailsService);
+        jwtTokenFilter = new JwtTokenFilter(tokenService, tokenBlacklistService, tokenGenerationService, userCacheService);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/carts");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object legacyFilter() {
+        String jwtToken = request.getHeader(HttpHeaders.AUTHORIZATION).replace("Bearer ", "");
+
+        // validateToken and extractUsername each decoded the key and built a parser
+        parseLegacy(jwtToken);
+        String username = parseLegacy(jwtToken).getSubject();
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        return clearAuthentication();
+    }
+
+    @Benchmark
+    public Object filter() throws ServletException, IOException {
+        jwtTokenFilter.doFilter(request, response, NO_OP_CHAIN);
+        return clearAuthentication();
+    }
+
+    private static Claims parseLegacy(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private static Object clearAuthentication() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenFilterBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
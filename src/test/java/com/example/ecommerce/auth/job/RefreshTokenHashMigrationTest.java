@@ -0,0 +1,134 @@
+package com.example.ecommerce.auth.job;
+
+import com.example.ecommerce.auth.model.RefreshToken;
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.repository.RefreshTokenRepository;
+import com.example.ecommerce.auth.repository.UserRepository;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Runs the migration against a database whose refresh tokens are still stored in plain text.
+ * Altering a table commits the surrounding transaction, so the test runs without one and cleans
+ * up after itself.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenHashMigrationTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    JdbcTemplate jdbcTemplate;
+
+    RefreshTokenHashMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migration = new RefreshTokenHashMigration(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE " + RefreshTokenHashMigration.TABLE + " DROP COLUMN IF EXISTS " + RefreshTokenHashMigration.TOKEN_COLUMN);
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenPlainTextTokens_whenMigrated_thenStoreHashesAndDropTokenColumn() {
+        // given
+        User user = userRepository.save(User.builder()
+                .username("test-user")
+                .password("password")
+                .name("Test User")
+                .email("test-user@example.com")
+                .build());
+        jdbcTemplate.execute("ALTER TABLE refresh_token ADD COLUMN token VARCHAR(255)");
+        List<String> tokens = List.of("first-token", "second-token", "third-token");
+        tokens.forEach(token -> jdbcTemplate.update("""
+                INSERT INTO refresh_token (id, token, type, revoked, user_id, created_at, created_by)
+                VALUES (?, ?, 'BEARER', FALSE, ?, CURRENT_TIMESTAMP, 'test-user')
+                """, UUID.randomUUID().toString(), token, user.getId()));
+
+        // when
+        migration.afterSingletonsInstantiated();
+
+        // then
+        then(tokens).allSatisfy(token ->
+                then(refreshTokenRepository.findByTokenHash(RefreshToken.hash(token))).isPresent());
+        then(tokenColumnCount()).isZero();
+    }
+
+    @Test
+    void givenTokenColumnDroppedConcurrently_whenMigrated_thenTreatMigrationAsDone() {
+        // given
+        jdbcTemplate.execute("ALTER TABLE refresh_token ADD COLUMN token VARCHAR(255)");
+        JdbcTemplate racingJdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void execute(String sql) {
+                if (sql.startsWith("ALTER TABLE")) {
+                    // Another instance drops the column between the existence check and this drop
+                    super.execute(sql);
+                }
+                super.execute(sql);
+            }
+        };
+
+        // when
+        new RefreshTokenHashMigration(racingJdbcTemplate).afterSingletonsInstantiated();
+
+        // then
+        then(tokenColumnCount()).isZero();
+    }
+
+    @Test
+    void givenTokenColumnAlreadyDropped_whenMigrated_thenDoNothing() {
+        // when
+        migration.afterSingletonsInstantiated();
+
+        // then
+        then(tokenColumnCount()).isZero();
+        then(refreshTokenRepository.count()).isZero();
+    }
+
+    private int tokenColumnCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE UPPER(TABLE_NAME) = UPPER(?) AND UPPER(COLUMN_NAME) = UPPER(?)",
+                Integer.class,
+                RefreshTokenHashMigration.TABLE,
+                RefreshTokenHashMigration.TOKEN_COLUMN
+        );
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.ecommerce.auth.repository;
+
+import com.example.ecommerce.auth.model.RefreshToken;
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenTokensOfTwoUsers_whenRevokeAllByUsername_thenRevokeOnlyActiveTokensOfThatUser() {
+        // given
+        User user = persistUser("test-user");
+        User otherUser = persistUser("other-user");
+        RefreshToken first = persistToken("first-token", user, false);
+        RefreshToken second = persistToken("second-token", user, false);
+        persistToken("revoked-token", user, true);
+        RefreshToken otherUsersToken = persistToken("other-token", otherUser, false);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        int revoked = refreshTokenRepository.revokeAllByUsername("test-user");
+        entityManager.clear();
+
+        // then
+        then(revoked).isEqualTo(2);
+        then(refreshTokenRepository.findById(first.getId())).get().extracting(RefreshToken::isRevoked).isEqualTo(true);
+        then(refreshTokenRepository.findById(second.getId())).get().extracting(RefreshToken::isRevoked).isEqualTo(true);
+        then(refreshTokenRepository.findById(otherUsersToken.getId())).get().extracting(RefreshToken::isRevoked).isEqualTo(false);
+    }
+
+    private User persistUser(String username) {
+        User user = User.builder()
+                .username(username)
+                .password("password")
+                .name("Test User")
+                .email(username + "@example.com")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private RefreshToken persistToken(String token, User user, boolean revoked) {
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(RefreshToken.hash(token))
+                .revoked(revoked)
+                .user(user)
+                .build();
+        entityManager.persist(refreshToken);
+        return refreshToken;
+    }
+
+}
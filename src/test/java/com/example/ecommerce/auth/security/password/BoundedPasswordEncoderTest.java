@@ -0,0 +1,141 @@
+package com.example.ecommerce.auth.security.password;
+
+import com.example.ecommerce.auth.config.PasswordHashingProperties;
+import com.example.ecommerce.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class BoundedPasswordEncoderTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordEncoder != null) {
+            passwordEncoder.shutdown();
+        }
+    }
+
+    @Test
+    void givenPassword_whenEncodeAndMatch_thenHashOnWorkerAndRecordLatency() {
+        // given
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), properties(1, 1, Duration.ofSeconds(5)), meterRegistry);
+
+        // when
+        String encoded = passwordEncoder.encode("test-pw");
+        boolean matches = passwordEncoder.matches("test-pw", encoded);
+
+        // then
+        then(matches).isTrue();
+        then(meterRegistry.get("auth.password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        then(meterRegistry.get("auth.password.hashing.duration").tag("operation", "matches").timer().count()).isEqualTo(1);
+        then(meterRegistry.get("auth.password.hashing.queue.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void givenFullQueue_whenEncode_thenRejectWithoutWaiting() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(blockingEncoder, properties(1, 1, Duration.ofSeconds(5)), meterRegistry);
+
+        // One password is hashed and one is queued
+        CompletableFuture<String> hashing = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        while (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        PasswordHashingBusyException ex = catchThrowableOfType(
+                PasswordHashingBusyException.class,
+                () -> passwordEncoder.encode("third")
+        );
+
+        // then
+        then(ex).isNotNull();
+        then(meterRegistry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        then(hashing.get()).isNotBlank();
+        then(queued.get()).isNotBlank();
+    }
+
+    @Test
+    void givenSlowHashing_whenMaxWaitElapses_thenReject() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(blockingEncoder, properties(1, 1, Duration.ofMillis(50)), meterRegistry);
+
+        // when
+        PasswordHashingBusyException ex = catchThrowableOfType(
+                PasswordHashingBusyException.class,
+                () -> passwordEncoder.matches("test-pw", "encoded")
+        );
+
+        // then
+        then(ex).isNotNull();
+        release.countDown();
+    }
+
+    @Test
+    void givenHashWithLowerCost_whenUpgradeEncoding_thenReturnTrue() {
+        // given
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), properties(1, 1, Duration.ofSeconds(5)), meterRegistry);
+        String lowerCostHash = new BCryptPasswordEncoder(4).encode("test-pw");
+        String currentCostHash = new BCryptPasswordEncoder(5).encode("test-pw");
+
+        // when & then
+        then(passwordEncoder.upgradeEncoding(lowerCostHash)).isTrue();
+        then(passwordEncoder.upgradeEncoding(currentCostHash)).isFalse();
+    }
+
+    @Test
+    void givenGenerousTarget_whenCalibrateStrength_thenStopAtMaxStrength() {
+        // given
+        var properties = new PasswordHashingProperties(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(10), 4, 5);
+
+        // when
+        int strength = BoundedPasswordEncoder.calibrateStrength(properties);
+
+        // then
+        then(strength).isEqualTo(5);
+    }
+
+    private static PasswordHashingProperties properties(int workers, int queueCapacity, Duration maxWait) {
+        return new PasswordHashingProperties(workers, queueCapacity, maxWait, Duration.ofMillis(250), 4, 4);
+    }
+
+}
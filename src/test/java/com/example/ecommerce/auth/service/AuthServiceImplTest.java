@@ -5,8 +5,10 @@ import com.example.ecommerce.auth.exception.UsernameAlreadyTakenException;
 import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.auth.payload.request.LoginRequest;
 import com.example.ecommerce.auth.payload.request.RegistrationRequest;
+import com.example.ecommerce.auth.payload.response.LoginResult;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
 import com.example.ecommerce.auth.repository.UserRepository;
+import com.example.ecommerce.cart.service.GuestCartService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -41,6 +43,9 @@ class AuthServiceImplTest {
     @Mock
     TokenBlacklistService tokenBlacklistService;
 
+    @Mock
+    GuestCartService guestCartService;
+
     @Mock
     UserRepository userRepository;
 
@@ -64,14 +69,60 @@ class AuthServiceImplTest {
         given(tokenService.generateTokenPair(userDetails)).willReturn(expected);
 
         // when
-        TokenResponse actual = authService.login(request);
+        LoginResult actual = authService.login(request, null);
 
         // then
         assertThat(actual).isNotNull();
-        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.tokenResponse()).isEqualTo(expected);
+        assertThat(actual.guestCartMerged()).isFalse();
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(auth);
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(tokenService, times(1)).generateTokenPair(userDetails);
+        verify(guestCartService, never()).mergeIntoUserCart(anyString());
+    }
+
+    @Test
+    void givenLoginRequestWithGuestCart_whenAttemptToLogin_thenMergeGuestCartIntoUserCart() {
+        // given
+        LoginRequest request = new LoginRequest("test-user", "test-pw");
+        Authentication auth = mock(Authentication.class);
+        UserDetails userDetails = mock(UserDetails.class);
+
+        TokenResponse expected = new TokenResponse("access-token", "refresh-token", 6000);
+
+        given(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).willReturn(auth);
+        given(auth.getPrincipal()).willReturn(userDetails);
+        given(tokenService.generateTokenPair(userDetails)).willReturn(expected);
+
+        // when
+        LoginResult actual = authService.login(request, "guest-cart-id");
+
+        // then
+        assertThat(actual.tokenResponse()).isEqualTo(expected);
+        assertThat(actual.guestCartMerged()).isTrue();
+        verify(guestCartService, times(1)).mergeIntoUserCart("guest-cart-id");
+    }
+
+    @Test
+    void givenLoginRequestWithGuestCart_whenMergeFails_thenReturnTokenResponseAndReportCartNotMerged() {
+        // given
+        LoginRequest request = new LoginRequest("test-user", "test-pw");
+        Authentication auth = mock(Authentication.class);
+        UserDetails userDetails = mock(UserDetails.class);
+
+        TokenResponse expected = new TokenResponse("access-token", "refresh-token", 6000);
+
+        given(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).willReturn(auth);
+        given(auth.getPrincipal()).willReturn(userDetails);
+        given(tokenService.generateTokenPair(userDetails)).willReturn(expected);
+        doThrow(IllegalStateException.class).when(guestCartService).mergeIntoUserCart(anyString());
+
+        // when
+        LoginResult actual = authService.login(request, "guest-cart-id");
+
+        // then
+        assertThat(actual.tokenResponse()).isEqualTo(expected);
+        assertThat(actual.guestCartMerged()).isFalse();
     }
 
     @Test
@@ -141,13 +192,14 @@ class AuthServiceImplTest {
         // given
         String refreshToken = "test-refresh-token";
         String authorizationHeader = "test-authorization-header";
-        given(tokenService.extractExpiration(anyString())).willReturn(new Date());
+        given(tokenService.extractExpiration(anyString())).willReturn(new Date(System.currentTimeMillis() + 60000));
+        given(tokenService.extractTokenId(anyString())).willReturn("token-id");
 
         // when & then
         authService.logout(authorizationHeader, refreshToken);
 
         verify(tokenService).revokeToken(refreshToken);
-        verify(tokenBlacklistService).blacklistToken(anyString(), anyLong(), any());
+        verify(tokenBlacklistService).blacklistToken(eq("token-id"), anyLong(), any());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
@@ -159,19 +211,15 @@ class AuthServiceImplTest {
                 .password("test-pw")
                 .build();
 
-        String authorizationHeader = "test-authorization-header";
-
         SecurityContextHolder.getContext().setAuthentication(
                 new TestingAuthenticationToken(authenticatedUser, null)
         );
 
-        given(tokenService.extractExpiration(anyString())).willReturn(new Date());
-
         // when & then
-        authService.logoutAll(authorizationHeader, authenticatedUser.getUsername());
+        authService.logoutAll(authenticatedUser.getUsername());
 
         verify(tokenService).revokeAllTokensForUser(authenticatedUser.getUsername());
-        verify(tokenBlacklistService).blacklistToken(anyString(), anyLong(), any());
+        verifyNoInteractions(tokenBlacklistService);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
@@ -0,0 +1,180 @@
+package com.example.ecommerce.auth.service;
+
+import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.TokenBlacklistProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistServiceImplTest {
+
+    static final long ACCESS_TOKEN_LIFETIME_MS = Duration.ofMinutes(15).toMillis();
+
+    @Mock
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    Cursor<String> keys;
+
+    AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TokenBlacklistServiceImpl tokenBlacklistService;
+
+    @BeforeEach
+    void setUp() {
+        tokenBlacklistService = new TokenBlacklistServiceImpl(
+                redisTemplate,
+                listenerContainer,
+                new JwtProperties("secret", ACCESS_TOKEN_LIFETIME_MS, Duration.ofDays(7).toMillis()),
+                new TokenBlacklistProperties(1000, 0.001, Duration.ofMinutes(5)),
+                meterRegistry,
+                clock::get
+        );
+    }
+
+    @Test
+    void givenBlacklistNotLoaded_whenIsTokenBlacklisted_thenAskRedis() {
+        // given
+        given(redisTemplate.hasKey("blacklisted:token")).willReturn(true);
+
+        // when
+        boolean blacklisted = tokenBlacklistService.isTokenBlacklisted("token");
+
+        // then
+        then(blacklisted).isTrue();
+    }
+
+    @Test
+    void givenLoadedBlacklist_whenIsTokenBlacklistedForUnknownToken_thenAnswerWithoutRedis() {
+        // given
+        loadBlacklist();
+
+        // when
+        boolean blacklisted = tokenBlacklistService.isTokenBlacklisted("unknown-token");
+
+        // then
+        then(blacklisted).isFalse();
+        verify(redisTemplate, never()).hasKey(anyString());
+        then(meterRegistry.get("auth.blacklist.redis.calls.saved").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRevokedToken_whenIsTokenBlacklisted_thenConfirmWithRedisUntilTokenExpires() {
+        // given
+        given(redisTemplate.hasKey("blacklisted:revoked-token")).willReturn(true);
+        loadBlacklist();
+        tokenBlacklistService.blacklistToken("revoked-token", 60_000, TimeUnit.MILLISECONDS);
+
+        // when
+        boolean blacklistedBeforeExpiry = tokenBlacklistService.isTokenBlacklisted("revoked-token");
+        clock.addAndGet(Duration.ofMinutes(6).toMillis());
+        boolean blacklistedAfterExpiry = tokenBlacklistService.isTokenBlacklisted("revoked-token");
+
+        // then
+        then(blacklistedBeforeExpiry).isTrue();
+        then(blacklistedAfterExpiry).isFalse();
+        verifyStoredWithoutValue("blacklisted:revoked-token");
+        verify(redisTemplate).convertAndSend(TokenBlacklistServiceImpl.BLACKLIST_CHANNEL, (clock.get() - Duration.ofMinutes(6).toMillis() + 60_000) + ":revoked-token");
+    }
+
+    @Test
+    void givenTokenRevokedOnAnotherNode_whenIsTokenBlacklisted_thenConfirmWithRedis() {
+        // given
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        given(redisTemplate.hasKey("blacklisted:remote-token")).willReturn(true);
+        loadBlacklist();
+
+        byte[] body = serializer.serialize((clock.get() + 60_000) + ":remote-token");
+        tokenBlacklistService.onMessage(new DefaultMessage(TokenBlacklistServiceImpl.BLACKLIST_CHANNEL.getBytes(), body), null);
+
+        // when
+        boolean blacklisted = tokenBlacklistService.isTokenBlacklisted("remote-token");
+
+        // then
+        then(blacklisted).isTrue();
+    }
+
+    @Test
+    void givenRevokedTokensInRedis_whenLoadBlacklist_thenAddTokensThatHaveNotExpired() {
+        // given
+        given(redisTemplate.scan(any(ScanOptions.class))).willReturn(keys);
+        given(keys.hasNext()).willReturn(true, true, false);
+        given(keys.next()).willReturn("blacklisted:stored-token", "blacklisted:expired-token");
+        given(redisTemplate.executePipelined(any(RedisCallback.class))).willReturn(List.of(60_000L, -2L));
+        given(redisTemplate.hasKey("blacklisted:stored-token")).willReturn(true);
+
+        // when
+        int loaded = tokenBlacklistService.loadBlacklist();
+
+        // then
+        then(loaded).isEqualTo(1);
+        then(tokenBlacklistService.isTokenBlacklisted("stored-token")).isTrue();
+        then(tokenBlacklistService.isTokenBlacklisted("expired-token")).isFalse();
+        verify(redisTemplate, never()).hasKey("blacklisted:expired-token");
+    }
+
+    /**
+     * Runs the callback passed to Redis against a mocked connection and checks what it stored.
+     */
+    @SuppressWarnings("unchecked")
+    private void verifyStoredWithoutValue(String key) {
+        ArgumentCaptor<RedisCallback<Boolean>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).execute(callback.capture());
+
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        given(connection.stringCommands()).willReturn(stringCommands);
+        callback.getValue().doInRedis(connection);
+
+        verify(stringCommands).set(
+                aryEq(key.getBytes(StandardCharsets.UTF_8)),
+                aryEq(new byte[0]),
+                eq(Expiration.milliseconds(60_000)),
+                eq(RedisStringCommands.SetOption.upsert())
+        );
+    }
+
+    private void loadBlacklist() {
+        given(redisTemplate.scan(any(ScanOptions.class))).willReturn(keys);
+        given(keys.hasNext()).willReturn(false);
+        tokenBlacklistService.loadBlacklist();
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.example.ecommerce.auth.service;
+
+import com.example.ecommerce.auth.config.TokenGenerationProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenGenerationServiceImplTest {
+
+    @Mock
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    RedisMessageListenerContainer listenerContainer;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TokenGenerationServiceImpl tokenGenerationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenGenerationService = createService(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void givenCachedGeneration_whenIsRevoked_thenAnswerWithoutRedis() {
+        // given
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get("token-generation:test-user")).willReturn(2);
+
+        // when
+        boolean olderRevoked = tokenGenerationService.isRevoked(claims("test-user", 1L));
+        boolean currentRevoked = tokenGenerationService.isRevoked(claims("test-user", 2L));
+
+        // then
+        then(olderRevoked).isTrue();
+        then(currentRevoked).isFalse();
+        verify(valueOperations, times(1)).get("token-generation:test-user");
+    }
+
+    @Test
+    void givenTokenWithoutGeneration_whenIsRevoked_thenRevokedOnlyAfterFirstIncrement() {
+        // given
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.increment("token-generation:test-user")).willReturn(1L);
+        Claims legacyClaims = Jwts.claims().subject("test-user").build();
+        boolean revokedBefore = tokenGenerationService.isRevoked(legacyClaims);
+
+        // when
+        long generation = tokenGenerationService.incrementGeneration("test-user");
+
+        // then
+        then(revokedBefore).isFalse();
+        then(generation).isEqualTo(1L);
+        then(tokenGenerationService.isRevoked(legacyClaims)).isTrue();
+        verify(redisTemplate).convertAndSend(TokenGenerationServiceImpl.GENERATION_CHANNEL, "1:test-user");
+    }
+
+    @Test
+    void givenIncrementOnAnotherNode_whenOnMessage_thenRevokeOlderTokensWithoutRedis() {
+        // given
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        byte[] body = serializer.serialize("3:remote-user");
+
+        // when
+        tokenGenerationService.onMessage(new DefaultMessage(TokenGenerationServiceImpl.GENERATION_CHANNEL.getBytes(), body), null);
+
+        // then
+        then(tokenGenerationService.isRevoked(claims("remote-user", 2L))).isTrue();
+        then(tokenGenerationService.currentGeneration("remote-user")).isEqualTo(3L);
+    }
+
+    @Test
+    void givenRedisUnavailable_whenIsRevoked_thenFailOpenWithGenerationZero() {
+        // given
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get("token-generation:test-user")).willThrow(new RedisConnectionFailureException("Redis unavailable"));
+
+        // when
+        boolean revoked = tokenGenerationService.isRevoked(claims("test-user", 0L));
+
+        // then
+        then(revoked).isFalse();
+        then(meterRegistry.get("auth.token.generation.load.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void givenRedisUnavailableWhenRefreshing_whenIsRevoked_thenKeepLastKnownGeneration() {
+        // given
+        tokenGenerationService = createService(Duration.ofNanos(1));
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get("token-generation:test-user"))
+                .willReturn(2)
+                .willThrow(new RedisConnectionFailureException("Redis unavailable"));
+        tokenGenerationService.currentGeneration("test-user");
+
+        // when
+        boolean revoked = tokenGenerationService.isRevoked(claims("test-user", 1L));
+
+        // then
+        then(revoked).isTrue();
+        then(meterRegistry.get("auth.token.generation.load.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    private TokenGenerationServiceImpl createService(Duration cacheTtl) {
+        return new TokenGenerationServiceImpl(
+                redisTemplate,
+                listenerContainer,
+                new TokenGenerationProperties(1000, cacheTtl),
+                meterRegistry
+        );
+    }
+
+    private static Claims claims(String username, long generation) {
+        return Jwts.claims()
+                .subject(username)
+                .add(TokenGenerationService.GENERATION_CLAIM, generation)
+                .build();
+    }
+
+}
@@ -1,32 +1,44 @@
 package com.example.ecommerce.auth.service;
 
 import com.example.ecommerce.auth.config.JwtProperties;
+import com.example.ecommerce.auth.config.RefreshTokenProperties;
 import com.example.ecommerce.auth.exception.InvalidJwtTokenException;
 import com.example.ecommerce.auth.exception.TokenRevokedException;
 import com.example.ecommerce.auth.model.RefreshToken;
 import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.model.enums.Role;
 import com.example.ecommerce.auth.payload.response.TokenResponse;
 import com.example.ecommerce.auth.repository.RefreshTokenRepository;
+import com.example.ecommerce.auth.security.jwt.AuthenticatedUser;
+import com.example.ecommerce.auth.security.jwt.JwtCodec;
+import com.example.ecommerce.auth.security.jwt.VerifiedJwt;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.security.Key;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -42,7 +54,6 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class TokenServiceImplTest {
 
-    @InjectMocks
     TokenServiceImpl tokenService;
 
     @Mock
@@ -54,6 +65,9 @@ class TokenServiceImplTest {
     @Mock
     UserDetailsService userDetailsService;
 
+    @Mock
+    TokenGenerationService tokenGenerationService;
+
     static final String SECRET_KEY = Encoders.BASE64.encode(
             "MockSecretKeyWithSufficientLengthForHMacSHA256".getBytes()
     );
@@ -63,12 +77,21 @@ class TokenServiceImplTest {
         given(jwtProperties.getSecret()).willReturn(SECRET_KEY);
         given(jwtProperties.getAccessExpInMs()).willReturn(900_000L);
         given(jwtProperties.getRefreshExpInMs()).willReturn(604_800_000L);
+        tokenService = new TokenServiceImpl(
+                refreshTokenRepository,
+                new JwtCodec(jwtProperties),
+                jwtProperties,
+                new RefreshTokenProperties(2, 500, 100),
+                tokenGenerationService,
+                userDetailsService
+        );
     }
 
     @Test
     void givenUserDetails_whenGenerateTokenPair_thenSaveGeneratedRefreshTokenAndReturnTokenResponse() {
         // given
         UserDetails userDetails = User.builder()
+                .id("user-id")
                 .username("test-user")
                 .password("test-pw")
                 .build();
@@ -83,23 +106,45 @@ class TokenServiceImplTest {
         verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
     }
 
+    @Test
+    void givenUser_whenGenerateTokenPair_thenAccessTokenClaimsDescribeAuthenticatedUser() {
+        // given
+        User user = User.builder()
+                .id("user-id")
+                .username("test-user")
+                .role(Role.ROLE_ADMIN)
+                .build();
+
+        // when
+        TokenResponse response = tokenService.generateTokenPair(user);
+
+        // then
+        AuthenticatedUser principal = AuthenticatedUser.fromClaims(tokenService.parseToken(response.accessToken()));
+        assertThat(principal).isNotNull();
+        assertThat(principal.id()).isEqualTo("user-id");
+        assertThat(principal.getUsername()).isEqualTo("test-user");
+        assertThat(principal.getAuthorities()).isEqualTo(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        assertThat(AuthenticatedUser.fromClaims(tokenService.parseToken(response.refreshToken()))).isNull();
+    }
+
     @Test
     void givenValidRefreshToken_whenRefreshTokenPair_thenRevokeOldTokenAndGenerateNewTokenPair() {
         // given
         User user = User.builder()
+                .id("user-id")
                 .username("test-user")
                 .build();
 
         String refreshToken = buildValidToken();
 
         RefreshToken storedOldToken = RefreshToken.builder()
-                .token(refreshToken)
+                .tokenHash(RefreshToken.hash(refreshToken))
                 .revoked(false)
                 .user(user)
                 .build();
 
         given(userDetailsService.loadUserByUsername(anyString())).willReturn(user);
-        given(refreshTokenRepository.findByToken(refreshToken)).willReturn(Optional.of(storedOldToken));
+        given(refreshTokenRepository.findByTokenHash(RefreshToken.hash(refreshToken))).willReturn(Optional.of(storedOldToken));
 
         // when
         TokenResponse response = tokenService.refreshTokenPair(refreshToken);
@@ -136,12 +181,32 @@ class TokenServiceImplTest {
         String refreshToken = buildValidToken();
 
         RefreshToken revokedToken = RefreshToken.builder()
-                .token(refreshToken)
+                .tokenHash(RefreshToken.hash(refreshToken))
                 .revoked(true)
                 .build();
 
         given(userDetailsService.loadUserByUsername(anyString())).willReturn(new User());
-        given(refreshTokenRepository.findByToken(anyString())).willReturn(Optional.of(revokedToken));
+        given(refreshTokenRepository.findByTokenHash(any())).willReturn(Optional.of(revokedToken));
+
+        // when
+        TokenRevokedException ex = catchThrowableOfType(
+                TokenRevokedException.class,
+                () -> tokenService.refreshTokenPair(refreshToken)
+        );
+
+        // then
+        assertThat(ex).isNotNull();
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+
+    @Test
+    void givenPurgedToken_whenRefreshTokenPair_thenThrowTokenRevokedException() {
+        // given
+        String refreshToken = buildValidToken();
+
+        given(userDetailsService.loadUserByUsername(anyString())).willReturn(new User());
+        given(refreshTokenRepository.findByTokenHash(any())).willReturn(Optional.empty());
 
         // when
         TokenRevokedException ex = catchThrowableOfType(
@@ -154,6 +219,27 @@ class TokenServiceImplTest {
         verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
     }
 
+    @Test
+    void givenUserAtActiveTokenCap_whenGenerateTokenPair_thenEvictOldestTokenBeforeSaving() {
+        // given
+        User user = User.builder()
+                .id("user-id")
+                .username("test-user")
+                .role(Role.ROLE_USER)
+                .build();
+
+        RefreshToken oldest = RefreshToken.builder().revoked(false).user(user).build();
+        RefreshToken newest = RefreshToken.builder().revoked(false).user(user).build();
+        given(refreshTokenRepository.lockActiveTokensByUserId(eq("user-id"), any())).willReturn(List.of(oldest, newest));
+
+        // when
+        tokenService.generateTokenPair(user);
+
+        // then
+        var inOrder = inOrder(refreshTokenRepository);
+        inOrder.verify(refreshTokenRepository).deleteAll(List.of(oldest));
+        inOrder.verify(refreshTokenRepository).save(argThat(stored -> stored.getExpiresAt() != null));
+    }
 
     @Test
     void givenMalformedToken_whenValidateToken_thenThrowInvalidJwtExceptionWithCauseMalformedJwtException() {
@@ -185,45 +271,123 @@ class TokenServiceImplTest {
         assertThat(ex.getCause()).isInstanceOf(ExpiredJwtException.class);
     }
 
+    @Test
+    void givenTokenSignedWithAnotherKey_whenValidateToken_thenThrowInvalidJwtExceptionWithCauseSignatureException() {
+        // given
+        String token = Jwts.builder()
+                .subject("test-user")
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor("AnotherSecretKeyForHMacSHA256Alg".getBytes()))
+                .compact();
+
+        // when & then
+        InvalidJwtTokenException ex = catchThrowableOfType(
+                InvalidJwtTokenException.class,
+                () -> tokenService.validateToken(token)
+        );
+
+        assertThat(ex).isNotNull();
+        assertThat(ex.getCause()).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void givenTokenVerifiedByFilter_whenExtractExpiration_thenReturnExpirationWithoutParsingAgain() {
+        // given
+        String token = "already-verified-token";
+        Date expiration = Date.from(Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(VerifiedJwt.ATTRIBUTE, new VerifiedJwt(token, Jwts.claims().expiration(expiration).build()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // when & then
+        try {
+            assertThat(tokenService.extractExpiration(token)).isEqualTo(expiration);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void givenGeneratedTokenPair_whenExtractTokenId_thenReturnDistinctCompactIds() {
+        // given
+        UserDetails user = User.builder()
+                .id("user-id")
+                .username("test-user")
+                .role(Role.ROLE_USER)
+                .build();
+        TokenResponse response = tokenService.generateTokenPair(user);
+
+        // when
+        String accessTokenId = tokenService.extractTokenId(response.accessToken());
+        String refreshTokenId = tokenService.extractTokenId(response.refreshToken());
+
+        // then
+        assertThat(accessTokenId).hasSize(22).isNotEqualTo(refreshTokenId);
+        assertThat(refreshTokenId).hasSize(22);
+        assertThat(tokenService.parseToken(response.accessToken()).get(TokenGenerationService.GENERATION_CLAIM, Long.class)).isZero();
+        verify(refreshTokenRepository).save(argThat(stored ->
+                Arrays.equals(stored.getTokenHash(), RefreshToken.hash(response.refreshToken()))));
+    }
+
+    @Test
+    void givenTokenWithoutId_whenExtractTokenId_thenReturnToken() {
+        // given
+        String token = buildValidToken();
+
+        // when & then
+        assertThat(tokenService.extractTokenId(token)).isEqualTo(token);
+    }
+
     @Test
     void givenExistingToken_whenRevokeToken_thenRevokeTokenAndSave() {
         // given
+        String token = buildValidToken();
         RefreshToken storedToken = RefreshToken.builder()
-                .token(buildValidToken())
+                .tokenHash(RefreshToken.hash(token))
                 .revoked(false)
                 .build();
 
-        given(refreshTokenRepository.findByToken(anyString())).willReturn(Optional.of(storedToken));
+        given(refreshTokenRepository.findByTokenHash(any())).willReturn(Optional.of(storedToken));
 
         // when & then
-        tokenService.revokeToken(storedToken.getToken());
+        tokenService.revokeToken(token);
 
         assertThat(storedToken.isRevoked()).isTrue();
         verify(refreshTokenRepository, times(1)).save(storedToken);
     }
 
     @Test
-    void givenActiveTokenList_whenRevokeAllTokensForUser_thenRevokeAllTokensAndSave() {
+    void givenUsername_whenRevokeAllTokensForUser_thenIncrementGenerationAndRevokeStoredTokensWithoutLoadingThem() {
         // given
         String username = "test-username";
 
-        String t1 = buildToken(username, 100_000);
-        String t2 = buildToken(username, 200_000);
-        String t3 = buildToken(username, 300_000);
+        // when
+        tokenService.revokeAllTokensForUser(username);
+
+        // then
+        verify(tokenGenerationService).incrementGeneration(username);
+        verify(refreshTokenRepository).revokeAllByUsername(username);
+        verifyNoMoreInteractions(refreshTokenRepository);
+    }
 
-        List<RefreshToken> activeTokens = List.of(
-                RefreshToken.builder().token(t1).revoked(false).build(),
-                RefreshToken.builder().token(t2).revoked(false).build(),
-                RefreshToken.builder().token(t3).revoked(false).build()
-        );
+    @Test
+    void givenRefreshTokenOfOlderGeneration_whenRefreshTokenPair_thenThrowTokenRevokedException() {
+        // given
+        String refreshToken = buildValidToken();
 
-        given(refreshTokenRepository.findActiveTokensByUserId(anyString())).willReturn(activeTokens);
+        given(userDetailsService.loadUserByUsername(anyString())).willReturn(new User());
+        given(tokenGenerationService.isRevoked(any())).willReturn(true);
 
-        // when & then
-        tokenService.revokeAllTokensForUser(username);
+        // when
+        TokenRevokedException ex = catchThrowableOfType(
+                TokenRevokedException.class,
+                () -> tokenService.refreshTokenPair(refreshToken)
+        );
 
-        activeTokens.forEach(token -> assertThat(token.isRevoked()).isTrue());
-        verify(refreshTokenRepository, times(1)).saveAll(activeTokens);
+        // then
+        assertThat(ex).isNotNull();
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
     }
 
     @Test
@@ -0,0 +1,140 @@
+package com.example.ecommerce.auth.service;
+
+import com.example.ecommerce.auth.config.UserCacheProperties;
+import com.example.ecommerce.auth.exception.UserNotFoundException;
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheServiceImplTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    RedisMessageListenerContainer listenerContainer;
+
+    UserCacheServiceImpl userCacheService;
+
+    @BeforeEach
+    void setUp() {
+        userCacheService = new UserCacheServiceImpl(
+                userRepository,
+                redisTemplate,
+                listenerContainer,
+                new UserCacheProperties(100, Duration.ofMinutes(5)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void givenCachedUser_whenGetUser_thenReturnUserWithoutLoadingAgain() {
+        // given
+        User user = User.builder().id("user-id").username("test-user").build();
+        given(userRepository.findByUsername("test-user")).willReturn(Optional.of(user));
+        userCacheService.getUser("test-user");
+
+        // when
+        User result = userCacheService.getUser("test-user");
+
+        // then
+        then(result).isSameAs(user);
+        verify(userRepository, times(1)).findByUsername("test-user");
+    }
+
+    @Test
+    void givenEvictedUser_whenGetUser_thenLoadCurrentUser() {
+        // given
+        User staleUser = User.builder().id("user-id").username("test-user").build();
+        User currentUser = User.builder().id("user-id").username("test-user").build();
+        given(userRepository.findByUsername("test-user")).willReturn(Optional.of(staleUser), Optional.of(currentUser));
+        userCacheService.getUser("test-user");
+
+        // when
+        userCacheService.evict("test-user");
+        User result = userCacheService.getUser("test-user");
+
+        // then
+        then(result).isSameAs(currentUser);
+        verify(redisTemplate).convertAndSend(UserCacheServiceImpl.EVICTION_CHANNEL, "test-user");
+    }
+
+    @Test
+    void givenPublishFails_whenEvict_thenStillEvictLocally() {
+        // given
+        User staleUser = User.builder().id("user-id").username("test-user").build();
+        User currentUser = User.builder().id("user-id").username("test-user").build();
+        given(userRepository.findByUsername("test-user")).willReturn(Optional.of(staleUser), Optional.of(currentUser));
+        doThrow(new IllegalStateException("Redis unavailable"))
+                .when(redisTemplate).convertAndSend(UserCacheServiceImpl.EVICTION_CHANNEL, "test-user");
+        userCacheService.getUser("test-user");
+
+        // when
+        userCacheService.evict("test-user");
+        User result = userCacheService.getUser("test-user");
+
+        // then
+        then(result).isSameAs(currentUser);
+    }
+
+    @Test
+    void givenUserChangedOnAnotherNode_whenGetUser_thenLoadCurrentUser() {
+        // given
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        User staleUser = User.builder().id("user-id").username("test-user").build();
+        User currentUser = User.builder().id("user-id").username("test-user").build();
+        given(userRepository.findByUsername("test-user")).willReturn(Optional.of(staleUser), Optional.of(currentUser));
+        userCacheService.getUser("test-user");
+
+        // when
+        userCacheService.onMessage(new DefaultMessage(
+                UserCacheServiceImpl.EVICTION_CHANNEL.getBytes(), serializer.serialize("test-user")), null);
+        User result = userCacheService.getUser("test-user");
+
+        // then
+        then(result).isSameAs(currentUser);
+    }
+
+    @Test
+    void givenUnknownUsername_whenGetUser_thenThrowUserNotFoundExceptionAndCacheNothing() {
+        // given
+        given(userRepository.findByUsername("missing-user")).willReturn(Optional.empty());
+
+        // when
+        UserNotFoundException ex = catchThrowableOfType(
+                UserNotFoundException.class,
+                () -> userCacheService.getUser("missing-user")
+        );
+        catchThrowableOfType(UserNotFoundException.class, () -> userCacheService.getUser("missing-user"));
+
+        // then
+        then(ex).hasMessageContaining("missing-user");
+        verify(userRepository, times(2)).findByUsername("missing-user");
+    }
+
+}
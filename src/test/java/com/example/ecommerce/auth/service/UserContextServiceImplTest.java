@@ -2,6 +2,8 @@ package com.example.ecommerce.auth.service;
 
 import com.example.ecommerce.auth.exception.AuthenticationRequiredException;
 import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.repository.UserRepository;
+import com.example.ecommerce.auth.security.jwt.AuthenticatedUser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowableOfType;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class UserContextServiceImplTest {
@@ -26,6 +29,12 @@ class UserContextServiceImplTest {
     @InjectMocks
     UserContextServiceImpl userContextService;
 
+    @Mock
+    UserCacheService userCacheService;
+
+    @Mock
+    UserRepository userRepository;
+
     @Mock
     SecurityContext securityContext;
 
@@ -60,6 +69,47 @@ class UserContextServiceImplTest {
         assertThat(result.getUsername()).isEqualTo(authenticatedUser.getUsername());
     }
 
+    @Test
+    void givenTokenPrincipal_whenGetCurrentUserId_thenReturnIdWithoutLoadingUser() {
+        // given
+        AuthenticatedUser principal = new AuthenticatedUser(
+                "user-id", "test-user", AuthorityUtils.createAuthorityList("ROLE_USER")
+        );
+
+        Authentication auth = new TestingAuthenticationToken(principal, null);
+        auth.setAuthenticated(true);
+
+        given(securityContext.getAuthentication()).willReturn(auth);
+
+        // when
+        String result = userContextService.getCurrentUserId();
+
+        // then
+        assertThat(result).isEqualTo("user-id");
+        verifyNoInteractions(userCacheService, userRepository);
+    }
+
+    @Test
+    void givenTokenPrincipal_whenGetCurrentUser_thenReturnCachedUser() {
+        // given
+        AuthenticatedUser principal = new AuthenticatedUser(
+                "user-id", "test-user", AuthorityUtils.createAuthorityList("ROLE_USER")
+        );
+        User cachedUser = User.builder().id("user-id").username("test-user").build();
+
+        Authentication auth = new TestingAuthenticationToken(principal, null);
+        auth.setAuthenticated(true);
+
+        given(securityContext.getAuthentication()).willReturn(auth);
+        given(userCacheService.getUser("test-user")).willReturn(cachedUser);
+
+        // when
+        User result = userContextService.getCurrentUser();
+
+        // then
+        assertThat(result).isSameAs(cachedUser);
+    }
+
     @Test
     void givenNullAuthentication_whenGetCurrentUser_thenThrowAuthenticationRequiredException() {
         // given
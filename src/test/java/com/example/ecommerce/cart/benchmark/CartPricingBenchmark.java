@@ -0,0 +1,153 @@
+package com.example.ecommerce.cart.benchmark;
+
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.model.embeddable.Discount;
+import com.example.ecommerce.shared.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares pricing a 50-line cart with the previous {@link BigDecimal} arithmetic against {@link Money}.
+ * <p>
+ * Run with {@code -prof gc} to compare allocation rates as well:
+ * <pre>
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.ecommerce.cart.benchmark.CartPricingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartPricingBenchmark {
+
+    private static final int CART_LINES = 50;
+
+    private Product[] products;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        products = new Product[CART_LINES];
+        quantities = new int[CART_LINES];
+
+        for (int i = 0; i < CART_LINES; i++) {
+            Product product = Product.builder()
+                    .id("product-" + i)
+                    .price(BigDecimal.valueOf(random.nextLong(100, 100_000), 2))
+                    .build();
+
+            // Every other line is discounted
+            if (i % 2 == 0) {
+                product.setDiscount(new Discount(
+                        random.nextInt(5, 50) + 0.5,
+                        LocalDateTime.now().minusDays(1),
+                        LocalDateTime.now().plusDays(1)
+                ));
+            }
+
+            products[i] = product;
+            quantities[i] = random.nextInt(1, 10);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal cartTotal = BigDecimal.ZERO;
+        for (int i = 0; i < CART_LINES; i++) {
+            LegacyProductInfo productInfo = LegacyProductInfo.calculate(quantities[i], products[i]);
+            LegacyDiscountInfo discountInfo = LegacyDiscountInfo.calculate(quantities[i], products[i]);
+            cartTotal = cartTotal
+                    .add(productInfo.totalPrice())
+                    .subtract(discountInfo.totalDiscountAmount());
+        }
+        return cartTotal;
+    }
+
+    @Benchmark
+    public Money money() {
+        Money cartTotal = Money.ZERO;
+        for (int i = 0; i < CART_LINES; i++) {
+            ProductInfo productInfo = ProductInfo.calculateProductInfo(quantities[i], products[i]);
+            DiscountInfo discountInfo = DiscountInfo.calculateDiscountInfo(quantities[i], products[i]);
+            cartTotal = cartTotal
+                    .plus(productInfo.getTotalPrice())
+                    .minus(discountInfo.getTotalDiscountAmount());
+        }
+        return cartTotal;
+    }
+
+    /**
+     * {@link ProductInfo} pricing as it was implemented with {@link BigDecimal}.
+     */
+    private record LegacyProductInfo(int quantity, BigDecimal unitPrice, BigDecimal totalPrice) {
+
+        static LegacyProductInfo calculate(int quantity, Product product) {
+            BigDecimal unitPrice = product.getPrice();
+            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            return new LegacyProductInfo(quantity, unitPrice, totalPrice);
+        }
+
+    }
+
+    /**
+     * {@link DiscountInfo} pricing as it was implemented with {@link BigDecimal}.
+     */
+    private record LegacyDiscountInfo(
+            boolean discountApplied,
+            BigDecimal discountPerItem,
+            BigDecimal totalDiscountAmount,
+            BigDecimal discountedUnitPrice,
+            BigDecimal discountedTotalPrice
+    ) {
+
+        static final LegacyDiscountInfo NO_DISCOUNT = new LegacyDiscountInfo(
+                false, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        static LegacyDiscountInfo calculate(int quantity, Product product) {
+            if (!product.isDiscountActive()) {
+                return NO_DISCOUNT;
+            }
+            BigDecimal quantityBD = BigDecimal.valueOf(quantity);
+            BigDecimal unitPrice = product.getPrice();
+            BigDecimal discountedUnitPrice = unitPrice.subtract(
+                    unitPrice.multiply(BigDecimal.valueOf(product.getDiscount().getPercentage() / 100)));
+            BigDecimal discountedTotalPrice = discountedUnitPrice.multiply(quantityBD);
+            BigDecimal discountAmountPerItem = unitPrice.subtract(discountedUnitPrice);
+            BigDecimal totalDiscountAmount = discountAmountPerItem.multiply(quantityBD);
+            return new LegacyDiscountInfo(
+                    true, discountAmountPerItem, totalDiscountAmount, discountedUnitPrice, discountedTotalPrice);
+        }
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CartPricingBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
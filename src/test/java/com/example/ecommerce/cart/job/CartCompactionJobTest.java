@@ -0,0 +1,187 @@
+package com.example.ecommerce.cart.job;
+
+import com.example.ecommerce.cart.config.CartCompactionProperties;
+import com.example.ecommerce.cart.model.Cart;
+import com.example.ecommerce.cart.model.CartItem;
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.cart.repository.CartItemRepository;
+import com.example.ecommerce.cart.repository.CartRepository;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import com.example.ecommerce.shared.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+class CartCompactionJobTest {
+
+    private static final int RETENTION_DAYS = 30;
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    CartItemRepository cartItemRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenAbandonedAndActiveCarts_whenCompact_thenDeleteAbandonedCartsInBatches() {
+        // given
+        Cart abandonedWithItems = saveCart(2, daysAgo(40));
+        Cart abandonedEmpty = saveCart(0, daysAgo(31));
+        Cart abandonedWithItem = saveCart(1, daysAgo(90));
+        Cart active = saveCart(1, daysAgo(5));
+        entityManager.clear();
+
+        // when
+        job(cartRepository, 2).compact();
+        entityManager.clear();
+
+        // then
+        then(cartRepository.findAll()).extracting(Cart::getId).containsExactly(active.getId());
+        then(cartItemRepository.findAll()).hasSize(1);
+        then(reclaimed("cart")).isEqualTo(3);
+        then(reclaimed("cart_item")).isEqualTo(3);
+        then(skipped()).isZero();
+        then(List.of(abandonedWithItems, abandonedEmpty, abandonedWithItem))
+                .allSatisfy(cart -> then(cartRepository.existsById(cart.getId())).isFalse());
+    }
+
+    @Test
+    void givenMaxBatchesReached_whenCompact_thenLeaveRemainingCartsForNextRun() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            saveCart(1, daysAgo(40));
+        }
+        entityManager.clear();
+        CartCompactionJob job = job(cartRepository, 2, 2);
+
+        // when
+        job.compact();
+        entityManager.clear();
+        long remainingAfterFirstRun = cartRepository.count();
+        job.compact();
+        entityManager.clear();
+
+        // then
+        then(remainingAfterFirstRun).isEqualTo(1);
+        then(cartRepository.count()).isZero();
+        then(reclaimed("cart")).isEqualTo(5);
+    }
+
+    @Test
+    void givenCartTouchedAfterSelection_whenCompact_thenSpareCartAndCountSkipped() {
+        // given
+        Cart touched = saveCart(1, daysAgo(40));
+        Cart abandoned = saveCart(1, daysAgo(40));
+        entityManager.clear();
+
+        // The touched cart is modified right after the job selected it
+        CartRepository racingRepository = mock(CartRepository.class, delegatesTo(cartRepository));
+        willAnswer(invocation -> {
+            List<Long> cartIds = cartRepository.findAbandonedCartIdsAfter(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            jdbcTemplate.update("UPDATE cart SET updated_at = ? WHERE id = ?", Timestamp.from(Instant.now()), touched.getId());
+            return cartIds;
+        }).given(racingRepository).findAbandonedCartIdsAfter(anyLong(), any(Instant.class), any(Pageable.class));
+
+        // when
+        job(racingRepository, 10).compact();
+        entityManager.clear();
+
+        // then
+        then(cartRepository.existsById(touched.getId())).isTrue();
+        then(cartRepository.existsById(abandoned.getId())).isFalse();
+        then(reclaimed("cart")).isEqualTo(1);
+        then(skipped()).isEqualTo(1);
+    }
+
+    private CartCompactionJob job(CartRepository repository, int batchSize) {
+        return job(repository, batchSize, 100);
+    }
+
+    private CartCompactionJob job(CartRepository repository, int batchSize, int maxBatchesPerRun) {
+        return new CartCompactionJob(
+                repository,
+                cartItemRepository,
+                new CartCompactionProperties(RETENTION_DAYS, batchSize, maxBatchesPerRun),
+                transactionManager,
+                meterRegistry
+        );
+    }
+
+    private Cart saveCart(int itemCount, Instant lastTouched) {
+        Cart cart = Cart.builder().build();
+        for (int i = 0; i < itemCount; i++) {
+            cart.getCartItems().add(CartItem.builder()
+                    .cart(cart)
+                    .productInfo(new ProductInfo(1, Money.ofMinor(100), Money.ofMinor(100)))
+                    .discountInfo(new DiscountInfo())
+                    .build());
+        }
+        cart = cartRepository.saveAndFlush(cart);
+        jdbcTemplate.update("UPDATE cart SET created_at = ? WHERE id = ?", Timestamp.from(lastTouched), cart.getId());
+        return cart;
+    }
+
+    private static Instant daysAgo(int days) {
+        return Instant.now().minus(days, ChronoUnit.DAYS);
+    }
+
+    private double reclaimed(String table) {
+        return meterRegistry.get("cart.compaction.reclaimed").tag("table", table).counter().count();
+    }
+
+    private double skipped() {
+        return meterRegistry.get("cart.compaction.skipped").counter().count();
+    }
+
+}
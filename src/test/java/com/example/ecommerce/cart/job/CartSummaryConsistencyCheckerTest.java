@@ -0,0 +1,120 @@
+package com.example.ecommerce.cart.job;
+
+import com.example.ecommerce.cart.config.CartConsistencyCheckProperties;
+import com.example.ecommerce.cart.model.Cart;
+import com.example.ecommerce.cart.model.CartItem;
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.cart.repository.CartRepository;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+class CartSummaryConsistencyCheckerTest {
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    CartSummaryConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+        // Smaller than the number of carts, so that the check spans several batches
+        checker = new CartSummaryConsistencyChecker(cartRepository, new CartConsistencyCheckProperties(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenCorruptedSummaries_whenCheckConsistency_thenRepairFromCartItems() {
+        // given
+        Cart consistent = saveCart(2, 1500);
+        Cart wrongCount = saveCart(3, 1000);
+        Cart wrongTotal = saveCart(1, 700);
+        Cart emptyWithTotals = saveCart();
+        entityManager.flush();
+
+        jdbcTemplate.update("UPDATE cart SET item_count = 99 WHERE id = ?", wrongCount.getId());
+        jdbcTemplate.update("UPDATE cart SET total_price = 1 WHERE id = ?", wrongTotal.getId());
+        jdbcTemplate.update("UPDATE cart SET item_count = 5, total_price = 50 WHERE id = ?", emptyWithTotals.getId());
+        entityManager.clear();
+
+        // when
+        checker.checkConsistency();
+        entityManager.clear();
+
+        // then
+        thenTotals(consistent, 2, 1500);
+        thenTotals(wrongCount, 3, 1000);
+        thenTotals(wrongTotal, 1, 700);
+        thenTotals(emptyWithTotals, 0, 0);
+    }
+
+    @Test
+    void givenConsistentSummaries_whenCheckConsistency_thenLeaveCartsUntouched() {
+        // given
+        Cart cart = saveCart(4, 2000);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        checker.checkConsistency();
+        entityManager.clear();
+
+        // then
+        thenTotals(cart, 4, 2000);
+        then(cartRepository.findById(cart.getId()).orElseThrow().getUpdatedAt()).isNull();
+    }
+
+    private Cart saveCart(int... itemQuantityAndTotal) {
+        Cart cart = Cart.builder().build();
+        if (itemQuantityAndTotal.length == 2) {
+            int quantity = itemQuantityAndTotal[0];
+            Money total = Money.ofMinor(itemQuantityAndTotal[1]);
+            cart.getCartItems().add(CartItem.builder()
+                    .cart(cart)
+                    .productInfo(new ProductInfo(quantity, total, total))
+                    .discountInfo(new DiscountInfo())
+                    .build());
+            cart.setItemCount(quantity);
+            cart.setTotalPrice(total);
+        }
+        return cartRepository.save(cart);
+    }
+
+    private void thenTotals(Cart cart, int itemCount, long totalMinor) {
+        Cart reloaded = cartRepository.findById(cart.getId()).orElseThrow();
+        then(reloaded.getItemCount()).isEqualTo(itemCount);
+        then(reloaded.getTotalPrice()).isEqualTo(Money.ofMinor(totalMinor));
+    }
+
+}
@@ -13,6 +13,7 @@ import com.example.ecommerce.cart.repository.CartItemRepository;
 import com.example.ecommerce.product.exception.InsufficientStockException;
 import com.example.ecommerce.product.model.Product;
 import com.example.ecommerce.product.service.ProductService;
+import com.example.ecommerce.shared.money.Money;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -20,11 +21,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
@@ -62,7 +66,7 @@ class CartItemServiceImplTest {
 
         CreateCartItemRequest request = new CreateCartItemRequest(product.getId(), 1);
 
-        given(cartService.getCartByAuthenticatedUser()).willReturn(cart);
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(cart);
         given(productService.findProductEntityById(anyString())).willReturn(product);
         given(cartItemRepository.findByCartIdAndProductId(anyLong(), anyString())).willReturn(Optional.empty());
         given(cartItemRepository.save(any(CartItem.class))).willReturn(new CartItem());
@@ -98,7 +102,7 @@ class CartItemServiceImplTest {
                 .product(product)
                 .build();
 
-        given(cartService.getCartByAuthenticatedUser()).willReturn(cart);
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(cart);
         given(productService.findProductEntityById(anyString())).willReturn(product);
         given(cartItemRepository.findByCartIdAndProductId(anyLong(), anyString())).willReturn(Optional.of(cartItem));
         given(cartItemRepository.save(any(CartItem.class))).willReturn(cartItem);
@@ -113,6 +117,42 @@ class CartItemServiceImplTest {
         verify(cartItemMapper, times(1)).mapToResponse(cartItem);
     }
 
+    @Test
+    void givenCreateCartItemRequest_whenCartItemFound_thenAddOnlyDifferenceToCartTotals() {
+        // given
+        Cart cart = Cart.builder()
+                .id(1L)
+                .build();
+
+        Product product = Product.builder()
+                .id("product-id")
+                .stock(50)
+                .price(BigDecimal.TEN)
+                .build();
+
+        CartItem cartItem = CartItem.builder()
+                .id("cart-item-id")
+                .cart(cart)
+                .product(product)
+                .productInfo(new ProductInfo(2, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(2 * 10))))
+                .discountInfo(new DiscountInfo())
+                .build();
+
+        CreateCartItemRequest request = new CreateCartItemRequest(product.getId(), 3);
+
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(cart);
+        given(productService.findProductEntityById(anyString())).willReturn(product);
+        given(cartItemRepository.findByCartIdAndProductId(anyLong(), anyString())).willReturn(Optional.of(cartItem));
+        given(cartItemRepository.save(any(CartItem.class))).willReturn(cartItem);
+
+        // when
+        cartItemService.addItemToCart(request);
+
+        // then
+        then(cartItem.getQuantity()).isEqualTo(5);
+        verify(cartService, times(1)).updateCartTotals(cart, 3, Money.of(BigDecimal.valueOf(3 * 10)));
+    }
+
     @Test
     void givenCreateCartItemRequest_whenRequestedQuantityIsInvalid_thenThrowInsufficientStockException() {
         // given
@@ -128,7 +168,7 @@ class CartItemServiceImplTest {
 
         CreateCartItemRequest request = new CreateCartItemRequest(product.getId(), 100);
 
-        given(cartService.getCartByAuthenticatedUser()).willReturn(cart);
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(cart);
         given(productService.findProductEntityById(anyString())).willReturn(product);
         given(cartItemRepository.findByCartIdAndProductId(anyLong(), anyString())).willReturn(Optional.empty());
         doThrow(InsufficientStockException.class).when(productService).checkStock(anyString(), eq(request.quantity()));
@@ -162,7 +202,7 @@ class CartItemServiceImplTest {
                 .id("item-id")
                 .cart(cart)
                 .product(product)
-                .productInfo(new ProductInfo(5, BigDecimal.TEN, BigDecimal.valueOf(5 * 10)))
+                .productInfo(new ProductInfo(5, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(5 * 10))))
                 .discountInfo(new DiscountInfo())
                 .build();
 
@@ -178,6 +218,7 @@ class CartItemServiceImplTest {
         // then
         then(response).isNotNull();
         then(cartItem.getQuantity()).isEqualTo(10);
+        verify(cartService, times(1)).getCartByAuthenticatedUserForUpdate();
         verify(cartItemRepository, times(1)).save(cartItem);
         verify(cartItemMapper, times(1)).mapToResponse(cartItem);
     }
@@ -204,7 +245,7 @@ class CartItemServiceImplTest {
         // given
         Cart cart = Cart.builder()
                 .id(1L)
-                .totalPrice(BigDecimal.valueOf(1000))
+                .totalPrice(Money.of(BigDecimal.valueOf(1000)))
                 .build();
 
 
@@ -222,14 +263,57 @@ class CartItemServiceImplTest {
                 .discountInfo(new DiscountInfo())
                 .build();
 
-        given(cartService.getCartByAuthenticatedUser()).willReturn(cart);
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(cart);
         given(cartItemRepository.findById(anyString())).willReturn(Optional.of(cartItem));
 
         // when
         cartItemService.removeItemFromCart(cartItem.getId());
 
         // then
+        verify(cartService, times(1)).updateCartTotals(cart, 0, Money.ZERO);
         verify(cartItemRepository, times(1)).delete(cartItem);
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenGuestCartQuantities_whenMergedIntoCart_thenSaveItemsInBatchAndUpdateTotalsOnce() {
+        // given
+        Cart cart = Cart.builder()
+                .id(1L)
+                .build();
+
+        Product existingProduct = Product.builder()
+                .id("existing-product")
+                .stock(3)
+                .price(BigDecimal.TEN)
+                .build();
+
+        Product newProduct = Product.builder()
+                .id("new-product")
+                .stock(50)
+                .price(BigDecimal.valueOf(5))
+                .build();
+
+        CartItem existingItem = CartItem.builder()
+                .id("cart-item-id")
+                .cart(cart)
+                .product(existingProduct)
+                .productInfo(new ProductInfo(2, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(2 * 10))))
+                .discountInfo(new DiscountInfo())
+                .build();
+
+        Map<String, Integer> quantities = Map.of(existingProduct.getId(), 4, newProduct.getId(), 2);
+
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(cart);
+        given(productService.findProductEntitiesByIds(quantities.keySet())).willReturn(List.of(existingProduct, newProduct));
+        given(cartItemRepository.findAllByCartIdAndProductIdIn(cart.getId(), quantities.keySet())).willReturn(List.of(existingItem));
+
+        // when
+        cartItemService.mergeItemsIntoCart(quantities);
+
+        // then: existing item is capped at available stock (3), new item is added with 2
+        then(existingItem.getQuantity()).isEqualTo(3);
+        verify(cartItemRepository, times(1)).saveAll(anyList());
+        verify(cartService, times(1)).updateCartTotals(cart, 1 + 2, Money.of(BigDecimal.valueOf(10 + 2 * 5)));
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.example.ecommerce.cart.service;
 
+import com.example.ecommerce.auth.model.User;
 import com.example.ecommerce.auth.service.UserContextService;
 import com.example.ecommerce.cart.mapper.CartMapper;
 import com.example.ecommerce.cart.model.Cart;
@@ -8,6 +9,7 @@ import com.example.ecommerce.cart.model.embeddable.ProductInfo;
 import com.example.ecommerce.cart.payload.response.CartResponse;
 import com.example.ecommerce.cart.payload.response.CartSummaryResponse;
 import com.example.ecommerce.cart.repository.CartRepository;
+import com.example.ecommerce.shared.money.Money;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -87,59 +89,59 @@ class CartServiceImplTest {
     }
 
     @Test
-    void givenCurrentUsername_whenCurrentUserCartFound_thenConvertAndReturnCartSummaryResponse() {
+    void givenCurrentUser_whenCurrentUserCartFound_thenReturnCartSummaryWithoutLoadingCart() {
         // given
-        Cart cart = Cart.builder()
-                .id(1L)
-                .build();
+        User user = User.builder().id("user-id").build();
+        CartSummaryResponse expected = new CartSummaryResponse(1L, 5, Money.of(BigDecimal.valueOf(50)));
 
-        CartItem item = CartItem.builder()
-                .id(UUID.randomUUID().toString())
-                .cart(cart)
-                .productInfo(new ProductInfo(5, BigDecimal.TEN, BigDecimal.valueOf(5 * 10)))
-                .build();
+        given(userContextService.getCurrentUserId()).willReturn(user.getId());
+        given(cartRepository.findSummaryByUserId(user.getId())).willReturn(Optional.of(expected));
 
-        cart.setCartItems(List.of(item));
-        cart.setTotalPrice(item.getProductInfo().getTotalPrice());
+        // when
+        CartSummaryResponse actual = cartService.getCartSummary();
+
+        // then
+        then(actual).isEqualTo(expected);
+        verify(cartRepository, never()).findByUser(anyString());
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
 
-        CartSummaryResponse expected = new CartSummaryResponse(
-                cart.getId(),
-                item.getQuantity(),
-                item.getProductInfo().getTotalPrice()
-        );
+    @Test
+    void givenCurrentUser_whenCurrentUserCartNotFound_thenReturnEmptyCartSummary() {
+        // given
+        User user = User.builder().id("user-id").build();
 
-        given(userContextService.getCurrentUsername()).willReturn("test-user");
-        given(cartRepository.findByUser(anyString())).willReturn(Optional.of(cart));
+        given(userContextService.getCurrentUserId()).willReturn(user.getId());
+        given(cartRepository.findSummaryByUserId(user.getId())).willReturn(Optional.empty());
 
         // when
         CartSummaryResponse actual = cartService.getCartSummary();
 
         // then
-        then(actual).isNotNull();
-        then(actual).isEqualTo(expected);
-        then(actual.itemCount()).isEqualTo(item.getQuantity());
+        then(actual.itemCount()).isZero();
+        then(actual.totalPrice()).isEqualTo(Money.ZERO);
+        verify(cartRepository, never()).save(any(Cart.class));
     }
 
     @Test
-    void givenCurrentUserCartAndPriceDifference_whenTotalPriceUpdated_thenSaveUserCart() {
+    void givenCartAndDifferences_whenTotalsUpdated_thenSaveCartWithAdjustedTotals() {
         // given
         Cart cart = Cart.builder()
-                .totalPrice(BigDecimal.valueOf(100_000))
+                .itemCount(3)
+                .totalPrice(Money.of(BigDecimal.valueOf(100_000)))
                 .build();
 
-        given(userContextService.getCurrentUsername()).willReturn("test-user");
-        given(cartRepository.findByUser(anyString())).willReturn(Optional.of(cart));
-
         // when
-        cartService.updateCartTotalPrice(BigDecimal.valueOf(50_000));
+        cartService.updateCartTotals(cart, 2, Money.of(BigDecimal.valueOf(50_000)));
 
         // then
-        then(cart.getTotalPrice()).isEqualTo(BigDecimal.valueOf(150_000));
+        then(cart.getItemCount()).isEqualTo(5);
+        then(cart.getTotalPrice()).isEqualTo(Money.of(BigDecimal.valueOf(150_000)));
         verify(cartRepository, times(1)).save(cart);
     }
 
     @Test
-    void givenCurrentUserCart_whenCartCleared_thenRemoveItemsAndSetTotalPriceToZero() {
+    void givenCurrentUserCart_whenCartCleared_thenRemoveItemsAndResetTotals() {
         // given
         Cart cart = Cart.builder()
                 .id(1L)
@@ -148,16 +150,17 @@ class CartServiceImplTest {
         CartItem item1 = CartItem.builder()
                 .id(UUID.randomUUID().toString())
                 .cart(cart)
-                .productInfo(new ProductInfo(5, BigDecimal.TEN, BigDecimal.valueOf(5 * 10)))
+                .productInfo(new ProductInfo(5, Money.of(BigDecimal.TEN), Money.of(BigDecimal.valueOf(5 * 10))))
                 .build();
 
         CartItem item2 = CartItem.builder()
                 .id(UUID.randomUUID().toString())
                 .cart(cart)
-                .productInfo(new ProductInfo(7, BigDecimal.valueOf(5), BigDecimal.valueOf(7 * 5)))
+                .productInfo(new ProductInfo(7, Money.of(BigDecimal.valueOf(5)), Money.of(BigDecimal.valueOf(7 * 5))))
                 .build();
 
-        BigDecimal totalPrice = item1.getProductInfo().getTotalPrice().add(item2.getProductInfo().getTotalPrice());
+        Money totalPrice = item1.getProductInfo().getTotalPrice().plus(item2.getProductInfo().getTotalPrice());
+        cart.setItemCount(item1.getQuantity() + item2.getQuantity());
         cart.setTotalPrice(totalPrice);
         cart.getCartItems().add(item1);
         cart.getCartItems().add(item2);
@@ -170,7 +173,8 @@ class CartServiceImplTest {
 
         // then
         then(cart.getCartItems()).hasSize(0);
-        then(cart.getTotalPrice()).isEqualTo(BigDecimal.ZERO);
+        then(cart.getItemCount()).isZero();
+        then(cart.getTotalPrice()).isEqualTo(Money.ZERO);
         verify(cartRepository, times(1)).save(cart);
     }
 
@@ -0,0 +1,206 @@
+package com.example.ecommerce.cart.service;
+
+import com.example.ecommerce.cart.config.GuestCartProperties;
+import com.example.ecommerce.cart.exception.CartItemNotFoundException;
+import com.example.ecommerce.cart.exception.GuestCartLimitExceededException;
+import com.example.ecommerce.cart.payload.request.CreateCartItemRequest;
+import com.example.ecommerce.cart.payload.response.GuestCartResponse;
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.factory.ProductFactory;
+import com.example.ecommerce.product.mapper.ProductMapper;
+import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.service.ProductService;
+import com.example.ecommerce.shared.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GuestCartServiceImplTest {
+
+    static final String CART_ID = "guest-cart-id";
+    static final String CART_KEY = "guest-cart:" + CART_ID;
+
+    GuestCartServiceImpl guestCartService;
+
+    @Mock
+    CartItemService cartItemService;
+
+    @Mock
+    ProductService productService;
+
+    @Mock
+    ProductMapper productMapper;
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    @Mock
+    HashOperations<String, Object, Object> hashOperations;
+
+    @BeforeEach
+    void setUp() {
+        GuestCartProperties properties = new GuestCartProperties("c2VjcmV0", Duration.ofDays(7), 2, true);
+        guestCartService = new GuestCartServiceImpl(
+                cartItemService, productService, productMapper, properties, redisTemplate
+        );
+        given(redisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+    }
+
+    @Test
+    void givenNoCartId_whenGetCart_thenReturnEmptyCartWithoutTouchingRedis() {
+        // when
+        GuestCartResponse response = guestCartService.getCart(null);
+
+        // then
+        then(response.itemCount()).isZero();
+        then(response.items()).isEmpty();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void givenExistingCart_whenGetCart_thenPriceItemsAndExtendTtl() {
+        // given
+        Product product = ProductFactory.product();
+        given(hashOperations.entries(CART_KEY)).willReturn(Map.of(product.getId(), "3"));
+        given(productService.findProductEntitiesByIds(any())).willReturn(List.of(product));
+
+        // when
+        GuestCartResponse response = guestCartService.getCart(CART_ID);
+
+        // then
+        then(response.itemCount()).isEqualTo(3);
+        then(response.totalPrice()).isEqualTo(Money.of(BigDecimal.valueOf(3000)));
+        verify(redisTemplate, times(1)).expire(CART_KEY, Duration.ofDays(7));
+    }
+
+    @Test
+    void givenProductAlreadyInCart_whenAddItem_thenIncreaseStoredQuantity() {
+        // given
+        Product product = ProductFactory.productWithStock(10);
+        given(productService.findProductEntityById(product.getId())).willReturn(product);
+        givenAddItemScriptReturns(0L, 5L);
+        given(hashOperations.entries(CART_KEY)).willReturn(Map.of(product.getId(), "5"));
+        given(productService.findProductEntitiesByIds(any())).willReturn(List.of(product));
+
+        // when
+        GuestCartResponse response = guestCartService.addItem(CART_ID, new CreateCartItemRequest(product.getId(), 3));
+
+        // then
+        then(response.itemCount()).isEqualTo(5);
+        verify(redisTemplate, times(1)).execute(
+                any(RedisScript.class), eq(List.of(CART_KEY)), eq(product.getId()), eq("3"), eq("2"), eq("10")
+        );
+        verify(hashOperations, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void givenQuantityAboveStock_whenAddItem_thenThrowInsufficientStockException() {
+        // given
+        Product product = ProductFactory.productWithStock(2);
+        given(productService.findProductEntityById(product.getId())).willReturn(product);
+        givenAddItemScriptReturns(2L, 3L);
+
+        // when
+        InsufficientStockException ex = catchThrowableOfType(
+                InsufficientStockException.class,
+                () -> guestCartService.addItem(CART_ID, new CreateCartItemRequest(product.getId(), 3))
+        );
+
+        // then
+        then(ex).isNotNull();
+        then(ex.getMessage()).contains("Requested: 3");
+    }
+
+    @Test
+    void givenFullCart_whenAddNewProduct_thenThrowGuestCartLimitExceededException() {
+        // given
+        Product product = ProductFactory.product();
+        given(productService.findProductEntityById(product.getId())).willReturn(product);
+        givenAddItemScriptReturns(1L, 0L);
+
+        // when
+        GuestCartLimitExceededException ex = catchThrowableOfType(
+                GuestCartLimitExceededException.class,
+                () -> guestCartService.addItem(CART_ID, new CreateCartItemRequest(product.getId(), 1))
+        );
+
+        // then
+        then(ex).isNotNull();
+        verify(hashOperations, never()).put(anyString(), any(), any());
+    }
+
+    @Test
+    void givenProductNotInCart_whenRemoveItem_thenThrowCartItemNotFoundException() {
+        // given
+        given(hashOperations.delete(CART_KEY, "product-id")).willReturn(0L);
+
+        // when
+        CartItemNotFoundException ex = catchThrowableOfType(
+                CartItemNotFoundException.class,
+                () -> guestCartService.removeItem(CART_ID, "product-id")
+        );
+
+        // then
+        then(ex).isNotNull();
+    }
+
+    @Test
+    void givenGuestCart_whenMergedIntoUserCart_thenMergeInSingleBatchAndDeleteGuestCart() {
+        // given
+        given(hashOperations.entries(CART_KEY)).willReturn(Map.of("product-1", "2", "product-2", "1"));
+
+        // when
+        guestCartService.mergeIntoUserCart(CART_ID);
+
+        // then
+        verify(cartItemService, times(1)).mergeItemsIntoCart(Map.of("product-1", 2, "product-2", 1));
+        verify(redisTemplate, times(1)).delete(CART_KEY);
+    }
+
+    @Test
+    void givenMergeFails_whenMergedIntoUserCart_thenKeepGuestCart() {
+        // given
+        given(hashOperations.entries(CART_KEY)).willReturn(Map.of("product-1", "2"));
+        doThrow(IllegalStateException.class).when(cartItemService).mergeItemsIntoCart(any());
+
+        // when
+        IllegalStateException ex = catchThrowableOfType(
+                IllegalStateException.class,
+                () -> guestCartService.mergeIntoUserCart(CART_ID)
+        );
+
+        // then
+        then(ex).isNotNull();
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenAddItemScriptReturns(long outcome, long quantity) {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .willReturn(List.of(outcome, quantity));
+    }
+
+}
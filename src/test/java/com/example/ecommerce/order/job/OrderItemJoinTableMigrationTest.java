@@ -0,0 +1,126 @@
+package com.example.ecommerce.order.job;
+
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.OrderItem;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import com.example.ecommerce.shared.money.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Runs the migration against a database still holding the former join table. Dropping a table
+ * commits the surrounding transaction, so the test runs without one and cleans up after itself.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderItemJoinTableMigrationTest {
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    JdbcTemplate jdbcTemplate;
+
+    OrderItemJoinTableMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migration = new OrderItemJoinTableMigration(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + OrderItemJoinTableMigration.JOIN_TABLE);
+        orderRepository.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenItemsOnlyInJoinTable_whenMigrated_thenBackfillOrderIdAndDropJoinTable() {
+        // given
+        Order order = orderRepository.save(createOrderWithItems(3));
+        List<String> itemIds = order.getOrderItems().stream().map(OrderItem::getId).toList();
+        jdbcTemplate.execute("CREATE TABLE orders_order_items (order_id VARCHAR(255) NOT NULL, order_items_id VARCHAR(255) NOT NULL)");
+        itemIds.subList(0, 2).forEach(itemId -> {
+            jdbcTemplate.update("INSERT INTO orders_order_items (order_id, order_items_id) VALUES (?, ?)", order.getId(), itemId);
+            jdbcTemplate.update("UPDATE order_item SET order_id = NULL WHERE id = ?", itemId);
+        });
+
+        // when
+        migration.afterSingletonsInstantiated();
+
+        // then
+        then(jdbcTemplate.queryForList("SELECT order_id FROM order_item", String.class))
+                .hasSize(3)
+                .containsOnly(order.getId());
+        then(joinTableCount()).isZero();
+    }
+
+    @Test
+    void givenJoinTableAlreadyDropped_whenMigrated_thenLeaveOrderItemsUntouched() {
+        // given
+        Order order = orderRepository.save(createOrderWithItems(2));
+
+        // when
+        migration.afterSingletonsInstantiated();
+        migration.afterSingletonsInstantiated();
+
+        // then
+        then(jdbcTemplate.queryForList("SELECT order_id FROM order_item", String.class))
+                .hasSize(2)
+                .containsOnly(order.getId());
+        then(joinTableCount()).isZero();
+    }
+
+    private int joinTableCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = UPPER(?)",
+                Integer.class,
+                OrderItemJoinTableMigration.JOIN_TABLE
+        );
+    }
+
+    private static Order createOrderWithItems(int itemCount) {
+        Order order = Order.builder()
+                .orderStatus(OrderStatus.PENDING)
+                .totalPrice(Money.ofMinor(1000L * itemCount))
+                .build();
+        order.setOrderItems(IntStream.range(0, itemCount)
+                .mapToObj(i -> OrderItem.builder()
+                        .order(order)
+                        .productInfo(new ProductInfo(1, Money.ofMinor(1000), Money.ofMinor(1000)))
+                        .discountInfo(new DiscountInfo())
+                        .build())
+                .toList());
+        return order;
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.ecommerce.order.job;
+
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.order.config.OrderSummaryBackfillProperties;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.order.repository.OrderSummaryRepository;
+import com.example.ecommerce.product.service.ProductImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderSummaryBackfillRunnerTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    ProductImageService productImageService;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    OrderSummaryBackfillRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new OrderSummaryBackfillRunner(
+                orderRepository,
+                orderSummaryRepository,
+                productImageService,
+                transactionManager,
+                new OrderSummaryBackfillProperties(true, 10)
+        );
+    }
+
+    @Test
+    void givenSummaryCreatedConcurrently_whenBackfill_thenRetryBatchWithoutExistingSummaries() {
+        // given
+        given(orderRepository.findWithoutSummaryAfter(eq(""), any()))
+                .willReturn(List.of(order("order-1"), order("order-2")))
+                .willReturn(List.of(order("order-2")));
+        given(orderSummaryRepository.saveAllAndFlush(anyList()))
+                .willThrow(new DataIntegrityViolationException("duplicate key order-1"))
+                .willReturn(List.of());
+
+        // when
+        runner.run(null);
+
+        // then
+        verify(orderRepository, times(2)).findWithoutSummaryAfter(eq(""), any());
+        verify(orderSummaryRepository, times(2)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void givenConflictsOnEveryAttempt_whenBackfill_thenGiveUp() {
+        // given
+        given(orderRepository.findWithoutSummaryAfter(eq(""), any())).willReturn(List.of(order("order-1")));
+        given(orderSummaryRepository.saveAllAndFlush(anyList()))
+                .willThrow(new DataIntegrityViolationException("duplicate key order-1"));
+
+        // when & then
+        DataIntegrityViolationException ex = catchThrowableOfType(
+                DataIntegrityViolationException.class,
+                () -> runner.run(null)
+        );
+
+        then(ex).isNotNull();
+        verify(orderSummaryRepository, times(OrderSummaryBackfillRunner.MAX_CONFLICTS + 1)).saveAllAndFlush(anyList());
+    }
+
+    private static Order order(String orderId) {
+        Order order = Order.builder()
+                .user(User.builder().id("user-id").build())
+                .orderDate(LocalDateTime.now())
+                .orderItems(List.of())
+                .build();
+        order.setId(orderId);
+        return order;
+    }
+
+}
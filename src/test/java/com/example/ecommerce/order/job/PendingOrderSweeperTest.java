@@ -0,0 +1,80 @@
+package com.example.ecommerce.order.job;
+
+import com.example.ecommerce.order.config.AsyncCheckoutProperties;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.order.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PendingOrderSweeperTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    OrderService orderService;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    PendingOrderSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        AsyncCheckoutProperties properties = new AsyncCheckoutProperties(10, 1, Duration.ofSeconds(5), Duration.ofMinutes(15), 50);
+        sweeper = new PendingOrderSweeper(orderRepository, orderService, properties, meterRegistry);
+    }
+
+    @Test
+    void givenStalePendingOrders_whenSweep_thenFailEachOrderOlderThanTimeout() {
+        // given
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        given(orderRepository.findIdsByOrderStatusPlacedBefore(eq(OrderStatus.PENDING), cutoff.capture(), page.capture()))
+                .willReturn(List.of("stale-order", "completed-meanwhile"));
+        given(orderService.failPendingOrder("stale-order")).willReturn(OrderStatus.FAILED);
+        given(orderService.failPendingOrder("completed-meanwhile")).willReturn(OrderStatus.COMPLETED);
+
+        // when
+        sweeper.sweep();
+
+        // then
+        then(cutoff.getValue()).isBefore(LocalDateTime.now().minusMinutes(14));
+        then(page.getValue().getPageSize()).isEqualTo(50);
+        then(meterRegistry.counter("order.checkout.pending.expired").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenOrderThatCannotBeFailed_whenSweep_thenContinueWithRemainingOrders() {
+        // given
+        given(orderRepository.findIdsByOrderStatusPlacedBefore(eq(OrderStatus.PENDING), any(), any()))
+                .willReturn(List.of("locked-order", "stale-order"));
+        given(orderService.failPendingOrder("locked-order")).willThrow(new IllegalStateException("lock timeout"));
+        given(orderService.failPendingOrder("stale-order")).willReturn(OrderStatus.FAILED);
+
+        // when
+        sweeper.sweep();
+
+        // then
+        verify(orderService).failPendingOrder("stale-order");
+        then(meterRegistry.counter("order.checkout.pending.expired").count()).isEqualTo(1);
+    }
+
+}
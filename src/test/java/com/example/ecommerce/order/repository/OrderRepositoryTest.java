@@ -0,0 +1,163 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.OrderItem;
+import com.example.ecommerce.order.model.OrderSummary;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Persistence tests for orders. JDBC batching is disabled so that every inserted row shows up as
+ * a separate statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.ecommerce.order.repository.SqlStatementCounter",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+})
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+class OrderRepositoryTest {
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenOrderWithItems_whenSaved_thenInsertOneRowPerItemWithoutJoinTable() {
+        // given
+        Order order = createOrderWithItems(3);
+        SqlStatementCounter.clear();
+
+        // when
+        orderRepository.save(order);
+        entityManager.flush();
+
+        // then
+        then(SqlStatementCounter.count("insert into orders ")).isEqualTo(1);
+        then(SqlStatementCounter.count("insert into order_item ")).isEqualTo(3);
+        then(SqlStatementCounter.count("insert")).isEqualTo(4);
+        then(SqlStatementCounter.countReferencing("orders_order_items")).isZero();
+    }
+
+    @Test
+    void givenSavedOrder_whenLoadedWithItems_thenReadItemsThroughOrderIdColumn() {
+        // given
+        Order order = orderRepository.save(createOrderWithItems(2));
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.clear();
+
+        // when
+        Order loaded = orderRepository.findById(order.getId()).orElseThrow();
+        int itemCount = loaded.getOrderItems().size();
+
+        // then
+        then(itemCount).isEqualTo(2);
+        then(SqlStatementCounter.countReferencing("orders_order_items")).isZero();
+    }
+
+    @Test
+    void givenOrdersWithAndWithoutSummary_whenPagingWithoutSummaryAfter_thenVisitOnlyUnsummarizedOrdersInIdOrder() {
+        // given
+        List<String> orderIds = IntStream.range(0, 3)
+                .mapToObj(i -> orderRepository.save(createOrderWithItems(1)).getId())
+                .sorted()
+                .toList();
+        orderSummaryRepository.save(OrderSummary.builder()
+                .id(orderIds.get(1))
+                .userId("test-user")
+                .orderDate(LocalDateTime.now())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<String> visited = new ArrayList<>();
+        List<Order> batch = orderRepository.findWithoutSummaryAfter("", PageRequest.ofSize(1));
+        while (!batch.isEmpty()) {
+            visited.add(batch.get(0).getId());
+            batch = orderRepository.findWithoutSummaryAfter(batch.get(0).getId(), PageRequest.ofSize(1));
+        }
+
+        // then
+        then(visited).containsExactly(orderIds.get(0), orderIds.get(2));
+    }
+
+    @Test
+    void givenOrdersOfDifferentAgesAndStates_whenFindIdsByStatusPlacedBefore_thenReturnOnlyOldOnesInStateOldestFirst() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        Order oldest = createOrderWithItems(1);
+        oldest.setOrderDate(now.minusHours(2));
+        Order old = createOrderWithItems(1);
+        old.setOrderDate(now.minusHours(1));
+        Order recent = createOrderWithItems(1);
+        Order oldCompleted = createOrderWithItems(1);
+        oldCompleted.setOrderDate(now.minusHours(3));
+        oldCompleted.setOrderStatus(OrderStatus.COMPLETED);
+        orderRepository.saveAll(List.of(old, recent, oldest, oldCompleted));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<String> orderIds = orderRepository.findIdsByOrderStatusPlacedBefore(
+                OrderStatus.PENDING, now.minusMinutes(15), PageRequest.ofSize(10));
+
+        // then
+        then(orderIds).containsExactly(oldest.getId(), old.getId());
+    }
+
+    private Order createOrderWithItems(int itemCount) {
+        Order order = Order.builder()
+                .orderStatus(OrderStatus.PENDING)
+                .totalPrice(Money.ofMinor(1000L * itemCount))
+                .build();
+        order.setOrderItems(IntStream.range(0, itemCount)
+                .mapToObj(i -> OrderItem.builder()
+                        .order(order)
+                        .productInfo(new ProductInfo(1, Money.ofMinor(1000), Money.ofMinor(1000)))
+                        .discountInfo(new DiscountInfo())
+                        .build())
+                .toList());
+        return order;
+    }
+
+}
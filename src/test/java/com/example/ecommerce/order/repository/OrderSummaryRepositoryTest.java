@@ -0,0 +1,122 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.order.model.OrderSummary;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
+import com.example.ecommerce.shared.money.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Keyset pagination of the order history, newest first.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class OrderSummaryRepositoryTest {
+
+    static final String USER_ID = "user-1";
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        orderSummaryRepository.saveAllAndFlush(List.of(
+                summary("order-a", USER_ID, NOW.minusDays(2)),
+                summary("order-b", USER_ID, NOW.minusDays(1)),
+                summary("order-c", USER_ID, NOW.minusDays(1)),
+                summary("order-d", USER_ID, NOW.minusDays(1)),
+                summary("order-e", USER_ID, NOW),
+                summary("order-f", "user-2", NOW.minusDays(1))
+        ));
+        entityManager.clear();
+    }
+
+    @Test
+    void givenOrdersPlacedAtSameTime_whenPagingWithCursors_thenVisitEveryOrderOnceNewestFirst() {
+        // given
+        Pageable pageSize = PageRequest.ofSize(2);
+        List<String> visited = new ArrayList<>();
+
+        // when
+        List<OrderSummary> page = orderSummaryRepository.findLatestByUserId(USER_ID, pageSize);
+        while (!page.isEmpty()) {
+            page.forEach(summary -> visited.add(summary.getId()));
+            OrderSummary last = page.get(page.size() - 1);
+            String cursor = new OrderHistoryCursor(last.getOrderDate(), last.getId()).encode();
+            OrderHistoryCursor position = OrderHistoryCursor.decode(cursor);
+            page = orderSummaryRepository.findLatestByUserIdBefore(USER_ID, position.orderDate(), position.orderId(), pageSize);
+        }
+
+        // then
+        then(visited).containsExactly("order-e", "order-d", "order-c", "order-b", "order-a");
+    }
+
+    @Test
+    void givenCursorInsideGroupOfTiedDates_whenFindNextPage_thenContinueWithLowerIdsOfSameDate() {
+        // when
+        List<OrderSummary> page = orderSummaryRepository.findLatestByUserIdBefore(
+                USER_ID, NOW.minusDays(1), "order-c", PageRequest.ofSize(10));
+
+        // then
+        then(page).extracting(OrderSummary::getId).containsExactly("order-b", "order-a");
+    }
+
+    @Test
+    void givenCursorAtLastOrder_whenFindNextPage_thenReturnNothing() {
+        // when
+        List<OrderSummary> page = orderSummaryRepository.findLatestByUserIdBefore(
+                USER_ID, NOW.minusDays(2), "order-a", PageRequest.ofSize(10));
+
+        // then
+        then(page).isEmpty();
+    }
+
+    @Test
+    void givenOrderDateWithFractionalSeconds_whenCursorRoundTrips_thenNextPageStartsRightAfterIt() {
+        // given
+        LocalDateTime preciseDate = NOW.minusHours(1).withNano(123_456_000);
+        orderSummaryRepository.saveAndFlush(summary("order-x", USER_ID, preciseDate));
+        orderSummaryRepository.saveAndFlush(summary("order-y", USER_ID, preciseDate.plusNanos(1_000)));
+        entityManager.clear();
+        OrderSummary newer = orderSummaryRepository.findById("order-y").orElseThrow();
+
+        // when
+        OrderHistoryCursor position = OrderHistoryCursor.decode(
+                new OrderHistoryCursor(newer.getOrderDate(), newer.getId()).encode());
+        List<OrderSummary> page = orderSummaryRepository.findLatestByUserIdBefore(
+                USER_ID, position.orderDate(), position.orderId(), PageRequest.ofSize(1));
+
+        // then
+        then(position.orderDate()).isEqualTo(newer.getOrderDate());
+        then(page).extracting(OrderSummary::getId).containsExactly("order-x");
+    }
+
+    private static OrderSummary summary(String orderId, String userId, LocalDateTime orderDate) {
+        return OrderSummary.builder()
+                .id(orderId)
+                .userId(userId)
+                .orderDate(orderDate)
+                .orderStatus(OrderStatus.COMPLETED)
+                .totalPrice(Money.ofMinor(1000))
+                .itemCount(1)
+                .build();
+    }
+
+}
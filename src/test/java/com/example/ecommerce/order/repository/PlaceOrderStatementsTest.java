@@ -0,0 +1,209 @@
+package com.example.ecommerce.order.repository;
+
+import com.example.ecommerce.address.model.Address;
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.auth.service.UserContextService;
+import com.example.ecommerce.cart.mapper.CartMapper;
+import com.example.ecommerce.cart.model.Cart;
+import com.example.ecommerce.cart.model.CartItem;
+import com.example.ecommerce.cart.model.embeddable.DiscountInfo;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
+import com.example.ecommerce.cart.repository.CartRepository;
+import com.example.ecommerce.cart.service.CartServiceImpl;
+import com.example.ecommerce.category.service.CategoryService;
+import com.example.ecommerce.order.mapper.OrderMapper;
+import com.example.ecommerce.order.mapper.OrderSummaryMapper;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
+import com.example.ecommerce.order.service.OrderArchiveService;
+import com.example.ecommerce.order.service.OrderService;
+import com.example.ecommerce.order.service.OrderServiceImpl;
+import com.example.ecommerce.outbox.repository.OutboxEventRepository;
+import com.example.ecommerce.outbox.service.OutboxService;
+import com.example.ecommerce.outbox.service.OutboxServiceImpl;
+import com.example.ecommerce.payment.config.PaymentGatewayProperties;
+import com.example.ecommerce.payment.gateway.PaymentAuthorization;
+import com.example.ecommerce.payment.gateway.PaymentAuthorizationRequest;
+import com.example.ecommerce.payment.gateway.PaymentGateway;
+import com.example.ecommerce.payment.service.PaymentService;
+import com.example.ecommerce.product.mapper.ProductMapper;
+import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.repository.ProductRepository;
+import com.example.ecommerce.product.service.ProductImageService;
+import com.example.ecommerce.product.service.ProductServiceImpl;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import com.example.ecommerce.shared.money.Money;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Counts the statements of a checkout through {@link OrderServiceImpl#placeOrder}, with the order,
+ * cart, product, payment and outbox persistence all running against the database. Only the payment
+ * gateway, mappers and collaborators without statements of their own are stubbed. JDBC batching is
+ * disabled so that every row shows up as a separate statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.ecommerce.order.repository.SqlStatementCounter",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+})
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+class PlaceOrderStatementsTest {
+
+    static final int ORDER_LINES = 3;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    OrderService orderService;
+
+    Long addressId;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+
+        User user = User.builder()
+                .username("test-user")
+                .password("password")
+                .name("Test User")
+                .email("test-user@example.com")
+                .build();
+        entityManager.persist(user);
+        Address address = Address.builder()
+                .title("Home")
+                .user(user)
+                .build();
+        entityManager.persist(address);
+        addressId = address.getId();
+
+        Cart cart = Cart.builder()
+                .user(user)
+                .itemCount(ORDER_LINES)
+                .totalPrice(Money.ofMinor(1000L * ORDER_LINES))
+                .build();
+        IntStream.range(0, ORDER_LINES).forEach(i -> {
+            Product product = productRepository.save(Product.builder()
+                    .name("Product " + i)
+                    .price(BigDecimal.TEN)
+                    .stock(10)
+                    .build());
+            cart.getCartItems().add(CartItem.builder()
+                    .cart(cart)
+                    .product(product)
+                    .productInfo(new ProductInfo(1, Money.ofMinor(1000), Money.ofMinor(1000)))
+                    .discountInfo(new DiscountInfo())
+                    .build());
+        });
+        cartRepository.save(cart);
+        entityManager.flush();
+        entityManager.clear();
+
+        UserContextService userContextService = mock(UserContextService.class);
+        given(userContextService.getCurrentUsername()).willReturn("test-user");
+
+        OutboxService outboxService = new OutboxServiceImpl(JsonMapper.builder().findAndAddModules().build(), outboxEventRepository);
+        PaymentGateway paymentGateway = new PaymentGateway() {
+            @Override
+            public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+                return CompletableFuture.completedFuture(PaymentAuthorization.approved("transaction-id"));
+            }
+
+            @Override
+            public CompletableFuture<Void> voidAuthorization(String idempotencyKey) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        PaymentService paymentService = new PaymentService(
+                paymentGateway,
+                new PaymentGatewayProperties(Duration.ofSeconds(2), 50, 1, Duration.ofMillis(100), Duration.ofSeconds(1),
+                        50, 20, 50, Duration.ofSeconds(30), 5),
+                new SimpleMeterRegistry()
+        );
+
+        orderService = new OrderServiceImpl(
+                mock(OrderMapper.class),
+                orderRepository,
+                mock(OrderArchiveService.class),
+                mock(OrderSummaryMapper.class),
+                orderSummaryRepository,
+                new CartServiceImpl(userContextService, mock(CartMapper.class), cartRepository),
+                paymentService,
+                new ProductServiceImpl(mock(ProductMapper.class), productRepository, mock(CategoryService.class), outboxService),
+                mock(ProductImageService.class),
+                outboxService,
+                userContextService,
+                mock(ApplicationEventPublisher.class)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenCartWithItems_whenPlaceOrder_thenLockStockBeforePaymentAndInsertOneRowPerRecord() {
+        // given
+        SqlStatementCounter.clear();
+
+        // when
+        orderService.placeOrder(new PlaceOrderRequest(addressId, "DEBIT_CARD"));
+        entityManager.flush();
+
+        // then
+        then(SqlStatementCounter.count("insert into orders ")).isEqualTo(1);
+        then(SqlStatementCounter.count("insert into order_item ")).isEqualTo(ORDER_LINES);
+        then(SqlStatementCounter.count("insert into payment ")).isEqualTo(1);
+        then(SqlStatementCounter.count("insert into order_summary ")).isEqualTo(1);
+        then(SqlStatementCounter.count("insert into outbox_event ")).isEqualTo(ORDER_LINES + 1);
+        // Once to check the stock before the payment, once to decrease it after
+        then(SqlStatementCounter.count("select id, stock from product ")).isEqualTo(2);
+        // Stock is changed by one JDBC batch of relative updates that bypasses the entity state
+        then(SqlStatementCounter.count("update product ")).isZero();
+        then(SqlStatementCounter.countReferencing("orders_order_items")).isZero();
+        entityManager.clear();
+        then(productRepository.findAll()).extracting(Product::getStock).containsOnly(9);
+        then(orderRepository.findAll()).singleElement()
+                .satisfies(order -> then(order.getOrderStatus()).isEqualTo(OrderStatus.COMPLETED));
+    }
+
+}
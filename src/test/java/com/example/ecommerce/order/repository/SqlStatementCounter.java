@@ -0,0 +1,34 @@
+package com.example.ecommerce.order.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, so tests can assert on the statements a
+ * persistence operation issues.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql.toLowerCase());
+        return sql;
+    }
+
+    static void clear() {
+        statements.clear();
+    }
+
+    static long count(String prefix) {
+        return statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    static long countReferencing(String table) {
+        return statements.stream().filter(sql -> sql.contains(table)).count();
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.export.OrderExportFormat;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.AdminOrderSearchRequest;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
+import com.example.ecommerce.order.payload.response.AdminOrderResponse;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.shared.money.Money;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AdminOrderServiceImplTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    AdminOrderServiceImpl adminOrderService;
+
+    AdminOrderSearchRequest filter = new AdminOrderSearchRequest(OrderStatus.COMPLETED, null, null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        adminOrderService = new AdminOrderServiceImpl(objectMapper, orderRepository);
+    }
+
+    @Test
+    void givenMoreOrdersThanPageSize_whenSearchOrders_thenReturnPageWithCursorOfLastOrder() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        AdminOrderResponse first = order("order-3", now, "alice");
+        AdminOrderResponse second = order("order-2", now.minusHours(1), "bob");
+        AdminOrderResponse third = order("order-1", now.minusHours(2), "carol");
+        given(orderRepository.search(filter, null, 3)).willReturn(List.of(first, second, third));
+
+        // when
+        CursorPaginatedResponse<AdminOrderResponse> response = adminOrderService.searchOrders(filter, null, 2);
+
+        // then
+        then(response.content()).containsExactly(first, second);
+        then(response.hasNext()).isTrue();
+        then(OrderHistoryCursor.decode(response.nextCursor()))
+                .isEqualTo(new OrderHistoryCursor(second.orderDate(), second.id()));
+    }
+
+    @Test
+    void givenOrders_whenExportOrdersAsCsv_thenWriteHeaderAndEscapedRows() throws IOException {
+        // given
+        LocalDateTime orderDate = LocalDateTime.of(2024, 5, 1, 10, 30);
+        given(orderRepository.streamAll(filter, AdminOrderServiceImpl.EXPORT_FETCH_SIZE))
+                .willReturn(Stream.of(order("order-1", orderDate, "doe, \"jd\"")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        adminOrderService.exportOrders(filter, OrderExportFormat.CSV, output);
+
+        // then
+        then(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,user_id,username,order_status,order_date,total_price
+                order-1,user-id,"doe, ""jd""\",COMPLETED,2024-05-01T10:30,10.00
+                """);
+    }
+
+    @Test
+    void givenOrders_whenExportOrdersAsNdjson_thenWriteOneJsonObjectPerLine() throws IOException {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        given(orderRepository.streamAll(filter, AdminOrderServiceImpl.EXPORT_FETCH_SIZE))
+                .willReturn(Stream.of(order("order-2", now, "alice"), order("order-1", now, "bob")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        adminOrderService.exportOrders(filter, OrderExportFormat.NDJSON, output);
+
+        // then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        then(lines).hasSize(2);
+        then(objectMapper.readTree(lines.get(0)).get("id").asText()).isEqualTo("order-2");
+        then(objectMapper.readTree(lines.get(1)).get("username").asText()).isEqualTo("bob");
+    }
+
+    private AdminOrderResponse order(String id, LocalDateTime orderDate, String username) {
+        return new AdminOrderResponse(id, "user-id", username, OrderStatus.COMPLETED, orderDate, Money.ofMinor(1000));
+    }
+
+}
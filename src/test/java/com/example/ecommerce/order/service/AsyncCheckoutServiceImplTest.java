@@ -0,0 +1,144 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.order.config.AsyncCheckoutProperties;
+import com.example.ecommerce.order.exception.CheckoutQueueFullException;
+import com.example.ecommerce.order.exception.OrderNotFoundException;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCheckoutServiceImplTest {
+
+    @Mock
+    OrderService orderService;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    AsyncCheckoutServiceImpl asyncCheckoutService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        SecurityContextHolder.clearContext();
+        asyncCheckoutService.shutdown();
+    }
+
+    @Test
+    void givenPlaceOrderRequest_whenSubmitCheckout_thenCompleteOrderOnWorkerWithCallerSecurityContext() throws InterruptedException {
+        // given
+        asyncCheckoutService = newService(10, 1);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of()));
+
+        PlaceOrderRequest request = new PlaceOrderRequest(1L, "DEBIT_CARD");
+        given(orderService.createPendingOrder(request)).willReturn(new OrderStatusResponse("order-id", OrderStatus.PENDING));
+
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<String> workerUsername = new AtomicReference<>();
+        willAnswer(invocation -> {
+            workerUsername.set(SecurityContextHolder.getContext().getAuthentication().getName());
+            completed.countDown();
+            return OrderStatus.COMPLETED;
+        }).given(orderService).completePendingOrder("order-id", "DEBIT_CARD");
+
+        // when
+        OrderStatusResponse response = asyncCheckoutService.submitCheckout(request);
+
+        // then
+        then(response.orderId()).isEqualTo("order-id");
+        then(response.orderStatus()).isEqualTo(OrderStatus.PENDING);
+        then(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        then(workerUsername.get()).isEqualTo("test-user");
+    }
+
+    @Test
+    void givenQueuedCheckout_whenCompletingOrderThrows_thenMarkOrderAsFailed() {
+        // given
+        asyncCheckoutService = newService(10, 1);
+        PlaceOrderRequest request = new PlaceOrderRequest(1L, "DEBIT_CARD");
+        given(orderService.createPendingOrder(request)).willReturn(new OrderStatusResponse("order-id", OrderStatus.PENDING));
+        given(orderService.completePendingOrder(anyString(), anyString())).willThrow(new IllegalStateException("boom"));
+        given(orderService.failPendingOrder("order-id")).willReturn(OrderStatus.FAILED);
+
+        // when
+        asyncCheckoutService.submitCheckout(request);
+
+        // then
+        verify(orderService, timeout(5_000)).failPendingOrder("order-id");
+    }
+
+    @Test
+    void givenFullCheckoutQueue_whenSubmitCheckout_thenThrowCheckoutQueueFullExceptionWithoutCreatingOrder() throws InterruptedException {
+        // given
+        asyncCheckoutService = newService(1, 1);
+        PlaceOrderRequest request = new PlaceOrderRequest(1L, "DEBIT_CARD");
+        given(orderService.createPendingOrder(request)).willReturn(new OrderStatusResponse("order-id", OrderStatus.PENDING));
+
+        CountDownLatch workerStarted = new CountDownLatch(1);
+        CountDownLatch releaseWorker = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            workerStarted.countDown();
+            releaseWorker.await();
+            return OrderStatus.COMPLETED;
+        }).given(orderService).completePendingOrder(anyString(), anyString());
+
+        asyncCheckoutService.submitCheckout(request); // occupies the only worker
+        then(workerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        asyncCheckoutService.submitCheckout(request); // fills the queue
+
+        // when & then
+        CheckoutQueueFullException ex = catchThrowableOfType(
+                CheckoutQueueFullException.class,
+                () -> asyncCheckoutService.submitCheckout(request)
+        );
+
+        then(ex).isNotNull();
+        verify(orderService, times(2)).createPendingOrder(any());
+        then(meterRegistry.get("order.checkout.rejected").counter().count()).isEqualTo(1.0);
+        then(meterRegistry.get("order.checkout.queue.depth").gauge().value()).isEqualTo(1.0);
+        releaseWorker.countDown();
+    }
+
+    @Test
+    void givenUnknownOrder_whenStreamOrderStatus_thenThrowOrderNotFoundException() {
+        // given
+        asyncCheckoutService = newService(10, 1);
+        given(orderService.getOrderStatus("unknown-id")).willThrow(new OrderNotFoundException("unknown-id"));
+
+        // when & then
+        OrderNotFoundException ex = catchThrowableOfType(
+                OrderNotFoundException.class,
+                () -> asyncCheckoutService.streamOrderStatus("unknown-id")
+        );
+
+        then(ex).isNotNull();
+    }
+
+    private AsyncCheckoutServiceImpl newService(int queueCapacity, int workers) {
+        AsyncCheckoutProperties properties = new AsyncCheckoutProperties(queueCapacity, workers, Duration.ofSeconds(5), Duration.ofMinutes(15), 100);
+        return new AsyncCheckoutServiceImpl(orderService, properties, meterRegistry);
+    }
+
+}
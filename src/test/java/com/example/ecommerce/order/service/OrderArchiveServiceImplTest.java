@@ -0,0 +1,161 @@
+package com.example.ecommerce.order.service;
+
+import com.example.ecommerce.auth.model.User;
+import com.example.ecommerce.order.mapper.OrderMapper;
+import com.example.ecommerce.order.model.ArchivedOrder;
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.response.OrderResponse;
+import com.example.ecommerce.order.repository.ArchivedOrderRepository;
+import com.example.ecommerce.order.repository.OrderItemRepository;
+import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.payment.model.ArchivedPayment;
+import com.example.ecommerce.payment.model.Payment;
+import com.example.ecommerce.payment.repository.ArchivedPaymentRepository;
+import com.example.ecommerce.payment.repository.PaymentRepository;
+import com.example.ecommerce.shared.money.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveServiceImplTest {
+
+    @Mock
+    OrderMapper orderMapper;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    OrderItemRepository orderItemRepository;
+
+    @Mock
+    PaymentRepository paymentRepository;
+
+    @Mock
+    ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    ArchivedPaymentRepository archivedPaymentRepository;
+
+    ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    OrderArchiveServiceImpl orderArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        orderArchiveService = new OrderArchiveServiceImpl(
+                objectMapper,
+                orderMapper,
+                orderRepository,
+                orderItemRepository,
+                paymentRepository,
+                archivedOrderRepository,
+                archivedPaymentRepository
+        );
+    }
+
+    @Test
+    void givenArchivableOrders_whenArchiveNextBatch_thenCopyToArchiveAndDeleteChildrenFirst() {
+        // given
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(180);
+        Order order = Order.builder()
+                .id("order-id")
+                .user(User.builder().id("user-id").build())
+                .orderStatus(OrderStatus.COMPLETED)
+                .totalPrice(Money.ofMinor(1000))
+                .build();
+        order.setPayment(Payment.builder().id(7L).order(order).amount(Money.ofMinor(1000)).build());
+        List<String> orderIds = List.of("order-id");
+
+        given(orderRepository.findArchivableForUpdate(eq(cutoff), eq(OrderArchiveServiceImpl.ARCHIVABLE_STATUSES), any(Pageable.class)))
+                .willReturn(List.of(order));
+        given(orderRepository.findAllWithDetailsByIdIn(orderIds)).willReturn(List.of(order));
+        given(orderMapper.mapToResponse(order)).willReturn(
+                new OrderResponse("order-id", "COMPLETED", order.getOrderDate(), order.getTotalPrice(), List.of())
+        );
+
+        // when
+        int archived = orderArchiveService.archiveNextBatch(cutoff, 10);
+
+        // then
+        then(archived).isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ArchivedOrder>> archivedOrders = ArgumentCaptor.forClass(List.class);
+        verify(archivedOrderRepository).saveAll(archivedOrders.capture());
+        then(archivedOrders.getValue()).singleElement().satisfies(archivedOrder -> {
+            then(archivedOrder.getId()).isEqualTo("order-id");
+            then(archivedOrder.getUserId()).isEqualTo("user-id");
+            then(archivedOrder.getDetails()).contains("\"orderStatus\":\"COMPLETED\"");
+        });
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ArchivedPayment>> archivedPayments = ArgumentCaptor.forClass(List.class);
+        verify(archivedPaymentRepository).saveAll(archivedPayments.capture());
+        then(archivedPayments.getValue()).singleElement().satisfies(archivedPayment -> {
+            then(archivedPayment.getId()).isEqualTo(7L);
+            then(archivedPayment.getOrderId()).isEqualTo("order-id");
+        });
+
+        InOrder deletes = inOrder(paymentRepository, orderItemRepository, orderRepository);
+        deletes.verify(paymentRepository).deleteAllByOrderIdIn(orderIds);
+        deletes.verify(orderItemRepository).deleteAllByOrderIdIn(orderIds);
+        deletes.verify(orderRepository).deleteAllByIdIn(orderIds);
+    }
+
+    @Test
+    void givenNoArchivableOrders_whenArchiveNextBatch_thenReturnZeroWithoutChanges() {
+        // given
+        given(orderRepository.findArchivableForUpdate(any(LocalDateTime.class), anyCollection(), any(Pageable.class)))
+                .willReturn(List.of());
+
+        // when
+        int archived = orderArchiveService.archiveNextBatch(LocalDateTime.now(), 10);
+
+        // then
+        then(archived).isZero();
+        verifyNoInteractions(archivedOrderRepository, archivedPaymentRepository, paymentRepository, orderItemRepository);
+    }
+
+    @Test
+    void givenArchivedOrder_whenFindArchivedOrder_thenReturnStoredDetails() throws Exception {
+        // given
+        OrderResponse details = new OrderResponse(
+                "order-id", "CANCELLED", LocalDateTime.of(2025, 1, 2, 3, 4), Money.ofMinor(2500), List.of()
+        );
+        ArchivedOrder archivedOrder = ArchivedOrder.builder()
+                .id("order-id")
+                .details(objectMapper.writeValueAsString(details))
+                .build();
+        given(archivedOrderRepository.findById("order-id")).willReturn(Optional.of(archivedOrder));
+
+        // when
+        Optional<OrderResponse> response = orderArchiveService.findArchivedOrder("order-id");
+
+        // then
+        then(response).contains(details);
+    }
+
+}
@@ -7,35 +7,51 @@ import com.example.ecommerce.auth.service.UserContextService;
 import com.example.ecommerce.cart.exception.EmptyCartException;
 import com.example.ecommerce.cart.model.Cart;
 import com.example.ecommerce.cart.model.CartItem;
+import com.example.ecommerce.cart.model.embeddable.ProductInfo;
 import com.example.ecommerce.cart.service.CartService;
+import com.example.ecommerce.order.exception.CheckoutAlreadyPendingException;
 import com.example.ecommerce.order.exception.OrderNotFoundException;
+import com.example.ecommerce.order.exception.InvalidOrderHistoryCursorException;
 import com.example.ecommerce.order.mapper.OrderMapper;
+import com.example.ecommerce.order.mapper.OrderSummaryMapper;
 import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.order.model.OrderSummary;
 import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.event.OrderSalesEvent;
 import com.example.ecommerce.order.payload.request.CancelOrderRequest;
+import com.example.ecommerce.order.payload.request.OrderHistoryCursor;
 import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
 import com.example.ecommerce.order.payload.response.OrderResponse;
+import com.example.ecommerce.order.payload.response.OrderSummaryResponse;
 import com.example.ecommerce.order.repository.OrderRepository;
+import com.example.ecommerce.order.repository.OrderSummaryRepository;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.service.OutboxService;
 import com.example.ecommerce.payment.exception.PaymentFailedException;
 import com.example.ecommerce.payment.service.PaymentService;
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.factory.ProductFactory;
+import com.example.ecommerce.product.service.ProductImageService;
 import com.example.ecommerce.product.service.ProductService;
-import com.example.ecommerce.shared.payload.PaginatedResponse;
+import com.example.ecommerce.shared.money.Money;
+import com.example.ecommerce.shared.payload.CursorPaginatedResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +66,15 @@ class OrderServiceImplTest {
     @Mock
     OrderRepository orderRepository;
 
+    @Mock
+    OrderArchiveService orderArchiveService;
+
+    @Mock
+    OrderSummaryMapper orderSummaryMapper;
+
+    @Mock
+    OrderSummaryRepository orderSummaryRepository;
+
     @Mock
     CartService cartService;
 
@@ -59,9 +84,18 @@ class OrderServiceImplTest {
     @Mock
     ProductService productService;
 
+    @Mock
+    ProductImageService productImageService;
+
+    @Mock
+    OutboxService outboxService;
+
     @Mock
     UserContextService userContextService;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @Test
     void givenOrderId_whenOrderFound_thenReturnOrderResponse() {
         // given
@@ -79,6 +113,22 @@ class OrderServiceImplTest {
         verify(orderMapper, times(1)).mapToResponse(order);
     }
 
+    @Test
+    void givenArchivedOrderId_whenOrderNotInHotTables_thenReturnArchivedOrder() {
+        // given
+        String orderId = "order-id";
+        OrderResponse archived = mock(OrderResponse.class);
+        given(orderRepository.findById(orderId)).willReturn(Optional.empty());
+        given(orderArchiveService.findArchivedOrder(orderId)).willReturn(Optional.of(archived));
+
+        // when
+        OrderResponse response = orderService.getOrderById(orderId);
+
+        // then
+        then(response).isSameAs(archived);
+        verify(orderMapper, never()).mapToResponse(any(Order.class));
+    }
+
     @Test
     void givenOrderId_whenOrderNotFound_thenThrowOrderNotFoundException() {
         // given
@@ -97,25 +147,68 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void givenCurrentUserAndPageable_whenGetAllOrderForUser_thenReturnPaginatedResponse() {
+    void givenMoreOrdersThanPageSize_whenGetAllOrdersForCurrentUser_thenReturnPageWithNextCursor() {
         // given
-        String username = "test-user";
-        Pageable pageable = mock(Pageable.class);
+        User currentUser = User.builder().id("user-id").build();
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderSummary> summaries = List.of(
+                OrderSummary.builder().id("order-3").orderDate(now).build(),
+                OrderSummary.builder().id("order-2").orderDate(now.minusDays(1)).build(),
+                OrderSummary.builder().id("order-1").orderDate(now.minusDays(2)).build()
+        );
 
-        List<Order> orders = List.of(new Order(), new Order());
-        Page<Order> orderPage = new PageImpl<>(orders);
+        given(userContextService.getCurrentUserId()).willReturn(currentUser.getId());
+        given(orderSummaryRepository.findLatestByUserId(eq("user-id"), any(Pageable.class))).willReturn(summaries);
+        given(orderSummaryMapper.mapToResponseList(anyList())).willReturn(List.of(
+                mock(OrderSummaryResponse.class), mock(OrderSummaryResponse.class)
+        ));
+
+        // when
+        CursorPaginatedResponse<OrderSummaryResponse> response = orderService.getAllOrdersForCurrentUser(null, 2);
+
+        // then
+        then(response.hasNext()).isTrue();
+        then(response.size()).isEqualTo(2);
+        then(OrderHistoryCursor.decode(response.nextCursor()))
+                .isEqualTo(new OrderHistoryCursor(now.minusDays(1), "order-2"));
+        verify(orderSummaryMapper, times(1)).mapToResponseList(summaries.subList(0, 2));
+    }
+
+    @Test
+    void givenCursor_whenGetAllOrdersForCurrentUser_thenContinueAfterCursorAndReturnLastPage() {
+        // given
+        User currentUser = User.builder().id("user-id").build();
+        LocalDateTime orderDate = LocalDateTime.now();
+        String cursor = new OrderHistoryCursor(orderDate, "order-2").encode();
+        List<OrderSummary> summaries = List.of(OrderSummary.builder().id("order-1").orderDate(orderDate).build());
 
-        given(userContextService.getCurrentUsername()).willReturn(username);
-        given(orderRepository.findAllByUser(username, pageable)).willReturn(orderPage);
-        given(orderMapper.mapToPaginatedResponse(orderPage)).willReturn(mock(PaginatedResponse.class));
+        given(userContextService.getCurrentUserId()).willReturn(currentUser.getId());
+        given(orderSummaryRepository.findLatestByUserIdBefore(eq("user-id"), eq(orderDate), eq("order-2"), any(Pageable.class)))
+                .willReturn(summaries);
+        given(orderSummaryMapper.mapToResponseList(summaries)).willReturn(List.of(mock(OrderSummaryResponse.class)));
 
         // when
-        PaginatedResponse<OrderResponse> response = orderService.getAllOrdersForCurrentUser(pageable);
+        CursorPaginatedResponse<OrderSummaryResponse> response = orderService.getAllOrdersForCurrentUser(cursor, 20);
 
         // then
-        then(response).isNotNull();
-        verify(orderRepository, times(1)).findAllByUser(username, pageable);
-        verify(orderMapper, times(1)).mapToPaginatedResponse(orderPage);
+        then(response.hasNext()).isFalse();
+        then(response.nextCursor()).isNull();
+        verify(orderSummaryRepository, never()).findLatestByUserId(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetAllOrdersForCurrentUser_thenThrowInvalidOrderHistoryCursorException() {
+        // given
+        given(userContextService.getCurrentUserId()).willReturn("user-id");
+
+        // when & then
+        InvalidOrderHistoryCursorException ex = catchThrowableOfType(
+                InvalidOrderHistoryCursorException.class,
+                () -> orderService.getAllOrdersForCurrentUser("not-a-cursor", 20)
+        );
+
+        then(ex).isNotNull();
+        verifyNoInteractions(orderSummaryRepository);
     }
 
     @Test
@@ -144,6 +237,10 @@ class OrderServiceImplTest {
 
         // then
         then(response).isNotNull();
+        verify(productService, times(1)).decreaseStocks(anyMap());
+        verify(cartService, times(1)).clearCart(currentUserCart);
+        verify(outboxService, times(1)).record(eq(OutboxEventType.ORDER_COMPLETED), any(), any());
+        verify(eventPublisher, times(1)).publishEvent(any(OrderSalesEvent.class));
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(orderMapper, times(1)).mapToResponse(any(Order.class));
     }
@@ -201,7 +298,10 @@ class OrderServiceImplTest {
 
         Cart userCart = Cart.builder()
                 .user(user)
-                .cartItems(List.of(mock(CartItem.class)))
+                .cartItems(List.of(CartItem.builder()
+                        .product(ProductFactory.product())
+                        .productInfo(new ProductInfo(1, Money.ofMinor(1000), Money.ofMinor(1000)))
+                        .build()))
                 .build();
 
         given(cartService.getCartByAuthenticatedUser()).willReturn(userCart);
@@ -217,6 +317,9 @@ class OrderServiceImplTest {
 
         then(ex).isNotNull();
         then(order.getValue().getOrderStatus()).isEqualTo(OrderStatus.FAILED);
+        verify(productService, never()).decreaseStocks(anyMap());
+        verify(outboxService, times(1)).record(eq(OutboxEventType.ORDER_FAILED), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -224,14 +327,180 @@ class OrderServiceImplTest {
         // given
         CancelOrderRequest request = new CancelOrderRequest("existing-order-id");
 
-        Order order = new Order();
-        given(orderRepository.findById(request.orderId())).willReturn(Optional.of(order));
+        Order order = Order.builder()
+                .user(new User())
+                .orderStatus(OrderStatus.COMPLETED)
+                .build();
+        given(orderRepository.findByIdForUpdate(request.orderId())).willReturn(Optional.of(order));
 
         // when
         orderService.cancelOrder(request);
 
         // then
         then(order.getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(productService, times(1)).increaseStocks(anyMap());
+        verify(outboxService, times(1)).record(eq(OutboxEventType.ORDER_CANCELLED), any(), any());
+        verify(eventPublisher, times(1)).publishEvent(any(OrderSalesEvent.class));
+    }
+
+    @Test
+    void givenCancelOrderRequest_whenOrderIsPending_thenSetStatusCancelledWithoutRestoringStocks() {
+        // given
+        CancelOrderRequest request = new CancelOrderRequest("pending-order-id");
+
+        Order order = Order.builder()
+                .user(new User())
+                .orderStatus(OrderStatus.PENDING)
+                .build();
+        given(orderRepository.findByIdForUpdate(request.orderId())).willReturn(Optional.of(order));
+
+        // when
+        orderService.cancelOrder(request);
+
+        // then
+        then(order.getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(productService, never()).increaseStocks(anyMap());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void givenCartWithItems_whenCreatePendingOrder_thenCopyItemsIntoOrderAndClearCart() {
+        // given
+        PlaceOrderRequest request = new PlaceOrderRequest(1L, "DEBIT_CARD");
+        Address address = Address.builder()
+                .id(request.addressId())
+                .build();
+        User user = User.builder()
+                .id("user-id")
+                .username("test-user")
+                .addresses(List.of(address))
+                .build();
+        Cart userCart = Cart.builder()
+                .user(user)
+                .cartItems(List.of(CartItem.builder()
+                        .product(ProductFactory.product())
+                        .productInfo(new ProductInfo(2, Money.ofMinor(1000), Money.ofMinor(2000)))
+                        .build()))
+                .build();
+
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(userCart);
+        ArgumentCaptor<Order> order = ArgumentCaptor.forClass(Order.class);
+        given(orderRepository.save(order.capture())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        orderService.createPendingOrder(request);
+
+        // then
+        then(order.getValue().getOrderStatus()).isEqualTo(OrderStatus.PENDING);
+        then(order.getValue().getOrderItems()).singleElement()
+                .satisfies(orderItem -> then(orderItem.getProductInfo().getQuantity()).isEqualTo(2));
+        verify(cartService, times(1)).clearCart(userCart);
+        verify(outboxService, times(1)).record(eq(OutboxEventType.ORDER_CREATED), any(), any());
+        verifyNoInteractions(paymentService, productService);
+    }
+
+    @Test
+    void givenPendingOrderForUser_whenCreatePendingOrder_thenThrowCheckoutAlreadyPendingException() {
+        // given
+        User user = User.builder()
+                .id("user-id")
+                .build();
+        Cart userCart = Cart.builder()
+                .user(user)
+                .build();
+
+        given(cartService.getCartByAuthenticatedUserForUpdate()).willReturn(userCart);
+        given(orderRepository.existsByUserIdAndOrderStatus("user-id", OrderStatus.PENDING)).willReturn(true);
+
+        // when & then
+        CheckoutAlreadyPendingException ex = catchThrowableOfType(
+                CheckoutAlreadyPendingException.class,
+                () -> orderService.createPendingOrder(new PlaceOrderRequest(1L, "DEBIT_CARD"))
+        );
+
+        then(ex).isNotNull();
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(cartService, never()).clearCart(any(Cart.class));
+    }
+
+    @Test
+    void givenPendingOrder_whenCompletePendingOrder_thenTakePaymentAndStocksWithoutTouchingCart() {
+        // given
+        String orderId = "pending-order-id";
+        Order order = Order.builder()
+                .user(new User())
+                .orderStatus(OrderStatus.PENDING)
+                .build();
+
+        given(orderRepository.findByIdForUpdate(orderId)).willReturn(Optional.of(order));
+        given(paymentService.processPayment(order, order.getTotalPrice(), "DEBIT_CARD")).willReturn(true);
+
+        // when
+        OrderStatus orderStatus = orderService.completePendingOrder(orderId, "DEBIT_CARD");
+
+        // then
+        then(orderStatus).isEqualTo(OrderStatus.COMPLETED);
+        verify(productService, times(1)).decreaseStocks(anyMap());
+        verifyNoInteractions(cartService);
+    }
+
+    @Test
+    void givenPendingOrder_whenStockIsInsufficient_thenThrowBeforeTakingPayment() {
+        // given
+        String orderId = "pending-order-id";
+        Order order = Order.builder()
+                .user(new User())
+                .orderStatus(OrderStatus.PENDING)
+                .build();
+        given(orderRepository.findByIdForUpdate(orderId)).willReturn(Optional.of(order));
+        willThrow(new InsufficientStockException(0, 1)).given(productService).checkStocksForUpdate(anyMap());
+
+        // when
+        InsufficientStockException ex = catchThrowableOfType(
+                InsufficientStockException.class,
+                () -> orderService.completePendingOrder(orderId, "DEBIT_CARD")
+        );
+
+        // then
+        then(ex).isNotNull();
+        verifyNoInteractions(paymentService);
+        verify(productService, never()).decreaseStocks(anyMap());
+    }
+
+    @Test
+    void givenPendingOrder_whenPaymentFails_thenReturnFailedStatusWithoutThrowing() {
+        // given
+        String orderId = "pending-order-id";
+        Order order = Order.builder()
+                .user(new User())
+                .orderStatus(OrderStatus.PENDING)
+                .build();
+        given(orderRepository.findByIdForUpdate(orderId)).willReturn(Optional.of(order));
+
+        // when
+        OrderStatus orderStatus = orderService.completePendingOrder(orderId, "DEBIT_CARD");
+
+        // then
+        then(orderStatus).isEqualTo(OrderStatus.FAILED);
+        verify(productService, never()).decreaseStocks(anyMap());
+    }
+
+    @Test
+    void givenCancelledOrder_whenCompletePendingOrder_thenLeaveOrderUnchanged() {
+        // given
+        String orderId = "cancelled-order-id";
+        Order order = Order.builder()
+                .user(new User())
+                .orderStatus(OrderStatus.CANCELLED)
+                .build();
+        given(orderRepository.findByIdForUpdate(orderId)).willReturn(Optional.of(order));
+
+        // when
+        OrderStatus orderStatus = orderService.completePendingOrder(orderId, "DEBIT_CARD");
+
+        // then
+        then(orderStatus).isEqualTo(OrderStatus.CANCELLED);
+        verifyNoInteractions(paymentService, productService, cartService, outboxService);
     }
 
-}
\ No newline at end of file
+}
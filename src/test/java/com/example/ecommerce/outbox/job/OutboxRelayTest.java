@@ -0,0 +1,94 @@
+package com.example.ecommerce.outbox.job;
+
+import com.example.ecommerce.outbox.config.OutboxProperties;
+import com.example.ecommerce.outbox.model.OutboxEvent;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.publisher.InMemoryOutboxPublisher;
+import com.example.ecommerce.outbox.publisher.OutboxPublisher;
+import com.example.ecommerce.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenPendingEvents_whenRelay_thenPublishInOrderAndDeleteDeliveredEvents() {
+        // given
+        InMemoryOutboxPublisher publisher = new InMemoryOutboxPublisher();
+        OutboxRelay relay = newRelay(publisher, 2);
+
+        List<OutboxEvent> firstBatch = events(1, 2);
+        List<OutboxEvent> secondBatch = events(3, 3);
+        given(outboxEventRepository.findNextBatchForUpdate(any())).willReturn(firstBatch, secondBatch);
+
+        // when
+        relay.relay();
+
+        // then
+        then(publisher.getPublishedEvents()).extracting(OutboxEvent::getId).containsExactly(1L, 2L, 3L);
+        verify(outboxEventRepository).deleteAllByIdIn(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdIn(List.of(3L));
+        then(meterRegistry.get("outbox.relay.published").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void givenPublisherFailure_whenRelay_thenKeepEventsForNextRun() {
+        // given
+        OutboxPublisher publisher = mock(OutboxPublisher.class);
+        OutboxRelay relay = newRelay(publisher, 2);
+
+        given(outboxEventRepository.findNextBatchForUpdate(any())).willReturn(events(1, 2));
+        willThrow(new IllegalStateException("Redis is down")).given(publisher).publish(anyList());
+
+        // when
+        relay.relay();
+
+        // then
+        verify(outboxEventRepository, never()).deleteAllByIdIn(any());
+        verify(transactionManager).rollback(any());
+        then(meterRegistry.get("outbox.relay.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    private OutboxRelay newRelay(OutboxPublisher publisher, int batchSize) {
+        OutboxProperties properties = new OutboxProperties(batchSize, 10, "events", 1_000);
+        return new OutboxRelay(outboxEventRepository, publisher, properties, transactionManager, meterRegistry);
+    }
+
+    private static List<OutboxEvent> events(long firstId, long lastId) {
+        return LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .aggregateType("order")
+                        .aggregateId("order-" + id)
+                        .eventType(OutboxEventType.ORDER_CREATED)
+                        .payload("{}")
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.example.ecommerce.outbox.service;
+
+import com.example.ecommerce.outbox.model.OutboxEvent;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.repository.OutboxEventRepository;
+import com.example.ecommerce.product.payload.event.StockChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    OutboxEventRepository outboxEventRepository;
+
+    OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxServiceImpl(new ObjectMapper(), outboxEventRepository);
+    }
+
+    @Test
+    void givenEventPayload_whenRecord_thenSaveSerializedEventWithAggregateType() {
+        // given
+        StockChangedEvent payload = new StockChangedEvent("product-id", -2, 8);
+
+        // when
+        outboxService.record(OutboxEventType.STOCK_CHANGED, "product-id", payload);
+
+        // then
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        then(event.getValue().getAggregateType()).isEqualTo("product");
+        then(event.getValue().getAggregateId()).isEqualTo("product-id");
+        then(event.getValue().getEventType()).isEqualTo(OutboxEventType.STOCK_CHANGED);
+        then(event.getValue().getPayload()).isEqualTo("{\"productId\":\"product-id\",\"quantityChange\":-2,\"stock\":8}");
+        then(event.getValue().getCreatedAt()).isNotNull();
+    }
+
+}
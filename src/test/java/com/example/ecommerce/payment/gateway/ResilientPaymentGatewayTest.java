@@ -0,0 +1,170 @@
+package com.example.ecommerce.payment.gateway;
+
+import com.example.ecommerce.payment.config.PaymentGatewayProperties;
+import com.example.ecommerce.payment.exception.PaymentGatewayException;
+import com.example.ecommerce.payment.model.enums.PaymentMethod;
+import com.example.ecommerce.shared.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ResilientPaymentGatewayTest {
+
+    PaymentGatewayProperties properties = new PaymentGatewayProperties(
+            Duration.ofMillis(50),
+            1,
+            3,
+            Duration.ofMillis(1),
+            Duration.ofMillis(5),
+            4,
+            4,
+            50,
+            Duration.ofSeconds(10),
+            1
+    );
+
+    PaymentAuthorizationRequest request = new PaymentAuthorizationRequest("key", Money.ofMinor(1000), PaymentMethod.DEBIT_CARD);
+
+    AtomicLong nanoClock = new AtomicLong();
+    AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        calls.set(0);
+    }
+
+    @Test
+    void givenTransientErrors_whenAuthorize_thenRetryWithSameRequestUntilApproved() {
+        // given
+        ResilientPaymentGateway gateway = gateway(request -> calls.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(new PaymentGatewayException("unavailable", true))
+                : CompletableFuture.completedFuture(PaymentAuthorization.approved("tx-" + request.idempotencyKey())));
+
+        // when
+        PaymentAuthorization authorization = gateway.authorize(request).join();
+
+        // then
+        then(authorization.approved()).isTrue();
+        then(authorization.transactionId()).isEqualTo("tx-key");
+        then(calls).hasValue(3);
+    }
+
+    @Test
+    void givenUnansweredCalls_whenAuthorize_thenTimeOutEachAttemptAndFailAfterMaxAttempts() {
+        // given
+        ResilientPaymentGateway gateway = gateway(request -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        // when
+        CompletionException ex = catchThrowableOfType(CompletionException.class, () -> gateway.authorize(request).join());
+
+        // then
+        then(ex.getCause()).isInstanceOf(PaymentGatewayException.class);
+        then(((PaymentGatewayException) ex.getCause()).isRetryable()).isTrue();
+        then(calls).hasValue(3);
+    }
+
+    @Test
+    void givenFullBulkhead_whenAuthorize_thenRejectWithoutCallingOrRetrying() {
+        // given
+        ResilientPaymentGateway gateway = gateway(request -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        CompletableFuture<PaymentAuthorization> inFlight = gateway.authorize(request);
+
+        // when
+        CompletionException ex = catchThrowableOfType(CompletionException.class, () -> gateway.authorize(request).join());
+
+        // then
+        then(ex.getCause()).isInstanceOf(PaymentGatewayException.class);
+        then(((PaymentGatewayException) ex.getCause()).isRetryable()).isFalse();
+        then(calls).hasValue(1);
+        then(inFlight).isNotDone();
+    }
+
+    @Test
+    void givenFailingGateway_whenFailureRateReached_thenFailFastUntilTrialCallSucceeds() {
+        // given
+        AtomicInteger failuresLeft = new AtomicInteger(4);
+        ResilientPaymentGateway gateway = gateway(request -> {
+            calls.incrementAndGet();
+            return failuresLeft.getAndDecrement() > 0
+                    ? CompletableFuture.failedFuture(new IllegalStateException("gateway error"))
+                    : CompletableFuture.completedFuture(PaymentAuthorization.approved("tx"));
+        });
+        for (int i = 0; i < 4; i++) {
+            catchThrowableOfType(CompletionException.class, () -> gateway.authorize(request).join());
+        }
+
+        // when
+        CompletionException rejected = catchThrowableOfType(CompletionException.class, () -> gateway.authorize(request).join());
+        nanoClock.addAndGet(Duration.ofSeconds(10).toNanos());
+        PaymentAuthorization trial = gateway.authorize(request).join();
+        PaymentAuthorization afterClose = gateway.authorize(request).join();
+
+        // then
+        then(rejected.getCause()).isInstanceOf(PaymentGatewayException.class);
+        then(trial.approved()).isTrue();
+        then(afterClose.approved()).isTrue();
+        then(calls).hasValue(6);
+    }
+
+    @Test
+    void givenFullBulkheadAndTransientError_whenVoidAuthorization_thenBypassBulkheadAndRetryWithSameKey() {
+        // given
+        List<String> voidedKeys = new CopyOnWriteArrayList<>();
+        ResilientPaymentGateway gateway = gateway(
+                request -> new CompletableFuture<>(),
+                idempotencyKey -> {
+                    voidedKeys.add(idempotencyKey);
+                    return voidedKeys.size() < 2
+                            ? CompletableFuture.failedFuture(new PaymentGatewayException("unavailable", true))
+                            : CompletableFuture.completedFuture(null);
+                }
+        );
+        CompletableFuture<PaymentAuthorization> inFlight = gateway.authorize(request);
+
+        // when
+        gateway.voidAuthorization("key").join();
+
+        // then
+        then(voidedKeys).containsExactly("key", "key");
+        then(inFlight).isNotDone();
+    }
+
+    private ResilientPaymentGateway gateway(Function<PaymentAuthorizationRequest, CompletableFuture<PaymentAuthorization>> authorize) {
+        return gateway(authorize, idempotencyKey -> CompletableFuture.completedFuture(null));
+    }
+
+    private ResilientPaymentGateway gateway(Function<PaymentAuthorizationRequest, CompletableFuture<PaymentAuthorization>> authorize,
+                                            Function<String, CompletableFuture<Void>> voidAuthorization) {
+        PaymentGateway delegate = new PaymentGateway() {
+            @Override
+            public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+                return authorize.apply(request);
+            }
+
+            @Override
+            public CompletableFuture<Void> voidAuthorization(String idempotencyKey) {
+                return voidAuthorization.apply(idempotencyKey);
+            }
+        };
+        return new ResilientPaymentGateway(delegate, properties, new SimpleMeterRegistry(), nanoClock::get);
+    }
+
+}
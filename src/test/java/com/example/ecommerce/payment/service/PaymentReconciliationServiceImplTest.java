@@ -0,0 +1,196 @@
+package com.example.ecommerce.payment.service;
+
+import com.example.ecommerce.payment.config.ReconciliationProperties;
+import com.example.ecommerce.payment.model.PaymentDiscrepancy;
+import com.example.ecommerce.payment.model.ReconciliationRun;
+import com.example.ecommerce.payment.model.enums.DiscrepancyType;
+import com.example.ecommerce.payment.model.enums.PaymentStatus;
+import com.example.ecommerce.payment.model.enums.ReconciliationStatus;
+import com.example.ecommerce.payment.repository.PaymentDiscrepancyRepository;
+import com.example.ecommerce.payment.repository.PaymentRepository;
+import com.example.ecommerce.payment.repository.ReconciliationRunRepository;
+import com.example.ecommerce.payment.repository.projection.PaymentLedgerEntry;
+import com.example.ecommerce.shared.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceImplTest {
+
+    @Mock
+    PaymentRepository paymentRepository;
+
+    @Mock
+    ReconciliationRunRepository reconciliationRunRepository;
+
+    @Mock
+    PaymentDiscrepancyRepository paymentDiscrepancyRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path settlementDirectory;
+
+    PaymentReconciliationServiceImpl paymentReconciliationService;
+
+    LocalDate settlementDate = LocalDate.of(2024, 5, 1);
+    List<PaymentDiscrepancy> savedDiscrepancies = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        paymentReconciliationService = new PaymentReconciliationServiceImpl(
+                paymentRepository,
+                reconciliationRunRepository,
+                paymentDiscrepancyRepository,
+                new ReconciliationProperties(settlementDirectory.toString(), "settlement-{date}.csv", 3, 2),
+                transactionManager
+        );
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(reconciliationRunRepository.save(any(ReconciliationRun.class))).willAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1L);
+            }
+            return run;
+        });
+    }
+
+    @Test
+    void givenPaymentsAndSettlementFile_whenReconcile_thenReportEveryDifferenceAndComplete() throws IOException {
+        // given
+        Path settlementFile = writeSettlementFile("""
+                transaction_id,amount,status
+                tx-a,10.00,SUCCESS
+                tx-b,6.00,SUCCESS
+                tx-c,1.00,SUCCESS
+                not a settlement record
+                tx-d,7.00,FAILED
+                """);
+        given(reconciliationRunRepository.findBySettlementDate(settlementDate)).willReturn(Optional.empty());
+        given(paymentRepository.streamLedgerEntries(any(), any(), eq(""))).willReturn(Stream.of(
+                entry("tx-a", 1000),
+                entry("tx-b", 500),
+                entry("tx-d", 700),
+                entry("tx-e", 300)
+        ));
+        recordSavedDiscrepancies();
+
+        // when
+        ReconciliationRun run = paymentReconciliationService.reconcile(settlementDate, settlementFile);
+
+        // then
+        then(run.getStatus()).isEqualTo(ReconciliationStatus.COMPLETED);
+        then(run.getMatchedCount()).isEqualTo(1);
+        then(run.getDiscrepancyCount()).isEqualTo(5);
+        then(run.getLastTransactionId()).isEqualTo("tx-e");
+        then(run.getFileOffset()).isEqualTo(Files.size(settlementFile));
+        then(savedDiscrepancies)
+                .extracting(PaymentDiscrepancy::getType, PaymentDiscrepancy::getTransactionId)
+                .containsExactly(
+                        tuple(DiscrepancyType.AMOUNT_MISMATCH, "tx-b"),
+                        tuple(DiscrepancyType.MISSING_IN_LEDGER, "tx-c"),
+                        tuple(DiscrepancyType.UNREADABLE_RECORD, null),
+                        tuple(DiscrepancyType.STATUS_MISMATCH, "tx-d"),
+                        tuple(DiscrepancyType.MISSING_IN_SETTLEMENT, "tx-e")
+                );
+    }
+
+    @Test
+    void givenFailedRunWithCheckpoint_whenReconcile_thenResumeAfterCheckpointOnBothSides() throws IOException {
+        // given
+        String content = """
+                tx-a,10.00,SUCCESS
+                tx-b,5.00,SUCCESS
+                tx-c,3.00,SUCCESS
+                """;
+        Path settlementFile = writeSettlementFile(content);
+        ReconciliationRun failedRun = ReconciliationRun.builder()
+                .id(7L)
+                .settlementDate(settlementDate)
+                .fileName(settlementFile.getFileName().toString())
+                .status(ReconciliationStatus.FAILED)
+                .lastTransactionId("tx-b")
+                .fileOffset(content.indexOf("tx-c"))
+                .matchedCount(2)
+                .startedAt(Instant.now())
+                .build();
+        given(reconciliationRunRepository.findBySettlementDate(settlementDate)).willReturn(Optional.of(failedRun));
+        given(paymentRepository.streamLedgerEntries(any(), any(), eq("tx-b"))).willReturn(Stream.of(entry("tx-c", 300)));
+
+        // when
+        ReconciliationRun run = paymentReconciliationService.reconcile(settlementDate, settlementFile);
+
+        // then
+        then(run.getStatus()).isEqualTo(ReconciliationStatus.COMPLETED);
+        then(run.getMatchedCount()).isEqualTo(3);
+        then(run.getDiscrepancyCount()).isZero();
+    }
+
+    @Test
+    void givenUnsortedSettlementFile_whenReconcile_thenMarkRunFailedAndThrow() throws IOException {
+        // given
+        Path settlementFile = writeSettlementFile("""
+                tx-b,5.00,SUCCESS
+                tx-a,10.00,SUCCESS
+                """);
+        ReconciliationRun storedRun = ReconciliationRun.builder()
+                .id(1L)
+                .status(ReconciliationStatus.RUNNING)
+                .build();
+        given(reconciliationRunRepository.findBySettlementDate(settlementDate)).willReturn(Optional.empty());
+        given(reconciliationRunRepository.findById(1L)).willReturn(Optional.of(storedRun));
+        given(paymentRepository.streamLedgerEntries(any(), any(), eq(""))).willReturn(Stream.empty());
+
+        // when
+        IllegalStateException ex = catchThrowableOfType(
+                IllegalStateException.class,
+                () -> paymentReconciliationService.reconcile(settlementDate, settlementFile)
+        );
+
+        // then
+        then(ex).hasMessageContaining("tx-a");
+        then(storedRun.getStatus()).isEqualTo(ReconciliationStatus.FAILED);
+    }
+
+    private Path writeSettlementFile(String content) throws IOException {
+        return Files.writeString(settlementDirectory.resolve("settlement-" + settlementDate + ".csv"), content);
+    }
+
+    private void recordSavedDiscrepancies() {
+        given(paymentDiscrepancyRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<PaymentDiscrepancy> discrepancies = invocation.getArgument(0);
+            savedDiscrepancies.addAll(discrepancies);
+            return discrepancies;
+        });
+    }
+
+    private static PaymentLedgerEntry entry(String transactionId, long amountInMinorUnits) {
+        return new PaymentLedgerEntry(transactionId, Money.ofMinor(amountInMinorUnits), PaymentStatus.SUCCESS);
+    }
+
+}
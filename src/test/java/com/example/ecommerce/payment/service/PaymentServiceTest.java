@@ -0,0 +1,139 @@
+package com.example.ecommerce.payment.service;
+
+import com.example.ecommerce.order.model.Order;
+import com.example.ecommerce.payment.config.PaymentGatewayProperties;
+import com.example.ecommerce.payment.exception.PaymentGatewayException;
+import com.example.ecommerce.payment.gateway.PaymentAuthorization;
+import com.example.ecommerce.payment.gateway.PaymentAuthorizationRequest;
+import com.example.ecommerce.payment.gateway.PaymentGateway;
+import com.example.ecommerce.shared.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PaymentServiceTest {
+
+    PaymentGatewayProperties properties = new PaymentGatewayProperties(
+            Duration.ofMillis(50),
+            10,
+            1,
+            Duration.ofMillis(1),
+            Duration.ofMillis(5),
+            10,
+            10,
+            50,
+            Duration.ofSeconds(10),
+            1
+    );
+
+    List<String> authorizedKeys = new CopyOnWriteArrayList<>();
+    List<String> voidedKeys = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void givenApprovedPayment_whenTransactionRollsBack_thenVoidAuthorizationWithItsKey() {
+        // given
+        PaymentService paymentService = paymentService(PaymentAuthorization.approved("tx"));
+        paymentService.processPayment(order(), Money.ofMinor(1000), "DEBIT_CARD");
+
+        // when
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        then(authorizedKeys).containsExactly("order-id");
+        then(voidedKeys).containsExactly("order-id");
+    }
+
+    @Test
+    void givenUnansweredAuthorization_whenTransactionRollsBack_thenVoidAuthorizationWithItsKey() {
+        // given
+        PaymentService paymentService = paymentService(null);
+        catchThrowableOfType(PaymentGatewayException.class,
+                () -> paymentService.processPayment(order(), Money.ofMinor(1000), "DEBIT_CARD"));
+
+        // when
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        then(authorizedKeys).hasSize(1);
+        then(voidedKeys).isEqualTo(authorizedKeys);
+    }
+
+    @Test
+    void givenApprovedPayment_whenTransactionCommits_thenKeepAuthorization() {
+        // given
+        PaymentService paymentService = paymentService(PaymentAuthorization.approved("tx"));
+        boolean approved = paymentService.processPayment(order(), Money.ofMinor(1000), "DEBIT_CARD");
+
+        // when
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // then
+        then(approved).isTrue();
+        then(voidedKeys).isEmpty();
+    }
+
+    @Test
+    void givenUnsavedOrder_whenProcessPayment_thenThrowWithoutAuthorizing() {
+        // given
+        PaymentService paymentService = paymentService(PaymentAuthorization.approved("tx"));
+
+        // when
+        IllegalStateException ex = catchThrowableOfType(IllegalStateException.class,
+                () -> paymentService.processPayment(new Order(), Money.ofMinor(1000), "DEBIT_CARD"));
+
+        // then
+        then(ex).isNotNull();
+        then(authorizedKeys).isEmpty();
+    }
+
+    private static Order order() {
+        return Order.builder().id("order-id").build();
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    /**
+     * Creates a payment service whose gateway answers every authorization with the given result,
+     * or never if it is {@code null}.
+     */
+    private PaymentService paymentService(PaymentAuthorization authorization) {
+        PaymentGateway gateway = new PaymentGateway() {
+            @Override
+            public CompletableFuture<PaymentAuthorization> authorize(PaymentAuthorizationRequest request) {
+                authorizedKeys.add(request.idempotencyKey());
+                return authorization != null ? CompletableFuture.completedFuture(authorization) : new CompletableFuture<>();
+            }
+
+            @Override
+            public CompletableFuture<Void> voidAuthorization(String idempotencyKey) {
+                voidedKeys.add(idempotencyKey);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        return new PaymentService(gateway, properties, new SimpleMeterRegistry());
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.example.ecommerce.product.repository;
+
+import com.example.ecommerce.category.service.CategoryService;
+import com.example.ecommerce.outbox.service.OutboxService;
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.mapper.ProductMapper;
+import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.service.ProductService;
+import com.example.ecommerce.product.service.ProductServiceImpl;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Stock updates against a real database, with every transaction committed so that concurrent
+ * checkouts contend for the same rows.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockRepositoryTest {
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    ProductService productService;
+
+    String productId;
+
+    @BeforeEach
+    void setUp() {
+        authenticate();
+        productService = new ProductServiceImpl(
+                mock(ProductMapper.class), productRepository, mock(CategoryService.class), mock(OutboxService.class)
+        );
+        productId = productRepository.save(Product.builder()
+                .name("Contended Product")
+                .price(BigDecimal.TEN)
+                .stock(5)
+                .build()
+        ).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenProductReadEarlierInTransaction_whenStockChangedByAnotherCheckout_thenDecreaseUsesCommittedStock() {
+        // given
+        TransactionTemplate checkout = new TransactionTemplate(transactionManager);
+        TransactionTemplate otherCheckout = new TransactionTemplate(transactionManager);
+        otherCheckout.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // when
+        checkout.executeWithoutResult(status -> {
+            then(productRepository.findById(productId)).get().extracting(Product::getStock).isEqualTo(5);
+            otherCheckout.executeWithoutResult(inner -> productService.decreaseStocks(Map.of(productId, 3)));
+            productService.decreaseStocks(Map.of(productId, 1));
+        });
+
+        // then
+        then(productRepository.findStockQuantityByProductId(productId)).isEqualTo(1);
+    }
+
+    @Test
+    void givenProductLoadedByTwoCheckouts_whenBothDecreaseConcurrently_thenOnlyOneSucceedsAndStockIsNotOversold() throws Exception {
+        // given
+        CyclicBarrier bothLoaded = new CyclicBarrier(2);
+        TransactionTemplate checkout = new TransactionTemplate(transactionManager);
+        List<CompletableFuture<Boolean>> checkouts = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            checkouts.add(CompletableFuture.supplyAsync(() -> {
+                authenticate();
+                try {
+                    return checkout.execute(status -> {
+                        productRepository.findById(productId).orElseThrow();
+                        await(bothLoaded);
+                        productService.decreaseStocks(Map.of(productId, 3));
+                        return true;
+                    });
+                } catch (InsufficientStockException ex) {
+                    return false;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        // then
+        List<Boolean> results = new ArrayList<>();
+        for (CompletableFuture<Boolean> future : checkouts) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        then(results).containsExactlyInAnyOrder(true, false);
+        then(productRepository.findStockQuantityByProductId(productId)).isEqualTo(2);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+    }
+
+}
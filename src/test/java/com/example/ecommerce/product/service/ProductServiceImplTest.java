@@ -1,11 +1,14 @@
 package com.example.ecommerce.product.service;
 
 import com.example.ecommerce.category.service.CategoryService;
+import com.example.ecommerce.outbox.model.enums.OutboxEventType;
+import com.example.ecommerce.outbox.service.OutboxService;
 import com.example.ecommerce.product.exception.InsufficientStockException;
 import com.example.ecommerce.product.exception.ProductNotFoundException;
 import com.example.ecommerce.product.factory.ProductFactory;
 import com.example.ecommerce.product.mapper.ProductMapper;
 import com.example.ecommerce.product.model.Product;
+import com.example.ecommerce.product.payload.event.StockChangedEvent;
 import com.example.ecommerce.product.payload.request.CreateProductRequest;
 import com.example.ecommerce.product.payload.request.UpdateProductRequest;
 import com.example.ecommerce.product.payload.response.ProductResponse;
@@ -24,7 +27,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
@@ -49,6 +54,9 @@ class ProductServiceImplTest {
     @Mock
     ProductRepository productRepository;
 
+    @Mock
+    OutboxService outboxService;
+
     @ParameterizedTest
     @CsvSource({
             "0, 5, 3",
@@ -153,7 +161,7 @@ class ProductServiceImplTest {
         UpdateProductRequest request = ProductFactory.updateRequest(updatedProduct);
         ProductResponse expected = ProductFactory.response(updatedProduct);
 
-        given(productRepository.findById(anyString())).willReturn(Optional.of(existingProduct));
+        given(productRepository.lockAllForStockUpdate(List.of(existingProduct.getId()))).willReturn(List.of(existingProduct));
         given(productRepository.save(any(Product.class))).willReturn(updatedProduct);
         given(productMapper.mapToResponse(updatedProduct)).willReturn(expected);
 
@@ -165,6 +173,44 @@ class ProductServiceImplTest {
         then(actual).isEqualTo(expected);
         verify(productRepository, times(1)).save(any(Product.class));
         verify(productMapper, times(1)).mapToResponse(any(Product.class));
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void givenUpdateProductRequestWithNewStock_whenProductUpdated_thenRecordStockDifference() {
+        // given
+        Product existingProduct = ProductFactory.productWithStock(10);
+        UpdateProductRequest request = ProductFactory.updateRequest(ProductFactory.productWithStock(4));
+
+        given(productRepository.lockAllForStockUpdate(List.of(existingProduct.getId()))).willReturn(List.of(existingProduct));
+        given(productRepository.save(existingProduct)).willReturn(existingProduct);
+        doCallRealMethod().when(productMapper).updateProductFromRequest(request, existingProduct);
+
+        // when
+        productService.updateProduct(existingProduct.getId(), request);
+
+        // then
+        then(existingProduct.getStock()).isEqualTo(4);
+        verify(outboxService, times(1)).record(
+                eq(OutboxEventType.STOCK_CHANGED),
+                eq(existingProduct.getId()),
+                eq(new StockChangedEvent(existingProduct.getId(), -6, 4))
+        );
+    }
+
+    @Test
+    void givenUnknownProductId_whenUpdateProduct_thenThrowProductNotFoundException() {
+        // given
+        given(productRepository.lockAllForStockUpdate(List.of("unknown-id"))).willReturn(List.of());
+
+        // when & then
+        ProductNotFoundException ex = catchThrowableOfType(
+                ProductNotFoundException.class,
+                () -> productService.updateProduct("unknown-id", ProductFactory.updateRequest(ProductFactory.product()))
+        );
+
+        then(ex).isNotNull();
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
@@ -316,4 +362,68 @@ class ProductServiceImplTest {
         verify(productRepository, never()).save(any(Product.class));
     }
 
+    @Test
+    void givenQuantitiesByProductId_whenDecreaseStocks_thenLockStocksInIdOrderAndApplyRelativeUpdates() {
+        // given
+        given(productRepository.lockStocks(any())).willReturn(new TreeMap<>(Map.of("a-product", 10, "b-product", 10)));
+        given(productRepository.addToStocks(any())).willReturn(2);
+
+        // when
+        productService.decreaseStocks(Map.of("b-product", 4, "a-product", 1));
+
+        // then
+        verify(productRepository).lockStocks(argThat(ids -> List.copyOf(ids).equals(List.of("a-product", "b-product"))));
+        verify(productRepository).addToStocks(argThat(changes -> List.copyOf(changes.entrySet())
+                .equals(List.of(Map.entry("a-product", -1), Map.entry("b-product", -4)))));
+        verify(outboxService).record(OutboxEventType.STOCK_CHANGED, "a-product", new StockChangedEvent("a-product", -1, 9));
+        verify(outboxService).record(OutboxEventType.STOCK_CHANGED, "b-product", new StockChangedEvent("b-product", -4, 6));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void givenQuantitiesByProductId_whenAnyProductStockIsInsufficient_thenThrowAndLeaveAllStocksUnchanged() {
+        // given
+        given(productRepository.lockStocks(any())).willReturn(new TreeMap<>(Map.of("a-product", 10, "b-product", 10)));
+
+        // when & then
+        InsufficientStockException ex = catchThrowableOfType(
+                InsufficientStockException.class,
+                () -> productService.decreaseStocks(Map.of("a-product", 1, "b-product", 50))
+        );
+
+        then(ex).isNotNull();
+        verify(productRepository, never()).addToStocks(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void givenQuantitiesByProductId_whenIncreaseStocks_thenApplyRelativeUpdatesAndRecordNewStocks() {
+        // given
+        given(productRepository.lockStocks(any())).willReturn(new TreeMap<>(Map.of("a-product", 10)));
+        given(productRepository.addToStocks(any())).willReturn(1);
+
+        // when
+        productService.increaseStocks(Map.of("a-product", 3));
+
+        // then
+        verify(productRepository).addToStocks(new TreeMap<>(Map.of("a-product", 3)));
+        verify(outboxService).record(OutboxEventType.STOCK_CHANGED, "a-product", new StockChangedEvent("a-product", 3, 13));
+    }
+
+    @Test
+    void givenQuantitiesByProductId_whenAnyProductNotFound_thenThrowProductNotFoundException() {
+        // given
+        given(productRepository.lockStocks(any())).willReturn(new TreeMap<>(Map.of("a-product", 10)));
+
+        // when & then
+        ProductNotFoundException ex = catchThrowableOfType(
+                ProductNotFoundException.class,
+                () -> productService.increaseStocks(Map.of("a-product", 1, "missing-product", 1))
+        );
+
+        then(ex).isNotNull();
+        then(ex).hasMessageContaining("missing-product");
+        verify(productRepository, never()).addToStocks(any());
+    }
+
 }
@@ -0,0 +1,207 @@
+package com.example.ecommerce.shared.benchmark;
+
+import com.example.ecommerce.shared.persistence.PooledSequence;
+import com.example.ecommerce.shared.persistence.PooledSequenceGenerator;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares bulk inserts of address, category and payment rows with the previous {@code IDENTITY}
+ * identifiers against {@link PooledSequence} identifiers, with the application's JDBC batching settings.
+ * <p>
+ * Runs against an in-memory H2 database by default. Pass {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.user}
+ * and {@code -Dbenchmark.jdbc.password} to measure against MySQL, where every saved round-trip weighs more:
+ * <pre>
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.ecommerce.shared.benchmark.BulkInsertBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"100", "1000"})
+    private int rowsPerTable;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityAddress.class)
+                .addAnnotatedClass(IdentityCategory.class)
+                .addAnnotatedClass(IdentityPayment.class)
+                .addAnnotatedClass(PooledAddress.class)
+                .addAnnotatedClass(PooledCategory.class)
+                .addAnnotatedClass(PooledPayment.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:bulk_insert;DB_CLOSE_DELAY=-1"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, "50")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void identity() {
+        insertAll(i -> new IdentityAddress(), i -> new IdentityCategory(), i -> new IdentityPayment());
+    }
+
+    @Benchmark
+    public void pooledSequence() {
+        insertAll(i -> new PooledAddress(), i -> new PooledCategory(), i -> new PooledPayment());
+    }
+
+    /**
+     * Inserts the configured number of rows into every table, interleaved like a data import, in a single
+     * transaction.
+     */
+    private void insertAll(IntFunction<AddressColumns> address,
+                           IntFunction<CategoryColumns> category,
+                           IntFunction<PaymentColumns> payment) {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rowsPerTable; i++) {
+                session.persist(address.apply(i).fill(i));
+                session.persist(category.apply(i).fill(i));
+                session.persist(payment.apply(i).fill(i));
+            }
+        });
+    }
+
+    @MappedSuperclass
+    public abstract static class AddressColumns {
+
+        String title;
+        String city;
+        String street;
+
+        AddressColumns fill(int i) {
+            title = "Home";
+            city = "City " + i % 81;
+            street = "Street " + i;
+            return this;
+        }
+
+    }
+
+    @MappedSuperclass
+    public abstract static class CategoryColumns {
+
+        String name;
+
+        CategoryColumns fill(int i) {
+            name = "Category " + i;
+            return this;
+        }
+
+    }
+
+    @MappedSuperclass
+    public abstract static class PaymentColumns {
+
+        String transactionId;
+        BigDecimal amount;
+
+        PaymentColumns fill(int i) {
+            transactionId = UUID.randomUUID().toString();
+            amount = BigDecimal.valueOf(1000 + i, 2);
+            return this;
+        }
+
+    }
+
+    @Entity
+    @Table(name = "identity_address")
+    public static class IdentityAddress extends AddressColumns {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "identity_category")
+    public static class IdentityCategory extends CategoryColumns {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "identity_payment")
+    public static class IdentityPayment extends PaymentColumns {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "pooled_address")
+    public static class PooledAddress extends AddressColumns {
+        @Id
+        @PooledSequence("pooled_address_seq")
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "pooled_category")
+    public static class PooledCategory extends CategoryColumns {
+        @Id
+        @PooledSequence("pooled_category_seq")
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "pooled_payment")
+    public static class PooledPayment extends PaymentColumns {
+        @Id
+        @PooledSequence("pooled_payment_seq")
+        Long id;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.example.ecommerce.shared.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures checkout throughput when several threads decrement the stock of overlapping products:
+ * <ul>
+ *     <li>{@code perLineTransactions}: the original checkout, one find-and-save transaction per order line.</li>
+ *     <li>{@code orderedLockAndRefresh}: one transaction locking every product with a single ordered
+ *     {@code SELECT ... FOR UPDATE}, then refreshing every locked product so that stock read before the
+ *     lock cannot be written back.</li>
+ *     <li>{@code scalarLockAndRelativeUpdate}: the current checkout, which locks with a single ordered
+ *     {@code SELECT id, stock ... FOR UPDATE} that bypasses the session and subtracts the stock with one
+ *     JDBC batch of relative updates.</li>
+ * </ul>
+ * The two single-transaction variants read the products first, like checkout does when it loads the cart.
+ * Runs against an in-memory H2 database by default. Pass {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.user}
+ * and {@code -Dbenchmark.jdbc.password} to measure against MySQL:
+ * <pre>
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.ecommerce.shared.benchmark.CheckoutContentionBenchmark
+ * </pre>
+ * Connector/J cannot read the metadata of a MariaDB server, so against MariaDB also pass
+ * {@code -Dhibernate.dialect=org.hibernate.dialect.MySQLDialect -Dhibernate.boot.allow_jdbc_metadata_access=false}
+ * through {@code -jvmArgsAppend}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CheckoutContentionBenchmark {
+
+    /**
+     * A small catalog, so that concurrent checkouts keep competing for the same rows.
+     */
+    private static final int PRODUCTS = 10;
+
+    private static final int LINES_PER_ORDER = 3;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(StockedProduct.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:checkout_contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_UPDATES, "true")
+                .buildSessionFactory();
+    }
+
+    @Setup(Level.Iteration)
+    public void restock() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("DELETE FROM StockedProduct").executeUpdate();
+            for (int i = 0; i < PRODUCTS; i++) {
+                session.persist(new StockedProduct("product-" + i, Integer.MAX_VALUE));
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void perLineTransactions() {
+        for (String productId : randomOrderLines()) {
+            sessionFactory.inTransaction(session -> {
+                StockedProduct product = session.find(StockedProduct.class, productId);
+                if (product.stock >= 1) {
+                    product.stock -= 1;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public void orderedLockAndRefresh() {
+        TreeSet<String> productIds = randomOrderLines();
+        sessionFactory.inTransaction(session -> {
+            productIds.forEach(productId -> session.find(StockedProduct.class, productId));
+            List<StockedProduct> products = session
+                    .createSelectionQuery("FROM StockedProduct p WHERE p.id IN ?1 ORDER BY p.id", StockedProduct.class)
+                    .setParameter(1, productIds)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            products.forEach(product -> session.refresh(product, LockModeType.PESSIMISTIC_WRITE));
+            if (products.stream().allMatch(product -> product.stock >= 1)) {
+                products.forEach(product -> product.stock -= 1);
+            }
+        });
+    }
+
+    @Benchmark
+    public void scalarLockAndRelativeUpdate() {
+        TreeSet<String> productIds = randomOrderLines();
+        sessionFactory.inTransaction(session -> {
+            productIds.forEach(productId -> session.find(StockedProduct.class, productId));
+            List<Object[]> stocks = session
+                    .createNativeQuery("SELECT id, stock FROM stocked_product WHERE id IN (:ids) ORDER BY id FOR UPDATE", Object[].class)
+                    .setParameter("ids", productIds)
+                    .getResultList();
+            if (stocks.stream().allMatch(row -> ((Number) row[1]).intValue() >= 1)) {
+                productIds.forEach(productId -> session.detach(session.getReference(StockedProduct.class, productId)));
+                session.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "UPDATE stocked_product SET stock = stock + ? WHERE id = ? AND stock + ? >= 0")) {
+                        for (String productId : productIds) {
+                            statement.setInt(1, -1);
+                            statement.setString(2, productId);
+                            statement.setInt(3, -1);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                });
+            }
+        });
+    }
+
+    private static TreeSet<String> randomOrderLines() {
+        TreeSet<String> productIds = new TreeSet<>();
+        while (productIds.size() < LINES_PER_ORDER) {
+            productIds.add("product-" + ThreadLocalRandom.current().nextInt(PRODUCTS));
+        }
+        return productIds;
+    }
+
+    @Entity(name = "StockedProduct")
+    @Table(name = "stocked_product")
+    public static class StockedProduct {
+
+        @Id
+        String id;
+
+        int stock;
+
+        protected StockedProduct() {
+        }
+
+        StockedProduct(String id, int stock) {
+            this.id = id;
+            this.stock = stock;
+        }
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CheckoutContentionBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
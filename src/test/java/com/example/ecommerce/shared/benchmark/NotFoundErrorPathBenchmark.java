@@ -0,0 +1,148 @@
+package com.example.ecommerce.shared.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.ecommerce.product.exception.ProductNotFoundException;
+import com.example.ecommerce.shared.config.ClientErrorLogProperties;
+import com.example.ecommerce.shared.exception.ApplicationException;
+import com.example.ecommerce.shared.exception.GlobalExceptionHandler;
+import com.example.ecommerce.shared.payload.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the throughput of answering a request for a missing product with 404 the previous way,
+ * where the service logged the error, the exception captured a stack trace and the handler logged
+ * it again with the trace, against the stackless exception and sampled logging of
+ * {@link GlobalExceptionHandler}.
+ * <p>
+ * The exception is thrown from a deep call stack, as it would be under the servlet container and
+ * the Spring proxies, and logs are formatted with the Spring Boot console pattern but discarded:
+ * <pre>
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.ecommerce.shared.benchmark.NotFoundErrorPathBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundErrorPathBenchmark {
+
+    private static final int STACK_DEPTH = 100;
+    private static final String PRODUCT_ID = "missing-product-id";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotFoundErrorPathBenchmark.class);
+
+    private GlobalExceptionHandler globalExceptionHandler;
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n%wEx");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        root.addAppender(appender);
+
+        globalExceptionHandler = new GlobalExceptionHandler(new ClientErrorLogProperties(10, Duration.ofMinutes(1)));
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/products/" + PRODUCT_ID));
+    }
+
+    @Benchmark
+    public Object legacyNotFound() {
+        try {
+            throwAtDepth(STACK_DEPTH, () -> {
+                logger.error("Product not found with id '{}'", PRODUCT_ID);
+                return new LegacyProductNotFoundException(PRODUCT_ID);
+            });
+            return null;
+        } catch (LegacyProductNotFoundException ex) {
+            logger.error(
+                    "Exception occurred at endpoint: '{}' - User: '{}' - Status: '{}' - Error: '{}'",
+                    request.getDescription(false),
+                    "anonymousUser",
+                    HttpStatus.NOT_FOUND,
+                    ex.getMessage(),
+                    ex
+            );
+            return new ResponseEntity<>(ErrorResponse.of(ex, HttpStatus.NOT_FOUND, request.getDescription(false)), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Benchmark
+    public Object notFound() {
+        try {
+            throwAtDepth(STACK_DEPTH, () -> new ProductNotFoundException(PRODUCT_ID));
+            return null;
+        } catch (ApplicationException ex) {
+            return globalExceptionHandler.handleApplicationException(ex, request);
+        }
+    }
+
+    private static int throwAtDepth(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return throwAtDepth(depth - 1, exception) + 1;
+    }
+
+    /**
+     * A not found exception as it was before, capturing its stack trace.
+     */
+    private static final class LegacyProductNotFoundException extends RuntimeException {
+
+        LegacyProductNotFoundException(String productId) {
+            super("Product not found with id '" + productId + "'");
+        }
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotFoundErrorPathBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.ecommerce.shared.benchmark;
+
+import com.example.ecommerce.shared.config.RateLimitProperties;
+import com.example.ecommerce.shared.ratelimit.LocalRateLimiter;
+import com.example.ecommerce.shared.ratelimit.RateLimitFilter;
+import com.example.ecommerce.shared.ratelimit.RateLimitKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request overhead of {@link RateLimitFilter} with the {@link LocalRateLimiter},
+ * for a request matching a policy and for one matching none, from several threads at once:
+ * <pre>
+ * mvn test-compile
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.example.ecommerce.shared.benchmark.RateLimitFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @Setup
+    public void setUp() {
+        // A limit no client reaches, so that every request takes the permitted path
+        RateLimitProperties properties = new RateLimitProperties(true, 65536, List.of(
+                new RateLimitProperties.Policy("login", "/api/v1/auth/login", "POST", RateLimitKey.IP, 1_000_000_000, Duration.ofMinutes(1)),
+                new RateLimitProperties.Policy("product-search", "/api/v1/products/search", "GET", RateLimitKey.USER, 1_000_000_000, Duration.ofMinutes(1))
+        ));
+        rateLimitFilter = new RateLimitFilter(properties, new LocalRateLimiter(properties), new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+
+        final MockHttpServletRequest[] limited = new MockHttpServletRequest[CLIENTS];
+        final MockHttpServletRequest[] unlimited = new MockHttpServletRequest[CLIENTS];
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        int next;
+
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < CLIENTS; i++) {
+                String remoteAddr = "10.0." + (i >>> 8) + "." + (i & 0xff);
+                limited[i] = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+                limited[i].setRemoteAddr(remoteAddr);
+                unlimited[i] = new MockHttpServletRequest("GET", "/api/v1/carts");
+                unlimited[i].setRemoteAddr(remoteAddr);
+            }
+            next = ThreadLocalRandom.current().nextInt(CLIENTS);
+        }
+
+        int nextClient() {
+            next = next + 1 == CLIENTS ? 0 : next + 1;
+            return next;
+        }
+
+    }
+
+    @Benchmark
+    public Object limitedRequest(Requests requests) throws ServletException, IOException {
+        rateLimitFilter.doFilter(requests.limited[requests.nextClient()], requests.response, NO_OP_CHAIN);
+        return requests.response;
+    }
+
+    @Benchmark
+    public Object unlimitedRequest(Requests requests) throws ServletException, IOException {
+        rateLimitFilter.doFilter(requests.unlimited[requests.nextClient()], requests.response, NO_OP_CHAIN);
+        return requests.response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitFilterBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.example.ecommerce.shared.exception;
+
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.exception.ProductNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ApplicationExceptionTest {
+
+    @Test
+    void givenClientError_whenCreated_thenHasNoStackTrace() {
+        // when
+        ApplicationException notFound = new ProductNotFoundException("product-id");
+        ApplicationException insufficientStock = new InsufficientStockException(1, 2);
+
+        // then
+        then(notFound.getStackTrace()).isEmpty();
+        then(insufficientStock.getStackTrace()).isEmpty();
+        then(insufficientStock.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void givenServerError_whenCreated_thenKeepsStackTrace() {
+        // when
+        ApplicationException ex = new InternalServerException("failure") { };
+
+        // then
+        then(ex.getStackTrace()).isNotEmpty();
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.example.ecommerce.shared.exception;
+
+import com.example.ecommerce.product.exception.InsufficientStockException;
+import com.example.ecommerce.product.exception.ProductNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ClientErrorLogSamplerTest {
+
+    private static final long INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    AtomicLong clock = new AtomicLong();
+    ClientErrorLogSampler sampler = new ClientErrorLogSampler(2, INTERVAL, clock::get);
+
+    @Test
+    void givenPermitsUsed_whenSameTypeOccursAgain_thenSuppressUntilNextInterval() {
+        // given
+        sampler.tryAcquire(ProductNotFoundException.class);
+        sampler.tryAcquire(ProductNotFoundException.class);
+
+        // when
+        long suppressed = sampler.tryAcquire(ProductNotFoundException.class);
+
+        // then
+        then(suppressed).isEqualTo(-1);
+    }
+
+    @Test
+    void givenSuppressedErrors_whenIntervalPassed_thenReportSuppressedCount() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            sampler.tryAcquire(ProductNotFoundException.class);
+        }
+        clock.addAndGet(INTERVAL);
+
+        // when
+        long first = sampler.tryAcquire(ProductNotFoundException.class);
+        long second = sampler.tryAcquire(ProductNotFoundException.class);
+
+        // then
+        then(first).isEqualTo(3);
+        then(second).isZero();
+    }
+
+    @Test
+    void givenPermitsUsedByOneType_whenOtherTypeOccurs_thenLogOtherType() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            sampler.tryAcquire(ProductNotFoundException.class);
+        }
+
+        // when
+        long suppressed = sampler.tryAcquire(InsufficientStockException.class);
+
+        // then
+        then(suppressed).isZero();
+    }
+
+}
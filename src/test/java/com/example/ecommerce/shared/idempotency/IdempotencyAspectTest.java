@@ -0,0 +1,257 @@
+package com.example.ecommerce.shared.idempotency;
+
+import com.example.ecommerce.auth.service.UserContextService;
+import com.example.ecommerce.order.model.enums.OrderStatus;
+import com.example.ecommerce.order.payload.request.PlaceOrderRequest;
+import com.example.ecommerce.order.payload.response.OrderStatusResponse;
+import com.example.ecommerce.shared.config.IdempotencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyAspectTest {
+
+    static final String REDIS_KEY = "idempotency:test-user:POST:/api/v1/orders/checkout/async:key-1";
+
+    @Mock
+    StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    @Mock
+    UserContextService userContextService;
+
+    @Mock
+    ProceedingJoinPoint joinPoint;
+
+    @Mock
+    MethodSignature methodSignature;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders/checkout/async");
+
+    IdempotencyAspect idempotencyAspect;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        IdempotencyProperties properties = new IdempotencyProperties(Duration.ofHours(24), Duration.ofSeconds(60), 255);
+        idempotencyAspect = new IdempotencyAspect(objectMapper, properties, stringRedisTemplate, userContextService);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(userContextService.getCurrentUsername()).willReturn("test-user");
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(TestController.class.getMethod("checkout", PlaceOrderRequest.class));
+        given(joinPoint.getArgs()).willReturn(new Object[]{new PlaceOrderRequest(1L, "DEBIT_CARD")});
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenRequestWithoutIdempotencyKey_whenHandle_thenProceedWithoutRedis() throws Throwable {
+        // given
+        given(joinPoint.proceed()).willReturn(ResponseEntity.ok().build());
+
+        // when
+        idempotencyAspect.handleIdempotentRequest(joinPoint);
+
+        // then
+        verify(joinPoint, times(1)).proceed();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void givenFirstRequestWithIdempotencyKey_whenHandle_thenProceedAndStoreResponse() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(true);
+        given(joinPoint.proceed()).willReturn(acceptedResponse());
+
+        // when
+        Object response = idempotencyAspect.handleIdempotentRequest(joinPoint);
+
+        // then
+        then(response).isEqualTo(acceptedResponse());
+        ArgumentCaptor<String> storedValue = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq(REDIS_KEY), storedValue.capture(), eq(Duration.ofHours(24)));
+        StoredResponse storedResponse = objectMapper.readValue(storedValue.getValue(), StoredResponse.class);
+        then(storedResponse.status()).isEqualTo(202);
+        then(storedResponse.headers()).containsKey("Location");
+        then(storedResponse.requestHash()).isNotBlank();
+    }
+
+    @Test
+    void givenRetryAfterCompletedRequest_whenHandle_thenReplayStoredResponseWithoutProceeding() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        ResponseEntity<OrderStatusResponse> original = acceptedResponse();
+        String storedResponse = storedResponse(original, lockedRequestHash());
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+        given(valueOperations.get(REDIS_KEY)).willReturn(storedResponse);
+
+        // when
+        ResponseEntity<?> response = (ResponseEntity<?>) idempotencyAspect.handleIdempotentRequest(joinPoint);
+
+        // then
+        then(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        then(response.getBody()).isEqualTo(original.getBody());
+        then(response.getHeaders().getLocation()).isEqualTo(original.getHeaders().getLocation());
+        then(response.getHeaders().getFirst(IdempotencyAspect.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void givenRetryWhileFirstRequestIsRunning_whenHandle_thenThrowIdempotentRequestInProgressException() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        String requestHash = lockedRequestHash();
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+        given(valueOperations.get(REDIS_KEY)).willReturn("IN_FLIGHT:" + requestHash);
+
+        // when & then
+        IdempotentRequestInProgressException ex = catchThrowableOfType(
+                IdempotentRequestInProgressException.class,
+                () -> idempotencyAspect.handleIdempotentRequest(joinPoint)
+        );
+
+        then(ex).isNotNull();
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void givenKeyReusedWithDifferentBody_whenHandle_thenThrowIdempotencyKeyReusedException() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        String firstRequestHash = lockedRequestHash();
+        given(joinPoint.getArgs()).willReturn(new Object[]{new PlaceOrderRequest(2L, "CREDIT_CARD")});
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+        given(valueOperations.get(REDIS_KEY)).willReturn(storedResponse(acceptedResponse(), firstRequestHash));
+
+        // when & then
+        IdempotencyKeyReusedException ex = catchThrowableOfType(
+                IdempotencyKeyReusedException.class,
+                () -> idempotencyAspect.handleIdempotentRequest(joinPoint)
+        );
+
+        then(ex).isNotNull();
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void givenKeyReusedWithDifferentBodyWhileFirstRequestIsRunning_whenHandle_thenThrowIdempotencyKeyReusedException() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        String firstRequestHash = lockedRequestHash();
+        given(joinPoint.getArgs()).willReturn(new Object[]{new PlaceOrderRequest(2L, "CREDIT_CARD")});
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(false);
+        given(valueOperations.get(REDIS_KEY)).willReturn("IN_FLIGHT:" + firstRequestHash);
+
+        // when & then
+        IdempotencyKeyReusedException ex = catchThrowableOfType(
+                IdempotencyKeyReusedException.class,
+                () -> idempotencyAspect.handleIdempotentRequest(joinPoint)
+        );
+
+        then(ex).isNotNull();
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void givenFailingRequest_whenHandle_thenReleaseLockAndRethrow() throws Throwable {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class))).willReturn(true);
+        given(joinPoint.proceed()).willThrow(new IllegalStateException("boom"));
+
+        // when & then
+        IllegalStateException ex = catchThrowableOfType(
+                IllegalStateException.class,
+                () -> idempotencyAspect.handleIdempotentRequest(joinPoint)
+        );
+
+        then(ex).isNotNull();
+        verify(stringRedisTemplate, times(1)).delete(REDIS_KEY);
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void givenTooLongIdempotencyKey_whenHandle_thenThrowInvalidIdempotencyKeyException() {
+        // given
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "k".repeat(256));
+
+        // when & then
+        InvalidIdempotencyKeyException ex = catchThrowableOfType(
+                InvalidIdempotencyKeyException.class,
+                () -> idempotencyAspect.handleIdempotentRequest(joinPoint)
+        );
+
+        then(ex).isNotNull();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    /**
+     * Runs the current request as the first one with its key and returns the fingerprint it locked with.
+     */
+    private String lockedRequestHash() throws Throwable {
+        ArgumentCaptor<String> lockValue = ArgumentCaptor.forClass(String.class);
+        given(valueOperations.setIfAbsent(eq(REDIS_KEY), lockValue.capture(), any(Duration.class))).willReturn(true);
+        given(joinPoint.proceed()).willReturn(acceptedResponse());
+        idempotencyAspect.handleIdempotentRequest(joinPoint);
+        clearInvocations(joinPoint, valueOperations);
+        return lockValue.getValue().substring("IN_FLIGHT:".length());
+    }
+
+    private String storedResponse(ResponseEntity<OrderStatusResponse> response, String requestHash) throws Exception {
+        return objectMapper.writeValueAsString(new StoredResponse(
+                requestHash, response.getStatusCode().value(), response.getHeaders(), objectMapper.writeValueAsString(response.getBody())));
+    }
+
+    private static ResponseEntity<OrderStatusResponse> acceptedResponse() {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/order-id/status"))
+                .body(new OrderStatusResponse("order-id", OrderStatus.PENDING));
+    }
+
+    static class TestController {
+
+        public ResponseEntity<OrderStatusResponse> checkout(PlaceOrderRequest request) {
+            return acceptedResponse();
+        }
+
+    }
+
+}
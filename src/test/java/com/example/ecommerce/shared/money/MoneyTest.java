@@ -0,0 +1,73 @@
+package com.example.ecommerce.shared.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.BDDAssertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class MoneyTest {
+
+    @Test
+    void givenBigDecimalWithMoreFractionDigits_whenConverted_thenRoundHalfUp() {
+        // given
+        BigDecimal amount = new BigDecimal("10.005");
+
+        // when
+        Money money = Money.of(amount);
+
+        // then
+        then(money.getMinorUnits()).isEqualTo(1001);
+        then(money.toBigDecimal()).isEqualTo(new BigDecimal("10.01"));
+    }
+
+    @Test
+    void givenAmounts_whenAddedSubtractedAndMultiplied_thenResultIsExact() {
+        // given
+        Money price = Money.of(new BigDecimal("19.99"));
+
+        // when
+        Money total = price.times(3).plus(Money.ofMinor(3)).minus(Money.ofMinor(100));
+
+        // then
+        then(total).isEqualTo(Money.of(new BigDecimal("59.00")));
+    }
+
+    @Test
+    void givenFractionalPercentage_whenPercentageCalculated_thenAvoidFloatingPointError() {
+        // given
+        Money price = Money.of(new BigDecimal("100.00"));
+
+        // when
+        Money discount = price.percentage(0.1);
+
+        // then
+        then(discount).isEqualTo(Money.ofMinor(10));
+    }
+
+    @Test
+    void givenPercentageEndingInHalfCent_whenPercentageCalculated_thenRoundHalfUp() {
+        // given
+        Money price = Money.ofMinor(999);
+
+        // when
+        Money discount = price.percentage(12.5);
+
+        // then: 9.99 * 12.5% = 1.24875
+        then(discount).isEqualTo(Money.ofMinor(125));
+    }
+
+    @Test
+    void givenLargeAmount_whenMultiplicationOverflows_thenThrowArithmeticException() {
+        // given
+        Money amount = Money.ofMinor(Long.MAX_VALUE / 2);
+
+        // when
+        ArithmeticException ex = catchThrowableOfType(ArithmeticException.class, () -> amount.times(3));
+
+        // then
+        then(ex).isNotNull();
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.example.ecommerce.shared.persistence;
+
+import com.example.ecommerce.category.model.Category;
+import com.example.ecommerce.category.repository.CategoryRepository;
+import com.example.ecommerce.shared.config.AuditorAwareConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Aligns the category sequence with rows inserted before it existed. The sequence is read in a
+ * transaction of its own, so the test commits everything it writes and cleans up afterwards. The
+ * small allocation size also gives the test its own context, so no identifier block has been
+ * reserved before the sequence is aligned.
+ */
+@DataJpaTest(properties = "spring.jpa.properties." + PooledSequenceGenerator.ALLOCATION_SIZE_SETTING + "=" + PooledSequenceAlignerTest.ALLOCATION_SIZE)
+@ActiveProfiles("test")
+@Import(AuditorAwareConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PooledSequenceAlignerTest {
+
+    static final int ALLOCATION_SIZE = 5;
+
+    static final int EXISTING_ROWS = 12;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    DataSource dataSource;
+
+    JdbcTemplate jdbcTemplate;
+
+    PooledSequenceAligner aligner;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test-user", null, List.of())
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        aligner = new PooledSequenceAligner(entityManagerFactory, jdbcTemplate);
+        jdbcTemplate.update("UPDATE category_seq SET " + PooledSequenceGenerator.DEF_VALUE_COLUMN + " = 1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenRowsInsertedBeforeSequence_whenAlignedAndInserted_thenGenerateIdsAboveExistingRows() {
+        // given
+        LongStream.rangeClosed(1, EXISTING_ROWS).forEach(id -> jdbcTemplate.update(
+                "INSERT INTO category (id, name, created_at, created_by) VALUES (?, ?, CURRENT_TIMESTAMP, 'migration')",
+                id, "Existing " + id
+        ));
+
+        // when
+        aligner.afterSingletonsInstantiated();
+        List<Category> created = categoryRepository.saveAll(List.of(
+                new Category(null, "New 1"),
+                new Category(null, "New 2")
+        ));
+
+        // then
+        then(created).extracting(Category::getId).allMatch(id -> id > EXISTING_ROWS);
+        then(categoryRepository.count()).isEqualTo(EXISTING_ROWS + 2);
+    }
+
+    @Test
+    void givenSequenceAheadOfRows_whenAligned_thenLeaveSequenceUntouched() {
+        // given
+        jdbcTemplate.update("UPDATE category_seq SET " + PooledSequenceGenerator.DEF_VALUE_COLUMN + " = 1000");
+
+        // when
+        aligner.afterSingletonsInstantiated();
+
+        // then
+        then(jdbcTemplate.queryForObject("SELECT " + PooledSequenceGenerator.DEF_VALUE_COLUMN + " FROM category_seq", Long.class))
+                .isEqualTo(1000L);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class GcraBucketStoreTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+    AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void givenFullBucket_whenLimitExceeded_thenRejectUntilTokenRefills() {
+        // given
+        GcraBucketStore store = new GcraBucketStore(16, 5, WINDOW, clock::get);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            then(store.tryAcquire("ip:10.0.0.1")).isZero();
+        }
+        long waitNanos = store.tryAcquire("ip:10.0.0.1");
+
+        // then
+        then(waitNanos).isEqualTo(WINDOW / 5);
+
+        clock.addAndGet(waitNanos);
+        then(store.tryAcquire("ip:10.0.0.1")).isZero();
+        then(store.tryAcquire("ip:10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void givenExhaustedClient_whenOtherClientAcquires_thenPermitOtherClient() {
+        // given
+        GcraBucketStore store = new GcraBucketStore(16, 1, WINDOW, clock::get);
+        store.tryAcquire("ip:10.0.0.1");
+
+        // when
+        long exhausted = store.tryAcquire("ip:10.0.0.1");
+        long other = store.tryAcquire("ip:10.0.0.2");
+
+        // then
+        then(exhausted).isPositive();
+        then(other).isZero();
+    }
+
+    @Test
+    void givenAllSlotsActive_whenNewClientAcquires_thenShareSlotWithActiveClient() {
+        // given
+        GcraBucketStore store = new GcraBucketStore(4, 1, WINDOW, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            store.tryAcquire("ip:10.0.0." + i);
+        }
+
+        // when
+        long waitNanos = store.tryAcquire("ip:10.0.1.1");
+
+        // then
+        then(waitNanos).isPositive();
+    }
+
+    @Test
+    void givenAllSlotsRefilled_whenNewClientAcquires_thenReuseSlot() {
+        // given
+        GcraBucketStore store = new GcraBucketStore(4, 1, WINDOW, clock::get);
+        for (int i = 0; i < 1000; i++) {
+            store.tryAcquire("ip:10.0.0." + i);
+        }
+        clock.addAndGet(WINDOW);
+
+        // when
+        long first = store.tryAcquire("ip:10.0.1.1");
+        long second = store.tryAcquire("ip:10.0.1.1");
+
+        // then
+        then(first).isZero();
+        then(second).isEqualTo(WINDOW);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.ecommerce.shared.ratelimit;
+
+import com.example.ecommerce.shared.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class RateLimitFilterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenLimitExceeded_whenFilter_thenRejectWithRetryAfterAndCountRejection() throws Exception {
+        // given
+        RateLimitFilter filter = filter(new RateLimitProperties.Policy("login", "/api/v1/auth/login", "POST", RateLimitKey.IP, 2, Duration.ofMinutes(1)));
+        filter(filter, login());
+        filter(filter, login());
+
+        // when
+        MockHttpServletResponse response = filter(filter, login());
+
+        // then
+        then(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        then(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        then(response.getContentAsString()).contains("\"status\":429");
+        then(meterRegistry.get("rate.limit.rejected").tag("policy", "login").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenRequestNotMatchingPolicy_whenFilter_thenPassThrough() throws Exception {
+        // given
+        RateLimitFilter filter = filter(new RateLimitProperties.Policy("login", "/api/v1/auth/login", "POST", RateLimitKey.IP, 1, Duration.ofMinutes(1)));
+        filter(filter, login());
+
+        // when
+        MockHttpServletResponse otherMethod = filter(filter, new MockHttpServletRequest("GET", "/api/v1/auth/login"));
+        MockHttpServletResponse otherPath = filter(filter, new MockHttpServletRequest("POST", "/api/v1/auth/register"));
+
+        // then
+        then(otherMethod.getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(otherPath.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void givenUserPolicy_whenDifferentUsersShareIp_thenLimitEachUserSeparately() throws Exception {
+        // given
+        RateLimitFilter filter = filter(new RateLimitProperties.Policy("product-search", "/api/v1/products/search", null, RateLimitKey.USER, 1, Duration.ofMinutes(1)));
+        authenticate("alice");
+        filter(filter, search());
+
+        // when
+        MockHttpServletResponse alice = filter(filter, search());
+        authenticate("bob");
+        MockHttpServletResponse bob = filter(filter, search());
+
+        // then
+        then(alice.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        then(bob.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private RateLimitFilter filter(RateLimitProperties.Policy policy) {
+        RateLimitProperties properties = new RateLimitProperties(true, 16, List.of(policy));
+        return new RateLimitFilter(properties, new LocalRateLimiter(properties), new ObjectMapper(), meterRegistry);
+    }
+
+    private static MockHttpServletResponse filter(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest login() {
+        return new MockHttpServletRequest("POST", "/api/v1/auth/login");
+    }
+
+    private static MockHttpServletRequest search() {
+        return new MockHttpServletRequest("GET", "/api/v1/products/search");
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_USER"));
+    }
+
+}